@@ -5,6 +5,7 @@ plugins {
     id("checkstyle")
     id("application")
     id("com.github.johnrengelman.shadow") version "7.1.2" // to create a jar with the dependencies
+    id("me.champeau.jmh") version "0.6.8" // benchmarks in src/jmh/java, run with ./gradlew jmh
 }
 
 group = "sd"
@@ -19,6 +20,7 @@ dependencies {
     implementation("com.typesafe.akka:akka-actor-typed_2.13:2.8.0") // principal actors implementation
     implementation("com.typesafe.akka:akka-cluster-typed_2.13:2.8.0") // cluster support
     implementation("com.typesafe.akka:akka-cluster-sharding-typed_2.13:2.8.0") // for scaling and find actors by id
+    implementation("com.typesafe.akka:akka-persistence-typed_2.13:2.8.0") // event sourcing of the games
     implementation("org.slf4j:slf4j-api:1.7.32") // main logger
     implementation("ch.qos.logback:logback-classic:1.4.12") // logger helper
 }
@@ -37,6 +39,37 @@ application {
     mainClass.set("sd.Main")
 }
 
+// run the Monte Carlo simulations, e.g. ./gradlew simulate --args="games=1000000 players=1,2 policy=greedy"
+tasks.register<JavaExec>("simulate") {
+    group = "application"
+    description = "Plays many games in-process and prints the win rate statistics"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("sd.Simulator")
+}
+
+// run a node that hosts the games, to be started before the players
+tasks.register<JavaExec>("runGameHost") {
+    group = "application"
+    description = "Starts a headless node that hosts the waiting rooms and the game states"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("sd.GameHost")
+}
+
+// run a gateway, and the players that connect to it without joining the cluster
+tasks.register<JavaExec>("runGateway") {
+    group = "application"
+    description = "Starts a headless node that accepts the connections of the clients"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("sd.Gateway")
+}
+
+tasks.register<JavaExec>("runClient") {
+    group = "application"
+    description = "Starts a player connected to a gateway"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("sd.Client")
+}
+
 tasks.jar {
     archiveBaseName.set("The_Game_without_dependencies") // specify why the jar doesn't work
     manifest {
@@ -63,6 +96,12 @@ tasks.wrapper {
     distributionType = Wrapper.DistributionType.ALL
 }
 
+jmh {
+    jmhVersion.set("1.37")
+    profilers.add("gc") // report the allocation per operation
+    resultFormat.set("JSON") // saved in build/results/jmh to compare the runs and catch the regressions
+}
+
 checkstyle {
     toolVersion = "8.37"
     configFile = file("${rootProject.projectDir}/config/checkstyle/checkstyle.xml")
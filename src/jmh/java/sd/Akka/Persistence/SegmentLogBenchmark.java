@@ -0,0 +1,122 @@
+package sd.Akka.Persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link SegmentLog} used by the journal of the games: the replay of the events of a game, that is
+ * the cost of a recovery for each number of events after the last snapshot, the opening of a log with many games, and
+ * the append of an event.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SegmentLogBenchmark {
+
+    private static final int SEGMENT_SIZE = 16 * 1024 * 1024;
+    private static final int EVENT_SIZE = 32; // about the size of a serialized event of the game
+    private static final int GAMES = 100;
+
+    @Param({"10", "50", "200"})
+    private int events; // events of each game after the last snapshot
+
+    private Path directory;
+    private SegmentLog log;
+    private long sequenceNumber;
+
+    /**
+     * Create a log with the events of many games, written alternately as it happens with games played together.
+     *
+     * @throws IOException if the log can't be created.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("journal");
+        log = new SegmentLog(directory, SEGMENT_SIZE, false);
+        for (int i = 1; i <= events; i++) {
+            for (int game = 0; game < GAMES; game++) {
+                log.append(key(game), i, new byte[EVENT_SIZE]);
+            }
+        }
+        sequenceNumber = events;
+    }
+
+    /**
+     * Close the log and remove its files.
+     *
+     * @throws IOException if the files can't be removed.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        log.close();
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Read all the events of a game, as during its recovery.
+     *
+     * @param blackhole the {@link Blackhole} that consumes the events.
+     */
+    @Benchmark
+    public void replay(final Blackhole blackhole) {
+        log.read(key(0), 1, Long.MAX_VALUE, Long.MAX_VALUE, (data, sequenceNr) -> blackhole.consume(data));
+    }
+
+    /**
+     * Open the log again, reading all the segments to build the index, as when the journal starts.
+     *
+     * @return the highest sequence number of a game.
+     * @throws IOException if the log can't be opened.
+     */
+    @Benchmark
+    public long open() throws IOException {
+        try (SegmentLog reopened = new SegmentLog(directory, SEGMENT_SIZE, false)) {
+            return reopened.highestSequenceNumber(key(0));
+        }
+    }
+
+    /**
+     * Append an event to a game that is not replayed.
+     *
+     * @throws IOException if a new segment can't be created.
+     */
+    @Benchmark
+    public void append() throws IOException {
+        log.append(key(GAMES), ++sequenceNumber, new byte[EVENT_SIZE]);
+    }
+
+    /**
+     * Get the persistence id of a game.
+     *
+     * @param game the number of the game.
+     * @return the key of its events.
+     */
+    private static String key(final int game) {
+        return "Player" + game + "-GameState";
+    }
+}
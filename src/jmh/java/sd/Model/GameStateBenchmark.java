@@ -0,0 +1,220 @@
+package sd.Model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the hot paths of {@link GameStateImpl}, for each number of players and {@link Difficulty}. All the
+ * games are created with fixed seeds, so every run measures the same deals.
+ * The operations that consume the game ({@link GameState#initialHand()} and {@link GameState#draw(Player)}) are
+ * measured in batches of games prepared before each iteration, the others on a single game that is left unchanged.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameStateBenchmark {
+
+    private static final long SEED = 42;
+    private static final int BATCH = 10_000;
+
+    @Param({"1", "2", "3", "5"})
+    private int players;
+
+    @Param({"NORMAL", "DIFFICULT", "IMPOSSIBLE"})
+    private Difficulty difficulty;
+
+    private GameState gameState;
+    private Player player;
+    private int card;
+
+    /**
+     * Create the game used by the benchmarks that don't change it.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        gameState = newGame(this, SEED);
+        gameState.initialHand();
+        player = gameState.getPlayer(playerName(0)).orElseThrow();
+        card = player.getCards().first();
+    }
+
+    /**
+     * Games not dealt yet, one for each invocation of a batch.
+     */
+    @State(Scope.Thread)
+    public static class NewGames {
+
+        private final GameState[] games = new GameState[BATCH];
+        private int next;
+
+        /**
+         * Create a new batch of games.
+         *
+         * @param benchmark the benchmark with the parameters of the games.
+         */
+        @Setup(Level.Iteration)
+        public void setup(final GameStateBenchmark benchmark) {
+            for (int i = 0; i < BATCH; i++) {
+                games[i] = newGame(benchmark, SEED + i);
+            }
+            next = 0;
+        }
+    }
+
+    /**
+     * Games already dealt where the first player has played the minimum amount of cards, so that he has to draw; one
+     * for each invocation of a batch.
+     */
+    @State(Scope.Thread)
+    public static class EndedTurns {
+
+        private final GameState[] games = new GameState[BATCH];
+        private final Player[] players = new Player[BATCH];
+        private int next;
+
+        /**
+         * Create a new batch of games.
+         *
+         * @param benchmark the benchmark with the parameters of the games.
+         */
+        @Setup(Level.Iteration)
+        public void setup(final GameStateBenchmark benchmark) {
+            for (int i = 0; i < BATCH; i++) {
+                games[i] = newGame(benchmark, SEED + i);
+                games[i].initialHand();
+                players[i] = games[i].getPlayer(playerName(0)).orElseThrow();
+                for (int j = 0; j < GameRules.cardsPerTurn(benchmark.difficulty); j++) {
+                    players[i].getCards().remove(players[i].getCards().first());
+                }
+            }
+            next = 0;
+        }
+    }
+
+    /**
+     * Deal the initial cards of a new game.
+     *
+     * @param newGames the batch of games to deal.
+     * @return the dealt game.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 3, batchSize = BATCH)
+    @Measurement(iterations = 5, batchSize = BATCH)
+    public GameState initialHand(final NewGames newGames) {
+        GameState game = newGames.games[newGames.next++];
+        game.initialHand();
+        return game;
+    }
+
+    /**
+     * Draw at the end of a turn.
+     *
+     * @param endedTurns the batch of games where the player has to draw.
+     * @return the new hand of the player.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 3, batchSize = BATCH)
+    @Measurement(iterations = 5, batchSize = BATCH)
+    public List<Integer> draw(final EndedTurns endedTurns) {
+        int i = endedTurns.next++;
+        return endedTurns.games[i].draw(endedTurns.players[i]);
+    }
+
+    /**
+     * Play a card and put it back in the hand, to leave the hand unchanged for the next invocation; the top of the deck
+     * doesn't matter because playing a card doesn't check it.
+     *
+     * @return the value on top of the deck.
+     */
+    @Benchmark
+    public int playedCard() {
+        gameState.playedCard(player, card, 0);
+        player.getCards().add(card);
+        return gameState.getLastCard(0);
+    }
+
+    /**
+     * Check if the player has a valid move.
+     *
+     * @return true if a valid move exists.
+     */
+    @Benchmark
+    public boolean validMoveExist() {
+        return gameState.validMoveExist(player);
+    }
+
+    /**
+     * Count the cards in the hand of each player.
+     *
+     * @return the map with the counts.
+     */
+    @Benchmark
+    public LinkedHashMap<String, Integer> countPlayersCards() {
+        return gameState.countPlayersCards();
+    }
+
+    /**
+     * Count the cards not played yet.
+     *
+     * @return the number of cards.
+     */
+    @Benchmark
+    public int cardNotPlayed() {
+        return gameState.cardNotPlayed();
+    }
+
+    /**
+     * Check if the game is won.
+     *
+     * @return true if it's a win.
+     */
+    @Benchmark
+    public boolean isWin() {
+        return gameState.isWin();
+    }
+
+    /**
+     * Create a new game with the parameters of the benchmark.
+     *
+     * @param benchmark the benchmark with the number of players and the difficulty.
+     * @param seed the seed of the game.
+     * @return the new {@link GameState}.
+     */
+    private static GameState newGame(final GameStateBenchmark benchmark, final long seed) {
+        List<String> names = new LinkedList<>();
+        for (int i = 0; i < benchmark.players; i++) {
+            names.add(playerName(i));
+        }
+        return new GameStateImpl(names, benchmark.difficulty, seed);
+    }
+
+    /**
+     * The name of a player in the benchmarks.
+     *
+     * @param index the index of the player.
+     * @return the name of the player.
+     */
+    private static String playerName(final int index) {
+        return "Player" + index;
+    }
+}
@@ -0,0 +1,204 @@
+package sd.Akka.Actor;
+
+import akka.actor.AbstractLoggingActor;
+import akka.actor.ActorRef;
+import akka.actor.ExtendedActorSystem;
+import akka.actor.Props;
+import akka.cluster.pubsub.DistributedPubSub;
+import akka.cluster.pubsub.DistributedPubSubMediator;
+import akka.io.Tcp;
+import akka.io.TcpMessage;
+import akka.util.ByteString;
+import sd.Akka.ClientFrames;
+import sd.Akka.ConnectionWriter;
+import sd.Akka.MessageSerializer;
+import sd.Akka.Messages.AddPlayerMsg;
+import sd.Akka.Messages.CreateGameGUIMsg;
+import sd.Akka.Messages.EnqueueMsg;
+import sd.Akka.Messages.GameEventMsg;
+import sd.Akka.Messages.GetLobbyMsg;
+import sd.Akka.Messages.RejoinGameMsg;
+import sd.Akka.Messages.ResumeGameMsg;
+import sd.Akka.Messages.SpectatorViewMsg;
+import sd.Akka.Messages.StandardMsg;
+import sd.Akka.Messages.StartGameMsg;
+import sd.Akka.Messages.UpdateWaitingRoomMsg;
+import sd.Akka.Messages.WatchGameMsg;
+import sd.Utils.ClusterHelper;
+
+/**
+ * An actor of a gateway node that takes the place of the {@link PlayerActor} of a client in the cluster: the messages
+ * of the client received from its TCP connection are sent to the {@link MatchmakingActor}, to the
+ * {@link WaitingRoomActor} or to the {@link GameStateActor} of its game, also of a game it returns to, and the
+ * messages they send to the player are written to the connection; the requests of the open games are answered by the
+ * {@link LobbyActor} of the gateway.
+ * The messages are written through a {@link ConnectionWriter}, one at a time, and the connection is closed if the
+ * client doesn't read them and too many pile up. A client who watches a game is subscribed here to the topic of its
+ * spectators; a state of the game is written only when nothing else is being written, and meanwhile only the last one
+ * received is kept, so a slow client skips the states it can't receive in time.
+ * The actor stops when the connection is closed.
+ */
+public class ClientSessionActor extends AbstractLoggingActor {
+
+    private final ActorRef connection;
+    private final ConnectionWriter writer;
+    private final ClientFrames frames;
+    private final ActorRef waitingRoomRegion = ClusterHelper.getWaitingRegion(getContext().getSystem());
+    private final ActorRef matchmakingRegion = ClusterHelper.getMatchmakingRegion(getContext().getSystem());
+    private ActorRef waitingRoomActor; // known after the first update of the waiting room
+    private ActorRef gameStateActor; // known when the game starts
+    private String watchedHost; // the host of the game watched by the client, if any
+    private SpectatorViewMsg pendingView; // the last state received while writing something else
+
+    /**
+     * Create the actor.
+     *
+     * @param connection the {@link ActorRef} of the TCP connection of the client.
+     * @param maxFrameSize the maximum size of a frame received from or sent to the client.
+     * @param maxQueuedBytes the maximum number of bytes waiting to be written to the client.
+     */
+    public ClientSessionActor(final ActorRef connection, final int maxFrameSize, final int maxQueuedBytes) {
+        this.connection = connection;
+        this.writer = new ConnectionWriter(connection, getSelf(), maxQueuedBytes);
+        this.frames = new ClientFrames(new MessageSerializer((ExtendedActorSystem) getContext().getSystem()),
+                maxFrameSize);
+    }
+
+    /**
+     * Creates a Props configuration for the ClientSessionActor.
+     *
+     * @param connection the {@link ActorRef} of the TCP connection of the client.
+     * @param maxFrameSize the maximum size of a frame received from or sent to the client.
+     * @param maxQueuedBytes the maximum number of bytes waiting to be written to the client.
+     * @return A {@link Props} object configured for the ClientSessionActor.
+     */
+    public static Props props(final ActorRef connection, final int maxFrameSize, final int maxQueuedBytes) {
+        return Props.create(ClientSessionActor.class,
+                () -> new ClientSessionActor(connection, maxFrameSize, maxQueuedBytes));
+    }
+
+    @Override
+    public Receive createReceive() {
+        return receiveBuilder()
+                .match(Tcp.Received.class, this::handleReceived)
+                .match(Tcp.ConnectionClosed.class, closed -> getContext().stop(getSelf()))
+                .match(SpectatorViewMsg.class, this::handleSpectatorView)
+                .matchEquals(ConnectionWriter.ACK, ack -> handleWritten())
+                .match(Tcp.CommandFailed.class, this::handleWriteFailed)
+                .match(Tcp.WritingResumed.class, resumed -> writer.resumed())
+                .match(DistributedPubSubMediator.SubscribeAck.class, this::handleSubscribed)
+                .match(StandardMsg.class, this::handleToClient)
+                .matchAny(message -> System.out.println("# UNEXPECTED MESSAGE TO " + getSelf() + ": " + message))
+                .build();
+    }
+
+    /**
+     * Decode the messages sent by the client and send them to the actor of the cluster that has to handle them; the
+     * connection is closed if the client sends something that isn't a valid frame.
+     *
+     * @param received the {@link Tcp.Received} message with the data of the connection.
+     */
+    private void handleReceived(final Tcp.Received received) {
+        try {
+            for (StandardMsg msg : frames.decode(received.data().asByteBuffer())) {
+                if (msg instanceof GetLobbyMsg) { // answered by the directory of the open games of this node
+                    getContext().actorSelection(ClusterHelper.getLobbyPath()).tell(msg, getSelf());
+                } else if (msg instanceof WatchGameMsg watchGameMsg) { // the state is asked after the subscription
+                    watchedHost = watchGameMsg.getHostName();
+                    DistributedPubSub.get(getContext().getSystem()).mediator().tell(
+                            new DistributedPubSubMediator.Subscribe(ClusterHelper.getSpectatorTopic(watchedHost),
+                                    getSelf()), getSelf());
+                } else if (msg instanceof RejoinGameMsg) { // a client that lost its connection during a game
+                    ClusterHelper.getGameStateRegion(getContext().getSystem()).tell(msg, getSelf());
+                } else if (msg instanceof EnqueueMsg) {
+                    matchmakingRegion.tell(msg, getSelf());
+                } else if (msg instanceof AddPlayerMsg) {
+                    waitingRoomRegion.tell(msg, getSelf());
+                } else if (msg instanceof StartGameMsg) {
+                    (waitingRoomActor != null ? waitingRoomActor : waitingRoomRegion).tell(msg, getSelf());
+                } else if (gameStateActor != null) { // the moves, the end of the turns and the resync requests
+                    gameStateActor.tell(msg, getSelf());
+                } else {
+                    log().warning("Message {} from the client before the start of the game", msg);
+                }
+            }
+        } catch (RuntimeException e) {
+            log().warning("Closing the connection of the client: {}", e.getMessage());
+            connection.tell(TcpMessage.close(), getSelf());
+        }
+    }
+
+    /**
+     * Ask the state of the watched game after the subscription to its topic, so no state published later is missed.
+     *
+     * @param ack the {@link DistributedPubSubMediator.SubscribeAck} of the topic of the spectators of the game.
+     */
+    private void handleSubscribed(final DistributedPubSubMediator.SubscribeAck ack) {
+        ClusterHelper.getGameStateRegion(getContext().getSystem()).tell(new WatchGameMsg(watchedHost), getSelf());
+    }
+
+    /**
+     * Write a state of the watched game, or keep it until the other writes are done, replacing an older one.
+     *
+     * @param view the {@link SpectatorViewMsg} with the state of the game.
+     */
+    private void handleSpectatorView(final SpectatorViewMsg view) {
+        if (!writer.isIdle()) {
+            if (pendingView == null || view.getVersion() > pendingView.getVersion()) {
+                pendingView = view;
+            }
+        } else {
+            write(view);
+        }
+    }
+
+    /**
+     * Go on with the next write after the connection acknowledged the last one, and write the last state of the
+     * watched game once the other messages are written.
+     */
+    private void handleWritten() {
+        writer.acknowledged();
+        if (pendingView != null && writer.isIdle()) {
+            SpectatorViewMsg view = pendingView;
+            pendingView = null;
+            write(view);
+        }
+    }
+
+    /**
+     * Handle a write refused by the connection, that is written again after the writes are resumed.
+     *
+     * @param failed the {@link Tcp.CommandFailed} with the refused write.
+     */
+    private void handleWriteFailed(final Tcp.CommandFailed failed) {
+        log().warning("Write to the client refused, resuming the writes: {}", failed.cmd());
+        writer.failed(failed);
+    }
+
+    /**
+     * Write to the connection a message sent to the player, remembering the actors of the waiting room and of the game
+     * to send them the next messages of the client.
+     *
+     * @param msg the {@link StandardMsg} sent to the player.
+     */
+    private void handleToClient(final StandardMsg msg) {
+        if (msg instanceof UpdateWaitingRoomMsg) {
+            waitingRoomActor = getSender();
+        } else if (msg instanceof CreateGameGUIMsg || msg instanceof GameEventMsg || msg instanceof ResumeGameMsg) {
+            gameStateActor = getSender();
+        }
+        write(msg);
+    }
+
+    /**
+     * Write a message to the connection, closing it if the client doesn't read what was already written.
+     *
+     * @param msg the {@link StandardMsg} to write.
+     */
+    private void write(final StandardMsg msg) {
+        if (!writer.write(ByteString.fromArray(frames.encode(msg)))) {
+            log().warning("Closing the connection of a client that doesn't read its messages");
+            connection.tell(TcpMessage.close(), getSelf());
+        }
+    }
+}
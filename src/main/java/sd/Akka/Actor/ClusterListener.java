@@ -1,43 +1,84 @@
 package sd.Akka.Actor;
 
 import akka.actor.AbstractLoggingActor;
+import akka.actor.ActorRef;
+import akka.actor.Address;
+import akka.actor.Cancellable;
 import akka.actor.Props;
+import akka.actor.Status;
 import akka.cluster.Cluster;
 import akka.cluster.ClusterEvent;
 import akka.cluster.ClusterEvent.MemberEvent;
 import akka.cluster.ClusterEvent.UnreachableMember;
+import akka.cluster.ClusterEvent.ReachableMember;
 import akka.cluster.ClusterEvent.MemberUp;
 import akka.cluster.ClusterEvent.MemberRemoved;
 import akka.cluster.ClusterEvent.MemberJoined;
 import akka.cluster.ClusterEvent.MemberLeft;
 import akka.cluster.ClusterEvent.MemberExited;
 import akka.cluster.Member;
+import akka.cluster.sharding.ShardRegion;
+import akka.pattern.Patterns;
+import scala.concurrent.duration.FiniteDuration;
+import sd.Utils.ClusterHelper;
+import sd.Utils.EntityMetrics;
+import sd.Utils.MatchmakingMetrics;
+import sd.Utils.TurnMetrics;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 
 /**
- * An actor used to print the log of the event happened in the cluster.
+ * An actor used to print the log of the event happened in the cluster, and periodically the {@link EntityMetrics} of
+ * the entities started and stopped in this node; the one in the leader of the cluster logs also how the entities of
+ * the sharding regions are spread over the shards and the nodes.
  */
 public class ClusterListener extends AbstractLoggingActor {
 
+    private static final String REPORT_METRICS = "reportMetrics"; // sent to itself, never to other nodes
+
     private final Cluster cluster = Cluster.get(getContext().getSystem());
+    private final Duration metricsInterval;
+    private final Duration statsTimeout;
+    private Cancellable metricsReport;
+
+    /**
+     * Create the actor.
+     *
+     * @param metricsInterval the {@link Duration} between two logs of the {@link EntityMetrics}.
+     * @param statsTimeout the {@link Duration} to wait for the statistics of the sharding regions.
+     */
+    public ClusterListener(final Duration metricsInterval, final Duration statsTimeout) {
+        this.metricsInterval = metricsInterval;
+        this.statsTimeout = statsTimeout;
+    }
 
     /**
      * Creates a Props configuration for the ClusterListener actor. This method is used to define the properties and
      * configuration for creating instances of the ClusterListener actor.
      *
+     * @param metricsInterval the {@link Duration} between two logs of the {@link EntityMetrics}.
+     * @param statsTimeout the {@link Duration} to wait for the statistics of the sharding regions.
      * @return A {@link Props} object configured for the ClusterListener actor.
      */
-    public static Props props() {
-        return Props.create(ClusterListener.class, ClusterListener::new);
+    public static Props props(final Duration metricsInterval, final Duration statsTimeout) {
+        return Props.create(ClusterListener.class, () -> new ClusterListener(metricsInterval, statsTimeout));
     }
 
     @Override
     public void preStart() {
+        metricsReport = getContext().getSystem().scheduler().scheduleWithFixedDelay(metricsInterval, metricsInterval,
+                getSelf(), REPORT_METRICS, getContext().getDispatcher(), getSelf());
         // subscribe to the cluster's event (change notifications of the cluster membership)
         cluster.subscribe(
                 getSelf(),
                 ClusterEvent.initialStateAsEvents(), // to avoid the CurrentClusterState msg at the beginning
                 MemberEvent.class,
-                UnreachableMember.class
+                UnreachableMember.class,
+                ReachableMember.class
         );
     }
 
@@ -45,6 +86,7 @@ public class ClusterListener extends AbstractLoggingActor {
     public void postStop() {
         // unsubscribe to the cluster's event when is stopped
         cluster.unsubscribe(getSelf());
+        metricsReport.cancel();
     }
 
     @Override
@@ -54,9 +96,13 @@ public class ClusterListener extends AbstractLoggingActor {
                 .match(MemberUp.class, m -> logEvent("Member is UP: {}", m.member()))
                 .match(MemberRemoved.class, m -> logEvent("Member is REMOVED: {}", m.member()))
                 .match(UnreachableMember.class, m -> logEvent("Member detected as UNREACHABLE: {}", m.member()))
+                .match(ReachableMember.class, m -> logEvent("Member detected as REACHABLE again: {}", m.member()))
                 .match(MemberJoined.class, m -> logEvent("Member JOINED: {}", m.member()))
                 .match(MemberLeft.class, m -> logEvent("Member LEFT: {}", m.member()))
                 .match(MemberExited.class, m -> logEvent("Member EXITED: {}", m.member()))
+                .matchEquals(REPORT_METRICS, m -> reportMetrics())
+                .match(RegionStats.class, this::logRegionStats)
+                .match(Status.Failure.class, f -> log().warning("Sharding statistics not received: {}", f.cause()))
                 .matchAny(message -> System.out.println("# UNEXPECTED MESSAGE TO Listener: " + message))
                 .build();
     }
@@ -70,4 +116,88 @@ public class ClusterListener extends AbstractLoggingActor {
     private void logEvent(final String message, final Member member) {
         log().info(message, member.address());
     }
+
+    /**
+     * Log the {@link EntityMetrics} and, in a game host, the {@link MatchmakingMetrics} and the {@link TurnMetrics} of
+     * this node and, in the leader of the cluster, ask the statistics of the shards of all the nodes to the sharding
+     * regions.
+     */
+    private void reportMetrics() {
+        log().info("Entities of this node:{}", EntityMetrics.report());
+        if (ClusterHelper.isGameHost(getContext().getSystem())) {
+            log().info("Matchmaking of this node:{}", MatchmakingMetrics.report());
+            log().info("Turns of this node:{}", TurnMetrics.report());
+        }
+        if (cluster.selfAddress().equals(cluster.state().getLeader())) {
+            collectRegionStats("Waiting rooms", ClusterHelper.getWaitingRegion(getContext().getSystem()));
+            collectRegionStats("Game states", ClusterHelper.getGameStateRegion(getContext().getSystem()));
+        }
+    }
+
+    /**
+     * Ask to a sharding region the number of entities of each shard in each node; the answer is sent to this actor as
+     * a {@link RegionStats}.
+     *
+     * @param name the name of the region in the log.
+     * @param region the {@link ActorRef} of the sharding region.
+     */
+    private void collectRegionStats(final String name, final ActorRef region) {
+        ShardRegion.GetClusterShardingStats request = new ShardRegion.GetClusterShardingStats(
+                FiniteDuration.create(statsTimeout.toMillis(), TimeUnit.MILLISECONDS));
+        CompletionStage<RegionStats> stats = Patterns.ask(region, request, statsTimeout.multipliedBy(2))
+                .thenApply(reply -> new RegionStats(name, (ShardRegion.ClusterShardingStats) reply));
+        Patterns.pipe(stats, getContext().getDispatcher()).to(getSelf());
+    }
+
+    /**
+     * Log the entities of a sharding region for each node and each shard, with the smallest and the biggest shard to
+     * see if they are spread evenly.
+     *
+     * @param regionStats the {@link RegionStats} received from the region.
+     */
+    private void logRegionStats(final RegionStats regionStats) {
+        StringBuilder nodes = new StringBuilder();
+        int total = 0;
+        int shards = 0;
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (Map.Entry<Address, ShardRegion.ShardRegionStats> region : regionStats.stats.getRegions().entrySet()) {
+            Map<String, Integer> entities = new TreeMap<>();
+            region.getValue().getStats().forEach((shard, count) -> entities.put(shard, ((Number) count).intValue()));
+            int nodeTotal = entities.values().stream().mapToInt(Integer::intValue).sum();
+            for (int count : entities.values()) {
+                min = Math.min(min, count);
+                max = Math.max(max, count);
+            }
+            total += nodeTotal;
+            shards += entities.size();
+            nodes.append(String.format("%n%s: %d entities in %d shards %s", region.getKey(), nodeTotal,
+                    entities.size(), entities));
+            if (!region.getValue().getFailed().isEmpty()) {
+                nodes.append(" not answered by ").append(region.getValue().getFailed());
+            }
+        }
+        log().info("{}: {}{}", regionStats.name, String.format("%d entities in %d shards, from %d to %d for each shard",
+                total, shards, shards == 0 ? 0 : min, max), nodes);
+    }
+
+    /**
+     * The statistics of a sharding region with its name.
+     */
+    private static final class RegionStats {
+
+        private final String name;
+        private final ShardRegion.ClusterShardingStats stats;
+
+        /**
+         * Create the statistics of a region.
+         *
+         * @param name the name of the region in the log.
+         * @param stats the {@link ShardRegion.ClusterShardingStats} received from the region.
+         */
+        RegionStats(final String name, final ShardRegion.ClusterShardingStats stats) {
+            this.name = name;
+            this.stats = stats;
+        }
+    }
 }
@@ -1,32 +1,130 @@
 package sd.Akka.Actor;
 
-import akka.actor.AbstractLoggingActor;
 import akka.actor.ActorRef;
+import akka.actor.Address;
+import akka.actor.PoisonPill;
 import akka.actor.Props;
+import akka.actor.Terminated;
+import akka.cluster.Cluster;
+import akka.cluster.ClusterEvent;
+import akka.cluster.pubsub.DistributedPubSub;
+import akka.cluster.pubsub.DistributedPubSubMediator;
+import akka.cluster.sharding.ShardRegion;
+import akka.event.Logging;
+import akka.event.LoggingAdapter;
+import akka.persistence.AbstractPersistentActorWithTimers;
+import akka.persistence.DeleteMessagesFailure;
+import akka.persistence.DeleteMessagesSuccess;
+import akka.persistence.DeleteSnapshotsFailure;
+import akka.persistence.DeleteSnapshotsSuccess;
+import akka.persistence.RecoveryCompleted;
+import akka.persistence.SaveSnapshotFailure;
+import akka.persistence.SaveSnapshotSuccess;
+import akka.persistence.SnapshotOffer;
+import akka.persistence.SnapshotSelectionCriteria;
 import sd.Akka.Messages.CreateGameGUIMsg;
 import sd.Akka.Messages.DealCardsMsg;
 import sd.Akka.Messages.EndTurnMsg;
+import sd.Akka.Messages.GameEventMsg;
 import sd.Akka.Messages.GameOverMsg;
+import sd.Akka.Messages.GameStartedMsg;
+import sd.Akka.Messages.MoveRejectedMsg;
 import sd.Akka.Messages.PlayedCardMsg;
+import sd.Akka.Messages.PlayerRejoinedMsg;
+import sd.Akka.Messages.RejoinGameMsg;
+import sd.Akka.Messages.ResumeGameMsg;
+import sd.Akka.Messages.ResyncMsg;
+import sd.Akka.Messages.SpectatorViewMsg;
+import sd.Akka.Messages.StandardMsg;
 import sd.Akka.Messages.StartTurnMsg;
+import sd.Akka.Messages.TurnMsg;
+import sd.Akka.Messages.TurnSummaryMsg;
+import sd.Akka.Messages.WatchGameMsg;
+import sd.Akka.Persistence.GameSnapshot;
+import sd.Model.CardSet;
 import sd.Model.Difficulty;
+import sd.Model.GameRules;
 import sd.Model.GameState;
 import sd.Model.GameStateImpl;
+import sd.Model.MoveGenerator;
+import sd.Model.Player;
+import sd.Simulation.Policy;
+import sd.Utils.ClusterHelper;
+import sd.Utils.EntityMetrics;
+import sd.Utils.GamePlacement;
+import sd.Utils.TurnMetrics;
 
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An actor used to create only one {@link GameState} for all the player so in this way there is no problem with the
- * shuffling and the distribution of the cards. It's also used to notify to all players when a card is played, when the
- * turn of a player is finished and when a Game Over occurs.
+ * shuffling and the distribution of the cards. It's the only one who can change the {@link GameState}: it checks the
+ * moves of the players with the {@link sd.Model.GameRules}, refusing the invalid ones, and it decides when the game
+ * ends with a win or a Game Over.
+ * The {@link GameState} stays only here: each player receives a {@link sd.Model.GameView} with his hand and the public
+ * information, and then only the changes to it as a stream of {@link GameEventMsg} numbered from 1; the last events
+ * are kept so they can be sent again to a player who missed some of them. A player who lost his actor can return to the
+ * game with a new one: he receives his view of the game as it is now and the next events, in the same turn order.
+ * The actor is event sourced: each change of the game is saved in the journal before being applied and published, and
+ * every some events a snapshot of the state is saved, so if the node crashes the actor is recovered from the last
+ * snapshot and the events after it, with the same deck thanks to the seed saved when the cards are dealt.
+ * When the game ends the actor asks its shard to stop it, so the finished games don't stay in memory; the messages
+ * sent to it later, like a rematch, start it again from the journal.
+ * The spectators of the game receive only its public state, published once after each event to the topic of the game
+ * in the Distributed PubSub of the cluster, that sends it to the nodes of the spectators; a spectator who starts to
+ * watch the game asks the current state to this actor.
+ * Each turn has a deadline, so a player who walks away doesn't block the others: a single timer of the actor is
+ * started again when the turn passes and cancelled when the game ends, and when it expires the turn is passed to the
+ * next player or the game is lost, as set in the configuration.
+ * The actor watches the actors of its players and the reachability of their nodes: while a player can't be reached, or
+ * after his actor stopped, a bot plays for him with the {@link Policy} set in the configuration, one card at a time
+ * like a player, so the game goes on and ends instead of staying in memory; the player gets his seat back when his
+ * node is reachable again or when he returns to the game with a new actor.
  */
-public class GameStateActor extends AbstractLoggingActor {
+public class GameStateActor extends AbstractPersistentActorWithTimers {
 
+    private static final String TURN_EXPIRED = "turnExpired"; // sent to itself, never to other nodes
+    private static final String BOT_MOVE = "botMove"; // sent to itself, never to other nodes
+
+    private final LoggingAdapter log = Logging.getLogger(getContext().getSystem(), this);
+    private final int snapshotInterval = ClusterHelper.getSnapshotInterval(getContext().getSystem());
+    private final Duration turnTimeout = ClusterHelper.getTurnTimeout(getContext().getSystem());
+    private final boolean gameOverOnExpiry = ClusterHelper.isGameOverOnTurnExpiry(getContext().getSystem());
+    private final long recoveryStart = System.nanoTime();
+    private long snapshotSequenceNumber; // the sequence number of the snapshot used in the recovery, 0 if none
+    private int replayedEvents;
     private GameState gameState;
     private Map<String, ActorRef> players; // name of a player and his reference
+    private final List<StandardMsg> events = new ArrayList<>(); // the last events published, without the older ones
+    private int firstEventSequence = 1; // the sequence number of the first event in the list
+    private Map<String, String> nextPlayerOf; // name of a player and the name of the player after him
+    private String currentPlayer; // the player whose turn is in progress
+    private int cardsPlayedThisTurn;
+    private boolean playing; // false before the deal and after the end of the game
+    private final String hostName = hostOf(getSelf().path().name());
+    private final ActorRef mediator = DistributedPubSub.get(getContext().getSystem()).mediator();
+    private final Cluster cluster = Cluster.get(getContext().getSystem());
+    private final GamePlacement placement = GamePlacement.get(getContext().getSystem());
+    private final boolean botsEnabled = ClusterHelper.isBotTakeoverEnabled(getContext().getSystem());
+    private final Policy botPolicy = ClusterHelper.getBotPolicy(getContext().getSystem());
+    private final Duration botMoveDelay = ClusterHelper.getBotMoveDelay(getContext().getSystem());
+    private final int[] botMoves = new int[MoveGenerator.maxMoves()];
+    private final SplittableRandom botRandom = new SplittableRandom();
+    private final Set<Address> unreachableNodes = new HashSet<>();
+    private final Set<ActorRef> stoppedPlayers = new HashSet<>(); // actors of players that stopped during the game
+    private final Set<String> botSeats = new HashSet<>(); // names of the players for whom the bot is playing
 
     /**
      * Creates a Props configuration for the PlayerActor. This method is used to define the properties and
@@ -38,70 +136,690 @@ public class GameStateActor extends AbstractLoggingActor {
         return Props.create(GameStateActor.class);
     }
 
+    @Override
+    public void preStart() {
+        EntityMetrics.started(getClass().getSimpleName());
+        // also without the bots, a player can take his seat again only if his actor is lost
+        cluster.subscribe(getSelf(), ClusterEvent.initialStateAsEvents(), ClusterEvent.ReachabilityEvent.class);
+    }
+
+    @Override
+    public void postStop() {
+        EntityMetrics.stopped(getClass().getSimpleName());
+        placement.unregister(persistenceId());
+        cluster.unsubscribe(getSelf());
+    }
+
+    @Override
+    public String persistenceId() {
+        return getSelf().path().name(); // the name of the entity, unique in the cluster
+    }
+
+    @Override
+    public Receive createReceiveRecover() {
+        return receiveBuilder()
+                .match(SnapshotOffer.class, offer -> {
+                    snapshotSequenceNumber = offer.metadata().sequenceNr();
+                    restore((GameSnapshot) offer.snapshot());
+                })
+                .match(StandardMsg.class, event -> {
+                    apply(event);
+                    replayedEvents++;
+                })
+                .match(RecoveryCompleted.class, completed -> {
+                    logRecovery();
+                    watchPlayers();
+                    startTurn(); // the turn in progress has again the whole time
+                })
+                .build();
+    }
+
     @Override
     public Receive createReceive() {
         return receiveBuilder()
                 .match(DealCardsMsg.class, this::handleDealCards)
-                .match(PlayedCardMsg.class, this::handlePlayedCard)
-                .match(EndTurnMsg.class, this::handleEndTurn)
-                .match(GameOverMsg.class, this::handleGameOver)
+                .match(PlayedCardMsg.class, played -> {
+                    if (isSentBy(played.getContent())) {
+                        handlePlayedCard(played);
+                    }
+                })
+                .match(EndTurnMsg.class, endTurn -> {
+                    if (isSentBy(endTurn.getContent())) {
+                        handleEndTurn(endTurn);
+                    }
+                })
+                .match(TurnMsg.class, turn -> {
+                    if (isSentBy(turn.getContent())) {
+                        handleTurn(turn);
+                    }
+                })
+                .match(ResyncMsg.class, this::handleResync)
+                .match(RejoinGameMsg.class, this::handleRejoin)
+                .matchEquals(TURN_EXPIRED, expired -> handleTurnExpired())
+                .matchEquals(BOT_MOVE, move -> handleBotMove())
+                .match(ClusterEvent.UnreachableMember.class, unreachable -> {
+                    unreachableNodes.add(unreachable.member().address());
+                    updateBots();
+                })
+                .match(ClusterEvent.ReachableMember.class, reachable -> {
+                    unreachableNodes.remove(reachable.member().address());
+                    updateBots();
+                })
+                .match(Terminated.class, terminated -> {
+                    stoppedPlayers.add(terminated.actor());
+                    updateBots();
+                })
+                .match(WatchGameMsg.class, watch -> {
+                    if (gameState != null) { // the spectators of a game not started wait for the first publication
+                        getSender().tell(spectatorView(), getSelf());
+                    }
+                })
+                .match(SaveSnapshotSuccess.class, this::handleSnapshotSaved)
+                .match(SaveSnapshotFailure.class, failure ->
+                        log.warning("Snapshot of {} not saved: {}", persistenceId(), failure.cause().getMessage()))
+                .match(DeleteMessagesFailure.class, failure ->
+                        log.warning("Events of {} not deleted: {}", persistenceId(), failure.cause().getMessage()))
+                .match(DeleteSnapshotsFailure.class, failure ->
+                        log.warning("Snapshots of {} not deleted: {}", persistenceId(), failure.cause().getMessage()))
+                .match(DeleteMessagesSuccess.class, success -> { })
+                .match(DeleteSnapshotsSuccess.class, success -> { })
                 .matchAny(message -> System.out.println("# UNEXPECTED MESSAGE TO " + getSelf() + ": " + message))
                 .build();
     }
 
     /**
      * Create the {@link GameState} for all the players, distribute the initial cards, define the order of the players
-     * and notify them that they can create the {@link sd.View.GameGUI}.
+     * and notify them that they can create the {@link sd.View.GameGUI}, sending to each one only what he can see.
      *
      * @param dealCardsMsg the {@link DealCardsMsg} sent by the {@link WaitingRoomActor} with the name of the host, the
      *                     {@link Difficulty} of the game and a {@link Map} with the name of each player and their
      *                     {@link ActorRef}.
      */
     private void handleDealCards(final DealCardsMsg dealCardsMsg) {
-        players = dealCardsMsg.getPlayers();
         Difficulty difficulty = Difficulty.fromString(dealCardsMsg.getDifficulty());
-        gameState = new GameStateImpl(new LinkedList<>(players.keySet()), difficulty); // create the GameState
-        gameState.initialHand();
-        Map<String, String> nextPlayerOf = decideTurnOrder();
-        players.forEach((name, ref) -> ref.tell(
-                new CreateGameGUIMsg(name, dealCardsMsg.getContent(), nextPlayerOf.get(name), gameState, difficulty),
-                getSelf()
-        ));
+        long seed = new SplittableRandom().nextLong(); // saved in the event, so the recovery deals the same cards
+        persist(new GameStartedMsg(dealCardsMsg.getContent(), difficulty, seed, dealCardsMsg.getPlayers()), started -> {
+            apply(started);
+            players.forEach((name, ref) -> ref.tell(
+                    new CreateGameGUIMsg(name, started.getContent(), nextPlayerOf.get(name), gameState.getView(name),
+                            difficulty),
+                    getSelf()
+            ));
+            publishToSpectators();
+            saveSnapshotIfDue();
+            watchPlayers();
+            startTurn();
+        });
     }
 
     /**
-     * Comunicate the fact that a card was played in a specific deck by a specific player to the other players; to the
-     * other players will be sent the same message.
+     * Check a card played by a player and, if it's valid, update the {@link GameState} and publish it to all the
+     * players; also the player who played the card receives the event, that is the confirmation of his move. After the
+     * move the game can be won or lost if the player can't play the minimum amount of cards anymore.
      *
      * @param playedCardMsg the {@link PlayedCardMsg} with the name of the player who has played the card, the value of
      *                      the card and the number of the deck where it was played.
      */
     private void handlePlayedCard(final PlayedCardMsg playedCardMsg) {
-        players.forEach((name, ref) -> {
-            if (!name.equals(playedCardMsg.getContent())) { // if he isn't the player who played the card
-                ref.tell(playedCardMsg, getSelf());
+        String playerName = playedCardMsg.getContent();
+        int card = playedCardMsg.getCardValue();
+        int deckNumber = playedCardMsg.getDeckNumber();
+        if (!isTurnOf(playerName)) {
+            reject(playerName, "It's not your turn", card, deckNumber);
+            return;
+        }
+        Player player = getPlayer(playerName);
+        if (!gameState.isValidMove(player, card, deckNumber)) {
+            reject(playerName, "The card " + card + " can't be played in the deck " + deckNumber, card, deckNumber);
+            return;
+        }
+        publish(new PlayedCardMsg(null, playerName, card, deckNumber), () -> {
+            if (gameState.isWin()) {
+                finish(true);
+            } else if (!player.getCards().isEmpty() && !gameState.validMoveExist(player)
+                    && !GameRules.canFinishTurn(cardsPlayedThisTurn, gameState.countMainDeckCards(),
+                    gameState.getDifficulty())) {
+                finish(false);
             }
         });
     }
 
     /**
-     * Comunicate to the other players that a player that has ended his turn.
+     * Check if a player can end his turn and, if he can, make him draw and publish it to all the players; only he
+     * receives his new hand, the others receive the number of his cards. The game is lost if the next player can't
+     * play any card.
      *
-     * @param endTurnMsg the {@link EndTurnMsg} with the name of the player who has ended his turn and the name of the
-     *                   next player whose turn will start.
+     * @param endTurnMsg the {@link EndTurnMsg} with the name of the player who has ended his turn; the next player is
+     *                   decided by this actor.
      */
     private void handleEndTurn(final EndTurnMsg endTurnMsg) {
-        players.forEach((name, ref) -> ref.tell(
-                new StartTurnMsg(name, endTurnMsg.getContent(), endTurnMsg.getNextPlayerName()), getSelf()));
+        String playerName = endTurnMsg.getContent();
+        if (!isTurnOf(playerName)) {
+            reject(playerName, "It's not your turn", -1, -1);
+            return;
+        }
+        if (!GameRules.canFinishTurn(cardsPlayedThisTurn, gameState.countMainDeckCards(), gameState.getDifficulty())) {
+            reject(playerName, "You have to play " + GameRules.cardsPerTurn(gameState.getDifficulty()) + " cards", -1,
+                    -1);
+            return;
+        }
+        // the draw is done when the event is applied, so it's saved without the new hand
+        publish(new StartTurnMsg(null, playerName, nextPlayerOf.get(playerName), 0, 0, null),
+                this::checkCurrentPlayer);
+    }
+
+    /**
+     * Check all the cards played by a player in his turn and, if they are all valid and the turn can end, apply them,
+     * make him draw and publish a single summary of the turn to all the players; if one of the moves is invalid the
+     * whole turn is refused and nothing changes. The player can send the turn also when he can't play other cards, so
+     * the game ends here with a win or a Game Over.
+     *
+     * @param turnMsg the {@link TurnMsg} with the name of the player and the cards he played.
+     */
+    private void handleTurn(final TurnMsg turnMsg) {
+        String playerName = turnMsg.getContent();
+        if (!isTurnOf(playerName)) {
+            reject(playerName, "It's not your turn", -1, -1);
+            return;
+        }
+        Player player = getPlayer(playerName);
+        int[] moves = turnMsg.getMoves();
+        CardSet hand = player.getCards().copy(); // the moves are checked on copies before changing the GameState
+        int[] lastCards = gameState.getLastCards();
+        for (int move : moves) {
+            int card = MoveGenerator.getCard(move);
+            int deckNumber = MoveGenerator.getDeck(move);
+            if (!hand.contains(card) || !GameRules.isValid(deckNumber, lastCards[deckNumber], card)) {
+                reject(playerName, "The card " + card + " can't be played in the deck " + deckNumber, card,
+                        deckNumber);
+                return;
+            }
+            hand.remove(card);
+            lastCards[deckNumber] = card;
+        }
+        int played = cardsPlayedThisTurn + moves.length;
+        boolean canFinish = GameRules.canFinishTurn(played, gameState.countMainDeckCards(), gameState.getDifficulty());
+        boolean stuck = !canFinish && !hand.isEmpty() && !MoveGenerator.exists(hand, lastCards);
+        if (!canFinish && !stuck) {
+            reject(playerName, "You have to play " + GameRules.cardsPerTurn(gameState.getDifficulty()) + " cards", -1,
+                    -1);
+            return;
+        }
+
+        boolean win = gameState.cardNotPlayed() == moves.length;
+        if (stuck || win) { // the turn doesn't pass, the summary has no next player
+            publish(new TurnSummaryMsg(null, playerName, moves, null, 0, 0, null), () -> finish(win));
+        } else {
+            publish(new TurnSummaryMsg(null, playerName, moves, nextPlayerOf.get(playerName), 0, 0, null),
+                    this::checkCurrentPlayer);
+        }
+    }
+
+    /**
+     * End the turn of a player who didn't finish it in time: with the cards he already played it passes to the next
+     * player, or the game is lost, as set in the configuration.
+     */
+    private void handleTurnExpired() {
+        if (!playing) {
+            return;
+        }
+        log.info("Turn of {} expired in {}", currentPlayer, persistenceId());
+        TurnMetrics.expired(gameOverOnExpiry);
+        if (gameOverOnExpiry) {
+            finish(false);
+        } else {
+            publish(new StartTurnMsg(null, currentPlayer, nextPlayerOf.get(currentPlayer), 0, 0, null),
+                    this::checkCurrentPlayer);
+        }
+    }
+
+    /**
+     * Make the bot play a move for the player whose turn is in progress, if he can't play himself: a card chosen by the
+     * {@link Policy} over the {@link GameState}, checked and published like the ones of the players, or the end of the
+     * turn. The next move is made after a delay, so the other players can follow the game.
+     */
+    private void handleBotMove() {
+        if (!playing || !botSeats.contains(currentPlayer)) {
+            return;
+        }
+        String playerName = currentPlayer;
+        int count = gameState.validMoves(getPlayer(playerName), botMoves);
+        boolean canEndTurn = GameRules.canFinishTurn(cardsPlayedThisTurn, gameState.countMainDeckCards(),
+                gameState.getDifficulty());
+        int move = count == 0 ? Policy.END_TURN
+                : botPolicy.chooseMove(gameState, botMoves, count, canEndTurn && cardsPlayedThisTurn > 0, botRandom);
+        if (move != Policy.END_TURN) {
+            handlePlayedCard(new PlayedCardMsg(null, playerName, MoveGenerator.getCard(move),
+                    MoveGenerator.getDeck(move)));
+            scheduleBotMove(); // it waits for the card to be saved, then the turn goes on
+        } else if (canEndTurn) {
+            handleEndTurn(new EndTurnMsg(null, playerName, nextPlayerOf.get(playerName)));
+        } else {
+            finish(false);
+        }
+    }
+
+    /**
+     * Send again to a player the events that he missed, from the requested one to the last; if the first one is older
+     * than the events kept, he receives his view of the game instead, with the sequence number of the last event.
+     *
+     * @param resyncMsg the {@link ResyncMsg} with the name of the player and the first event he hasn't received.
+     */
+    private void handleResync(final ResyncMsg resyncMsg) {
+        String name = resyncMsg.getContent();
+        ActorRef ref = players == null ? null : players.get(name);
+        if (ref == null) {
+            log.warning("Resync requested by {} who isn't in the game", name);
+            return;
+        }
+        if (resyncMsg.getFromSequenceNumber() < firstEventSequence) {
+            ref.tell(resumeGameMsg(name), getSelf());
+            return;
+        }
+        for (int sequenceNumber = resyncMsg.getFromSequenceNumber(); sequenceNumber <= lastEventSequence();
+             sequenceNumber++) {
+            ref.tell(eventFor(name, sequenceNumber), getSelf());
+        }
+    }
+
+    /**
+     * Replace the actor of a player who returns to the game, saving it so also a recovered game uses the new one, and
+     * send him his view of the game with the sequence number of the last event, so he receives only the next ones. A
+     * player who isn't in a game in progress is refused, and so is a rejoin while the previous actor of the player is
+     * still alive and reachable, otherwise anyone who knows his name could take his seat.
+     *
+     * @param rejoinGameMsg the {@link RejoinGameMsg} with the name of the player; the sender is his new actor.
+     */
+    private void handleRejoin(final RejoinGameMsg rejoinGameMsg) {
+        String name = rejoinGameMsg.getContent();
+        if (!playing || !players.containsKey(name)) {
+            log.info("Rejoin of {} refused", name);
+            getSender().tell(new MoveRejectedMsg(name, "No game in progress with this player", -1, -1), getSelf());
+            return;
+        }
+        ActorRef previous = players.get(name);
+        if (!previous.equals(getSender()) && !isLost(previous)) {
+            log.warning("Rejoin of {} refused: his actor {} is still in the game", name, previous);
+            getSender().tell(new MoveRejectedMsg(name, "The player is still in the game", -1, -1), getSelf());
+            return;
+        }
+        persist(new PlayerRejoinedMsg(name, getSender()), rejoined -> {
+            apply(rejoined);
+            stoppedPlayers.remove(previous); // the bot leaves the seat, if it was playing for him
+            watchPlayers();
+            rejoined.getPlayer().tell(resumeGameMsg(name), getSelf());
+            saveSnapshotIfDue();
+        });
+    }
+
+    /**
+     * Apply an event to the state of the actor; it's used both for the new events, after they are saved, and for the
+     * ones read from the journal during the recovery. The events of the end of a turn are saved without the result of
+     * the draw, that is always the same because the main deck is shuffled with the saved seed, so it's added here to
+     * the event published to the players.
+     *
+     * @param event the message that describe the event.
+     */
+    private void apply(final StandardMsg event) {
+        if (event instanceof GameStartedMsg started) {
+            players = new LinkedHashMap<>(started.getPlayers());
+            events.clear(); // the same actor is used again for a rematch
+            firstEventSequence = 1;
+            gameState = new GameStateImpl(new LinkedList<>(players.keySet()), started.getDifficulty(),
+                    started.getSeed());
+            gameState.initialHand();
+            nextPlayerOf = decideTurnOrder();
+            currentPlayer = started.getContent(); // the host starts
+            cardsPlayedThisTurn = 0;
+            playing = true;
+            registerPlacement();
+            return;
+        }
+        if (event instanceof PlayerRejoinedMsg rejoined) { // the order of the map, so of the turns, doesn't change
+            players.put(rejoined.getContent(), rejoined.getPlayer());
+            return;
+        }
+        StandardMsg published = event;
+        if (event instanceof PlayedCardMsg playedCard) {
+            gameState.playedCard(getPlayer(playedCard.getContent()), playedCard.getCardValue(),
+                    playedCard.getDeckNumber());
+            cardsPlayedThisTurn++;
+        } else if (event instanceof StartTurnMsg startTurn) {
+            Player player = getPlayer(startTurn.getContent());
+            passTurn(player);
+            published = new StartTurnMsg(null, player.getName(), currentPlayer, player.getCards().size(),
+                    gameState.countMainDeckCards(), player.getCards().copy());
+        } else if (event instanceof TurnSummaryMsg summary) {
+            Player player = getPlayer(summary.getContent());
+            for (int move : summary.getMoves()) {
+                gameState.playedCard(player, MoveGenerator.getCard(move), MoveGenerator.getDeck(move));
+            }
+            cardsPlayedThisTurn += summary.getMoves().length;
+            if (summary.getNextPlayerName() != null) {
+                passTurn(player);
+            }
+            published = new TurnSummaryMsg(null, player.getName(), summary.getMoves(), summary.getNextPlayerName(),
+                    player.getCards().size(), gameState.countMainDeckCards(), player.getCards().copy());
+        } else if (event instanceof GameOverMsg) {
+            playing = false;
+            registerPlacement();
+        }
+        events.add(published);
+    }
+
+    /**
+     * Restore the state of the actor from a snapshot, during the recovery.
+     *
+     * @param snapshot the {@link GameSnapshot} read from the snapshot store.
+     */
+    private void restore(final GameSnapshot snapshot) {
+        gameState = snapshot.getGameState();
+        players = new LinkedHashMap<>(snapshot.getPlayers());
+        nextPlayerOf = decideTurnOrder();
+        currentPlayer = snapshot.getCurrentPlayer();
+        cardsPlayedThisTurn = snapshot.getCardsPlayedThisTurn();
+        playing = snapshot.isPlaying();
+        events.clear();
+        firstEventSequence = snapshot.getLastEventSequence() + 1;
+        registerPlacement();
+    }
+
+    /**
+     * Register in the {@link GamePlacement} of the node the game while it's in progress, so its shard isn't moved to
+     * another node, and remove it when it ends; the shard is the parent of the actor.
+     */
+    private void registerPlacement() {
+        if (playing) {
+            placement.register(persistenceId(), getContext().getParent().path().name());
+        } else {
+            placement.unregister(persistenceId());
+        }
+    }
+
+    /**
+     * Save a snapshot of the state if enough events were saved after the last one; the {@link GameState} and the
+     * players are copied because they're serialized by the snapshot store while the game goes on. The snapshot doesn't
+     * have the events, so only the last ones are kept for the resyncs and the older ones are dropped.
+     */
+    private void saveSnapshotIfDue() {
+        if (lastSequenceNr() % snapshotInterval == 0) {
+            saveSnapshot(new GameSnapshot(gameState.copy(), new LinkedHashMap<>(players), currentPlayer,
+                    cardsPlayedThisTurn, playing, lastEventSequence()));
+            int dropped = Math.max(0, events.size() - snapshotInterval);
+            events.subList(0, dropped).clear();
+            firstEventSequence += dropped;
+        }
+    }
+
+    /**
+     * Delete the events and the snapshots older than a saved snapshot, because the recovery doesn't need them anymore.
+     *
+     * @param success the {@link SaveSnapshotSuccess} with the sequence number of the snapshot.
+     */
+    private void handleSnapshotSaved(final SaveSnapshotSuccess success) {
+        long sequenceNumber = success.metadata().sequenceNr();
+        deleteMessages(sequenceNumber);
+        deleteSnapshots(SnapshotSelectionCriteria.create(sequenceNumber - 1, Long.MAX_VALUE));
+    }
+
+    /**
+     * Log how long the recovery took and how many events were read from the journal, to choose the interval between
+     * the snapshots.
+     */
+    private void logRecovery() {
+        if (snapshotSequenceNumber == 0 && replayedEvents == 0) {
+            return; // a new actor, nothing recovered
+        }
+        log.info("{} recovered in {} ms from the snapshot {} and {} events", persistenceId(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - recoveryStart), snapshotSequenceNumber,
+                replayedEvents);
+    }
+
+    /**
+     * Make a player draw at the end of his turn and pass the turn to the next player.
+     *
+     * @param player the {@link Player} who ended his turn.
+     */
+    private void passTurn(final Player player) {
+        gameState.draw(player);
+        currentPlayer = nextPlayerOf.get(player.getName());
+        cardsPlayedThisTurn = 0;
+    }
+
+    /**
+     * Start the deadline of the turn in progress, replacing the one of the previous turn, or cancel it if the game
+     * isn't in progress; the timer of the actor has a fixed key, so each turn costs the same whatever the number of
+     * games of the node. If the bot plays for the player of the turn, his first move is scheduled.
+     */
+    private void startTurn() {
+        if (playing && !turnTimeout.isZero()) {
+            getTimers().startSingleTimer(TURN_EXPIRED, TURN_EXPIRED, turnTimeout);
+        } else {
+            getTimers().cancel(TURN_EXPIRED);
+        }
+        scheduleBotMove();
+    }
+
+    /**
+     * Watch the actors of the players, so the bot plays for the ones that stop during the game and their seats can be
+     * taken again with a rejoin, and update the seats of the bot; watching an actor already watched does nothing.
+     */
+    private void watchPlayers() {
+        if (players != null) {
+            players.values().forEach(getContext()::watch);
+            updateBots();
+        }
+    }
+
+    /**
+     * Give to the bot the seats of the players whose actor stopped or whose node can't be reached, and give back the
+     * others to their players; the actors of this node are always reachable.
+     */
+    private void updateBots() {
+        if (!botsEnabled || players == null) {
+            return;
+        }
+        botSeats.retainAll(players.keySet()); // after a rematch the players can be others
+        players.forEach((name, ref) -> {
+            boolean lost = isLost(ref);
+            if (lost && botSeats.add(name)) {
+                log.info("A bot plays for {} in {}", name, persistenceId());
+                TurnMetrics.takenOver();
+            } else if (!lost && botSeats.remove(name)) {
+                log.info("{} plays again in {}", name, persistenceId());
+            }
+        });
+        scheduleBotMove();
+    }
+
+    /**
+     * Check if the actor of a player is lost, because it stopped or its node can't be reached.
+     *
+     * @param ref the {@link ActorRef} of the player.
+     * @return true if the actor is lost.
+     */
+    private boolean isLost(final ActorRef ref) {
+        return stoppedPlayers.contains(ref) || unreachableNodes.contains(ref.path().address());
+    }
+
+    /**
+     * Make the bot play the next move after a delay, if it's playing for the player of the turn in progress.
+     */
+    private void scheduleBotMove() {
+        if (playing && botSeats.contains(currentPlayer)) {
+            getTimers().startSingleTimer(BOT_MOVE, BOT_MOVE, botMoveDelay);
+        }
+    }
+
+    /**
+     * End the game with a Game Over if the player whose turn is starting can't play any card.
+     */
+    private void checkCurrentPlayer() {
+        Player player = getPlayer(currentPlayer);
+        if (!player.getCards().isEmpty() && !gameState.validMoveExist(player)) {
+            finish(false);
+        }
+    }
+
+    /**
+     * Check if a game is in progress and it's the turn of a player.
+     *
+     * @param playerName the name of the player.
+     * @return true if the player can move, false otherwise.
+     */
+    private boolean isTurnOf(final String playerName) {
+        return playing && currentPlayer.equals(playerName);
+    }
+
+    /**
+     * Check that a move comes from the actor of the player who makes it, because the name in the message can be
+     * written by anyone, also by a client of a gateway; a move of someone else is refused to its sender. The moves of
+     * the bot don't pass from here.
+     *
+     * @param playerName the name of the player in the message.
+     * @return true if the sender of the message is the actor of the player.
+     */
+    private boolean isSentBy(final String playerName) {
+        if (players != null && getSender().equals(players.get(playerName))) {
+            return true;
+        }
+        log.warning("Move of {} refused: sent by {}", playerName, getSender());
+        getSender().tell(new MoveRejectedMsg(playerName, "You aren't " + playerName, -1, -1), getSelf());
+        return false;
+    }
+
+    /**
+     * Send to a player the refusal of his move.
+     *
+     * @param playerName the name of the player.
+     * @param reason the reason why the move is refused.
+     * @param card the value of the refused card, or -1 for the end of the turn.
+     * @param deckNumber the number of the deck of the refused card, or -1 for the end of the turn.
+     */
+    private void reject(final String playerName, final String reason, final int card, final int deckNumber) {
+        log.info("Move of {} refused: {}", playerName, reason);
+        ActorRef ref = players == null ? null : players.get(playerName);
+        if (ref != null) {
+            ref.tell(new MoveRejectedMsg(playerName, reason, card, deckNumber), getSelf());
+        }
+    }
+
+    /**
+     * End the game, publish the result to all the players and stop the actor.
+     *
+     * @param win true if all the cards were played, false if it's a Game Over.
+     */
+    private void finish(final boolean win) {
+        publish(new GameOverMsg(null, win), () -> {
+            EntityMetrics.finished(getClass().getSimpleName());
+            // the shard keeps the messages arriving while the actor stops and then starts it again for them
+            getContext().getParent().tell(new ShardRegion.Passivate(PoisonPill.getInstance()), getSelf());
+        });
+    }
+
+    /**
+     * Save an event in the journal and then apply it, add it to the stream of the game and send it to all the players;
+     * the messages received while the event is being saved wait until it's applied.
+     *
+     * @param event the message that describe the event.
+     * @param then what to do after the event is published, with the updated state.
+     */
+    private void publish(final StandardMsg event, final Runnable then) {
+        persist(event, persisted -> {
+            apply(persisted);
+            if (!playing || persisted instanceof StartTurnMsg
+                    || persisted instanceof TurnSummaryMsg summary && summary.getNextPlayerName() != null) {
+                startTurn();
+            }
+            int sequenceNumber = lastEventSequence();
+            players.forEach((name, ref) -> ref.tell(eventFor(name, sequenceNumber), getSelf()));
+            publishToSpectators();
+            saveSnapshotIfDue();
+            then.run();
+        });
+    }
+
+    /**
+     * Publish the public state of the game to its spectators with a single message, whatever their number.
+     */
+    private void publishToSpectators() {
+        mediator.tell(new DistributedPubSubMediator.Publish(ClusterHelper.getSpectatorTopic(hostName),
+                spectatorView()), getSelf());
+    }
+
+    /**
+     * Create the public state of the game shown to the spectators.
+     *
+     * @return the {@link SpectatorViewMsg} with the state; its version is the sequence number of the last event saved,
+     *         that keeps growing also in a rematch.
+     */
+    private SpectatorViewMsg spectatorView() {
+        return new SpectatorViewMsg(hostName, currentPlayer, lastSequenceNr(), gameState.getLastCards(),
+                gameState.countPlayersCards(), gameState.countMainDeckCards(), playing, !playing && gameState.isWin());
+    }
+
+    /**
+     * Get the sequence number of the last event published to the players.
+     *
+     * @return the sequence number, 0 if no event was published in the game.
+     */
+    private int lastEventSequence() {
+        return firstEventSequence + events.size() - 1;
+    }
+
+    /**
+     * Create the view of the game of a player, with the state of the turn in progress and the sequence number of the
+     * last event, so he receives only the next ones.
+     *
+     * @param name the name of the player.
+     * @return the {@link ResumeGameMsg} to send to the player.
+     */
+    private ResumeGameMsg resumeGameMsg(final String name) {
+        return new ResumeGameMsg(name, hostName, currentPlayer, nextPlayerOf.get(name), gameState.getView(name),
+                gameState.getDifficulty(), lastEventSequence(), name.equals(currentPlayer) ? cardsPlayedThisTurn : 0);
+    }
+
+    /**
+     * Create the message with an event for a specific player; the new hand of a player who has drawn is removed from
+     * the events sent to the others.
+     *
+     * @param name the name of the player who will receive the event.
+     * @param sequenceNumber the sequence number of the event.
+     * @return the {@link GameEventMsg} to send to the player.
+     */
+    private GameEventMsg eventFor(final String name, final int sequenceNumber) {
+        StandardMsg event = events.get(sequenceNumber - firstEventSequence);
+        if (event instanceof StartTurnMsg startTurn && !name.equals(startTurn.getContent())) {
+            event = new StartTurnMsg(null, startTurn.getContent(), startTurn.getNextPlayerName(),
+                    startTurn.getCardsInHand(), startTurn.getMainDeckCards(), null);
+        } else if (event instanceof TurnSummaryMsg summary && !name.equals(summary.getContent())) {
+            event = new TurnSummaryMsg(null, summary.getContent(), summary.getMoves(), summary.getNextPlayerName(),
+                    summary.getCardsInHand(), summary.getMainDeckCards(), null);
+        }
+        return new GameEventMsg(name, sequenceNumber, event);
+    }
+
+    /**
+     * Obtain a player of the game.
+     *
+     * @param playerName the name of the player.
+     * @return the {@link Player} with that name.
+     * @throws IllegalArgumentException if the player is not present in the game.
+     */
+    private Player getPlayer(final String playerName) {
+        return gameState.getPlayer(playerName).orElseThrow(() ->
+                new IllegalArgumentException(playerName + ": player not found"));
     }
 
     /**
-     * Comunicate to all the players that a Game Over has occurred.
+     * Obtain the name of the host from the name of the actor, that the sharding encodes as a URL.
      *
-     * @param gameOverMsg the {@link GameOverMsg} that comunicate the Game Over.
+     * @param actorName the name of the actor.
+     * @return the name of the host.
      */
-    private void handleGameOver(final GameOverMsg gameOverMsg) {
-        players.forEach((name, ref) -> ref.tell(new GameOverMsg(name), getSelf()));
+    private static String hostOf(final String actorName) {
+        String entityId = URLDecoder.decode(actorName, StandardCharsets.UTF_8);
+        return entityId.substring(0, entityId.length() - ClusterHelper.getGameStateExtension().length());
     }
 
     /**
@@ -0,0 +1,78 @@
+package sd.Akka.Actor;
+
+import akka.actor.AbstractLoggingActor;
+import akka.actor.ActorRef;
+import akka.actor.Props;
+import akka.io.Tcp;
+import akka.io.TcpMessage;
+
+import java.net.InetSocketAddress;
+
+/**
+ * An actor of a gateway node that accepts the TCP connections of the clients; for each of them it creates a
+ * {@link ClientSessionActor} that acts in the cluster on behalf of the player, so the clients don't need to be members
+ * of the cluster.
+ */
+public class GatewayActor extends AbstractLoggingActor {
+
+    private final InetSocketAddress address;
+    private final int maxFrameSize;
+    private final int maxQueuedBytes;
+    private long sessions; // used to give a unique name to each session
+
+    /**
+     * Create the actor.
+     *
+     * @param address the {@link InetSocketAddress} where the clients connect.
+     * @param maxFrameSize the maximum size of a frame received from or sent to a client.
+     * @param maxQueuedBytes the maximum number of bytes waiting to be written to each client.
+     */
+    public GatewayActor(final InetSocketAddress address, final int maxFrameSize, final int maxQueuedBytes) {
+        this.address = address;
+        this.maxFrameSize = maxFrameSize;
+        this.maxQueuedBytes = maxQueuedBytes;
+    }
+
+    /**
+     * Creates a Props configuration for the GatewayActor.
+     *
+     * @param address the {@link InetSocketAddress} where the clients connect.
+     * @param maxFrameSize the maximum size of a frame received from or sent to a client.
+     * @param maxQueuedBytes the maximum number of bytes waiting to be written to each client.
+     * @return A {@link Props} object configured for the GatewayActor.
+     */
+    public static Props props(final InetSocketAddress address, final int maxFrameSize, final int maxQueuedBytes) {
+        return Props.create(GatewayActor.class, () -> new GatewayActor(address, maxFrameSize, maxQueuedBytes));
+    }
+
+    @Override
+    public void preStart() {
+        Tcp.get(getContext().getSystem()).manager().tell(TcpMessage.bind(getSelf(), address, 100), getSelf());
+    }
+
+    @Override
+    public Receive createReceive() {
+        return receiveBuilder()
+                .match(Tcp.Bound.class, bound -> log().info("Gateway listening on {}", bound.localAddress()))
+                .match(Tcp.CommandFailed.class, failed -> {
+                    log().error("Gateway can't listen on {}", address);
+                    getContext().stop(getSelf());
+                })
+                .match(Tcp.Connected.class, this::handleConnected)
+                .matchAny(message -> System.out.println("# UNEXPECTED MESSAGE TO " + getSelf() + ": " + message))
+                .build();
+    }
+
+    /**
+     * Create the {@link ClientSessionActor} of a new client and make it receive the data of the connection.
+     *
+     * @param connected the {@link Tcp.Connected} message of the new connection.
+     */
+    private void handleConnected(final Tcp.Connected connected) {
+        ActorRef connection = getSender();
+        ActorRef session = getContext().actorOf(ClientSessionActor.props(connection, maxFrameSize, maxQueuedBytes),
+                "session-" + ++sessions);
+        connection.tell(TcpMessage.register(session), getSelf());
+        log().debug("Client {} connected", connected.remoteAddress());
+    }
+}
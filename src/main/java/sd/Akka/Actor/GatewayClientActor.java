@@ -0,0 +1,169 @@
+package sd.Akka.Actor;
+
+import akka.actor.AbstractLoggingActor;
+import akka.actor.ActorRef;
+import akka.actor.ExtendedActorSystem;
+import akka.actor.Props;
+import akka.io.Tcp;
+import akka.io.TcpMessage;
+import akka.util.ByteString;
+import sd.Akka.ClientFrames;
+import sd.Akka.ConnectionWriter;
+import sd.Akka.MessageSerializer;
+import sd.Akka.Messages.GetLobbyMsg;
+import sd.Akka.Messages.LobbyMsg;
+import sd.Akka.Messages.StandardMsg;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * An actor of a client, that isn't a member of the cluster, connected over TCP to a gateway: it takes the place of the
+ * sharding regions and of the actors of the game for the local {@link PlayerActor}, so the messages sent to it are
+ * written to the connection and the ones received are sent to the player with this actor as sender, where the player
+ * sends the replies. It also answers to the requests of the open games, asking them to the gateway.
+ * The messages are written through a {@link ConnectionWriter}, one at a time; if the gateway doesn't read them and too
+ * many pile up, or the connection can't be opened, the actor stops like when the connection is closed.
+ */
+public class GatewayClientActor extends AbstractLoggingActor {
+
+    private final InetSocketAddress gateway;
+    private final ClientFrames frames;
+    private final int maxQueuedBytes;
+    private final List<StandardMsg> waiting = new ArrayList<>(); // sent before the connection is ready
+    private ActorRef connection;
+    private ConnectionWriter writer; // created when the connection is ready
+    private ActorRef player;
+    private final Queue<ActorRef> lobbyRequests = new ArrayDeque<>(); // answered in order by the gateway
+
+    /**
+     * Create the actor.
+     *
+     * @param gateway the {@link InetSocketAddress} of the gateway.
+     * @param maxFrameSize the maximum size of a frame received from or sent to the gateway.
+     * @param maxQueuedBytes the maximum number of bytes waiting to be written to the gateway.
+     */
+    public GatewayClientActor(final InetSocketAddress gateway, final int maxFrameSize, final int maxQueuedBytes) {
+        this.gateway = gateway;
+        this.frames = new ClientFrames(new MessageSerializer((ExtendedActorSystem) getContext().getSystem()),
+                maxFrameSize);
+        this.maxQueuedBytes = maxQueuedBytes;
+    }
+
+    /**
+     * Creates a Props configuration for the GatewayClientActor.
+     *
+     * @param gateway the {@link InetSocketAddress} of the gateway.
+     * @param maxFrameSize the maximum size of a frame received from or sent to the gateway.
+     * @param maxQueuedBytes the maximum number of bytes waiting to be written to the gateway.
+     * @return A {@link Props} object configured for the GatewayClientActor.
+     */
+    public static Props props(final InetSocketAddress gateway, final int maxFrameSize, final int maxQueuedBytes) {
+        return Props.create(GatewayClientActor.class,
+                () -> new GatewayClientActor(gateway, maxFrameSize, maxQueuedBytes));
+    }
+
+    @Override
+    public void preStart() {
+        Tcp.get(getContext().getSystem()).manager().tell(TcpMessage.connect(gateway), getSelf());
+    }
+
+    @Override
+    public Receive createReceive() {
+        return receiveBuilder()
+                .match(Tcp.Connected.class, this::handleConnected)
+                .match(Tcp.CommandFailed.class, this::handleCommandFailed)
+                .matchEquals(ConnectionWriter.ACK, ack -> writer.acknowledged())
+                .match(Tcp.WritingResumed.class, resumed -> writer.resumed())
+                .match(Tcp.Received.class, this::handleReceived)
+                .match(Tcp.ConnectionClosed.class, closed -> {
+                    log().error("Connection to the gateway {} closed", gateway);
+                    getContext().stop(getSelf());
+                })
+                .match(StandardMsg.class, this::handleToGateway)
+                .matchAny(message -> System.out.println("# UNEXPECTED MESSAGE TO " + getSelf() + ": " + message))
+                .build();
+    }
+
+    /**
+     * Start to receive the data of the connection and send the messages arrived before it was ready.
+     *
+     * @param connected the {@link Tcp.Connected} message of the connection.
+     */
+    private void handleConnected(final Tcp.Connected connected) {
+        connection = getSender();
+        writer = new ConnectionWriter(connection, getSelf(), maxQueuedBytes);
+        connection.tell(TcpMessage.register(getSelf()), getSelf());
+        log().info("Connected to the gateway {}", connected.remoteAddress());
+        waiting.forEach(this::write);
+        waiting.clear();
+    }
+
+    /**
+     * Handle a command refused by TCP: if the connection can't be opened the actor stops, while a refused write is
+     * written again after the writes are resumed.
+     *
+     * @param failed the {@link Tcp.CommandFailed} with the refused command.
+     */
+    private void handleCommandFailed(final Tcp.CommandFailed failed) {
+        if (failed.cmd() instanceof Tcp.Connect) {
+            log().error("Can't connect to the gateway {}", gateway);
+            getContext().stop(getSelf());
+        } else {
+            log().warning("Write to the gateway refused, resuming the writes: {}", failed.cmd());
+            writer.failed(failed);
+        }
+    }
+
+    /**
+     * Send to the {@link PlayerActor} the messages received from the gateway.
+     *
+     * @param received the {@link Tcp.Received} message with the data of the connection.
+     */
+    private void handleReceived(final Tcp.Received received) {
+        for (StandardMsg msg : frames.decode(received.data().asByteBuffer())) {
+            if (msg instanceof LobbyMsg) {
+                if (!lobbyRequests.isEmpty()) {
+                    lobbyRequests.poll().tell(msg, getSelf());
+                }
+            } else {
+                player.tell(msg, getSelf());
+            }
+        }
+    }
+
+    /**
+     * Send to the gateway a message of the player; the player is the sender of the first message, that adds him to
+     * a waiting room, to a queue of the matchmaking or to the spectators of a game, while the senders of the requests
+     * of the open games wait for their answer.
+     *
+     * @param msg the {@link StandardMsg} to send.
+     */
+    private void handleToGateway(final StandardMsg msg) {
+        if (msg instanceof GetLobbyMsg) {
+            lobbyRequests.add(getSender());
+        } else if (!getSender().equals(getContext().getSystem().deadLetters())) {
+            player = getSender();
+        }
+        if (connection == null) {
+            waiting.add(msg);
+        } else {
+            write(msg);
+        }
+    }
+
+    /**
+     * Write a message to the connection, closing it if the gateway doesn't read what was already written.
+     *
+     * @param msg the {@link StandardMsg} to write.
+     */
+    private void write(final StandardMsg msg) {
+        if (!writer.write(ByteString.fromArray(frames.encode(msg)))) {
+            log().error("The gateway {} doesn't read the messages, closing the connection", gateway);
+            connection.tell(TcpMessage.close(), getSelf());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package sd.Akka.Actor;
+
+import akka.actor.AbstractLoggingActor;
+import akka.actor.ActorRef;
+import akka.actor.Props;
+import akka.cluster.ddata.DistributedData;
+import akka.cluster.ddata.Key;
+import akka.cluster.ddata.LWWMap;
+import akka.cluster.ddata.LWWMapKey;
+import akka.cluster.ddata.Replicator;
+import akka.cluster.ddata.SelfUniqueAddress;
+import sd.Akka.Messages.CloseGameMsg;
+import sd.Akka.Messages.GetLobbyMsg;
+import sd.Akka.Messages.LobbyMsg;
+import sd.Akka.Messages.OpenGameMsg;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * An actor created in each node of the cluster that keeps the directory of the open games, the waiting rooms that can
+ * be joined: it's a {@link LWWMap} of Akka Distributed Data, replicated in all the nodes by gossiping only the changes,
+ * so the list of the open games is read from the memory of the node without asking it to any other node.
+ * The {@link WaitingRoomActor}s of the node write their state through this actor.
+ */
+public class LobbyActor extends AbstractLoggingActor {
+
+    private static final Key<LWWMap<String, OpenGameMsg>> LOBBY_KEY = LWWMapKey.create("lobby");
+
+    private final ActorRef replicator = DistributedData.get(getContext().getSystem()).replicator();
+    private final SelfUniqueAddress node = DistributedData.get(getContext().getSystem()).selfUniqueAddress();
+    private Map<String, OpenGameMsg> openGames = new TreeMap<>(); // host name and his game, the last seen
+
+    /**
+     * Creates a Props configuration for the LobbyActor.
+     *
+     * @return A {@link Props} object configured for the LobbyActor.
+     */
+    public static Props props() {
+        return Props.create(LobbyActor.class, LobbyActor::new);
+    }
+
+    @Override
+    public void preStart() {
+        replicator.tell(new Replicator.Subscribe<>(LOBBY_KEY, getSelf()), ActorRef.noSender());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Receive createReceive() {
+        return receiveBuilder()
+                .match(OpenGameMsg.class, msg -> update(map -> map.put(node, msg.getHostName(), msg)))
+                .match(CloseGameMsg.class, msg -> update(map -> map.remove(node, msg.getReceiver())))
+                .match(GetLobbyMsg.class, msg -> getSender().tell(new LobbyMsg(new ArrayList<>(openGames.values())),
+                        getSelf()))
+                .match(Replicator.Changed.class, changed -> changed.key().equals(LOBBY_KEY),
+                        changed -> openGames = new TreeMap<>(((LWWMap<String, OpenGameMsg>) changed.dataValue())
+                                .getEntries()))
+                .match(Replicator.UpdateSuccess.class, success -> { })
+                .match(Replicator.UpdateFailure.class, failure -> log().warning("Lobby not updated: {}", failure))
+                .matchAny(message -> System.out.println("# UNEXPECTED MESSAGE TO " + getSelf() + ": " + message))
+                .build();
+    }
+
+    /**
+     * Change the directory in this node; the change is sent to the other nodes with the next gossip.
+     *
+     * @param modify the {@link Function} that changes the {@link LWWMap} of the directory.
+     */
+    private void update(final Function<LWWMap<String, OpenGameMsg>, LWWMap<String, OpenGameMsg>> modify) {
+        replicator.tell(new Replicator.Update<>(LOBBY_KEY, LWWMap.create(), Replicator.writeLocal(), modify),
+                getSelf());
+    }
+}
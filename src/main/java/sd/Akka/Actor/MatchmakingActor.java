@@ -0,0 +1,125 @@
+package sd.Akka.Actor;
+
+import akka.actor.AbstractLoggingActor;
+import akka.actor.ActorRef;
+import akka.actor.Cancellable;
+import akka.actor.Props;
+import akka.actor.Terminated;
+import sd.Akka.Messages.AddPlayerMsg;
+import sd.Akka.Messages.EnqueueMsg;
+import sd.Akka.Messages.StartGameMsg;
+import sd.Model.GameRules;
+import sd.Utils.ClusterHelper;
+import sd.Utils.EntityMetrics;
+import sd.Utils.MatchQueue;
+import sd.Utils.MatchmakingMetrics;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An actor of the matchmaking sharding region with the queue of the players who want a game with a difficulty and a
+ * number of players. At each tick it puts the players waiting for the longest time together in as many games as
+ * possible: for each game it creates the {@link WaitingRoomActor} of the first player, adds all of them and starts the
+ * game, so the {@link GameStateActor} is created as for the games of friends.
+ */
+public class MatchmakingActor extends AbstractLoggingActor {
+
+    private static final String TICK = "tick"; // sent to itself, never to other nodes
+
+    private final String queueName = URLDecoder.decode(getSelf().path().name(), StandardCharsets.UTF_8);
+    private final Duration tick;
+    private MatchQueue<ActorRef> queue;
+    private String difficulty;
+    private ActorRef waitingRoomRegion;
+    private Cancellable ticks;
+
+    /**
+     * Create the actor.
+     *
+     * @param tick the {@link Duration} between two matches of the players in the queue.
+     */
+    public MatchmakingActor(final Duration tick) {
+        this.tick = tick;
+    }
+
+    /**
+     * Creates a Props configuration for the MatchmakingActor.
+     *
+     * @param tick the {@link Duration} between two matches of the players in the queue.
+     * @return A {@link Props} object configured for the MatchmakingActor.
+     */
+    public static Props props(final Duration tick) {
+        return Props.create(MatchmakingActor.class, () -> new MatchmakingActor(tick));
+    }
+
+    @Override
+    public void preStart() {
+        EntityMetrics.started(getClass().getSimpleName());
+        ticks = getContext().getSystem().scheduler().scheduleWithFixedDelay(tick, tick, getSelf(), TICK,
+                getContext().getDispatcher(), getSelf());
+    }
+
+    @Override
+    public void postStop() {
+        EntityMetrics.stopped(getClass().getSimpleName());
+        MatchmakingMetrics.queueDepth(queueName, 0);
+        ticks.cancel();
+    }
+
+    @Override
+    public Receive createReceive() {
+        return receiveBuilder()
+                .match(EnqueueMsg.class, this::handleEnqueue)
+                .match(Terminated.class, terminated -> queue.removeRef(terminated.actor()))
+                .matchEquals(TICK, t -> match())
+                .matchAny(message -> System.out.println("# UNEXPECTED MESSAGE TO " + getSelf() + ": " + message))
+                .build();
+    }
+
+    /**
+     * Put a player in the queue; he is removed if his actor stops before he is matched.
+     *
+     * @param enqueueMsg the {@link EnqueueMsg} with the name of the player.
+     */
+    private void handleEnqueue(final EnqueueMsg enqueueMsg) {
+        if (queue == null) {
+            if (enqueueMsg.getTableSize() < 1 || enqueueMsg.getTableSize() > GameRules.getMaxPlayers()) {
+                log().warning("Invalid number of players: {}", enqueueMsg.getTableSize());
+                return;
+            }
+            queue = new MatchQueue<>(enqueueMsg.getTableSize());
+            difficulty = enqueueMsg.getDifficulty();
+        }
+        getContext().watch(getSender());
+        queue.add(enqueueMsg.getContent(), getSender(), System.nanoTime());
+    }
+
+    /**
+     * Create the games of the players matched; the first player of each game is its host.
+     */
+    private void match() {
+        if (queue == null) {
+            return;
+        }
+        for (LinkedHashMap<String, ActorRef> table : queue.match(System.nanoTime(), MatchmakingMetrics::matched)) {
+            if (waitingRoomRegion == null) {
+                waitingRoomRegion = ClusterHelper.getWaitingRegion(getContext().getSystem());
+            }
+            String hostName = table.keySet().iterator().next();
+            for (Map.Entry<String, ActorRef> player : table.entrySet()) {
+                if (!queue.hasRef(player.getValue())) { // the same actor can have other players still waiting
+                    getContext().unwatch(player.getValue());
+                }
+                // sent on behalf of the player, so the waiting room answers to him
+                waitingRoomRegion.tell(new AddPlayerMsg(hostName, player.getKey(),
+                        player.getKey().equals(hostName) ? difficulty : null), player.getValue());
+            }
+            waitingRoomRegion.tell(new StartGameMsg(hostName, difficulty), getSelf());
+        }
+        MatchmakingMetrics.queueDepth(queueName, queue.size());
+    }
+}
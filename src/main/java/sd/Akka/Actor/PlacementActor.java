@@ -0,0 +1,34 @@
+package sd.Akka.Actor;
+
+import akka.actor.AbstractLoggingActor;
+import akka.actor.Props;
+import sd.Akka.Messages.GetPlacementMsg;
+import sd.Akka.Messages.PlacementMsg;
+import sd.Utils.GamePlacement;
+
+/**
+ * An actor created in each node that answers to the {@link sd.Akka.GameShardAllocationStrategy} with the games in
+ * progress of each shard of the node, taken from its {@link GamePlacement}.
+ */
+public class PlacementActor extends AbstractLoggingActor {
+
+    private final GamePlacement placement = GamePlacement.get(getContext().getSystem());
+
+    /**
+     * Creates a Props configuration for the PlacementActor.
+     *
+     * @return A {@link Props} object configured for the PlacementActor.
+     */
+    public static Props props() {
+        return Props.create(PlacementActor.class, PlacementActor::new);
+    }
+
+    @Override
+    public Receive createReceive() {
+        return receiveBuilder()
+                .match(GetPlacementMsg.class, msg ->
+                        getSender().tell(new PlacementMsg(placement.gamesPerShard()), getSelf()))
+                .matchAny(message -> System.out.println("# UNEXPECTED MESSAGE TO " + getSelf() + ": " + message))
+                .build();
+    }
+}
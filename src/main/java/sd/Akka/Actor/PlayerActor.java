@@ -6,19 +6,33 @@ import akka.actor.Props;
 import sd.Akka.Messages.AddPlayerMsg;
 import sd.Akka.Messages.CreateGameGUIMsg;
 import sd.Akka.Messages.CreateWaitingGUIMsg;
+import sd.Akka.Messages.GameEventMsg;
 import sd.Akka.Messages.GameOverMsg;
+import sd.Akka.Messages.MoveRejectedMsg;
 import sd.Akka.Messages.PlayedCardMsg;
+import sd.Akka.Messages.RejoinGameMsg;
 import sd.Akka.Messages.RematchMsg;
+import sd.Akka.Messages.ResumeGameMsg;
+import sd.Akka.Messages.ResyncMsg;
+import sd.Akka.Messages.StandardMsg;
 import sd.Akka.Messages.StartTurnMsg;
+import sd.Akka.Messages.TurnSummaryMsg;
 import sd.Akka.Messages.UpdateWaitingRoomMsg;
 import sd.Controller.GameController;
 import sd.Controller.GameControllerImpl;
 import sd.Controller.WaitingController;
 import sd.Controller.WaitingControllerImpl;
 import sd.Model.Difficulty;
+import sd.Model.MoveGenerator;
+import sd.Utils.ClusterHelper;
 import sd.View.WaitingGUI;
 
+import java.util.ArrayList;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 
 /**
  * An actor used to send and receive all the messages in which the player is involved. It's mainly used to comunicate
@@ -32,7 +46,13 @@ public class PlayerActor extends AbstractLoggingActor {
     private ActorRef waitingActorRef;
     private WaitingController waitingController;
     private List<String> playersNames;
+    private int waitingRoomVersion; // the last version of the waiting room known
     private GameController gameController;
+    private ActorRef gameStateActorRef;
+    private int nextSequenceNumber; // the sequence number of the next event to apply
+    private final SortedMap<Integer, StandardMsg> pendingEvents = new TreeMap<>(); // received after a missing one
+    private boolean resyncRequested;
+    private ActorRef rejoinRequester; // waits for the answer of the GameStateActor when the player returns to a game
 
     /**
      * Create the {@link PlayerActor}. It's used by the props method to make Akka create the actor with his name as
@@ -61,10 +81,11 @@ public class PlayerActor extends AbstractLoggingActor {
                 .match(CreateWaitingGUIMsg.class, this::handleCreateWaitingGUI)
                 .match(UpdateWaitingRoomMsg.class, this::handleUpdateWR)
                 .match(CreateGameGUIMsg.class, this::handleCreateGameGUI)
-                .match(StartTurnMsg.class, this::handleStartTurn)
-                .match(PlayedCardMsg.class, this::handlePlayedCard)
-                .match(GameOverMsg.class, this::handleGameOver)
+                .match(GameEventMsg.class, this::handleGameEvent)
+                .match(MoveRejectedMsg.class, this::handleMoveRejected)
                 .match(RematchMsg.class, this::handleRematch)
+                .match(RejoinGameMsg.class, this::handleRejoinGame)
+                .match(ResumeGameMsg.class, this::handleResumeGame)
                 .matchAny(message -> System.out.println("\n# UNEXPECTED MESSAGE TO " + getSelf() + ": " + message))
                 .build();
     }
@@ -86,15 +107,29 @@ public class PlayerActor extends AbstractLoggingActor {
 
     /**
      * Update the list of players in the {@link WaitingGUI} via the {@link sd.Controller.WaitingController} because
-     * another player joined the game.
+     * other players joined or left the game: a snapshot replaces the list, while the changes are applied to it unless
+     * they are older than the list. A player matched by the {@link MatchmakingActor} learns here who is the host, the
+     * first of the list.
      *
-     * @param updateWaitingRoomMsg the {@link UpdateWaitingRoomMsg} with the list of players' names.
+     * @param updateWaitingRoomMsg the {@link UpdateWaitingRoomMsg} with the players' names.
      */
     private void handleUpdateWR(final UpdateWaitingRoomMsg updateWaitingRoomMsg) {
         waitingActorRef = sender(); // the sender is WaitingRoomActor
-        playersNames = updateWaitingRoomMsg.getPlayerNames();
         waitingController.setWaitingRoomActorReference(waitingActorRef);
-        waitingController.updatePlayers(playersNames);
+        if (updateWaitingRoomMsg.isSnapshot()) {
+            playersNames = new LinkedList<>(updateWaitingRoomMsg.getPlayerNames());
+            waitingController.showPlayers(playersNames);
+        } else if (updateWaitingRoomMsg.getVersion() > waitingRoomVersion) {
+            playersNames.removeAll(updateWaitingRoomMsg.getLeftNames());
+            playersNames.addAll(updateWaitingRoomMsg.getPlayerNames());
+            waitingController.updatePlayers(updateWaitingRoomMsg.getPlayerNames(), updateWaitingRoomMsg.getLeftNames());
+        } else {
+            return;
+        }
+        waitingRoomVersion = updateWaitingRoomMsg.getVersion();
+        if (hostName.isEmpty()) {
+            hostName = playersNames.get(0);
+        }
     }
 
     /**
@@ -106,37 +141,140 @@ public class PlayerActor extends AbstractLoggingActor {
      */
     private void handleCreateGameGUI(final CreateGameGUIMsg createGameGUIMsg) {
         waitingController.dispose();
-        // the sender() is GameStateActor
-        gameController = new GameControllerImpl(name, playersNames, createGameGUIMsg.getDifficulty(), self(), sender(),
-                createGameGUIMsg.getNextPlayerName(), getContext().getSystem());
-        gameController.startGame(createGameGUIMsg.getGameState(), name.equals(createGameGUIMsg.getContent()));
+        gameStateActorRef = sender(); // the sender() is GameStateActor
+        nextSequenceNumber = 1;
+        pendingEvents.clear();
+        resyncRequested = false;
+        difficulty = createGameGUIMsg.getDifficulty(); // chosen by the host or by the matchmaking, used for a rematch
+        gameController = new GameControllerImpl(name, playersNames, difficulty, self(),
+                gameStateActorRef, createGameGUIMsg.getNextPlayerName(), getContext().getSystem());
+        gameController.startGame(createGameGUIMsg.getGameView(), name.equals(createGameGUIMsg.getContent()));
     }
 
     /**
-     * Make the turn of the next player starts and notify to the others that they have to update their
-     * {@link sd.Model.GameState} to make him draw.
+     * Ask the {@link GameStateActor} of a game in progress to continue it with this actor, that takes the place of the
+     * one the player lost; the sender of the request receives the answer.
      *
-     * @param startTurnMsg the {@link StartTurnMsg} with the name of the player who ended his turn and the name of the
-     *                     next player whose turn will start.
+     * @param rejoinGameMsg the {@link RejoinGameMsg} with the name of the player and of the host of the game.
      */
-    private void handleStartTurn(final StartTurnMsg startTurnMsg) {
-        if (!startTurnMsg.getContent().equals(name)) { // if this player isn't the one who ended his turn...
-            gameController.draw(startTurnMsg.getContent()); // update the game state making him draw to stay consistent
-            gameController.updatePlayerInfo();
-            gameController.updateRemainingCards();
+    private void handleRejoinGame(final RejoinGameMsg rejoinGameMsg) {
+        rejoinRequester = sender();
+        tellCluster(rejoinGameMsg, () -> ClusterHelper.getGameStateRegion(getContext().getSystem()));
+    }
+
+    /**
+     * Create the {@link GameController} of the game joined again from the view sent by the {@link GameStateActor}; the
+     * next events are applied after the last one included in the view. The view is sent also to a player in the game
+     * who asked events too old to be sent again, and then it replaces the one of his {@link GameController}.
+     *
+     * @param resumeGameMsg the {@link ResumeGameMsg} with the view of the player and the state of the turn.
+     */
+    private void handleResumeGame(final ResumeGameMsg resumeGameMsg) {
+        gameStateActorRef = sender(); // the sender() is GameStateActor
+        nextSequenceNumber = resumeGameMsg.getSequenceNumber() + 1;
+        pendingEvents.clear();
+        resyncRequested = false;
+        if (gameController != null && rejoinRequester == null) { // the answer to a resync
+            gameController.resyncGame(resumeGameMsg.getGameView(), name.equals(resumeGameMsg.getCurrentPlayer()),
+                    resumeGameMsg.getCardsPlayedThisTurn());
+            return;
+        }
+        hostName = resumeGameMsg.getContent();
+        difficulty = resumeGameMsg.getDifficulty();
+        playersNames = new ArrayList<>(resumeGameMsg.getGameView().countPlayersCards().keySet());
+        gameController = new GameControllerImpl(name, playersNames, difficulty, self(),
+                gameStateActorRef, resumeGameMsg.getNextPlayerName(), getContext().getSystem());
+        gameController.resumeGame(resumeGameMsg.getGameView(), name.equals(resumeGameMsg.getCurrentPlayer()),
+                resumeGameMsg.getCardsPlayedThisTurn());
+        replyToRejoin(resumeGameMsg);
+    }
+
+    /**
+     * Apply the events of the game in the order of their sequence numbers: the ones already applied are ignored, the
+     * ones that arrive after a missing event are kept until it arrives and the {@link GameStateActor} is asked to send
+     * again the missing ones.
+     *
+     * @param gameEventMsg the {@link GameEventMsg} with the event and its sequence number.
+     */
+    private void handleGameEvent(final GameEventMsg gameEventMsg) {
+        int sequenceNumber = gameEventMsg.getSequenceNumber();
+        if (sequenceNumber < nextSequenceNumber) { // already applied, it was sent again after a resync
+            return;
+        }
+        pendingEvents.put(sequenceNumber, gameEventMsg.getEvent());
+        if (sequenceNumber > nextSequenceNumber) {
+            if (!resyncRequested) {
+                log().warning("Missing events from {}, received {}", nextSequenceNumber, sequenceNumber);
+                gameStateActorRef.tell(new ResyncMsg(null, name, nextSequenceNumber), self());
+                resyncRequested = true;
+            }
+            return;
+        }
+        for (StandardMsg event = pendingEvents.remove(nextSequenceNumber); event != null;
+             event = pendingEvents.remove(nextSequenceNumber)) {
+            nextSequenceNumber++;
+            if (event instanceof PlayedCardMsg playedCardMsg) {
+                handlePlayedCard(playedCardMsg);
+            } else if (event instanceof StartTurnMsg startTurnMsg) {
+                handleStartTurn(startTurnMsg);
+            } else if (event instanceof TurnSummaryMsg turnSummaryMsg) {
+                handleTurnSummary(turnSummaryMsg);
+            } else if (event instanceof GameOverMsg gameOverMsg) {
+                handleGameOver(gameOverMsg);
+            }
+        }
+        resyncRequested = false;
+        if (!pendingEvents.isEmpty()) { // there is another hole in the sequence
+            gameStateActorRef.tell(new ResyncMsg(null, name, nextSequenceNumber), self());
+            resyncRequested = true;
         }
+    }
+
+    /**
+     * Update the {@link sd.Model.GameView} with the draw of the player who ended his turn and make the turn of the
+     * next player starts.
+     *
+     * @param startTurnMsg the {@link StartTurnMsg} with the name of the player who ended his turn, the result of his
+     *                     draw and the name of the next player whose turn will start.
+     */
+    private void handleStartTurn(final StartTurnMsg startTurnMsg) {
+        gameController.updateAfterDraw(startTurnMsg.getContent(), startTurnMsg.getCardsInHand(),
+                startTurnMsg.getMainDeckCards(), startTurnMsg.getHand());
         if (startTurnMsg.getNextPlayerName().equals(name)) { // check if it's the turn of this player
             gameController.setEnabled(true);
-            gameController.checkIfValidMoveExist();
+        }
+    }
+
+    /**
+     * Update the {@link sd.Model.GameView} with a whole turn of another player, or only with the draw if the turn is
+     * of this player because his cards are already in the view, and make the turn of the next player starts.
+     *
+     * @param turnSummaryMsg the {@link TurnSummaryMsg} with the cards played, the result of the draw and the name of
+     *                       the next player.
+     */
+    private void handleTurnSummary(final TurnSummaryMsg turnSummaryMsg) {
+        String playerName = turnSummaryMsg.getContent();
+        if (!name.equals(playerName)) {
+            for (int move : turnSummaryMsg.getMoves()) {
+                gameController.updateAfterPlayerMove(playerName, MoveGenerator.getCard(move),
+                        MoveGenerator.getDeck(move));
+            }
+        } else {
+            gameController.turnAccepted();
+        }
+        gameController.updateAfterDraw(playerName, turnSummaryMsg.getCardsInHand(),
+                turnSummaryMsg.getMainDeckCards(), turnSummaryMsg.getHand());
+        if (name.equals(turnSummaryMsg.getNextPlayerName())) {
+            gameController.setEnabled(true);
         }
     }
 
     /**
      * The {@link sd.View.GameGUI} is updated via the {@link GameController} to represent the actual state of the game
-     * because a player played a card.
+     * because a player played a card; if it's this player, it's the confirmation that his move was accepted.
      *
-     * @param playedCardMsg the {@link PlayedCardMsg} message with the info about the card played by another player and
-     *                      the deck where it was played.
+     * @param playedCardMsg the {@link PlayedCardMsg} message with the info about the card played by a player and the
+     *                      deck where it was played.
      */
     private void handlePlayedCard(final PlayedCardMsg playedCardMsg) {
         gameController.updateAfterPlayerMove(playedCardMsg.getContent(), // the name of the player who played the card
@@ -144,13 +282,33 @@ public class PlayerActor extends AbstractLoggingActor {
     }
 
     /**
-     * Comunicate the Game Over to the player with a dialog in the {@link sd.View.GameGUI} via the
+     * Comunicate the end of the game to the player with a dialog in the {@link sd.View.GameGUI} via the
      * {@link GameController}.
      *
-     * @param gameOverMsg the {@link GameOverMsg} that comunicate the Game Over.
+     * @param gameOverMsg the {@link GameOverMsg} that comunicate the win or the Game Over.
      */
     private void handleGameOver(final GameOverMsg gameOverMsg) {
-        gameController.comunicateGameOver();
+        if (gameOverMsg.isWin()) {
+            gameController.comunicateWin();
+        } else {
+            gameController.comunicateGameOver();
+        }
+    }
+
+    /**
+     * Show again the state of the game known by the player after the {@link GameStateActor} refused one of his moves.
+     *
+     * @param moveRejectedMsg the {@link MoveRejectedMsg} with the reason and the refused move.
+     */
+    private void handleMoveRejected(final MoveRejectedMsg moveRejectedMsg) {
+        if (gameController == null) { // the player asked to return to a game that isn't in progress
+            log().warning("Rejoin refused: {}", moveRejectedMsg.getContent());
+            replyToRejoin(moveRejectedMsg);
+            getContext().stop(self());
+            return;
+        }
+        log().warning("Move refused: {}", moveRejectedMsg.getContent());
+        gameController.moveRejected(moveRejectedMsg.getCardValue(), moveRejectedMsg.getDeckNumber());
     }
 
     /**
@@ -162,6 +320,37 @@ public class PlayerActor extends AbstractLoggingActor {
     private void handleRematch(final RematchMsg rematchMsg) {
         waitingController = new WaitingControllerImpl(hostName, name, difficulty);
         waitingController.create();
-        waitingActorRef.tell(new AddPlayerMsg(hostName, name), self());
+        AddPlayerMsg addPlayerMsg = new AddPlayerMsg(hostName, name, difficulty == null ? null : difficulty.toString());
+        if (waitingActorRef != null) {
+            waitingActorRef.tell(addPlayerMsg, self());
+        } else { // the player joined again a game in progress, so he never was in its waiting room with this actor
+            tellCluster(addPlayerMsg, () -> ClusterHelper.getWaitingRegion(getContext().getSystem()));
+        }
+    }
+
+    /**
+     * Send the answer of the {@link GameStateActor} to the player who asked to return to a game.
+     *
+     * @param answer the {@link ResumeGameMsg} or the {@link MoveRejectedMsg} received.
+     */
+    private void replyToRejoin(final StandardMsg answer) {
+        if (rejoinRequester != null) {
+            rejoinRequester.tell(answer, self());
+            rejoinRequester = null;
+        }
+    }
+
+    /**
+     * Send a message to a sharding region, or to the {@link GatewayClientActor} that takes its place in a client.
+     *
+     * @param msg the {@link StandardMsg} to send.
+     * @param region the {@link Supplier} of the region, used only in a member of the cluster.
+     */
+    private void tellCluster(final StandardMsg msg, final Supplier<ActorRef> region) {
+        if (ClusterHelper.isClusterMember(getContext().getSystem())) {
+            region.get().tell(msg, self());
+        } else {
+            getContext().actorSelection(ClusterHelper.getGatewayClientPath()).tell(msg, self());
+        }
     }
 }
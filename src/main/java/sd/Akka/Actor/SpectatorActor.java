@@ -0,0 +1,84 @@
+package sd.Akka.Actor;
+
+import akka.actor.AbstractLoggingActor;
+import akka.actor.ActorRef;
+import akka.actor.Props;
+import akka.cluster.pubsub.DistributedPubSub;
+import akka.cluster.pubsub.DistributedPubSubMediator;
+import sd.Akka.Messages.SpectatorViewMsg;
+import sd.Akka.Messages.WatchGameMsg;
+import sd.Controller.SpectatorController;
+import sd.Controller.SpectatorControllerImpl;
+import sd.Utils.ClusterHelper;
+
+/**
+ * An actor that watches a game without playing: it subscribes to the topic of the game in the Distributed PubSub and
+ * then asks the current state to the {@link GameStateActor}, so it doesn't miss the events published in between; the
+ * states older than the one already shown are ignored. In a client the gateway subscribes on its behalf.
+ */
+public class SpectatorActor extends AbstractLoggingActor {
+
+    private final String hostName;
+    private final ActorRef gameStateRegion;
+    private final SpectatorController spectatorController;
+    private long version = -1; // of the last state shown
+
+    /**
+     * Create the {@link SpectatorActor}.
+     *
+     * @param hostName the name of the player who created the game.
+     * @param gameStateRegion the {@link ActorRef} of the sharding region with the game states, or of the
+     *                        {@link GatewayClientActor} that takes its place in a client.
+     */
+    public SpectatorActor(final String hostName, final ActorRef gameStateRegion) {
+        this.hostName = hostName;
+        this.gameStateRegion = gameStateRegion;
+        this.spectatorController = new SpectatorControllerImpl(hostName);
+    }
+
+    /**
+     * Creates a Props configuration for the SpectatorActor.
+     *
+     * @param hostName the name of the player who created the game.
+     * @param gameStateRegion the {@link ActorRef} of the sharding region with the game states, or of the
+     *                        {@link GatewayClientActor} that takes its place in a client.
+     * @return A {@link Props} object configured for the SpectatorActor.
+     */
+    public static Props props(final String hostName, final ActorRef gameStateRegion) {
+        return Props.create(SpectatorActor.class, () -> new SpectatorActor(hostName, gameStateRegion));
+    }
+
+    @Override
+    public void preStart() {
+        spectatorController.create();
+        if (ClusterHelper.isClusterMember(getContext().getSystem())) {
+            DistributedPubSub.get(getContext().getSystem()).mediator().tell(
+                    new DistributedPubSubMediator.Subscribe(ClusterHelper.getSpectatorTopic(hostName), getSelf()),
+                    getSelf());
+        } else {
+            gameStateRegion.tell(new WatchGameMsg(hostName), getSelf());
+        }
+    }
+
+    @Override
+    public Receive createReceive() {
+        return receiveBuilder()
+                .match(DistributedPubSubMediator.SubscribeAck.class,
+                        ack -> gameStateRegion.tell(new WatchGameMsg(hostName), getSelf()))
+                .match(SpectatorViewMsg.class, this::handleSpectatorView)
+                .matchAny(message -> System.out.println("# UNEXPECTED MESSAGE TO " + getSelf() + ": " + message))
+                .build();
+    }
+
+    /**
+     * Show a state of the game, if it's newer than the one already shown.
+     *
+     * @param spectatorViewMsg the {@link SpectatorViewMsg} with the public state of the game.
+     */
+    private void handleSpectatorView(final SpectatorViewMsg spectatorViewMsg) {
+        if (spectatorViewMsg.getVersion() > version) {
+            version = spectatorViewMsg.getVersion();
+            spectatorController.showView(spectatorViewMsg);
+        }
+    }
+}
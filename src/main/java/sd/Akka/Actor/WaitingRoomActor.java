@@ -2,35 +2,87 @@ package sd.Akka.Actor;
 
 import akka.actor.AbstractLoggingActor;
 import akka.actor.ActorRef;
+import akka.actor.ActorSelection;
+import akka.actor.Cancellable;
+import akka.actor.PoisonPill;
 import akka.actor.Props;
+import akka.actor.Terminated;
+import akka.cluster.sharding.ShardRegion;
 import sd.Akka.Messages.AddPlayerMsg;
+import sd.Akka.Messages.CloseGameMsg;
 import sd.Akka.Messages.DealCardsMsg;
+import sd.Akka.Messages.OpenGameMsg;
 import sd.Akka.Messages.StartGameMsg;
 import sd.Akka.Messages.UpdateWaitingRoomMsg;
 import sd.Utils.ClusterHelper;
+import sd.Utils.EntityMetrics;
 
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * An actor used to collect the name of the player that want to play a match together; it collects the name of the
  * players and will notify them when the game will start.
+ * When the game starts the actor asks its shard to stop it; the players who want a rematch start it again joining the
+ * same waiting room. While it's open, the waiting room is listed in the directory of the {@link LobbyActor}.
+ * The players who join or leave are sent to the others together at most once for each broadcast tick, as the changes
+ * to a version of the room, while a player who just joined receives a snapshot with all the names.
  */
 public class WaitingRoomActor extends AbstractLoggingActor {
 
+    private static final String BROADCAST = "broadcast"; // sent to itself, never to other nodes
+
     private Map<String, ActorRef> players = new LinkedHashMap<>(); // name of a player and his reference
-    private String hostName;
+    private final String hostName = hostOf(getSelf().path().name()); // the waiting room is named after the host
+    private final Duration broadcastTick;
     private ActorRef gameStateRegion;
+    private String difficulty; // chosen by the host, shown in the lobby
+    private int version; // increased at each broadcast of the changes
+    private final Set<String> joined = new LinkedHashSet<>(); // since the last broadcast, in order
+    private final Set<String> left = new LinkedHashSet<>();
+    private final Set<String> needSnapshot = new LinkedHashSet<>(); // players who don't know the room yet
+    private Cancellable broadcast; // scheduled when there are changes to send
+
+    /**
+     * Create the actor.
+     *
+     * @param broadcastTick the {@link Duration} for which the changes of the players are collected before sending them.
+     */
+    public WaitingRoomActor(final Duration broadcastTick) {
+        this.broadcastTick = broadcastTick;
+    }
 
     /**
-     * Creates a Props configuration for the PlayerActor. This method is used to define the properties and
-     * configuration for creating instances of the PlayerActor.
+     * Creates a Props configuration for the WaitingRoomActor. This method is used to define the properties and
+     * configuration for creating instances of the WaitingRoomActor.
      *
-     * @return A {@link Props} object configured for the PlayerActor.
+     * @param broadcastTick the {@link Duration} for which the changes of the players are collected before sending them.
+     * @return A {@link Props} object configured for the WaitingRoomActor.
      */
-    public static Props props() {
-        return Props.create(WaitingRoomActor.class);
+    public static Props props(final Duration broadcastTick) {
+        return Props.create(WaitingRoomActor.class, () -> new WaitingRoomActor(broadcastTick));
+    }
+
+    @Override
+    public void preStart() {
+        EntityMetrics.started(getClass().getSimpleName());
+    }
+
+    @Override
+    public void postStop() {
+        EntityMetrics.stopped(getClass().getSimpleName());
+        lobby().tell(new CloseGameMsg(hostName), getSelf());
+        if (broadcast != null) {
+            broadcast.cancel();
+        }
     }
 
     @Override
@@ -38,23 +90,87 @@ public class WaitingRoomActor extends AbstractLoggingActor {
         return receiveBuilder()
                 .match(AddPlayerMsg.class, this::handleAddPlayer)
                 .match(StartGameMsg.class, this::handleStartGame)
+                .match(Terminated.class, this::handleLeft)
+                .matchEquals(BROADCAST, b -> broadcastChanges())
                 .matchAny(message -> System.out.println("\n# UNEXPECTED MESSAGE TO " + getSelf() + ": " + message))
                 .build();
     }
 
     /**
-     * Add a new player to the list of who will play the game.
+     * Add a new player to the list of who will play the game; the other players know it with the next broadcast,
+     * while he receives all the names. A player who joins again with another reference only receives the names.
      *
      * @param addPlayerMsg the {@link AddPlayerMsg} with the name of the new player who joined the game.
      */
     private void handleAddPlayer(final AddPlayerMsg addPlayerMsg) {
-        if (hostName == null && players.isEmpty()) {
-            hostName = addPlayerMsg.getContent();
+        String name = addPlayerMsg.getContent();
+        if (players.put(name, sender()) == null) {
+            joined.add(name);
+        }
+        getContext().watch(sender());
+        needSnapshot.add(name);
+        if (addPlayerMsg.getDifficulty() != null) {
+            difficulty = addPlayerMsg.getDifficulty();
+        }
+        scheduleBroadcast();
+    }
+
+    /**
+     * Remove the players whose actor stopped, for example because their node left the cluster; the other players
+     * know it with the next broadcast.
+     *
+     * @param terminated the {@link Terminated} message with the reference of the players.
+     */
+    private void handleLeft(final Terminated terminated) {
+        for (String name : new ArrayList<>(players.keySet())) {
+            if (players.get(name).equals(terminated.actor())) {
+                players.remove(name);
+                needSnapshot.remove(name);
+                if (!joined.remove(name)) { // the others never knew he joined
+                    left.add(name);
+                }
+            }
         }
-        players.put(addPlayerMsg.getContent(), sender());
-        players.forEach(
-                (name, ref) -> ref.tell(new UpdateWaitingRoomMsg(name, new LinkedList<>(players.keySet())), getSelf())
-        );
+        scheduleBroadcast();
+    }
+
+    /**
+     * Send the changes of the players at the end of the tick, unless they are already going to be sent.
+     */
+    private void scheduleBroadcast() {
+        if (broadcast == null) {
+            broadcast = getContext().getSystem().scheduler().scheduleOnce(broadcastTick, getSelf(), BROADCAST,
+                    getContext().getDispatcher(), getSelf());
+        }
+    }
+
+    /**
+     * Send to each player the names of who joined and left since the last broadcast, or all the names if he doesn't
+     * know the room yet, and update the directory of the open games.
+     */
+    private void broadcastChanges() {
+        if (broadcast != null) {
+            broadcast.cancel();
+            broadcast = null;
+        }
+        if (joined.isEmpty() && left.isEmpty() && needSnapshot.isEmpty()) {
+            return;
+        }
+        version++;
+        List<String> allNames = new LinkedList<>(players.keySet());
+        List<String> joinedNames = new ArrayList<>(joined);
+        List<String> leftNames = new ArrayList<>(left);
+        players.forEach((name, ref) -> {
+            if (needSnapshot.contains(name)) {
+                ref.tell(new UpdateWaitingRoomMsg(name, version, allNames), getSelf());
+            } else if (!joinedNames.isEmpty() || !leftNames.isEmpty()) {
+                ref.tell(new UpdateWaitingRoomMsg(name, version, joinedNames, leftNames), getSelf());
+            }
+        });
+        joined.clear();
+        left.clear();
+        needSnapshot.clear();
+        lobby().tell(new OpenGameMsg(hostName, difficulty, players.size()), getSelf());
     }
 
     /**
@@ -63,10 +179,35 @@ public class WaitingRoomActor extends AbstractLoggingActor {
      * @param startGameMsg the {@link StartGameMsg} with the difficulty as msg.
      */
     private void handleStartGame(final StartGameMsg startGameMsg) {
+        broadcastChanges(); // the players need all the names before the game starts
+        players.values().forEach(getContext()::unwatch);
         if (gameStateRegion == null) {
             gameStateRegion = ClusterHelper.getGameStateRegion(getContext().getSystem());
         }
         gameStateRegion.tell(new DealCardsMsg(hostName, startGameMsg.getContent(), players), getSelf());
         players = new LinkedHashMap<>();
+        lobby().tell(new CloseGameMsg(hostName), getSelf());
+        EntityMetrics.finished(getClass().getSimpleName());
+        getContext().getParent().tell(new ShardRegion.Passivate(PoisonPill.getInstance()), getSelf());
+    }
+
+    /**
+     * Find the {@link LobbyActor} of the node.
+     *
+     * @return the {@link ActorSelection} of the lobby.
+     */
+    private ActorSelection lobby() {
+        return getContext().actorSelection(ClusterHelper.getLobbyPath());
+    }
+
+    /**
+     * Obtain the name of the host from the name of the actor, that the sharding encodes as a URL.
+     *
+     * @param actorName the name of the actor.
+     * @return the name of the host.
+     */
+    private static String hostOf(final String actorName) {
+        String entityId = URLDecoder.decode(actorName, StandardCharsets.UTF_8);
+        return entityId.substring(0, entityId.length() - ClusterHelper.getWaitingRoomExtension().length());
     }
 }
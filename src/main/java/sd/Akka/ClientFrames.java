@@ -0,0 +1,97 @@
+package sd.Akka;
+
+import sd.Akka.Messages.StandardMsg;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The framing of the messages exchanged over TCP between a client and a gateway: each frame has its length, the
+ * manifest of the message and the message encoded by the {@link MessageSerializer}, the same encoding used between the
+ * nodes of the cluster. An instance is used for a single connection, because it keeps the bytes of the frame not
+ * received completely yet.
+ */
+public class ClientFrames {
+
+    private static final int LENGTH_BYTES = Integer.BYTES;
+    private static final int INITIAL_CAPACITY = 4 * 1024;
+
+    private final MessageSerializer serializer;
+    private final int maxFrameSize;
+    private byte[] pending = new byte[INITIAL_CAPACITY]; // the bytes received and not decoded yet
+    private int pendingSize;
+
+    /**
+     * Create the framing of a connection.
+     *
+     * @param serializer the {@link MessageSerializer} that encodes the messages.
+     * @param maxFrameSize the maximum size of a frame, to refuse the connections that send garbage.
+     */
+    public ClientFrames(final MessageSerializer serializer, final int maxFrameSize) {
+        this.serializer = serializer;
+        this.maxFrameSize = maxFrameSize;
+    }
+
+    /**
+     * Encode a message in a frame.
+     *
+     * @param msg the {@link StandardMsg} to encode.
+     * @return the bytes of the frame.
+     * @throws IllegalArgumentException if the message is bigger than the maximum size of a frame.
+     */
+    public byte[] encode(final StandardMsg msg) {
+        byte[] manifest = serializer.manifest(msg).getBytes(StandardCharsets.UTF_8);
+        byte[] payload = serializer.toBinary(msg);
+        int size = 1 + manifest.length + payload.length;
+        if (size > maxFrameSize) {
+            throw new IllegalArgumentException("Frame of " + size + " bytes bigger than the limit of " + maxFrameSize);
+        }
+        return ByteBuffer.allocate(LENGTH_BYTES + size)
+                .putInt(size)
+                .put((byte) manifest.length)
+                .put(manifest)
+                .put(payload)
+                .array();
+    }
+
+    /**
+     * Add the bytes received from the connection and decode the messages of the frames completed by them.
+     *
+     * @param bytes the {@link ByteBuffer} with the bytes received, that can contain parts of frames.
+     * @return a {@link List} with the decoded messages, in the order they were sent.
+     * @throws IllegalArgumentException if a frame is bigger than the maximum size.
+     */
+    public List<StandardMsg> decode(final ByteBuffer bytes) {
+        int received = bytes.remaining();
+        if (pendingSize + received > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingSize + received));
+        }
+        bytes.get(pending, pendingSize, received);
+        pendingSize += received;
+
+        List<StandardMsg> messages = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.wrap(pending, 0, pendingSize);
+        while (buffer.remaining() >= LENGTH_BYTES) {
+            int size = buffer.getInt(buffer.position());
+            if (size <= 0 || size > maxFrameSize) {
+                throw new IllegalArgumentException("Invalid frame of " + size + " bytes");
+            }
+            if (buffer.remaining() < LENGTH_BYTES + size) {
+                break; // the rest of the frame is still to be received
+            }
+            int end = buffer.position() + LENGTH_BYTES + size;
+            buffer.position(buffer.position() + LENGTH_BYTES);
+            byte[] manifest = new byte[buffer.get()];
+            buffer.get(manifest);
+            ByteBuffer payload = buffer.slice(buffer.position(), end - buffer.position());
+            messages.add((StandardMsg) serializer.fromBinary(payload, new String(manifest, StandardCharsets.UTF_8)));
+            buffer.position(end);
+        }
+        pendingSize = buffer.remaining();
+        System.arraycopy(pending, buffer.position(), pending, 0, pendingSize);
+        return messages;
+    }
+}
@@ -0,0 +1,126 @@
+package sd.Akka;
+
+import akka.actor.ActorRef;
+import akka.io.Tcp;
+import akka.io.TcpMessage;
+import akka.util.ByteString;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * The writes of an actor to a TCP connection, with back-pressure based on the acknowledgements: a single write is
+ * given to the connection at a time, and the next one only after the connection acknowledges it, so the data waits
+ * here instead of filling the buffer of the connection; the data waiting is limited, and when the limit is reached the
+ * write is refused so the actor can close a connection that doesn't read. If the connection refuses a write anyway,
+ * the same data is written again after the writes are resumed.
+ * An instance is used by the actor that registered itself as the handler of a single connection, that has to pass
+ * here the {@link #ACK} and the {@link Tcp.WritingResumed} events it receives.
+ */
+public class ConnectionWriter {
+
+    public static final Tcp.Event ACK = new Tcp.Event() { }; // sent by the connection when a write is done
+
+    private final ActorRef connection;
+    private final ActorRef handler;
+    private final int maxQueuedBytes;
+    private final Queue<ByteString> queue = new ArrayDeque<>();
+    private int queuedBytes;
+    private ByteString writing; // given to the connection and not acknowledged yet
+    private boolean suspended; // a write was refused and the connection was asked to resume the writes
+
+    /**
+     * Create the writer of a connection.
+     *
+     * @param connection the {@link ActorRef} of the TCP connection.
+     * @param handler the {@link ActorRef} of the actor that writes, where the connection sends the events.
+     * @param maxQueuedBytes the maximum number of bytes waiting to be given to the connection.
+     */
+    public ConnectionWriter(final ActorRef connection, final ActorRef handler, final int maxQueuedBytes) {
+        this.connection = connection;
+        this.handler = handler;
+        this.maxQueuedBytes = maxQueuedBytes;
+    }
+
+    /**
+     * Write some data, or queue it if a previous write isn't acknowledged yet.
+     *
+     * @param data the {@link ByteString} to write.
+     * @return true if the data is written or queued, false if the queue is full because the other side doesn't read.
+     */
+    public boolean write(final ByteString data) {
+        if (writing == null && !suspended) {
+            send(data);
+            return true;
+        }
+        if (queuedBytes + data.size() > maxQueuedBytes) {
+            return false;
+        }
+        queue.add(data);
+        queuedBytes += data.size();
+        return true;
+    }
+
+    /**
+     * Handle the acknowledgement of the last write, writing the next data in the queue.
+     */
+    public void acknowledged() {
+        writing = null;
+        sendNext();
+    }
+
+    /**
+     * Handle a write refused by the connection: it refuses also the next writes until they are resumed, so it's asked
+     * to resume them.
+     *
+     * @param failed the {@link Tcp.CommandFailed} event of the connection.
+     */
+    public void failed(final Tcp.CommandFailed failed) {
+        if (!suspended) {
+            suspended = true;
+            connection.tell(TcpMessage.resumeWriting(), handler);
+        }
+    }
+
+    /**
+     * Handle the resumption of the writes, writing again the refused data.
+     */
+    public void resumed() {
+        suspended = false;
+        if (writing != null) {
+            send(writing);
+        } else {
+            sendNext();
+        }
+    }
+
+    /**
+     * Check if all the data was written.
+     *
+     * @return true if no write is waiting to be acknowledged or in the queue.
+     */
+    public boolean isIdle() {
+        return writing == null && queue.isEmpty();
+    }
+
+    /**
+     * Write the first data in the queue, if any.
+     */
+    private void sendNext() {
+        ByteString next = queue.poll();
+        if (next != null) {
+            queuedBytes -= next.size();
+            send(next);
+        }
+    }
+
+    /**
+     * Give some data to the connection, asking for an acknowledgement.
+     *
+     * @param data the {@link ByteString} to write.
+     */
+    private void send(final ByteString data) {
+        writing = data;
+        connection.tell(TcpMessage.write(data, ACK), handler);
+    }
+}
@@ -0,0 +1,326 @@
+package sd.Akka;
+
+import akka.actor.AbstractExtensionId;
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Address;
+import akka.actor.ExtendedActorSystem;
+import akka.actor.Extension;
+import akka.cluster.Cluster;
+import akka.cluster.sharding.ShardCoordinator;
+import akka.pattern.Patterns;
+import scala.collection.immutable.IndexedSeq;
+import sd.Akka.Messages.GetPlacementMsg;
+import sd.Akka.Messages.PlacementMsg;
+import sd.Utils.ClusterHelper;
+import sd.Utils.Murmur3;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Strategy used by both the sharding regions to decide the node of each shard, so the games are spread among the game
+ * hosts by their load and the shards with the same id of the two regions, that have the waiting room and the game
+ * state of the same games, are in the same node.
+ * When a shard is allocated, and at each rebalance, the strategy asks to the {@link sd.Akka.Actor.PlacementActor} of
+ * each node how many games are in progress in each of its shards. A shard is allocated in the node of the shard with
+ * the same id of the other region, if it's already allocated; otherwise, like at each rebalance, in its target node: a
+ * shard of game states that hosts games in progress stays where it is, since moving it would stop them, and the shard
+ * of the waiting rooms with the same id is kept with it; the other shards go to the first node, in the order given by
+ * rendezvous hashing of the shard and the addresses of the nodes, that doesn't have too many games compared to the
+ * others. A shard is moved only when its target changes, so two shards never follow each other between the nodes.
+ * The coordinators of both regions are in the same node, the oldest, so they share the allocations through an
+ * extension of its {@link ActorSystem}.
+ */
+public class GameShardAllocationStrategy extends ShardCoordinator.AbstractShardAllocationStrategy {
+
+    private static final String GAME_STATE_REGION = "GameState"; // its shards are never moved while they host games
+    private static final String WAITING_REGION = "Waiting";
+    private static final AllocationsId ALLOCATIONS_ID = new AllocationsId();
+
+    private final ActorSystem system;
+    private final Cluster cluster;
+    private final String region;
+    private final Allocations allocations;
+    private final int maxSimultaneousRebalance;
+    private final Duration placementTimeout;
+    private final double overloadTolerance;
+
+    /**
+     * Create the strategy of a region.
+     *
+     * @param system the {@link ActorSystem} of the node.
+     * @param region the name of the region.
+     * @param maxSimultaneousRebalance the maximum number of shards moved at the same time.
+     * @param placementTimeout the {@link Duration} to wait for the games in progress of each node.
+     * @param overloadTolerance how many games more than the average, as a fraction of it, a node can have before the
+     *                          shards without games are put elsewhere.
+     */
+    public GameShardAllocationStrategy(final ActorSystem system, final String region,
+                                       final int maxSimultaneousRebalance, final Duration placementTimeout,
+                                       final double overloadTolerance) {
+        this.system = system;
+        this.cluster = Cluster.get(system);
+        this.region = region;
+        this.allocations = ALLOCATIONS_ID.get(system);
+        this.maxSimultaneousRebalance = maxSimultaneousRebalance;
+        this.placementTimeout = placementTimeout;
+        this.overloadTolerance = overloadTolerance;
+    }
+
+    @Override
+    public CompletionStage<ActorRef> allocateShard(final ActorRef requester, final String shardId,
+                                                   final Map<ActorRef, IndexedSeq<String>> currentShardAllocations) {
+        Map<String, ActorRef> regions = regionsByNode(currentShardAllocations);
+        String partnerNode = allocations.nodeOf(region.equals(GAME_STATE_REGION) ? WAITING_REGION : GAME_STATE_REGION,
+                shardId);
+        if (partnerNode != null && regions.containsKey(partnerNode)) { // the other half of the same games
+            return CompletableFuture.completedFuture(regions.get(partnerNode));
+        }
+        return collectPlacement(regions.keySet())
+                .thenApply(placement -> regions.get(targetNode(shardId, placement, regions.keySet())));
+    }
+
+    @Override
+    public CompletionStage<Set<String>> rebalance(final Map<ActorRef, IndexedSeq<String>> currentShardAllocations,
+                                                  final Set<String> rebalanceInProgress) {
+        Map<String, ActorRef> regions = regionsByNode(currentShardAllocations);
+        return collectPlacement(regions.keySet()).thenApply(placement -> {
+            Set<String> shards = new HashSet<>();
+            int moving = rebalanceInProgress.size();
+            for (Map.Entry<ActorRef, IndexedSeq<String>> allocation : currentShardAllocations.entrySet()) {
+                String node = addressOf(allocation.getKey());
+                IndexedSeq<String> regionShards = allocation.getValue();
+                for (int i = 0; i < regionShards.size() && moving < maxSimultaneousRebalance; i++) {
+                    String shardId = regionShards.apply(i);
+                    if (!rebalanceInProgress.contains(shardId)
+                            && !targetNode(shardId, placement, regions.keySet()).equals(node)) {
+                        shards.add(shardId);
+                        moving++;
+                    }
+                }
+            }
+            return shards;
+        });
+    }
+
+    /**
+     * Find the node where a shard has to be: the node of the shard of game states with the same id if it hosts games
+     * in progress, otherwise the first node in the rendezvous order of the shard that isn't overloaded.
+     *
+     * @param shardId the id of the shard.
+     * @param placement the {@link Placement} of the games in the nodes.
+     * @param nodes the addresses of the nodes of the regions.
+     * @return the address of the node.
+     */
+    private String targetNode(final String shardId, final Placement placement, final Set<String> nodes) {
+        String gameNode = allocations.nodeOf(GAME_STATE_REGION, shardId);
+        if (gameNode != null && nodes.contains(gameNode) && placement.hasGames(shardId)) {
+            return gameNode;
+        }
+        return placement.leastLoadedNode(shardId, nodes);
+    }
+
+    /**
+     * Ask to the {@link sd.Akka.Actor.PlacementActor} of each node how many games are in progress in its shards; if a
+     * node doesn't answer in time the placement is incomplete, so any shard could have games there.
+     *
+     * @param nodes the addresses of the nodes.
+     * @return a {@link CompletionStage} with the {@link Placement} of all the nodes.
+     */
+    private CompletionStage<Placement> collectPlacement(final Set<String> nodes) {
+        Map<String, CompletableFuture<PlacementMsg>> replies = new HashMap<>();
+        for (String node : nodes) {
+            replies.put(node, Patterns.ask(system.actorSelection(node + ClusterHelper.getPlacementPath()),
+                            new GetPlacementMsg(), placementTimeout).toCompletableFuture()
+                    .thenApply(reply -> (PlacementMsg) reply)
+                    .exceptionally(e -> null));
+        }
+        return CompletableFuture.allOf(replies.values().toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            Set<String> shardsWithGames = new HashSet<>();
+            Map<String, Integer> activeGames = new HashMap<>();
+            boolean complete = true;
+            for (Map.Entry<String, CompletableFuture<PlacementMsg>> reply : replies.entrySet()) {
+                PlacementMsg placement = reply.getValue().join();
+                if (placement == null) {
+                    complete = false;
+                } else {
+                    activeGames.put(reply.getKey(), placement.getActiveGames());
+                    shardsWithGames.addAll(placement.getGamesPerShard().keySet());
+                }
+            }
+            return new Placement(shardsWithGames, activeGames, overloadTolerance, complete);
+        });
+    }
+
+    /**
+     * Find the addresses of the nodes of the regions and remember where the shards of this region are.
+     *
+     * @param currentShardAllocations the regions with their shards.
+     * @return a {@link Map} with the address of each node and its region.
+     */
+    private Map<String, ActorRef> regionsByNode(final Map<ActorRef, IndexedSeq<String>> currentShardAllocations) {
+        Map<String, ActorRef> regions = new HashMap<>();
+        Map<String, String> shardNodes = new HashMap<>();
+        currentShardAllocations.forEach((regionRef, shards) -> {
+            String node = addressOf(regionRef);
+            regions.put(node, regionRef);
+            for (int i = 0; i < shards.size(); i++) {
+                shardNodes.put(shards.apply(i), node);
+            }
+        });
+        allocations.update(region, shardNodes);
+        return regions;
+    }
+
+    /**
+     * Find the address of the node of a region; the region of this node has a local address, without host and port,
+     * so it's replaced with the address of the node in the cluster.
+     *
+     * @param regionRef the {@link ActorRef} of the region.
+     * @return the address of the node as a {@link String}.
+     */
+    private String addressOf(final ActorRef regionRef) {
+        Address address = regionRef.path().address();
+        return (address.hasLocalScope() ? cluster.selfAddress() : address).toString();
+    }
+
+    /**
+     * Order the nodes for a shard with rendezvous hashing: by the {@link Murmur3} hash of the shard together with the
+     * address of the node, from the highest, so only the shards that prefer a node are moved when it joins or leaves.
+     *
+     * @param shardId the id of the shard.
+     * @param nodes the addresses of the nodes.
+     * @return a {@link List} with the addresses of the nodes, from the preferred one.
+     */
+    private static List<String> rendezvousOrder(final String shardId, final Set<String> nodes) {
+        Map<String, Integer> weights = new HashMap<>();
+        nodes.forEach(node -> weights.put(node, Murmur3.hash32(shardId + "@" + node)));
+        List<String> order = new ArrayList<>(nodes);
+        order.sort(Comparator.comparing((String node) -> weights.get(node)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        return order;
+    }
+
+    /**
+     * Which shards have games in progress and how many games each node has.
+     */
+    private static final class Placement {
+
+        private final Set<String> shardsWithGames;
+        private final Map<String, Integer> activeGames; // address of a node and its games
+        private final double overloadTolerance;
+        private final boolean complete; // all the nodes answered
+
+        /**
+         * Create a placement.
+         *
+         * @param shardsWithGames the ids of the shards with games in progress.
+         * @param activeGames the number of games in progress of each node.
+         * @param overloadTolerance how many games more than the average, as a fraction of it, a node can have.
+         * @param complete true if all the nodes answered, false if the games of some nodes are unknown.
+         */
+        Placement(final Set<String> shardsWithGames, final Map<String, Integer> activeGames,
+                  final double overloadTolerance, final boolean complete) {
+            this.shardsWithGames = shardsWithGames;
+            this.activeGames = activeGames;
+            this.overloadTolerance = overloadTolerance;
+            this.complete = complete;
+        }
+
+        /**
+         * Check if a shard could have games in progress: a node said so, or some nodes didn't say.
+         *
+         * @param shardId the id of the shard.
+         * @return true if the shard could have games, false if it has none for sure.
+         */
+        boolean hasGames(final String shardId) {
+            return !complete || shardsWithGames.contains(shardId);
+        }
+
+        /**
+         * Check if a node has too many games compared to the average of the nodes.
+         *
+         * @param node the address of the node.
+         * @param nodes the addresses of all the nodes.
+         * @return true if the node is overloaded.
+         */
+        boolean isOverloaded(final String node, final Set<String> nodes) {
+            int total = 0;
+            for (String other : nodes) {
+                total += activeGames.getOrDefault(other, 0);
+            }
+            double limit = Math.max(1, (double) total / nodes.size() * (1 + overloadTolerance));
+            return activeGames.getOrDefault(node, 0) > limit;
+        }
+
+        /**
+         * Find the first node in the rendezvous order of a shard that isn't overloaded; at least a node isn't, since
+         * they can't all have more games than the average.
+         *
+         * @param shardId the id of the shard.
+         * @param nodes the addresses of the nodes of the regions.
+         * @return the address of the node.
+         */
+        String leastLoadedNode(final String shardId, final Set<String> nodes) {
+            List<String> order = rendezvousOrder(shardId, nodes);
+            for (String node : order) {
+                if (!isOverloaded(node, nodes)) {
+                    return node;
+                }
+            }
+            return order.get(0);
+        }
+    }
+
+    /**
+     * Where the shards of each region are, as seen in the last call of the coordinator of the region; it's shared by
+     * the strategies of the regions of the same {@link ActorSystem}.
+     */
+    private static final class Allocations implements Extension {
+
+        // region, shard and address of its node
+        private final Map<String, Map<String, String>> regions = new ConcurrentHashMap<>();
+
+        /**
+         * Save where the shards of a region are.
+         *
+         * @param region the name of the region.
+         * @param shards a {@link Map} with the id of each shard and the address of its node.
+         */
+        void update(final String region, final Map<String, String> shards) {
+            regions.put(region, shards);
+        }
+
+        /**
+         * Find the node of a shard.
+         *
+         * @param region the name of the region.
+         * @param shardId the id of the shard.
+         * @return the address of the node, or null if the shard isn't allocated.
+         */
+        String nodeOf(final String region, final String shardId) {
+            return regions.getOrDefault(region, Map.of()).get(shardId);
+        }
+    }
+
+    /**
+     * The id of the extension, that creates the {@link Allocations} of each {@link ActorSystem}.
+     */
+    private static final class AllocationsId extends AbstractExtensionId<Allocations> {
+
+        @Override
+        public Allocations createExtension(final ExtendedActorSystem system) {
+            return new Allocations();
+        }
+    }
+}
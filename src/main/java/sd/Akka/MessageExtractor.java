@@ -3,9 +3,28 @@ package sd.Akka;
 import akka.cluster.sharding.ShardRegion;
 import sd.Akka.Messages.StandardMsg;
 import sd.Utils.ClusterHelper;
+import sd.Utils.Murmur3;
 
+/**
+ * Extractor of the entity and of the shard of the messages sent to the sharding regions: the entity is the receiver of
+ * the message, and its shard is chosen with {@link Murmur3} so the entities are spread evenly over the shards.
+ * The shard depends only on the game, that is the name of the host without the extension of the entity, so the
+ * waiting room and the game state of a game have the same shard id in their regions, and the
+ * {@link GameShardAllocationStrategy} puts them in the same node.
+ */
 public class MessageExtractor implements ShardRegion.MessageExtractor {
 
+    private final int numberOfShards;
+
+    /**
+     * Create the extractor.
+     *
+     * @param numberOfShards the number of shards of the region; it must be the same in all the nodes.
+     */
+    public MessageExtractor(final int numberOfShards) {
+        this.numberOfShards = numberOfShards;
+    }
+
     /**
      * Define how to extract the identifier (the name of the actor) from the message.
      */
@@ -32,10 +51,36 @@ public class MessageExtractor implements ShardRegion.MessageExtractor {
     @Override
     public String shardId(final Object message) {
         if (message instanceof StandardMsg) {
-            int hash = ((StandardMsg) message).getReceiver().hashCode();
-            int shardIndex = Math.abs(hash) % ClusterHelper.getNumberOfShards();
-            return String.valueOf(shardIndex);
+            return shardOf(((StandardMsg) message).getReceiver());
+        } else if (message instanceof ShardRegion.StartEntity) { // sent when the entities are remembered
+            return shardOf(((ShardRegion.StartEntity) message).entityId());
         }
         return null;
     }
+
+    /**
+     * Find the shard of an entity from the game it belongs to.
+     *
+     * @param entityId the id of the entity.
+     * @return the id of the shard.
+     */
+    private String shardOf(final String entityId) {
+        return String.valueOf(Math.floorMod(Murmur3.hash32(gameOf(entityId)), numberOfShards));
+    }
+
+    /**
+     * Obtain the game of an entity, removing the extension of its region from its id.
+     *
+     * @param entityId the id of the entity.
+     * @return the name of the host of the game, or the id itself if it has no known extension.
+     */
+    private static String gameOf(final String entityId) {
+        for (String extension : new String[] {ClusterHelper.getWaitingRoomExtension(),
+                ClusterHelper.getGameStateExtension()}) {
+            if (entityId.endsWith(extension)) {
+                return entityId.substring(0, entityId.length() - extension.length());
+            }
+        }
+        return entityId;
+    }
 }
@@ -0,0 +1,887 @@
+package sd.Akka;
+
+import akka.actor.ActorRef;
+import akka.actor.ExtendedActorSystem;
+import akka.serialization.ByteBufferSerializer;
+import akka.serialization.Serialization;
+import akka.serialization.SerializerWithStringManifest;
+import sd.Akka.Messages.AddPlayerMsg;
+import sd.Akka.Messages.CloseGameMsg;
+import sd.Akka.Messages.CreateGameGUIMsg;
+import sd.Akka.Messages.CreateWaitingGUIMsg;
+import sd.Akka.Messages.DealCardsMsg;
+import sd.Akka.Messages.EndTurnMsg;
+import sd.Akka.Messages.EnqueueMsg;
+import sd.Akka.Messages.GameEventMsg;
+import sd.Akka.Messages.GameOverMsg;
+import sd.Akka.Messages.GameStartedMsg;
+import sd.Akka.Messages.GetLobbyMsg;
+import sd.Akka.Messages.GetPlacementMsg;
+import sd.Akka.Messages.LobbyMsg;
+import sd.Akka.Messages.MoveRejectedMsg;
+import sd.Akka.Messages.OpenGameMsg;
+import sd.Akka.Messages.PlacementMsg;
+import sd.Akka.Messages.PlayedCardMsg;
+import sd.Akka.Messages.PlayerRejoinedMsg;
+import sd.Akka.Messages.RejoinGameMsg;
+import sd.Akka.Messages.RematchMsg;
+import sd.Akka.Messages.ResumeGameMsg;
+import sd.Akka.Messages.ResyncMsg;
+import sd.Akka.Messages.SpectatorViewMsg;
+import sd.Akka.Messages.StandardMsg;
+import sd.Akka.Messages.StartGameMsg;
+import sd.Akka.Messages.StartTurnMsg;
+import sd.Akka.Messages.TurnMsg;
+import sd.Akka.Messages.TurnSummaryMsg;
+import sd.Akka.Messages.UpdateWaitingRoomMsg;
+import sd.Akka.Messages.WatchGameMsg;
+import sd.Akka.Persistence.GameSnapshot;
+import sd.Model.CardSet;
+import sd.Model.Difficulty;
+import sd.Model.GameRules;
+import sd.Model.GameState;
+import sd.Model.GameStateImpl;
+import sd.Model.GameView;
+import sd.Model.GameViewImpl;
+import sd.Utils.ClusterHelper;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializer of all the messages exchanged by the actors, with a compact binary encoding written by hand for each of
+ * them; it replaces the Java serialization between the nodes of the cluster.
+ * The numbers are written as varints and the strings are written only the first time they appear in a message, the
+ * next times they are replaced by their index; the hands are sent as the two words of their {@link CardSet}.
+ * Each thread writes the messages in its own buffer, that grows when a message doesn't fit.
+ */
+public class MessageSerializer extends SerializerWithStringManifest implements ByteBufferSerializer {
+
+    private static final int IDENTIFIER = 9_871;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_KEPT_BUFFER_SIZE = 1024 * 1024; // a larger buffer is used only for its message
+    private static final int NULL_STRING = 0;
+    private static final int NEW_STRING = 1;
+    private static final int FIRST_INDEX = 2;
+    private static final int VARINT_BITS = 7;
+    private static final int VARINT_MASK = (1 << VARINT_BITS) - 1;
+
+    private static final String ADD_PLAYER = "AP";
+    private static final String CLOSE_GAME = "CL";
+    private static final String CREATE_GAME_GUI = "CG";
+    private static final String CREATE_WAITING_GUI = "CW";
+    private static final String DEAL_CARDS = "DC";
+    private static final String END_TURN = "ET";
+    private static final String ENQUEUE = "EQ";
+    private static final String GAME_EVENT = "GE";
+    private static final String GAME_OVER = "GO";
+    private static final String GAME_SNAPSHOT = "SN";
+    private static final String GAME_STARTED = "GS";
+    private static final String GET_LOBBY = "GL";
+    private static final String GET_PLACEMENT = "GP";
+    private static final String LOBBY = "LB";
+    private static final String MOVE_REJECTED = "MR";
+    private static final String OPEN_GAME = "OG";
+    private static final String PLACEMENT = "PL";
+    private static final String PLAYED_CARD = "PC";
+    private static final String PLAYER_REJOINED = "PR";
+    private static final String REJOIN_GAME = "RJ";
+    private static final String REMATCH = "RM";
+    private static final String RESUME_GAME = "RG";
+    private static final String RESYNC = "RS";
+    private static final String SPECTATOR_VIEW = "SV";
+    private static final String START_GAME = "SG";
+    private static final String START_TURN = "ST";
+    private static final String TURN = "TM";
+    private static final String TURN_SUMMARY = "TS";
+    private static final String UPDATE_WAITING_ROOM = "UW";
+    private static final String WATCH_GAME = "WG";
+
+    private static final ThreadLocal<ByteBuffer> BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocate(BUFFER_SIZE));
+
+    private final ExtendedActorSystem system;
+
+    /**
+     * Create the serializer; it's called by Akka through reflection.
+     *
+     * @param system the {@link ExtendedActorSystem} used to resolve the {@link ActorRef}s in the messages.
+     */
+    public MessageSerializer(final ExtendedActorSystem system) {
+        this.system = system;
+    }
+
+    @Override
+    public int identifier() {
+        return IDENTIFIER;
+    }
+
+    @Override
+    public String manifest(final Object o) {
+        if (o instanceof AddPlayerMsg) {
+            return ADD_PLAYER;
+        } else if (o instanceof CloseGameMsg) {
+            return CLOSE_GAME;
+        } else if (o instanceof CreateGameGUIMsg) {
+            return CREATE_GAME_GUI;
+        } else if (o instanceof CreateWaitingGUIMsg) {
+            return CREATE_WAITING_GUI;
+        } else if (o instanceof DealCardsMsg) {
+            return DEAL_CARDS;
+        } else if (o instanceof EndTurnMsg) {
+            return END_TURN;
+        } else if (o instanceof EnqueueMsg) {
+            return ENQUEUE;
+        } else if (o instanceof GameEventMsg) {
+            return GAME_EVENT;
+        } else if (o instanceof GameOverMsg) {
+            return GAME_OVER;
+        } else if (o instanceof GameSnapshot) {
+            return GAME_SNAPSHOT;
+        } else if (o instanceof GameStartedMsg) {
+            return GAME_STARTED;
+        } else if (o instanceof GetLobbyMsg) {
+            return GET_LOBBY;
+        } else if (o instanceof GetPlacementMsg) {
+            return GET_PLACEMENT;
+        } else if (o instanceof LobbyMsg) {
+            return LOBBY;
+        } else if (o instanceof MoveRejectedMsg) {
+            return MOVE_REJECTED;
+        } else if (o instanceof OpenGameMsg) {
+            return OPEN_GAME;
+        } else if (o instanceof PlacementMsg) {
+            return PLACEMENT;
+        } else if (o instanceof PlayedCardMsg) {
+            return PLAYED_CARD;
+        } else if (o instanceof PlayerRejoinedMsg) {
+            return PLAYER_REJOINED;
+        } else if (o instanceof RejoinGameMsg) {
+            return REJOIN_GAME;
+        } else if (o instanceof RematchMsg) {
+            return REMATCH;
+        } else if (o instanceof ResyncMsg) {
+            return RESYNC;
+        } else if (o instanceof ResumeGameMsg) {
+            return RESUME_GAME;
+        } else if (o instanceof SpectatorViewMsg) {
+            return SPECTATOR_VIEW;
+        } else if (o instanceof StartGameMsg) {
+            return START_GAME;
+        } else if (o instanceof StartTurnMsg) {
+            return START_TURN;
+        } else if (o instanceof TurnMsg) {
+            return TURN;
+        } else if (o instanceof TurnSummaryMsg) {
+            return TURN_SUMMARY;
+        } else if (o instanceof UpdateWaitingRoomMsg) {
+            return UPDATE_WAITING_ROOM;
+        } else if (o instanceof WatchGameMsg) {
+            return WATCH_GAME;
+        }
+        throw new IllegalArgumentException("Can't serialize object of type " + o.getClass());
+    }
+
+    @Override
+    public byte[] toBinary(final Object o) {
+        ByteBuffer buffer = BUFFER.get();
+        while (true) {
+            buffer.clear();
+            try {
+                toBinary(o, buffer);
+                break;
+            } catch (BufferOverflowException e) { // written again in a buffer twice as large
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+                if (buffer.capacity() <= MAX_KEPT_BUFFER_SIZE) {
+                    BUFFER.set(buffer);
+                }
+            }
+        }
+        buffer.flip();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    @Override
+    public Object fromBinary(final byte[] bytes, final String manifest) {
+        return fromBinary(ByteBuffer.wrap(bytes), manifest);
+    }
+
+    @Override
+    public void toBinary(final Object o, final ByteBuffer buf) {
+        write(new Writer(buf), o);
+    }
+
+    @Override
+    public Object fromBinary(final ByteBuffer buf, final String manifest) {
+        return read(new Reader(buf), manifest);
+    }
+
+    /**
+     * Write the fields of a message.
+     *
+     * @param out the {@link Writer} of the message.
+     * @param o the message to write.
+     * @throws IllegalArgumentException if the message is not one of the known ones.
+     */
+    private void write(final Writer out, final Object o) {
+        if (o instanceof AddPlayerMsg msg) {
+            out.string(hostOf(msg.getReceiver(), ClusterHelper.getWaitingRoomExtension()));
+            out.string(msg.getContent());
+            out.string(msg.getDifficulty());
+        } else if (o instanceof CloseGameMsg msg) {
+            out.string(msg.getReceiver());
+        } else if (o instanceof CreateGameGUIMsg msg) {
+            out.string(msg.getReceiver());
+            out.string(msg.getContent());
+            out.string(msg.getNextPlayerName());
+            out.varint(msg.getDifficulty().ordinal());
+            writeGameView(out, msg.getGameView());
+        } else if (o instanceof CreateWaitingGUIMsg msg) {
+            out.string(msg.getReceiver());
+            out.string(msg.getHostName());
+            out.string(msg.getContent());
+        } else if (o instanceof DealCardsMsg msg) {
+            out.string(msg.getContent());
+            out.string(msg.getDifficulty());
+            out.varint(msg.getPlayers().size());
+            msg.getPlayers().forEach((name, ref) -> {
+                out.string(name);
+                out.actorRef(ref);
+            });
+        } else if (o instanceof EndTurnMsg msg) {
+            out.string(msg.getReceiver());
+            out.string(msg.getContent());
+            out.string(msg.getNextPlayerName());
+        } else if (o instanceof EnqueueMsg msg) { // the receiver is the queue of the difficulty and the table size
+            out.string(msg.getDifficulty());
+            out.varint(msg.getTableSize());
+            out.string(msg.getContent());
+        } else if (o instanceof GameEventMsg msg) {
+            out.string(msg.getReceiver());
+            out.varint(msg.getSequenceNumber());
+            out.string(manifest(msg.getEvent()));
+            write(out, msg.getEvent());
+        } else if (o instanceof GameOverMsg msg) {
+            out.string(msg.getReceiver());
+            out.varint(msg.isWin() ? 1 : 0);
+        } else if (o instanceof GameSnapshot snapshot) {
+            writeGameState(out, snapshot.getGameState(), snapshot.getPlayers());
+            out.string(snapshot.getCurrentPlayer());
+            out.varint(snapshot.getCardsPlayedThisTurn());
+            out.varint(snapshot.isPlaying() ? 1 : 0);
+            out.varint(snapshot.getLastEventSequence());
+        } else if (o instanceof GameStartedMsg msg) {
+            out.string(msg.getContent());
+            out.varint(msg.getDifficulty().ordinal());
+            out.varlong(msg.getSeed());
+            out.varint(msg.getPlayers().size());
+            msg.getPlayers().forEach((name, ref) -> {
+                out.string(name);
+                out.actorRef(ref);
+            });
+        } else if (o instanceof GetLobbyMsg || o instanceof GetPlacementMsg) {
+            // no fields to write
+        } else if (o instanceof LobbyMsg msg) {
+            out.varint(msg.getOpenGames().size());
+            for (OpenGameMsg openGame : msg.getOpenGames()) {
+                writeOpenGame(out, openGame);
+            }
+        } else if (o instanceof MoveRejectedMsg msg) {
+            out.string(msg.getReceiver());
+            out.string(msg.getContent());
+            out.varint(msg.getCardValue());
+            out.varint(msg.getDeckNumber());
+        } else if (o instanceof OpenGameMsg msg) {
+            writeOpenGame(out, msg);
+        } else if (o instanceof PlacementMsg msg) {
+            out.varint(msg.getGamesPerShard().size());
+            msg.getGamesPerShard().forEach((shard, games) -> {
+                out.string(shard);
+                out.varint(games);
+            });
+        } else if (o instanceof PlayedCardMsg msg) {
+            out.string(msg.getReceiver());
+            out.string(msg.getContent());
+            out.varint(msg.getCardValue());
+            out.varint(msg.getDeckNumber());
+        } else if (o instanceof RematchMsg msg) {
+            out.string(msg.getReceiver());
+        } else if (o instanceof PlayerRejoinedMsg msg) {
+            out.string(msg.getContent());
+            out.actorRef(msg.getPlayer());
+        } else if (o instanceof RejoinGameMsg msg) {
+            out.string(hostOf(msg.getReceiver(), ClusterHelper.getGameStateExtension()));
+            out.string(msg.getContent());
+        } else if (o instanceof ResumeGameMsg msg) {
+            out.string(msg.getReceiver());
+            out.string(msg.getContent());
+            out.string(msg.getCurrentPlayer());
+            out.string(msg.getNextPlayerName());
+            out.varint(msg.getDifficulty().ordinal());
+            out.varint(msg.getSequenceNumber());
+            out.varint(msg.getCardsPlayedThisTurn());
+            writeGameView(out, msg.getGameView());
+        } else if (o instanceof ResyncMsg msg) {
+            out.string(msg.getReceiver());
+            out.string(msg.getContent());
+            out.varint(msg.getFromSequenceNumber());
+        } else if (o instanceof SpectatorViewMsg msg) {
+            out.string(msg.getHostName());
+            out.string(msg.getContent());
+            out.varlong(msg.getVersion());
+            for (int lastCard : msg.getLastCards()) {
+                out.varint(lastCard);
+            }
+            out.varint(msg.getCardsInHand().size());
+            msg.getCardsInHand().forEach((name, cards) -> {
+                out.string(name);
+                out.varint(cards);
+            });
+            out.varint(msg.getMainDeckCards());
+            out.varint((msg.isPlaying() ? 1 : 0) | (msg.isWin() ? 2 : 0));
+        } else if (o instanceof StartGameMsg msg) {
+            out.string(hostOf(msg.getReceiver(), ClusterHelper.getWaitingRoomExtension()));
+            out.string(msg.getContent());
+        } else if (o instanceof StartTurnMsg msg) {
+            out.string(msg.getReceiver());
+            out.string(msg.getContent());
+            out.string(msg.getNextPlayerName());
+            out.varint(msg.getCardsInHand());
+            out.varint(msg.getMainDeckCards());
+            out.varint(msg.getHand() == null ? 0 : 1);
+            if (msg.getHand() != null) {
+                out.cards(msg.getHand());
+            }
+        } else if (o instanceof TurnMsg msg) {
+            out.string(msg.getReceiver());
+            out.string(msg.getContent());
+            out.moves(msg.getMoves());
+        } else if (o instanceof TurnSummaryMsg msg) {
+            out.string(msg.getReceiver());
+            out.string(msg.getContent());
+            out.moves(msg.getMoves());
+            out.string(msg.getNextPlayerName());
+            out.varint(msg.getCardsInHand());
+            out.varint(msg.getMainDeckCards());
+            out.varint(msg.getHand() == null ? 0 : 1);
+            if (msg.getHand() != null) {
+                out.cards(msg.getHand());
+            }
+        } else if (o instanceof UpdateWaitingRoomMsg msg) {
+            out.string(msg.getReceiver());
+            out.varint(msg.getVersion());
+            out.varint(msg.isSnapshot() ? 1 : 0);
+            writeNames(out, msg.getPlayerNames());
+            writeNames(out, msg.getLeftNames());
+        } else if (o instanceof WatchGameMsg msg) { // the receiver is the game state of the host
+            out.string(msg.getHostName());
+        } else {
+            throw new IllegalArgumentException("Can't serialize object of type " + o.getClass());
+        }
+    }
+
+    /**
+     * Read the fields of a message written by {@link #write(Writer, Object)} and create it.
+     *
+     * @param in the {@link Reader} of the message.
+     * @param manifest the manifest with the type of the message.
+     * @return the read message.
+     * @throws IllegalArgumentException if the manifest is not one of the known ones.
+     */
+    private Object read(final Reader in, final String manifest) {
+        return switch (manifest) {
+            case ADD_PLAYER -> new AddPlayerMsg(in.string(), in.string(), in.string());
+            case CLOSE_GAME -> new CloseGameMsg(in.string());
+            case CREATE_GAME_GUI -> {
+                String receiver = in.string();
+                String hostName = in.string();
+                String nextPlayerName = in.string();
+                Difficulty difficulty = Difficulty.values()[in.varint()];
+                GameView gameView = readGameView(in, receiver, difficulty);
+                yield new CreateGameGUIMsg(receiver, hostName, nextPlayerName, gameView, difficulty);
+            }
+            case CREATE_WAITING_GUI -> new CreateWaitingGUIMsg(in.string(), in.string(), in.string());
+            case DEAL_CARDS -> {
+                String hostName = in.string();
+                String difficulty = in.string();
+                Map<String, ActorRef> players = new LinkedHashMap<>();
+                for (int i = in.varint(); i > 0; i--) {
+                    players.put(in.string(), in.actorRef());
+                }
+                yield new DealCardsMsg(hostName, difficulty, players);
+            }
+            case END_TURN -> new EndTurnMsg(in.string(), in.string(), in.string());
+            case ENQUEUE -> new EnqueueMsg(in.string(), in.varint(), in.string());
+            case GAME_EVENT -> {
+                String receiver = in.string();
+                int sequenceNumber = in.varint();
+                StandardMsg event = (StandardMsg) read(in, in.string());
+                yield new GameEventMsg(receiver, sequenceNumber, event);
+            }
+            case GAME_OVER -> new GameOverMsg(in.string(), in.varint() != 0);
+            case GAME_SNAPSHOT -> {
+                Map<String, ActorRef> players = new LinkedHashMap<>();
+                GameState gameState = readGameState(in, players);
+                String currentPlayer = in.string();
+                int cardsPlayedThisTurn = in.varint();
+                boolean playing = in.varint() != 0;
+                yield new GameSnapshot(gameState, players, currentPlayer, cardsPlayedThisTurn, playing, in.varint());
+            }
+            case GAME_STARTED -> {
+                String hostName = in.string();
+                Difficulty difficulty = Difficulty.values()[in.varint()];
+                long seed = in.varlong();
+                Map<String, ActorRef> players = new LinkedHashMap<>();
+                for (int i = in.varint(); i > 0; i--) {
+                    players.put(in.string(), in.actorRef());
+                }
+                yield new GameStartedMsg(hostName, difficulty, seed, players);
+            }
+            case GET_LOBBY -> new GetLobbyMsg();
+            case GET_PLACEMENT -> new GetPlacementMsg();
+            case LOBBY -> {
+                List<OpenGameMsg> openGames = new ArrayList<>();
+                for (int i = in.varint(); i > 0; i--) {
+                    openGames.add(readOpenGame(in));
+                }
+                yield new LobbyMsg(openGames);
+            }
+            case MOVE_REJECTED -> new MoveRejectedMsg(in.string(), in.string(), in.varint(), in.varint());
+            case OPEN_GAME -> readOpenGame(in);
+            case PLACEMENT -> {
+                Map<String, Integer> gamesPerShard = new HashMap<>();
+                for (int i = in.varint(); i > 0; i--) {
+                    gamesPerShard.put(in.string(), in.varint());
+                }
+                yield new PlacementMsg(gamesPerShard);
+            }
+            case PLAYED_CARD -> new PlayedCardMsg(in.string(), in.string(), in.varint(), in.varint());
+            case REMATCH -> new RematchMsg(in.string());
+            case PLAYER_REJOINED -> new PlayerRejoinedMsg(in.string(), in.actorRef());
+            case REJOIN_GAME -> new RejoinGameMsg(in.string(), in.string());
+            case RESUME_GAME -> {
+                String receiver = in.string();
+                String hostName = in.string();
+                String currentPlayer = in.string();
+                String nextPlayerName = in.string();
+                Difficulty difficulty = Difficulty.values()[in.varint()];
+                int sequenceNumber = in.varint();
+                int cardsPlayedThisTurn = in.varint();
+                GameView gameView = readGameView(in, receiver, difficulty);
+                yield new ResumeGameMsg(receiver, hostName, currentPlayer, nextPlayerName, gameView, difficulty,
+                        sequenceNumber, cardsPlayedThisTurn);
+            }
+            case RESYNC -> new ResyncMsg(in.string(), in.string(), in.varint());
+            case SPECTATOR_VIEW -> {
+                String hostName = in.string();
+                String currentPlayer = in.string();
+                long version = in.varlong();
+                int[] lastCards = new int[GameRules.getNumberOfDecks()];
+                for (int deck = 0; deck < lastCards.length; deck++) {
+                    lastCards[deck] = in.varint();
+                }
+                LinkedHashMap<String, Integer> cardsInHand = new LinkedHashMap<>();
+                for (int i = in.varint(); i > 0; i--) {
+                    cardsInHand.put(in.string(), in.varint());
+                }
+                int mainDeckCards = in.varint();
+                int flags = in.varint();
+                yield new SpectatorViewMsg(hostName, currentPlayer, version, lastCards, cardsInHand, mainDeckCards,
+                        (flags & 1) != 0, (flags & 2) != 0);
+            }
+            case START_GAME -> new StartGameMsg(in.string(), in.string());
+            case START_TURN -> {
+                String receiver = in.string();
+                String playerEndedTurn = in.string();
+                String nextPlayerName = in.string();
+                int cardsInHand = in.varint();
+                int mainDeckCards = in.varint();
+                CardSet hand = in.varint() == 0 ? null : in.cards();
+                yield new StartTurnMsg(receiver, playerEndedTurn, nextPlayerName, cardsInHand, mainDeckCards, hand);
+            }
+            case TURN -> new TurnMsg(in.string(), in.string(), in.moves());
+            case TURN_SUMMARY -> {
+                String receiver = in.string();
+                String playerName = in.string();
+                int[] moves = in.moves();
+                String nextPlayerName = in.string();
+                int cardsInHand = in.varint();
+                int mainDeckCards = in.varint();
+                CardSet hand = in.varint() == 0 ? null : in.cards();
+                yield new TurnSummaryMsg(receiver, playerName, moves, nextPlayerName, cardsInHand, mainDeckCards,
+                        hand);
+            }
+            case UPDATE_WAITING_ROOM -> {
+                String receiver = in.string();
+                int version = in.varint();
+                boolean snapshot = in.varint() != 0;
+                List<String> names = readNames(in);
+                List<String> leftNames = readNames(in);
+                yield snapshot ? new UpdateWaitingRoomMsg(receiver, version, names)
+                        : new UpdateWaitingRoomMsg(receiver, version, names, leftNames);
+            }
+            case WATCH_GAME -> new WatchGameMsg(in.string());
+            default -> throw new IllegalArgumentException("Unknown manifest: " + manifest);
+        };
+    }
+
+    /**
+     * Write a list of names of players.
+     *
+     * @param out the {@link Writer} of the message.
+     * @param names the {@link List} of names.
+     */
+    private static void writeNames(final Writer out, final List<String> names) {
+        out.varint(names.size());
+        names.forEach(out::string);
+    }
+
+    /**
+     * Read a list of names written by {@link #writeNames(Writer, List)}.
+     *
+     * @param in the {@link Reader} of the message.
+     * @return the {@link List} of names.
+     */
+    private static List<String> readNames(final Reader in) {
+        List<String> names = new LinkedList<>();
+        for (int i = in.varint(); i > 0; i--) {
+            names.add(in.string());
+        }
+        return names;
+    }
+
+    /**
+     * Write an open game of the lobby.
+     *
+     * @param out the {@link Writer} of the message.
+     * @param openGame the {@link OpenGameMsg} to write.
+     */
+    private static void writeOpenGame(final Writer out, final OpenGameMsg openGame) {
+        out.string(openGame.getHostName());
+        out.string(openGame.getContent());
+        out.varint(openGame.getSeatsTaken());
+    }
+
+    /**
+     * Read an open game written by {@link #writeOpenGame(Writer, OpenGameMsg)}.
+     *
+     * @param in the {@link Reader} of the message.
+     * @return the {@link OpenGameMsg}.
+     */
+    private static OpenGameMsg readOpenGame(final Reader in) {
+        return new OpenGameMsg(in.string(), in.string(), in.varint());
+    }
+
+    /**
+     * Write a {@link GameView}: the hand of the player, the decks and the number of cards of each player; the name of
+     * the player is the receiver of the message, so it's not written again.
+     *
+     * @param out the {@link Writer} of the message.
+     * @param gameView the {@link GameView} to write.
+     */
+    private static void writeGameView(final Writer out, final GameView gameView) {
+        out.cards(gameView.getCards());
+        out.varint(gameView.countMainDeckCards());
+        for (int lastCard : gameView.getLastCards()) {
+            out.varint(lastCard);
+        }
+        Map<String, Integer> playersCards = gameView.countPlayersCards();
+        out.varint(playersCards.size());
+        playersCards.forEach((name, cards) -> {
+            out.string(name);
+            out.varint(cards);
+        });
+    }
+
+    /**
+     * Read a {@link GameView} written by {@link #writeGameView(Writer, GameView)}.
+     *
+     * @param in the {@link Reader} of the message.
+     * @param playerName the name of the player who sees the game, already read from the message.
+     * @param difficulty the {@link Difficulty} of the game, already read from the message.
+     * @return the read {@link GameView}.
+     */
+    private static GameView readGameView(final Reader in, final String playerName, final Difficulty difficulty) {
+        CardSet hand = in.cards();
+        int mainDeckCards = in.varint();
+        int[] lastCards = new int[GameRules.getNumberOfDecks()];
+        for (int deck = 0; deck < lastCards.length; deck++) {
+            lastCards[deck] = in.varint();
+        }
+        Map<String, Integer> playersCards = new LinkedHashMap<>();
+        for (int i = in.varint(); i > 0; i--) {
+            playersCards.put(in.string(), in.varint());
+        }
+        return new GameViewImpl(playerName, difficulty, hand, playersCards, mainDeckCards, lastCards);
+    }
+
+    /**
+     * Write a complete {@link GameState}: the seed of the shuffle is enough for the main deck, then the decks and for
+     * each player his reference and his hand.
+     *
+     * @param out the {@link Writer} of the message.
+     * @param gameState the {@link GameState} to write.
+     * @param players a {@link Map} with the names of the players and their {@link ActorRef}, in the order of the game.
+     */
+    private static void writeGameState(final Writer out, final GameState gameState,
+                                       final Map<String, ActorRef> players) {
+        out.varlong(gameState.getSeed());
+        out.varint(gameState.getDifficulty().ordinal());
+        out.varint(gameState.countMainDeckCards());
+        for (int lastCard : gameState.getLastCards()) {
+            out.varint(lastCard);
+        }
+        out.varint(players.size());
+        players.forEach((name, ref) -> {
+            out.string(name);
+            out.actorRef(ref);
+            out.cards(gameState.getPlayer(name).orElseThrow().getCards());
+        });
+    }
+
+    /**
+     * Read a {@link GameState} written by {@link #writeGameState(Writer, GameState, Map)}.
+     *
+     * @param in the {@link Reader} of the message.
+     * @param players the {@link Map} where the names of the players and their {@link ActorRef} are put.
+     * @return the read {@link GameState}.
+     */
+    private static GameState readGameState(final Reader in, final Map<String, ActorRef> players) {
+        long seed = in.varlong();
+        Difficulty difficulty = Difficulty.values()[in.varint()];
+        int mainDeckCards = in.varint();
+        int[] lastCards = new int[GameRules.getNumberOfDecks()];
+        for (int deck = 0; deck < lastCards.length; deck++) {
+            lastCards[deck] = in.varint();
+        }
+        Map<String, CardSet> hands = new LinkedHashMap<>();
+        for (int i = in.varint(); i > 0; i--) {
+            String name = in.string();
+            players.put(name, in.actorRef());
+            hands.put(name, in.cards());
+        }
+        GameState gameState = GameStateImpl.restore(new LinkedList<>(hands.keySet()), difficulty, seed, mainDeckCards,
+                lastCards);
+        hands.forEach((name, hand) -> gameState.getPlayer(name).orElseThrow().getCards().addAll(hand));
+        return gameState;
+    }
+
+    /**
+     * Obtain the name of the host from the name of an entity, removing its extension.
+     *
+     * @param receiver the name of the entity.
+     * @param extension the extension added to the name of the host.
+     * @return the name of the host.
+     */
+    private static String hostOf(final String receiver, final String extension) {
+        return receiver.substring(0, receiver.length() - extension.length());
+    }
+
+    /**
+     * Writer of the values of a message in a {@link ByteBuffer}, with the table of the strings already written.
+     */
+    private static final class Writer {
+
+        private final ByteBuffer buffer;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        /**
+         * Create a writer.
+         *
+         * @param buffer the {@link ByteBuffer} where write.
+         */
+        Writer(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Write a positive int in 1 to 5 bytes, 7 bits for each byte.
+         *
+         * @param value the value to write.
+         */
+        void varint(final int value) {
+            varlong(value & 0xFFFFFFFFL);
+        }
+
+        /**
+         * Write a long in 1 to 10 bytes, 7 bits for each byte.
+         *
+         * @param value the value to write.
+         */
+        void varlong(final long value) {
+            long bits = value;
+            while ((bits & ~VARINT_MASK) != 0) {
+                buffer.put((byte) ((bits & VARINT_MASK) | (VARINT_MASK + 1)));
+                bits >>>= VARINT_BITS;
+            }
+            buffer.put((byte) bits);
+        }
+
+        /**
+         * Write a {@link CardSet} as the two words of its bitset.
+         *
+         * @param cards the {@link CardSet} to write.
+         */
+        void cards(final CardSet cards) {
+            varlong(cards.getLow());
+            varlong(cards.getHigh());
+        }
+
+        /**
+         * Write the packed moves of a turn, preceded by their number.
+         *
+         * @param moves the packed moves to write.
+         */
+        void moves(final int[] moves) {
+            varint(moves.length);
+            for (int move : moves) {
+                varint(move);
+            }
+        }
+
+        /**
+         * Write a string, or its index if it was already written in this message.
+         *
+         * @param value the string to write, it can be null.
+         */
+        void string(final String value) {
+            if (value == null) {
+                varint(NULL_STRING);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index != null) {
+                varint(FIRST_INDEX + index);
+                return;
+            }
+            strings.put(value, strings.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(NEW_STRING);
+            varint(bytes.length);
+            buffer.put(bytes);
+        }
+
+        /**
+         * Write an {@link ActorRef} as its path, where the address of the node is written as a separate string because
+         * it's usually shared by many references.
+         *
+         * @param ref the {@link ActorRef} to write.
+         */
+        void actorRef(final ActorRef ref) {
+            String path = Serialization.serializedActorPath(ref);
+            int pathStart = path.indexOf('/', path.indexOf("://") + "://".length());
+            if (pathStart < 0) {
+                string(path);
+                string("");
+            } else {
+                string(path.substring(0, pathStart));
+                string(path.substring(pathStart));
+            }
+        }
+    }
+
+    /**
+     * Reader of the values of a message from a {@link ByteBuffer}, with the table of the strings already read.
+     */
+    private final class Reader {
+
+        private final ByteBuffer buffer;
+        private final List<String> strings = new ArrayList<>();
+
+        /**
+         * Create a reader.
+         *
+         * @param buffer the {@link ByteBuffer} from which read.
+         */
+        Reader(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Read an int written by {@link Writer#varint(int)}.
+         *
+         * @return the value read.
+         */
+        int varint() {
+            return (int) varlong();
+        }
+
+        /**
+         * Read a long written by {@link Writer#varlong(long)}.
+         *
+         * @return the value read.
+         */
+        long varlong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get();
+                value |= (long) (b & VARINT_MASK) << shift;
+                shift += VARINT_BITS;
+            } while ((b & (VARINT_MASK + 1)) != 0);
+            return value;
+        }
+
+        /**
+         * Read a {@link CardSet} written by {@link Writer#cards(CardSet)}.
+         *
+         * @return the read {@link CardSet}.
+         */
+        CardSet cards() {
+            long low = varlong();
+            return new CardSet(low, varlong());
+        }
+
+        /**
+         * Read the packed moves written by {@link Writer#moves(int[])}.
+         *
+         * @return the read moves.
+         */
+        int[] moves() {
+            int[] moves = new int[varint()];
+            for (int i = 0; i < moves.length; i++) {
+                moves[i] = varint();
+            }
+            return moves;
+        }
+
+        /**
+         * Read a string written by {@link Writer#string(String)}.
+         *
+         * @return the string read, it can be null.
+         */
+        String string() {
+            int tag = varint();
+            if (tag == NULL_STRING) {
+                return null;
+            }
+            if (tag >= FIRST_INDEX) {
+                return strings.get(tag - FIRST_INDEX);
+            }
+            byte[] bytes = new byte[varint()];
+            buffer.get(bytes);
+            String value = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        }
+
+        /**
+         * Read an {@link ActorRef} written by {@link Writer#actorRef(ActorRef)}.
+         *
+         * @return the resolved {@link ActorRef}.
+         */
+        ActorRef actorRef() {
+            return system.provider().resolveActorRef(string() + string());
+        }
+    }
+}
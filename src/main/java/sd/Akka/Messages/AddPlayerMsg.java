@@ -8,6 +8,8 @@ import sd.Utils.ClusterHelper;
  */
 public class AddPlayerMsg extends StandardMsg {
 
+    private final String difficulty;
+
     /**
      * Create a message to send when a new player joined the game end has to be added in the waiting room.
      *
@@ -15,6 +17,28 @@ public class AddPlayerMsg extends StandardMsg {
      * @param playerToAdd the name of the player who want to join the game.
      */
     public AddPlayerMsg(final String hostName, final String playerToAdd) {
+        this(hostName, playerToAdd, null);
+    }
+
+    /**
+     * Create a message to send when a new player joined the game end has to be added in the waiting room; the host
+     * says also the difficulty, so it can be shown in the list of the open games.
+     *
+     * @param hostName the name of the player who created the game.
+     * @param playerToAdd the name of the player who want to join the game.
+     * @param difficulty the {@link String} version of the {@link sd.Model.Difficulty} chosen by the host, or null.
+     */
+    public AddPlayerMsg(final String hostName, final String playerToAdd, final String difficulty) {
         super(hostName + ClusterHelper.getWaitingRoomExtension(), playerToAdd);
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Get the difficulty chosen by the host.
+     *
+     * @return the {@link String} version of the {@link sd.Model.Difficulty}, or null if the player isn't the host.
+     */
+    public String getDifficulty() {
+        return difficulty;
     }
 }
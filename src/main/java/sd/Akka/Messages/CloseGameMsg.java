@@ -0,0 +1,19 @@
+package sd.Akka.Messages;
+
+import sd.Akka.Actor.LobbyActor;
+
+/**
+ * Message sent by a {@link sd.Akka.Actor.WaitingRoomActor} to the {@link LobbyActor} of its node when the game starts
+ * or the waiting room stops; it removes the game from the directory of the open games.
+ */
+public class CloseGameMsg extends StandardMsg {
+
+    /**
+     * Create a message to remove a game from the directory.
+     *
+     * @param hostName the name of the player who created the game.
+     */
+    public CloseGameMsg(final String hostName) {
+        super(hostName, null);
+    }
+}
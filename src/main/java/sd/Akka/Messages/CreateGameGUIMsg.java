@@ -2,7 +2,7 @@ package sd.Akka.Messages;
 
 import sd.Akka.Actor.PlayerActor;
 import sd.Model.Difficulty;
-import sd.Model.GameState;
+import sd.Model.GameView;
 
 /**
  * Message to send to {@link PlayerActor}; it says that the game is started and the player can create the
@@ -10,25 +10,26 @@ import sd.Model.GameState;
  */
 public class CreateGameGUIMsg extends StandardMsg {
 
-    private final GameState gameState;
+    private final GameView gameView;
     private final String nextPlayerName;
     private final Difficulty difficulty;
 
     /**
      * Create a message to send when the player who created the waiting room started the game and all the player have
-     * to be informed to create the {@link sd.View.GameGUI} and obtain the initial state of the game.
+     * to be informed to create the {@link sd.View.GameGUI} and obtain the initial state of the game; each player
+     * receives only his own {@link GameView}.
      *
      * @param receiver the name of the actor to whom send the message.
      * @param hostName the name of the actor who created the game.
      * @param nextPlayerName the name of the next player who will play after the end of the turn.
-     * @param gameState the {@link GameState} for all the players.
+     * @param gameView the {@link GameView} of the player who receives the message.
      * @param difficulty the {@link Difficulty} of the game.
      */
     public CreateGameGUIMsg(final String receiver, final String hostName, final String nextPlayerName,
-                            final GameState gameState, final Difficulty difficulty) {
+                            final GameView gameView, final Difficulty difficulty) {
         super(receiver, hostName);
         this.nextPlayerName = nextPlayerName;
-        this.gameState = gameState;
+        this.gameView = gameView;
         this.difficulty = difficulty;
     }
 
@@ -42,12 +43,12 @@ public class CreateGameGUIMsg extends StandardMsg {
     }
 
     /**
-     * Get the unique {@link GameState} with the initial information about the game.
+     * Get the {@link GameView} with the initial information about the game that the player can see.
      *
-     * @return a {@link String} with the name of the player.
+     * @return the {@link GameView} of the player.
      */
-    public GameState getGameState() {
-        return gameState;
+    public GameView getGameView() {
+        return gameView;
     }
 
     /**
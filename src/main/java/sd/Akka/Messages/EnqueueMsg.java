@@ -0,0 +1,45 @@
+package sd.Akka.Messages;
+
+import sd.Akka.Actor.MatchmakingActor;
+import sd.Utils.ClusterHelper;
+
+/**
+ * Message to send to the {@link MatchmakingActor} of a difficulty and a number of players; it says that a player wants
+ * to play with anyone who wants the same game.
+ */
+public class EnqueueMsg extends StandardMsg {
+
+    private final String difficulty;
+    private final int tableSize;
+
+    /**
+     * Create a message to put a player in the queue of the games he wants.
+     *
+     * @param difficulty the {@link String} version of the {@link sd.Model.Difficulty} of the game.
+     * @param tableSize the number of players of the game.
+     * @param playerName the name of the player.
+     */
+    public EnqueueMsg(final String difficulty, final int tableSize, final String playerName) {
+        super(ClusterHelper.getMatchmakingQueue(difficulty, tableSize), playerName);
+        this.difficulty = difficulty;
+        this.tableSize = tableSize;
+    }
+
+    /**
+     * Get the difficulty of the game.
+     *
+     * @return the {@link String} version of the {@link sd.Model.Difficulty}.
+     */
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Get the number of players of the game.
+     *
+     * @return the number of players.
+     */
+    public int getTableSize() {
+        return tableSize;
+    }
+}
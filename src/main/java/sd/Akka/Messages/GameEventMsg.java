@@ -0,0 +1,47 @@
+package sd.Akka.Messages;
+
+import sd.Akka.Actor.GameStateActor;
+import sd.Akka.Actor.PlayerActor;
+
+/**
+ * Message to send to {@link PlayerActor}; it's an event of the game published by the {@link GameStateActor} with its
+ * position in the stream of the events, so the player can apply the events in order and notice if one is missing.
+ * The event is one of the messages that describe the progress of the game: {@link PlayedCardMsg},
+ * {@link StartTurnMsg} or {@link GameOverMsg}.
+ */
+public class GameEventMsg extends StandardMsg {
+
+    private final int sequenceNumber;
+    private final StandardMsg event;
+
+    /**
+     * Create a message with an event of the game.
+     *
+     * @param receiver the name of the actor to whom send the message.
+     * @param sequenceNumber the position of the event in the stream of the game, starting from 1.
+     * @param event the message that describe the event.
+     */
+    public GameEventMsg(final String receiver, final int sequenceNumber, final StandardMsg event) {
+        super(receiver, null);
+        this.sequenceNumber = sequenceNumber;
+        this.event = event;
+    }
+
+    /**
+     * Get the position of the event in the stream of the game.
+     *
+     * @return the sequence number of the event.
+     */
+    public int getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    /**
+     * Get the message that describe the event.
+     *
+     * @return a {@link PlayedCardMsg}, a {@link StartTurnMsg} or a {@link GameOverMsg}.
+     */
+    public StandardMsg getEvent() {
+        return event;
+    }
+}
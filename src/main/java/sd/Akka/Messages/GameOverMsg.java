@@ -4,19 +4,31 @@ import sd.Akka.Actor.GameStateActor;
 import sd.Akka.Actor.PlayerActor;
 
 /**
- * Message to send to {@link GameStateActor} and {@link PlayerActor}; it says that a player couldn't
- * play the minimum amount of cards in his turn, so it's a Game Over and all the player have to be informed. First the
- * player who generate the Game Over sends this message to the {@link GameStateActor} and then he sends the same
- * message to all the players.
+ * Message to send to {@link PlayerActor}; it says that the game is finished, with a win because all the cards were
+ * played or with a Game Over because a player couldn't play the minimum amount of cards in his turn. It's decided only
+ * by the {@link GameStateActor}, that is the one who knows all the hands.
  */
 public class GameOverMsg extends StandardMsg {
 
+    private final boolean win;
+
     /**
-     * Create a message to inform that there is a Game Over.
+     * Create a message to inform that the game is finished.
      *
      * @param receiver the name of the actor to whom send the message.
+     * @param win true if all the cards were played, false if it's a Game Over.
      */
-    public GameOverMsg(final String receiver) {
+    public GameOverMsg(final String receiver, final boolean win) {
         super(receiver, null);
+        this.win = win;
+    }
+
+    /**
+     * Check if the game is finished with a win.
+     *
+     * @return true if it's a win, false if it's a Game Over.
+     */
+    public boolean isWin() {
+        return win;
     }
 }
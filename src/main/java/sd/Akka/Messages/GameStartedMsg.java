@@ -0,0 +1,62 @@
+package sd.Akka.Messages;
+
+import akka.actor.ActorRef;
+import sd.Akka.Actor.GameStateActor;
+import sd.Model.Difficulty;
+
+import java.util.Map;
+
+/**
+ * Event saved in the journal of the {@link GameStateActor} when it deals the cards; with the seed of the shuffle the
+ * same {@link sd.Model.GameState} can be created again when the actor is recovered, and all the next events can be
+ * applied to it. It's never sent to the players.
+ */
+public class GameStartedMsg extends StandardMsg {
+
+    private final Difficulty difficulty;
+    private final long seed;
+    private final Map<String, ActorRef> players; // name of a player and his reference, in the order of the game
+
+    /**
+     * Create the event of the start of a game.
+     *
+     * @param hostName the name of the player who created the game, who starts.
+     * @param difficulty the {@link Difficulty} of the game.
+     * @param seed the seed used to shuffle the main deck.
+     * @param players a {@link Map} with the names of the players and the references of their actors.
+     */
+    public GameStartedMsg(final String hostName, final Difficulty difficulty, final long seed,
+                          final Map<String, ActorRef> players) {
+        super(null, hostName);
+        this.difficulty = difficulty;
+        this.seed = seed;
+        this.players = players;
+    }
+
+    /**
+     * Get the difficulty of the game.
+     *
+     * @return the {@link Difficulty} of the game.
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Get the seed used to shuffle the main deck.
+     *
+     * @return the seed of the shuffle.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Get the {@link Map} with the names of the players and the references of their actors.
+     *
+     * @return the {@link Map} with these values.
+     */
+    public Map<String, ActorRef> getPlayers() {
+        return players;
+    }
+}
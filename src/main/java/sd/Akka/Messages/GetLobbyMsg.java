@@ -0,0 +1,17 @@
+package sd.Akka.Messages;
+
+import sd.Akka.Actor.LobbyActor;
+
+/**
+ * Message to send to the {@link LobbyActor} of a node; it asks the list of the open games, and the answer is a
+ * {@link LobbyMsg}.
+ */
+public class GetLobbyMsg extends StandardMsg {
+
+    /**
+     * Create a message to ask the open games.
+     */
+    public GetLobbyMsg() {
+        super(null, null);
+    }
+}
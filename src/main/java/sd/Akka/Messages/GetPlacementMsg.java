@@ -0,0 +1,17 @@
+package sd.Akka.Messages;
+
+import sd.Akka.Actor.PlacementActor;
+
+/**
+ * Message to send to the {@link PlacementActor} of a node; it asks how many games are in progress in the shards of
+ * that node, and the answer is a {@link PlacementMsg}.
+ */
+public class GetPlacementMsg extends StandardMsg {
+
+    /**
+     * Create a message to ask the games of a node.
+     */
+    public GetPlacementMsg() {
+        super(null, null);
+    }
+}
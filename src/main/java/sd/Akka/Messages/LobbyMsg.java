@@ -0,0 +1,32 @@
+package sd.Akka.Messages;
+
+import sd.Akka.Actor.LobbyActor;
+
+import java.util.List;
+
+/**
+ * Message sent by the {@link LobbyActor} of a node with the games that can be joined, as known by the node.
+ */
+public class LobbyMsg extends StandardMsg {
+
+    private final List<OpenGameMsg> openGames;
+
+    /**
+     * Create a message with the open games.
+     *
+     * @param openGames a {@link List} with an {@link OpenGameMsg} for each open waiting room, ordered by host name.
+     */
+    public LobbyMsg(final List<OpenGameMsg> openGames) {
+        super(null, null);
+        this.openGames = openGames;
+    }
+
+    /**
+     * Get the games that can be joined.
+     *
+     * @return a {@link List} with an {@link OpenGameMsg} for each open waiting room.
+     */
+    public List<OpenGameMsg> getOpenGames() {
+        return openGames;
+    }
+}
@@ -0,0 +1,57 @@
+package sd.Akka.Messages;
+
+import sd.Akka.Actor.GameStateActor;
+import sd.Akka.Actor.PlayerActor;
+
+/**
+ * Message to send to {@link PlayerActor}; it says that the {@link GameStateActor} refused a card played or the end of
+ * the turn because it's not allowed by the {@link sd.Model.GameRules}. The accepted moves don't have an answer, they
+ * are published to all the players as events of the game.
+ */
+public class MoveRejectedMsg extends StandardMsg {
+
+    private final int cardValue;
+    private final int deckNumber;
+
+    /**
+     * Create a message to send when a move of a player is refused.
+     *
+     * @param receiver the name of the actor to whom send the message.
+     * @param reason a {@link String} with the reason why the move is refused.
+     * @param cardValue the value of the refused card, or -1 if the refused move is the end of the turn.
+     * @param deckNumber the number of the deck where the card was played, or -1 if the refused move is the end of the
+     *                   turn.
+     */
+    public MoveRejectedMsg(final String receiver, final String reason, final int cardValue, final int deckNumber) {
+        super(receiver, reason);
+        this.cardValue = cardValue;
+        this.deckNumber = deckNumber;
+    }
+
+    /**
+     * Get the value of the refused card.
+     *
+     * @return an int with the value of the card, or -1 if the refused move is the end of the turn.
+     */
+    public int getCardValue() {
+        return cardValue;
+    }
+
+    /**
+     * Get the number of the deck where the refused card was played.
+     *
+     * @return an int with the number of the deck, or -1 if the refused move is the end of the turn.
+     */
+    public int getDeckNumber() {
+        return deckNumber;
+    }
+
+    /**
+     * Check if the refused move is the end of the turn.
+     *
+     * @return true if the end of the turn was refused, false if a card was refused.
+     */
+    public boolean isEndTurn() {
+        return cardValue < 0;
+    }
+}
@@ -0,0 +1,43 @@
+package sd.Akka.Messages;
+
+import sd.Akka.Actor.LobbyActor;
+
+/**
+ * Message sent by a {@link sd.Akka.Actor.WaitingRoomActor} to the {@link LobbyActor} of its node when a player joins
+ * it; it's also the entry of the waiting room in the directory of the open games, replicated in all the nodes.
+ */
+public class OpenGameMsg extends StandardMsg {
+
+    private final int seatsTaken;
+
+    /**
+     * Create a message with the state of an open waiting room.
+     *
+     * @param hostName the name of the player who created the game.
+     * @param difficulty the {@link String} version of the {@link sd.Model.Difficulty} chosen by the host, or null if
+     *                   it isn't known yet.
+     * @param seatsTaken the number of players in the waiting room.
+     */
+    public OpenGameMsg(final String hostName, final String difficulty, final int seatsTaken) {
+        super(hostName, difficulty);
+        this.seatsTaken = seatsTaken;
+    }
+
+    /**
+     * Get the name of the player who created the game.
+     *
+     * @return a {@link String} with the name of the host.
+     */
+    public String getHostName() {
+        return getReceiver();
+    }
+
+    /**
+     * Get the number of players in the waiting room.
+     *
+     * @return the number of players.
+     */
+    public int getSeatsTaken() {
+        return seatsTaken;
+    }
+}
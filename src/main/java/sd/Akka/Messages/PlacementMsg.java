@@ -0,0 +1,43 @@
+package sd.Akka.Messages;
+
+import sd.Akka.Actor.PlacementActor;
+import sd.Akka.GameShardAllocationStrategy;
+
+import java.util.Map;
+
+/**
+ * Message sent by the {@link PlacementActor} of a node to the {@link GameShardAllocationStrategy}; it says how many
+ * games are in progress in the node for each of its shards.
+ */
+public class PlacementMsg extends StandardMsg {
+
+    private final Map<String, Integer> gamesPerShard; // id of a shard and its games in progress in the node
+
+    /**
+     * Create a message with the games of a node.
+     *
+     * @param gamesPerShard a {@link Map} with the id of each shard with games in progress in the node and their number.
+     */
+    public PlacementMsg(final Map<String, Integer> gamesPerShard) {
+        super(null, null);
+        this.gamesPerShard = gamesPerShard;
+    }
+
+    /**
+     * Get the number of games in progress in the node for each shard.
+     *
+     * @return a {@link Map} with the id of each shard with games and their number.
+     */
+    public Map<String, Integer> getGamesPerShard() {
+        return gamesPerShard;
+    }
+
+    /**
+     * Count the games in progress in the node.
+     *
+     * @return the number of games.
+     */
+    public int getActiveGames() {
+        return gamesPerShard.values().stream().mapToInt(Integer::intValue).sum();
+    }
+}
@@ -0,0 +1,33 @@
+package sd.Akka.Messages;
+
+import akka.actor.ActorRef;
+import sd.Akka.Actor.GameStateActor;
+
+/**
+ * Event saved in the journal of the {@link GameStateActor} when a player returns to the game with a new actor, so also
+ * a recovered game sends the events to the new one. It's never sent to the players.
+ */
+public class PlayerRejoinedMsg extends StandardMsg {
+
+    private final ActorRef player;
+
+    /**
+     * Create the event of the return of a player.
+     *
+     * @param playerName the name of the player.
+     * @param player the new {@link ActorRef} of the player.
+     */
+    public PlayerRejoinedMsg(final String playerName, final ActorRef player) {
+        super(null, playerName);
+        this.player = player;
+    }
+
+    /**
+     * Get the new reference of the player.
+     *
+     * @return the {@link ActorRef} of the player.
+     */
+    public ActorRef getPlayer() {
+        return player;
+    }
+}
@@ -0,0 +1,21 @@
+package sd.Akka.Messages;
+
+import sd.Akka.Actor.GameStateActor;
+import sd.Utils.ClusterHelper;
+
+/**
+ * Message to send to {@link GameStateActor}; it says that a player who lost his actor, for example because his node
+ * restarted, wants to continue the game with a new actor, the sender of the message.
+ */
+public class RejoinGameMsg extends StandardMsg {
+
+    /**
+     * Create a message to return to a game.
+     *
+     * @param hostName the name of the player who created the game.
+     * @param playerName the name of the player who returns.
+     */
+    public RejoinGameMsg(final String hostName, final String playerName) {
+        super(hostName + ClusterHelper.getGameStateExtension(), playerName);
+    }
+}
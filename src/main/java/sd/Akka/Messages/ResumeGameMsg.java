@@ -0,0 +1,98 @@
+package sd.Akka.Messages;
+
+import sd.Akka.Actor.PlayerActor;
+import sd.Model.Difficulty;
+import sd.Model.GameView;
+
+/**
+ * Message to send to {@link PlayerActor}; it's the answer to a {@link RejoinGameMsg} with what the player needs to
+ * continue the game: his {@link GameView}, with his hand and the public information, whose turn is in progress and
+ * the sequence number of the last event, so the next events are applied after it.
+ */
+public class ResumeGameMsg extends StandardMsg {
+
+    private final String currentPlayer;
+    private final String nextPlayerName;
+    private final GameView gameView;
+    private final Difficulty difficulty;
+    private final int sequenceNumber;
+    private final int cardsPlayedThisTurn;
+
+    /**
+     * Create a message to let a player continue a game.
+     *
+     * @param receiver the name of the player who returns.
+     * @param hostName the name of the player who created the game.
+     * @param currentPlayer the name of the player whose turn is in progress.
+     * @param nextPlayerName the name of the player who plays after the receiver.
+     * @param gameView the {@link GameView} of the receiver.
+     * @param difficulty the {@link Difficulty} of the game.
+     * @param sequenceNumber the sequence number of the last event of the game included in the view.
+     * @param cardsPlayedThisTurn the cards already played in the turn of the receiver, 0 if it isn't his turn.
+     */
+    public ResumeGameMsg(final String receiver, final String hostName, final String currentPlayer,
+                         final String nextPlayerName, final GameView gameView, final Difficulty difficulty,
+                         final int sequenceNumber, final int cardsPlayedThisTurn) {
+        super(receiver, hostName);
+        this.currentPlayer = currentPlayer;
+        this.nextPlayerName = nextPlayerName;
+        this.gameView = gameView;
+        this.difficulty = difficulty;
+        this.sequenceNumber = sequenceNumber;
+        this.cardsPlayedThisTurn = cardsPlayedThisTurn;
+    }
+
+    /**
+     * Get the name of the player whose turn is in progress.
+     *
+     * @return a {@link String} with the name of the player.
+     */
+    public String getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * Get the name of the player who plays after the receiver.
+     *
+     * @return a {@link String} with the name of the next player.
+     */
+    public String getNextPlayerName() {
+        return nextPlayerName;
+    }
+
+    /**
+     * Get the {@link GameView} with the hand of the player and the public information about the game.
+     *
+     * @return the {@link GameView} of the player.
+     */
+    public GameView getGameView() {
+        return gameView;
+    }
+
+    /**
+     * Get the difficulty of the game.
+     *
+     * @return the {@link Difficulty} of the game.
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Get the sequence number of the last event of the game included in the view.
+     *
+     * @return the sequence number.
+     */
+    public int getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    /**
+     * Get the cards already played in the turn of the player.
+     *
+     * @return the number of cards, 0 if it isn't his turn.
+     */
+    public int getCardsPlayedThisTurn() {
+        return cardsPlayedThisTurn;
+    }
+}
@@ -0,0 +1,33 @@
+package sd.Akka.Messages;
+
+import sd.Akka.Actor.GameStateActor;
+
+/**
+ * Message to send to {@link GameStateActor}; it says that a player has missed some events of the game and wants them
+ * again.
+ */
+public class ResyncMsg extends StandardMsg {
+
+    private final int fromSequenceNumber;
+
+    /**
+     * Create a message to send when a player receives an event with a sequence number greater than the expected one.
+     *
+     * @param receiver the name of the actor to whom send the message.
+     * @param playerName a {@link String} with the name of the player who missed the events.
+     * @param fromSequenceNumber the sequence number of the first event that the player hasn't received.
+     */
+    public ResyncMsg(final String receiver, final String playerName, final int fromSequenceNumber) {
+        super(receiver, playerName);
+        this.fromSequenceNumber = fromSequenceNumber;
+    }
+
+    /**
+     * Get the sequence number of the first event that the player hasn't received.
+     *
+     * @return the sequence number from which send again the events.
+     */
+    public int getFromSequenceNumber() {
+        return fromSequenceNumber;
+    }
+}
@@ -0,0 +1,107 @@
+package sd.Akka.Messages;
+
+import sd.Akka.Actor.GameStateActor;
+
+import java.util.LinkedHashMap;
+
+/**
+ * Message published by the {@link GameStateActor} to the spectators of the game after each event; it has only the
+ * public state of the game, the top cards of the piles and how many cards are left, so each message replaces the
+ * previous one and a spectator who can't keep up only needs the last one.
+ */
+public class SpectatorViewMsg extends StandardMsg {
+
+    private final long version;
+    private final int[] lastCards;
+    private final LinkedHashMap<String, Integer> cardsInHand;
+    private final int mainDeckCards;
+    private final boolean playing;
+    private final boolean win;
+
+    /**
+     * Create a message with the public state of a game.
+     *
+     * @param hostName the name of the player who created the game.
+     * @param currentPlayer the name of the player whose turn is in progress.
+     * @param version the number of the last event of the game, greater in the newer states.
+     * @param lastCards the top card of each pile.
+     * @param cardsInHand a {@link LinkedHashMap} with the name of each player, in turn order, and his number of cards.
+     * @param mainDeckCards the number of cards in the main deck.
+     * @param playing true if the game is in progress, false if it ended.
+     * @param win true if the game ended with a win.
+     */
+    public SpectatorViewMsg(final String hostName, final String currentPlayer, final long version,
+                            final int[] lastCards, final LinkedHashMap<String, Integer> cardsInHand,
+                            final int mainDeckCards, final boolean playing, final boolean win) {
+        super(hostName, currentPlayer);
+        this.version = version;
+        this.lastCards = lastCards;
+        this.cardsInHand = cardsInHand;
+        this.mainDeckCards = mainDeckCards;
+        this.playing = playing;
+        this.win = win;
+    }
+
+    /**
+     * Get the name of the player who created the game.
+     *
+     * @return a {@link String} with the name of the host.
+     */
+    public String getHostName() {
+        return getReceiver();
+    }
+
+    /**
+     * Get the number of the last event of the game, to know which one of two states is the newer.
+     *
+     * @return the version of the state.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the top card of each pile.
+     *
+     * @return an array with the cards.
+     */
+    public int[] getLastCards() {
+        return lastCards;
+    }
+
+    /**
+     * Get how many cards each player has.
+     *
+     * @return a {@link LinkedHashMap} with the name of each player and his number of cards.
+     */
+    public LinkedHashMap<String, Integer> getCardsInHand() {
+        return cardsInHand;
+    }
+
+    /**
+     * Get the number of cards in the main deck.
+     *
+     * @return the number of cards.
+     */
+    public int getMainDeckCards() {
+        return mainDeckCards;
+    }
+
+    /**
+     * Know if the game is in progress.
+     *
+     * @return true if the game is in progress, false if it ended.
+     */
+    public boolean isPlaying() {
+        return playing;
+    }
+
+    /**
+     * Know if the game ended with a win; it's meaningful only when the game isn't in progress.
+     *
+     * @return true if all the cards were played.
+     */
+    public boolean isWin() {
+        return win;
+    }
+}
@@ -1,26 +1,37 @@
 package sd.Akka.Messages;
 
 import sd.Akka.Actor.PlayerActor;
+import sd.Model.CardSet;
 
 /**
  * Message to send to all the {@link PlayerActor} in the game; it says to a player that his turn can start and
- * notify the others that the last player has drawn at the end of his turn.
+ * notify the others that the last player has drawn at the end of his turn. Only the player who has drawn receives his
+ * new hand, the others receive just the number of his cards.
  */
 public class StartTurnMsg extends StandardMsg {
 
     private final String nextPlayerName;
+    private final int cardsInHand;
+    private final int mainDeckCards;
+    private final CardSet hand;
 
     /**
-     * Create a message to send when a player can start his turn because the previous has finished while the others
-     * will update their {@link sd.Model.GameState} making him draw.
+     * Create a message to send when a player can start his turn because the previous has finished and has drawn.
      *
      * @param receiver the name of the actor to whom send the message.
      * @param playerEndedTurn a {@link String} with the name of the player who has ended his turn.
      * @param nextPlayerName a {@link String} with the name of the player who can start to play.
+     * @param cardsInHand the number of cards in the hand of the player who has ended his turn after the draw.
+     * @param mainDeckCards the number of cards remaining in the main deck after the draw.
+     * @param hand the {@link CardSet} with the new hand if the receiver is the player who has drawn, null otherwise.
      */
-    public StartTurnMsg(final String receiver, final String playerEndedTurn, final String nextPlayerName) {
+    public StartTurnMsg(final String receiver, final String playerEndedTurn, final String nextPlayerName,
+                        final int cardsInHand, final int mainDeckCards, final CardSet hand) {
         super(receiver, playerEndedTurn);
         this.nextPlayerName = nextPlayerName;
+        this.cardsInHand = cardsInHand;
+        this.mainDeckCards = mainDeckCards;
+        this.hand = hand;
     }
 
     /**
@@ -31,4 +42,31 @@ public class StartTurnMsg extends StandardMsg {
     public String getNextPlayerName() {
         return nextPlayerName;
     }
+
+    /**
+     * Get the number of cards in the hand of the player who has ended his turn, after the draw.
+     *
+     * @return the number of cards.
+     */
+    public int getCardsInHand() {
+        return cardsInHand;
+    }
+
+    /**
+     * Get the number of cards remaining in the main deck after the draw.
+     *
+     * @return the number of cards.
+     */
+    public int getMainDeckCards() {
+        return mainDeckCards;
+    }
+
+    /**
+     * Get the new hand of the player who has drawn; it's sent only to him.
+     *
+     * @return the {@link CardSet} with the hand, or null if the receiver isn't the player who has drawn.
+     */
+    public CardSet getHand() {
+        return hand;
+    }
 }
@@ -0,0 +1,37 @@
+package sd.Akka.Messages;
+
+import sd.Akka.Actor.GameStateActor;
+
+import java.util.Arrays;
+
+/**
+ * Message to send to {@link GameStateActor}; it contains all the cards played by a player in his turn and asks to end
+ * it, instead of a {@link PlayedCardMsg} for each card and an {@link EndTurnMsg}. It's used when the turns are
+ * batched.
+ */
+public class TurnMsg extends StandardMsg {
+
+    private final int[] moves;
+
+    /**
+     * Create a message to send when a player ends his turn, or when he can't play other cards, with all his moves.
+     *
+     * @param receiver the name of the actor to whom send the message.
+     * @param playerName a {@link String} with the name of the player who played the cards.
+     * @param moves the cards played in the turn in the order they were played, each one packed with its deck as in
+     *              {@link sd.Model.MoveGenerator#pack(int, int)}.
+     */
+    public TurnMsg(final String receiver, final String playerName, final int[] moves) {
+        super(receiver, playerName);
+        this.moves = Arrays.copyOf(moves, moves.length);
+    }
+
+    /**
+     * Get the cards played in the turn in the order they were played.
+     *
+     * @return a copy of the packed moves.
+     */
+    public int[] getMoves() {
+        return Arrays.copyOf(moves, moves.length);
+    }
+}
@@ -0,0 +1,89 @@
+package sd.Akka.Messages;
+
+import sd.Akka.Actor.PlayerActor;
+import sd.Model.CardSet;
+
+import java.util.Arrays;
+
+/**
+ * Message to send to all the {@link PlayerActor} in the game; it's the summary of a turn sent as a {@link TurnMsg}:
+ * the cards played, the result of the draw and the next player. Like in a {@link StartTurnMsg}, only the player who
+ * has drawn receives his new hand.
+ */
+public class TurnSummaryMsg extends StandardMsg {
+
+    private final int[] moves;
+    private final String nextPlayerName;
+    private final int cardsInHand;
+    private final int mainDeckCards;
+    private final CardSet hand;
+
+    /**
+     * Create a message with the summary of a turn.
+     *
+     * @param receiver the name of the actor to whom send the message.
+     * @param playerName a {@link String} with the name of the player who played the turn.
+     * @param moves the cards played in the turn, each one packed with its deck as in
+     *              {@link sd.Model.MoveGenerator#pack(int, int)}.
+     * @param nextPlayerName a {@link String} with the name of the player who can start to play, or null if the game is
+     *                       finished with this turn.
+     * @param cardsInHand the number of cards in the hand of the player at the end of the turn, after the draw.
+     * @param mainDeckCards the number of cards remaining in the main deck at the end of the turn.
+     * @param hand the {@link CardSet} with the new hand if the receiver is the player of the turn, null otherwise.
+     */
+    public TurnSummaryMsg(final String receiver, final String playerName, final int[] moves,
+                          final String nextPlayerName, final int cardsInHand, final int mainDeckCards,
+                          final CardSet hand) {
+        super(receiver, playerName);
+        this.moves = Arrays.copyOf(moves, moves.length);
+        this.nextPlayerName = nextPlayerName;
+        this.cardsInHand = cardsInHand;
+        this.mainDeckCards = mainDeckCards;
+        this.hand = hand;
+    }
+
+    /**
+     * Get the cards played in the turn in the order they were played.
+     *
+     * @return a copy of the packed moves.
+     */
+    public int[] getMoves() {
+        return Arrays.copyOf(moves, moves.length);
+    }
+
+    /**
+     * Get the name of the next player who will play because start his turn.
+     *
+     * @return a {@link String} with the name of the next player, or null if the game is finished.
+     */
+    public String getNextPlayerName() {
+        return nextPlayerName;
+    }
+
+    /**
+     * Get the number of cards in the hand of the player at the end of the turn, after the draw.
+     *
+     * @return the number of cards.
+     */
+    public int getCardsInHand() {
+        return cardsInHand;
+    }
+
+    /**
+     * Get the number of cards remaining in the main deck at the end of the turn.
+     *
+     * @return the number of cards.
+     */
+    public int getMainDeckCards() {
+        return mainDeckCards;
+    }
+
+    /**
+     * Get the new hand of the player of the turn; it's sent only to him.
+     *
+     * @return the {@link CardSet} with the hand, or null if the receiver isn't the player of the turn.
+     */
+    public CardSet getHand() {
+        return hand;
+    }
+}
@@ -5,30 +5,93 @@ import sd.Akka.Actor.PlayerActor;
 import java.util.List;
 
 /**
- * Message to send to {@link PlayerActor}; it says that a new player joined the game so he can update the list
- * of the players' name in the {@link sd.View.WaitingGUI}.
+ * Message to send to {@link PlayerActor}; it says that some players joined or left the game so he can update the list
+ * of the players' name in the {@link sd.View.WaitingGUI}. A player who just joined receives a snapshot with all the
+ * names, then only the changes; each message has the version of the waiting room, so the old ones are ignored.
  */
 public class UpdateWaitingRoomMsg extends StandardMsg {
 
+    private final int version;
+    private final boolean snapshot;
     private final List<String> playerNames;
+    private final List<String> leftNames;
 
     /**
-     * Create a message to make a {@link PlayerActor} update his {@link sd.View.WaitingGUI}.
+     * Create a snapshot to make a {@link PlayerActor} show all the players in his {@link sd.View.WaitingGUI}.
      *
      * @param receiver the name of the actor to whom send the message.
+     * @param version the version of the waiting room.
      * @param playerNames a {@link List} with the names of the players who will be in the game.
      */
-    public UpdateWaitingRoomMsg(final String receiver, final List<String> playerNames) {
+    public UpdateWaitingRoomMsg(final String receiver, final int version, final List<String> playerNames) {
+        this(receiver, version, true, playerNames, List.of());
+    }
+
+    /**
+     * Create the changes to make a {@link PlayerActor} update his {@link sd.View.WaitingGUI}.
+     *
+     * @param receiver the name of the actor to whom send the message.
+     * @param version the version of the waiting room.
+     * @param joinedNames a {@link List} with the names of the players who joined, in order.
+     * @param leftNames a {@link List} with the names of the players who left; they are removed before the ones who
+     *                  joined are added.
+     */
+    public UpdateWaitingRoomMsg(final String receiver, final int version, final List<String> joinedNames,
+                                final List<String> leftNames) {
+        this(receiver, version, false, joinedNames, leftNames);
+    }
+
+    /**
+     * Create a message to make a {@link PlayerActor} update his {@link sd.View.WaitingGUI}.
+     *
+     * @param receiver the name of the actor to whom send the message.
+     * @param version the version of the waiting room.
+     * @param snapshot true if the names are all the players, false if they are the ones who joined.
+     * @param playerNames a {@link List} with the names of the players.
+     * @param leftNames a {@link List} with the names of the players who left.
+     */
+    private UpdateWaitingRoomMsg(final String receiver, final int version, final boolean snapshot,
+                                 final List<String> playerNames, final List<String> leftNames) {
         super(receiver, null);
+        this.version = version;
+        this.snapshot = snapshot;
         this.playerNames = playerNames;
+        this.leftNames = leftNames;
+    }
+
+    /**
+     * Get the version of the waiting room, increased each time the players change.
+     *
+     * @return the version.
+     */
+    public int getVersion() {
+        return version;
     }
 
     /**
-     * Get the names of the players that will play the game.
+     * Know if the message has all the players or only the changes.
+     *
+     * @return true if it's a snapshot.
+     */
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Get the names of the players that will play the game, or only of the ones who joined if it isn't a snapshot.
      *
      * @return A {@link List} with the names of the players.
      */
     public List<String> getPlayerNames() {
         return playerNames;
     }
+
+    /**
+     * Get the names of the players who left, always empty in a snapshot.
+     *
+     * @return A {@link List} with the names of the players.
+     */
+    public List<String> getLeftNames() {
+        return leftNames;
+    }
 }
@@ -0,0 +1,30 @@
+package sd.Akka.Messages;
+
+import sd.Akka.Actor.GameStateActor;
+import sd.Utils.ClusterHelper;
+
+/**
+ * Message to send to {@link GameStateActor}; it says that a spectator wants to watch the game, so it answers with a
+ * {@link SpectatorViewMsg} with the state of the game; the next ones are published to the topic of the spectators of
+ * the game.
+ */
+public class WatchGameMsg extends StandardMsg {
+
+    /**
+     * Create a message to start to watch a game.
+     *
+     * @param hostName the name of the player who created the game.
+     */
+    public WatchGameMsg(final String hostName) {
+        super(hostName + ClusterHelper.getGameStateExtension(), hostName);
+    }
+
+    /**
+     * Get the name of the player who created the game.
+     *
+     * @return a {@link String} with the name of the host.
+     */
+    public String getHostName() {
+        return getContent();
+    }
+}
@@ -0,0 +1,97 @@
+package sd.Akka.Persistence;
+
+import akka.actor.ActorRef;
+import sd.Model.GameState;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * The state of a {@link sd.Akka.Actor.GameStateActor} saved in the {@link SegmentSnapshotStore} every some events, so
+ * its recovery reads only the events after the last snapshot instead of all the game. The events already published
+ * aren't saved, only the sequence number of the last one: a player who asks again an event older than the snapshot
+ * receives his view of the game instead.
+ */
+public class GameSnapshot implements Serializable {
+
+    private final GameState gameState;
+    private final Map<String, ActorRef> players;
+    private final String currentPlayer;
+    private final int cardsPlayedThisTurn;
+    private final boolean playing;
+    private final int lastEventSequence;
+
+    /**
+     * Create a snapshot of a game.
+     *
+     * @param gameState the {@link GameState} of the game.
+     * @param players a {@link Map} with the names of the players and their {@link ActorRef}, in the order of the game.
+     * @param currentPlayer the name of the player whose turn is in progress.
+     * @param cardsPlayedThisTurn the number of cards played in the turn in progress.
+     * @param playing false if the game is finished.
+     * @param lastEventSequence the sequence number of the last event published to the players.
+     */
+    public GameSnapshot(final GameState gameState, final Map<String, ActorRef> players, final String currentPlayer,
+                        final int cardsPlayedThisTurn, final boolean playing, final int lastEventSequence) {
+        this.gameState = gameState;
+        this.players = players;
+        this.currentPlayer = currentPlayer;
+        this.cardsPlayedThisTurn = cardsPlayedThisTurn;
+        this.playing = playing;
+        this.lastEventSequence = lastEventSequence;
+    }
+
+    /**
+     * Get the state of the game.
+     *
+     * @return the {@link GameState}.
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * Get the players of the game.
+     *
+     * @return a {@link Map} with the names of the players and their {@link ActorRef}, in the order of the game.
+     */
+    public Map<String, ActorRef> getPlayers() {
+        return players;
+    }
+
+    /**
+     * Get the player whose turn is in progress.
+     *
+     * @return the name of the player.
+     */
+    public String getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * Get the number of cards played in the turn in progress.
+     *
+     * @return the number of cards.
+     */
+    public int getCardsPlayedThisTurn() {
+        return cardsPlayedThisTurn;
+    }
+
+    /**
+     * Check if the game is in progress.
+     *
+     * @return false if the game is finished.
+     */
+    public boolean isPlaying() {
+        return playing;
+    }
+
+    /**
+     * Get the sequence number of the last event published to the players.
+     *
+     * @return the sequence number, 0 if no event was published.
+     */
+    public int getLastEventSequence() {
+        return lastEventSequence;
+    }
+}
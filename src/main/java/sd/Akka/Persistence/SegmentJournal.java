@@ -0,0 +1,132 @@
+package sd.Akka.Persistence;
+
+import akka.actor.ActorSystem;
+import akka.cluster.Cluster;
+import akka.cluster.UniqueAddress;
+import akka.dispatch.Futures;
+import akka.persistence.AtomicWrite;
+import akka.persistence.PersistentRepr;
+import akka.persistence.journal.japi.AsyncWriteJournal;
+import akka.serialization.Serialization;
+import akka.serialization.SerializationExtension;
+import com.typesafe.config.Config;
+import scala.concurrent.Future;
+import scala.jdk.javaapi.CollectionConverters;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * A journal plugin for Akka Persistence that saves the events in a {@link SharedSegmentLog} on the disk, without an
+ * external database; it's configured in "game.persistence.journal" of the configuration. The events are serialized
+ * with the serializers of the actor system, so the ones of the game use the compact encoding of the
+ * {@link sd.Akka.MessageSerializer}.
+ * The operations are completed while the plugin handles them, because the files are mapped in memory.
+ * Each node writes in its own directory inside the configured one, shared by all the game hosts, and reads also the
+ * directories of the others before each recovery, so a game moved to another node, or started again there after its
+ * node died, is recovered with all its events.
+ */
+public class SegmentJournal extends AsyncWriteJournal {
+
+    private final Serialization serialization = SerializationExtension.get(context().system());
+    private final SharedSegmentLog log;
+
+    /**
+     * Create the journal, opening the segment files in the directory of the node and in the ones of the other nodes.
+     *
+     * @param config the {@link Config} of the plugin, with the directory, the size of the segments and if the writes
+     *               are forced to the disk.
+     * @throws IOException if the segment files can't be opened.
+     * @throws IllegalStateException if the directory is used by another process.
+     */
+    public SegmentJournal(final Config config) throws IOException {
+        log = new SharedSegmentLog(Paths.get(config.getString("dir")), nodeName(context().system()),
+                Math.toIntExact(config.getBytes("segment-size")), config.getBoolean("fsync"));
+    }
+
+    /**
+     * Get the name of the directory of the files of this node inside the configured one: the address of the node with
+     * the unique id of this start, so each start of a node writes in a new directory, and the one of its previous start
+     * is adopted like the ones of the other nodes that stopped.
+     *
+     * @param system the {@link ActorSystem} of the node.
+     * @return the name of the directory of the node.
+     */
+    static String nodeName(final ActorSystem system) {
+        UniqueAddress address = Cluster.get(system).selfUniqueAddress();
+        return (address.address().hostPort() + "-" + address.longUid()).replaceAll("[^A-Za-z0-9.]", "-");
+    }
+
+    @Override
+    public Future<Iterable<Optional<Exception>>> doAsyncWriteMessages(final Iterable<AtomicWrite> messages) {
+        List<Optional<Exception>> results = new ArrayList<>();
+        try {
+            for (AtomicWrite write : messages) {
+                List<PersistentRepr> events = CollectionConverters.asJava(write.payload());
+                List<byte[]> serialized = new ArrayList<>(events.size());
+                try { // all the events of the write are serialized before saving them, so they are saved all or none
+                    for (PersistentRepr event : events) {
+                        serialized.add(serialization.serialize(event).get());
+                    }
+                } catch (RuntimeException e) {
+                    results.add(Optional.of(e)); // the write is refused but the journal still works
+                    continue;
+                }
+                for (int i = 0; i < events.size(); i++) {
+                    log.append(events.get(i).persistenceId(), events.get(i).sequenceNr(), serialized.get(i));
+                }
+                results.add(Optional.empty());
+            }
+            log.flush();
+        } catch (IOException | RuntimeException e) {
+            return Futures.failed(e);
+        }
+        return Futures.successful(results);
+    }
+
+    @Override
+    public Future<Void> doAsyncDeleteMessagesTo(final String persistenceId, final long toSequenceNr) {
+        try {
+            log.deleteTo(persistenceId, toSequenceNr);
+            log.flush();
+        } catch (IOException e) {
+            return Futures.failed(e);
+        }
+        return Futures.successful(null);
+    }
+
+    @Override
+    public Future<Void> doAsyncReplayMessages(final String persistenceId, final long fromSequenceNr,
+                                              final long toSequenceNr, final long max,
+                                              final Consumer<PersistentRepr> replayCallback) {
+        try {
+            log.read(persistenceId, fromSequenceNr, toSequenceNr, max, (data, sequenceNr) ->
+                    replayCallback.accept(serialization.deserialize(data, PersistentRepr.class).get()));
+        } catch (RuntimeException e) {
+            return Futures.failed(e);
+        }
+        return Futures.successful(null);
+    }
+
+    @Override
+    public Future<Long> doAsyncReadHighestSequenceNr(final String persistenceId, final long fromSequenceNr) {
+        // called at the start of each recovery, so the events written by the other nodes are read here
+        try {
+            log.refresh();
+        } catch (IOException e) {
+            return Futures.failed(e);
+        }
+        // the segments with the deleted events can be removed, so the hint of the actor is a lower bound
+        return Futures.successful(Math.max(log.highestSequenceNumber(persistenceId), fromSequenceNr));
+    }
+
+    @Override
+    public void postStop() throws Exception {
+        log.close();
+        super.postStop();
+    }
+}
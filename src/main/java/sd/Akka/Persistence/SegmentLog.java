@@ -0,0 +1,541 @@
+package sd.Akka.Persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * An append-only log of records stored in memory-mapped segment files of fixed size inside a directory; it's the
+ * storage of {@link SegmentJournal} and {@link SegmentSnapshotStore}. Each record has a key (the persistence id), a
+ * sequence number and its data; an index in memory with the position of each record of each key is built when the log
+ * is opened, reading all the segments, so the reads never search in the files.
+ * The deletions are written as markers and applied to the index; a segment file is removed when it and all the older
+ * ones have no more records in use, so the markers are never removed before the records they delete.
+ * The index and the end of the segment being written are only in the memory of the process that opened the log, so a
+ * directory can be written by a single process at a time: it's locked when the log is opened, and a second log opened
+ * on it fails. Other processes can {@link #follow(Path, int)} it without the lock, to read what the writer appends:
+ * they read the new records at each {@link #refresh()}, and forget the segments the writer removes.
+ * It's thread-safe: the plugins write from their actor, while the replays of the journal can run on other threads of
+ * the dispatcher, so all the operations on the index and the segments hold the lock of the log; the records read are
+ * copied under the lock and given to the consumer after it's released.
+ */
+public class SegmentLog implements Closeable {
+
+    private static final byte ENTRY = 1;
+    private static final byte DELETE_TO = 2; // deletes the records of a key up to a sequence number
+    private static final byte DELETE_ONE = 3; // deletes a single record of a key
+    private static final int LENGTH_SIZE = Integer.BYTES;
+    private static final int FIXED_SIZE = Byte.BYTES + Short.BYTES + Long.BYTES; // type, key length, sequence number
+    private static final int SEGMENT_SHIFT = 32; // a position has the segment number in the higher int
+    private static final long OFFSET_MASK = (1L << SEGMENT_SHIFT) - 1;
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".log";
+    private static final String LOCK = "lock";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final FileChannel lockChannel; // null if the log only reads
+    private final FileLock lock;
+    private final List<Segment> segments = new ArrayList<>(); // from the oldest, the last is the one written
+    private final Map<String, TreeMap<Long, Long>> index = new HashMap<>(); // key, sequence number and position
+    private final Map<String, Long> highestSequenceNumbers = new HashMap<>(); // kept also after the deletions
+    private final Map<String, Long> deletedTo = new HashMap<>(); // highest sequence number deleted up to, per key
+
+    /**
+     * Open the log in a directory, creating it if it doesn't exist, and build the index of the records.
+     *
+     * @param directory the {@link Path} of the directory with the segment files.
+     * @param segmentSize the size in bytes of each segment file, that is also the limit of the size of a record.
+     * @param fsync true to force the changes to the disk at each {@link #flush()}, false to leave it to the system.
+     * @throws IOException if the files can't be read or created.
+     * @throws IllegalStateException if the directory is used by another log, in this or in another process.
+     */
+    public SegmentLog(final Path directory, final int segmentSize, final boolean fsync) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+        lockChannel = FileChannel.open(directory.resolve(LOCK), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock acquired;
+        try {
+            acquired = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            acquired = null; // already locked by this process
+        }
+        if (acquired == null) {
+            lockChannel.close();
+            throw new IllegalStateException("The log in " + directory + " is used by another process");
+        }
+        lock = acquired;
+        for (int number : segmentNumbers()) {
+            Segment segment = new Segment(number, segmentPath(number));
+            segments.add(segment);
+            load(segment);
+        }
+        if (segments.isEmpty()) {
+            segments.add(new Segment(0, segmentPath(0)));
+        }
+    }
+
+    /**
+     * Create a log that only reads a directory written by another process, without locking it.
+     *
+     * @param directory the {@link Path} of the directory with the segment files.
+     * @param segmentSize the size in bytes of each segment file, the same of the writer.
+     */
+    private SegmentLog(final Path directory, final int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = false;
+        this.lockChannel = null;
+        this.lock = null;
+    }
+
+    /**
+     * Open a log written by another process only to read it, and read the records already written; the records
+     * appended later are read by {@link #refresh()}. The writes on the log fail.
+     *
+     * @param directory the {@link Path} of the directory with the segment files.
+     * @param segmentSize the size in bytes of each segment file, the same of the writer.
+     * @return the {@link SegmentLog} that reads the directory.
+     * @throws IOException if the directory can't be read.
+     */
+    public static SegmentLog follow(final Path directory, final int segmentSize) throws IOException {
+        SegmentLog log = new SegmentLog(directory, segmentSize);
+        log.refresh();
+        return log;
+    }
+
+    /**
+     * Read the records appended by the writer since the last refresh, and forget the oldest segments it removed,
+     * because they had only deleted records; a log that writes has already everything in memory, so it does nothing.
+     * A segment that the writer is still creating is read at the next refresh.
+     *
+     * @throws IOException if the directory can't be read.
+     */
+    public synchronized void refresh() throws IOException {
+        if (lock != null) {
+            return;
+        }
+        List<Integer> numbers = Files.isDirectory(directory) ? segmentNumbers() : List.of();
+        if (!segments.isEmpty()) {
+            load(current());
+        }
+        int next = !segments.isEmpty() ? current().number + 1 : numbers.isEmpty() ? 0 : numbers.get(0);
+        while (numbers.contains(next)) {
+            Segment segment;
+            try {
+                segment = new Segment(next, segmentPath(next));
+            } catch (IOException e) {
+                break; // not complete yet, or already removed
+            }
+            segments.add(segment);
+            load(segment);
+            next++;
+        }
+        int oldest = numbers.isEmpty() ? next : numbers.get(0);
+        if (!segments.isEmpty() && segments.get(0).number < oldest) {
+            // the records still in the index of the removed segments were deleted by markers not written yet
+            index.values().forEach(positions -> positions.values().removeIf(position ->
+                    (int) (position >>> SEGMENT_SHIFT) < oldest));
+            index.values().removeIf(Map::isEmpty);
+            while (!segments.isEmpty() && segments.get(0).number < oldest) {
+                segments.remove(0).channel.close();
+            }
+        }
+    }
+
+    /**
+     * Append a record to the log.
+     *
+     * @param key the key of the record.
+     * @param sequenceNumber the sequence number of the record in its key; a record with the same key and sequence
+     *                       number of an existing one replaces it.
+     * @param data the content of the record.
+     * @throws IOException if a new segment file can't be created.
+     * @throws IllegalArgumentException if the record is bigger than a segment.
+     */
+    public synchronized void append(final String key, final long sequenceNumber, final byte[] data) throws IOException {
+        long position = write(ENTRY, key, sequenceNumber, data);
+        index(key, sequenceNumber, position);
+    }
+
+    /**
+     * Delete all the records of a key up to a sequence number.
+     *
+     * @param key the key of the records.
+     * @param toSequenceNumber the sequence number of the last record to delete (included).
+     * @throws IOException if a new segment file can't be created.
+     */
+    public synchronized void deleteTo(final String key, final long toSequenceNumber) throws IOException {
+        write(DELETE_TO, key, toSequenceNumber, new byte[0]);
+        unindex(key, toSequenceNumber, true);
+        reclaim();
+    }
+
+    /**
+     * Delete a single record.
+     *
+     * @param key the key of the record.
+     * @param sequenceNumber the sequence number of the record.
+     * @throws IOException if a new segment file can't be created.
+     */
+    public synchronized void delete(final String key, final long sequenceNumber) throws IOException {
+        write(DELETE_ONE, key, sequenceNumber, new byte[0]);
+        unindex(key, sequenceNumber, false);
+        reclaim();
+    }
+
+    /**
+     * Read in order of sequence number the records of a key in a range.
+     *
+     * @param key the key of the records.
+     * @param fromSequenceNumber the lowest sequence number to read (included).
+     * @param toSequenceNumber the highest sequence number to read (included).
+     * @param max the maximum number of records to read.
+     * @param consumer the function that receives the data and the sequence number of each record.
+     */
+    public void read(final String key, final long fromSequenceNumber, final long toSequenceNumber, final long max,
+                     final ObjLongConsumer<byte[]> consumer) {
+        List<Long> sequenceNumbers = new ArrayList<>();
+        List<byte[]> records = new ArrayList<>();
+        synchronized (this) {
+            TreeMap<Long, Long> positions = index.get(key);
+            if (positions == null || fromSequenceNumber > toSequenceNumber) {
+                return;
+            }
+            for (Map.Entry<Long, Long> entry : positions.subMap(fromSequenceNumber, true, toSequenceNumber, true)
+                    .entrySet()) {
+                if (records.size() >= max) {
+                    break;
+                }
+                sequenceNumbers.add(entry.getKey());
+                records.add(data(entry.getValue()));
+            }
+        }
+        for (int i = 0; i < records.size(); i++) {
+            consumer.accept(records.get(i), sequenceNumbers.get(i));
+        }
+    }
+
+    /**
+     * Read a single record.
+     *
+     * @param key the key of the record.
+     * @param sequenceNumber the sequence number of the record.
+     * @return the data of the record, or null if it doesn't exist.
+     */
+    public synchronized byte[] read(final String key, final long sequenceNumber) {
+        TreeMap<Long, Long> positions = index.get(key);
+        Long position = positions == null ? null : positions.get(sequenceNumber);
+        return position == null ? null : data(position);
+    }
+
+    /**
+     * Get the sequence numbers of the records of a key.
+     *
+     * @param key the key of the records.
+     * @return a copy of the sequence numbers in a {@link NavigableSet}, empty if there are no records.
+     */
+    public synchronized NavigableSet<Long> sequenceNumbers(final String key) {
+        TreeMap<Long, Long> positions = index.get(key);
+        return positions == null ? new TreeSet<>() : new TreeSet<>(positions.navigableKeySet());
+    }
+
+    /**
+     * Get the highest sequence number up to which the records of a key were deleted with
+     * {@link #deleteTo(String, long)}, as far as the segments still in the log say.
+     *
+     * @param key the key of the records.
+     * @return the sequence number, or 0 if no records of the key were deleted in this way.
+     */
+    public synchronized long deletedTo(final String key) {
+        return deletedTo.getOrDefault(key, 0L);
+    }
+
+    /**
+     * Check if the log has no records in use.
+     *
+     * @return true if all the records were deleted, or none was written.
+     */
+    public synchronized boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    /**
+     * Get the highest sequence number written for a key, even if its record was deleted.
+     *
+     * @param key the key of the records.
+     * @return the highest sequence number, or 0 if nothing was written for the key.
+     */
+    public synchronized long highestSequenceNumber(final String key) {
+        return highestSequenceNumbers.getOrDefault(key, 0L);
+    }
+
+    /**
+     * Count the segment files of the log.
+     *
+     * @return the number of segments.
+     */
+    public synchronized int segments() {
+        return segments.size();
+    }
+
+    /**
+     * Force the changes of the segment being written to the disk, if the log was opened with fsync.
+     */
+    public synchronized void flush() {
+        if (fsync && !segments.isEmpty()) {
+            current().buffer.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Segment segment : segments) {
+            if (lock != null) {
+                segment.buffer.force();
+            }
+            segment.channel.close();
+        }
+        if (lock != null) {
+            lock.release();
+            lockChannel.close();
+        }
+    }
+
+    /**
+     * Write a record at the end of the segment being written, creating a new segment if there isn't enough space. The
+     * length is written after the rest of the record, so a record interrupted by a crash is ignored when the log is
+     * opened again.
+     *
+     * @param type the type of the record.
+     * @param key the key of the record.
+     * @param sequenceNumber the sequence number of the record.
+     * @param data the content of the record.
+     * @return the position of the record.
+     * @throws IOException if a new segment file can't be created.
+     */
+    private long write(final byte type, final String key, final long sequenceNumber, final byte[] data)
+            throws IOException {
+        if (lock == null) {
+            throw new IllegalStateException("The log in " + directory + " is only read");
+        }
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int length = FIXED_SIZE + keyBytes.length + data.length;
+        if (LENGTH_SIZE + length > segmentSize || keyBytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Record of " + length + " bytes too big for the segments");
+        }
+        Segment segment = current();
+        if (segment.end + LENGTH_SIZE + length > segmentSize) {
+            segment.buffer.force();
+            segment = new Segment(segment.number + 1, segmentPath(segment.number + 1));
+            segments.add(segment);
+        }
+        int offset = segment.end;
+        MappedByteBuffer buffer = segment.buffer;
+        buffer.position(offset + LENGTH_SIZE);
+        buffer.put(type).putShort((short) keyBytes.length).put(keyBytes).putLong(sequenceNumber).put(data);
+        buffer.putInt(offset, length);
+        segment.end = offset + LENGTH_SIZE + length;
+        return (long) segment.number << SEGMENT_SHIFT | offset;
+    }
+
+    /**
+     * Read the records of a segment after the ones already read and apply them to the index.
+     *
+     * @param segment the {@link Segment} to read.
+     */
+    private void load(final Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int offset = segment.end;
+        while (offset + LENGTH_SIZE <= segmentSize) {
+            int length = buffer.getInt(offset);
+            if (length < FIXED_SIZE || offset + LENGTH_SIZE + length > segmentSize) {
+                break; // the end of the written records
+            }
+            int keyLength = buffer.getShort(offset + LENGTH_SIZE + Byte.BYTES);
+            byte[] keyBytes = new byte[keyLength];
+            buffer.get(offset + LENGTH_SIZE + Byte.BYTES + Short.BYTES, keyBytes);
+            String key = new String(keyBytes, StandardCharsets.UTF_8);
+            long sequenceNumber = buffer.getLong(offset + LENGTH_SIZE + Byte.BYTES + Short.BYTES + keyLength);
+            switch (buffer.get(offset + LENGTH_SIZE)) {
+                case ENTRY -> index(key, sequenceNumber, (long) segment.number << SEGMENT_SHIFT | offset);
+                case DELETE_TO -> unindex(key, sequenceNumber, true);
+                case DELETE_ONE -> unindex(key, sequenceNumber, false);
+                default -> throw new IllegalStateException("Corrupted segment " + segment.path + " at " + offset);
+            }
+            offset += LENGTH_SIZE + length;
+        }
+        segment.end = offset;
+    }
+
+    /**
+     * Add a record to the index.
+     *
+     * @param key the key of the record.
+     * @param sequenceNumber the sequence number of the record.
+     * @param position the position of the record.
+     */
+    private void index(final String key, final long sequenceNumber, final long position) {
+        Long replaced = index.computeIfAbsent(key, k -> new TreeMap<>()).put(sequenceNumber, position);
+        if (replaced != null) {
+            segmentOf(replaced).live--;
+        }
+        segmentOf(position).live++;
+        highestSequenceNumbers.merge(key, sequenceNumber, Math::max);
+    }
+
+    /**
+     * Remove from the index the records of a key up to a sequence number, or a single record.
+     *
+     * @param key the key of the records.
+     * @param sequenceNumber the sequence number of the last record to remove or of the single record.
+     * @param upTo true to remove all the records up to the sequence number, false to remove only that record.
+     */
+    private void unindex(final String key, final long sequenceNumber, final boolean upTo) {
+        TreeMap<Long, Long> positions = index.get(key);
+        if (positions == null) {
+            return;
+        }
+        if (upTo) {
+            deletedTo.merge(key, sequenceNumber, Math::max);
+        }
+        Map<Long, Long> removed = upTo ? positions.headMap(sequenceNumber, true)
+                : positions.subMap(sequenceNumber, true, sequenceNumber, true);
+        removed.values().forEach(position -> segmentOf(position).live--);
+        removed.clear();
+        if (positions.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * Remove the oldest segment files while they have no records in use; the segment being written is always kept.
+     *
+     * @throws IOException if a file can't be removed.
+     */
+    private void reclaim() throws IOException {
+        while (segments.size() > 1 && segments.get(0).live == 0) {
+            Segment segment = segments.remove(0);
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+        }
+    }
+
+    /**
+     * Read the data of a record.
+     *
+     * @param position the position of the record.
+     * @return a new array with the data.
+     */
+    private byte[] data(final long position) {
+        Segment segment = segmentOf(position);
+        int offset = (int) (position & OFFSET_MASK);
+        int length = segment.buffer.getInt(offset);
+        int keyLength = segment.buffer.getShort(offset + LENGTH_SIZE + Byte.BYTES);
+        byte[] data = new byte[length - FIXED_SIZE - keyLength];
+        segment.buffer.get(offset + LENGTH_SIZE + FIXED_SIZE + keyLength, data);
+        return data;
+    }
+
+    /**
+     * Find the segment of a record; the segments have consecutive numbers, so it's found by difference with the
+     * oldest one.
+     *
+     * @param position the position of the record.
+     * @return the {@link Segment} with the record.
+     */
+    private Segment segmentOf(final long position) {
+        return segments.get((int) (position >>> SEGMENT_SHIFT) - segments.get(0).number);
+    }
+
+    /**
+     * Get the segment being written.
+     *
+     * @return the last {@link Segment}.
+     */
+    private Segment current() {
+        return segments.get(segments.size() - 1);
+    }
+
+    /**
+     * List the numbers of the segment files in the directory.
+     *
+     * @return a {@link List} with the numbers, from the oldest segment.
+     * @throws IOException if the directory can't be read.
+     */
+    private List<Integer> segmentNumbers() throws IOException {
+        try (Stream<Path> list = Files.list(directory)) {
+            return list.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Integer.parseInt(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                    .sorted().toList();
+        }
+    }
+
+    /**
+     * Get the path of a segment file.
+     *
+     * @param number the number of the segment.
+     * @return the {@link Path} of the file.
+     */
+    private Path segmentPath(final int number) {
+        return directory.resolve(String.format("%s%010d%s", PREFIX, number, SUFFIX));
+    }
+
+    /**
+     * A segment file mapped in memory.
+     */
+    private final class Segment {
+
+        private final int number;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int end; // the offset after the last record
+        private int live; // the number of records in the index
+
+        /**
+         * Open a segment file and map it in memory; the writer creates it if it doesn't exist, while a log that only
+         * reads maps it only when the writer has given it its whole size.
+         *
+         * @param number the number of the segment.
+         * @param path the {@link Path} of the file.
+         * @throws IOException if the file can't be opened or mapped, or it's not complete yet.
+         */
+        Segment(final int number, final Path path) throws IOException {
+            this.number = number;
+            this.path = path;
+            if (lock == null) {
+                this.channel = FileChannel.open(path, StandardOpenOption.READ);
+                if (channel.size() < segmentSize) {
+                    channel.close();
+                    throw new IOException("Segment " + path + " not complete");
+                }
+                this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, segmentSize);
+            } else {
+                this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize); // filled with zeros
+            }
+        }
+    }
+}
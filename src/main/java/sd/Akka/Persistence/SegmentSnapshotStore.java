@@ -0,0 +1,149 @@
+package sd.Akka.Persistence;
+
+import akka.dispatch.Futures;
+import akka.event.Logging;
+import akka.event.LoggingAdapter;
+import akka.persistence.SelectedSnapshot;
+import akka.persistence.SnapshotMetadata;
+import akka.persistence.SnapshotSelectionCriteria;
+import akka.persistence.snapshot.japi.SnapshotStore;
+import akka.serialization.Serialization;
+import akka.serialization.SerializationExtension;
+import akka.serialization.Serializer;
+import akka.serialization.Serializers;
+import com.typesafe.config.Config;
+import scala.concurrent.Future;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A snapshot store plugin for Akka Persistence that saves the snapshots in a {@link SharedSegmentLog} on the disk, next
+ * to the {@link SegmentJournal}, in a directory of the node shared with the other nodes like the one of the journal;
+ * it's configured in "game.persistence.snapshot-store" of the configuration.
+ * Each record has the timestamp of the snapshot, the serializer used and its manifest, and then the snapshot.
+ */
+public class SegmentSnapshotStore extends SnapshotStore {
+
+    private final Serialization serialization = SerializationExtension.get(context().system());
+    private final LoggingAdapter logger = Logging.getLogger(context().system(), this);
+    private final SharedSegmentLog log;
+
+    /**
+     * Create the snapshot store, opening the segment files in the directory of the node and in the ones of the others.
+     *
+     * @param config the {@link Config} of the plugin, with the directory, the size of the segments and if the writes
+     *               are forced to the disk.
+     * @throws IOException if the segment files can't be opened.
+     * @throws IllegalStateException if the directory is used by another process.
+     */
+    public SegmentSnapshotStore(final Config config) throws IOException {
+        log = new SharedSegmentLog(Paths.get(config.getString("dir")), SegmentJournal.nodeName(context().system()),
+                Math.toIntExact(config.getBytes("segment-size")), config.getBoolean("fsync"));
+    }
+
+    @Override
+    public Future<Optional<SelectedSnapshot>> doLoadAsync(final String persistenceId,
+                                                          final SnapshotSelectionCriteria criteria) {
+        try {
+            log.refresh(); // the snapshots written by the other nodes
+        } catch (IOException e) {
+            return Futures.failed(e);
+        }
+        for (long sequenceNr : log.sequenceNumbers(persistenceId).descendingSet()) {
+            if (sequenceNr > criteria.maxSequenceNr() || sequenceNr < criteria.minSequenceNr()) {
+                continue;
+            }
+            ByteBuffer record = ByteBuffer.wrap(log.read(persistenceId, sequenceNr));
+            long timestamp = record.getLong();
+            if (timestamp > criteria.maxTimestamp() || timestamp < criteria.minTimestamp()) {
+                continue;
+            }
+            try {
+                Object snapshot = deserialize(record);
+                return Futures.successful(Optional.of(SelectedSnapshot.create(
+                        new SnapshotMetadata(persistenceId, sequenceNr, timestamp), snapshot)));
+            } catch (RuntimeException e) {
+                logger.warning("Snapshot {} of {} can't be read, trying an older one: {}", sequenceNr, persistenceId,
+                        e.getMessage());
+            }
+        }
+        return Futures.successful(Optional.empty());
+    }
+
+    @Override
+    public Future<Void> doSaveAsync(final SnapshotMetadata metadata, final Object snapshot) {
+        try {
+            Serializer serializer = serialization.findSerializerFor(snapshot);
+            byte[] manifest = Serializers.manifestFor(serializer, snapshot).getBytes(StandardCharsets.UTF_8);
+            byte[] bytes = serializer.toBinary(snapshot);
+            ByteBuffer record = ByteBuffer.allocate(Long.BYTES + 2 * Integer.BYTES + manifest.length + bytes.length);
+            record.putLong(metadata.timestamp()).putInt(serializer.identifier()).putInt(manifest.length).put(manifest)
+                    .put(bytes);
+            log.append(metadata.persistenceId(), metadata.sequenceNr(), record.array());
+            log.flush();
+        } catch (IOException | RuntimeException e) {
+            return Futures.failed(e);
+        }
+        return Futures.successful(null);
+    }
+
+    @Override
+    public Future<Void> doDeleteAsync(final SnapshotMetadata metadata) {
+        try {
+            log.delete(metadata.persistenceId(), metadata.sequenceNr());
+            log.flush();
+        } catch (IOException e) {
+            return Futures.failed(e);
+        }
+        return Futures.successful(null);
+    }
+
+    @Override
+    public Future<Void> doDeleteAsync(final String persistenceId, final SnapshotSelectionCriteria criteria) {
+        List<Long> selected = new ArrayList<>();
+        for (long sequenceNr : log.sequenceNumbers(persistenceId)) {
+            if (sequenceNr >= criteria.minSequenceNr() && sequenceNr <= criteria.maxSequenceNr()) {
+                long timestamp = ByteBuffer.wrap(log.read(persistenceId, sequenceNr)).getLong();
+                if (timestamp >= criteria.minTimestamp() && timestamp <= criteria.maxTimestamp()) {
+                    selected.add(sequenceNr);
+                }
+            }
+        }
+        try {
+            for (long sequenceNr : selected) {
+                log.delete(persistenceId, sequenceNr);
+            }
+            log.flush();
+        } catch (IOException e) {
+            return Futures.failed(e);
+        }
+        return Futures.successful(null);
+    }
+
+    @Override
+    public void postStop() throws Exception {
+        log.close();
+        super.postStop();
+    }
+
+    /**
+     * Create a snapshot from the part of its record after the timestamp.
+     *
+     * @param record the {@link ByteBuffer} of the record, positioned after the timestamp.
+     * @return the snapshot.
+     */
+    private Object deserialize(final ByteBuffer record) {
+        int serializerId = record.getInt();
+        byte[] manifest = new byte[record.getInt()];
+        record.get(manifest);
+        byte[] bytes = new byte[record.remaining()];
+        record.get(bytes);
+        return serialization.deserialize(bytes, serializerId, new String(manifest, StandardCharsets.UTF_8)).get();
+    }
+}
@@ -0,0 +1,300 @@
+package sd.Akka.Persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * The {@link SegmentLog} of a node inside a directory shared by all the nodes, together with the logs of the other
+ * nodes in the same directory, so an entity moved to this node, or started here after its node died, reads the records
+ * its previous node wrote; it's the storage of {@link SegmentJournal} and {@link SegmentSnapshotStore}. The directory
+ * has to be shared by the nodes, on the same machine or on a file system that all of them mount.
+ * Each node writes only in its own log, in a subdirectory locked while it runs, and reads the logs of the other nodes:
+ * the ones still locked by their node are only followed, while the ones whose node stopped are adopted, locking them,
+ * so this node becomes their single writer; then it deletes in them the records deleted in its own log, and removes
+ * them when they have no more records. A key is read from all the logs, its records in the log of this node replace
+ * the ones with the same sequence number in the others, and the records deleted in any of the logs up to a sequence
+ * number aren't read from the others either.
+ * The logs of the other nodes are read again only at each {@link #refresh()}, that the plugins call before reading.
+ */
+public class SharedSegmentLog implements Closeable {
+
+    private final Path root;
+    private final Path ownDirectory;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final SegmentLog own;
+    private final Map<Path, SegmentLog> others = new HashMap<>(); // directory of another node and its log
+    private final Map<Path, Boolean> adopted = new HashMap<>(); // directory of another node, true if it's written here
+
+    /**
+     * Open the log of a node in the shared directory and the logs of the other nodes.
+     *
+     * @param root the {@link Path} of the directory shared by the nodes.
+     * @param node the name of the directory of this node, different for each node and each time it starts.
+     * @param segmentSize the size in bytes of each segment file, the same in all the nodes.
+     * @param fsync true to force the changes to the disk at each {@link #flush()}, false to leave it to the system.
+     * @throws IOException if the files can't be read or created.
+     * @throws IllegalStateException if the directory of this node is used by another process.
+     */
+    public SharedSegmentLog(final Path root, final String node, final int segmentSize, final boolean fsync)
+            throws IOException {
+        this.root = root;
+        this.ownDirectory = root.resolve(node);
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        this.own = new SegmentLog(ownDirectory, segmentSize, fsync);
+        refresh();
+    }
+
+    /**
+     * Read the records written in the logs of the other nodes since the last refresh: the logs of the nodes that
+     * started are followed, the ones of the nodes that stopped are adopted, and the adopted ones without records are
+     * removed.
+     *
+     * @throws IOException if the shared directory can't be read.
+     */
+    public synchronized void refresh() throws IOException {
+        List<Path> directories;
+        try (Stream<Path> list = Files.list(root)) {
+            directories = list.filter(Files::isDirectory).filter(path -> !path.equals(ownDirectory)).toList();
+        }
+        others.keySet().removeIf(directory -> !directories.contains(directory) && close(directory));
+        for (Path directory : directories) {
+            if (!adopted.getOrDefault(directory, false)) {
+                adopt(directory);
+            }
+            SegmentLog log = others.get(directory);
+            if (log != null) {
+                log.refresh();
+            }
+        }
+        removeEmpty();
+    }
+
+    /**
+     * Append a record to the log of this node.
+     *
+     * @param key the key of the record.
+     * @param sequenceNumber the sequence number of the record in its key.
+     * @param data the content of the record.
+     * @throws IOException if a new segment file can't be created.
+     * @throws IllegalArgumentException if the record is bigger than a segment.
+     */
+    public synchronized void append(final String key, final long sequenceNumber, final byte[] data)
+            throws IOException {
+        own.append(key, sequenceNumber, data);
+    }
+
+    /**
+     * Delete all the records of a key up to a sequence number, in the log of this node and in the adopted ones; in the
+     * logs followed they're not read anymore anyway.
+     *
+     * @param key the key of the records.
+     * @param toSequenceNumber the sequence number of the last record to delete (included).
+     * @throws IOException if a new segment file can't be created.
+     */
+    public synchronized void deleteTo(final String key, final long toSequenceNumber) throws IOException {
+        own.deleteTo(key, toSequenceNumber);
+        for (Map.Entry<Path, SegmentLog> other : others.entrySet()) {
+            if (adopted.get(other.getKey()) && !other.getValue().sequenceNumbers(key).isEmpty()) {
+                other.getValue().deleteTo(key, toSequenceNumber);
+            }
+        }
+        removeEmpty();
+    }
+
+    /**
+     * Delete a single record, in the log of this node and in the adopted ones; a record in a log followed is deleted
+     * only when the log is adopted.
+     *
+     * @param key the key of the record.
+     * @param sequenceNumber the sequence number of the record.
+     * @throws IOException if a new segment file can't be created.
+     */
+    public synchronized void delete(final String key, final long sequenceNumber) throws IOException {
+        own.delete(key, sequenceNumber);
+        for (Map.Entry<Path, SegmentLog> other : others.entrySet()) {
+            if (adopted.get(other.getKey()) && other.getValue().read(key, sequenceNumber) != null) {
+                other.getValue().delete(key, sequenceNumber);
+            }
+        }
+        removeEmpty();
+    }
+
+    /**
+     * Read in order of sequence number the records of a key in a range, from all the logs.
+     *
+     * @param key the key of the records.
+     * @param fromSequenceNumber the lowest sequence number to read (included).
+     * @param toSequenceNumber the highest sequence number to read (included).
+     * @param max the maximum number of records to read.
+     * @param consumer the function that receives the data and the sequence number of each record.
+     */
+    public void read(final String key, final long fromSequenceNumber, final long toSequenceNumber, final long max,
+                     final ObjLongConsumer<byte[]> consumer) {
+        TreeMap<Long, byte[]> records = new TreeMap<>();
+        synchronized (this) {
+            long deleted = deletedTo(key);
+            long from = Math.max(fromSequenceNumber, deleted + 1);
+            for (SegmentLog other : others.values()) {
+                other.read(key, from, toSequenceNumber, max, (data, sequenceNumber) ->
+                        records.put(sequenceNumber, data));
+            }
+            own.read(key, from, toSequenceNumber, max, (data, sequenceNumber) -> records.put(sequenceNumber, data));
+        }
+        Iterator<Map.Entry<Long, byte[]>> iterator = records.entrySet().iterator();
+        for (long read = 0; read < max && iterator.hasNext(); read++) {
+            Map.Entry<Long, byte[]> record = iterator.next();
+            consumer.accept(record.getValue(), record.getKey());
+        }
+    }
+
+    /**
+     * Read a single record, from the log of this node or from the others.
+     *
+     * @param key the key of the record.
+     * @param sequenceNumber the sequence number of the record.
+     * @return the data of the record, or null if it doesn't exist.
+     */
+    public byte[] read(final String key, final long sequenceNumber) {
+        byte[][] found = new byte[1][];
+        read(key, sequenceNumber, sequenceNumber, 1, (data, read) -> found[0] = data);
+        return found[0];
+    }
+
+    /**
+     * Get the sequence numbers of the records of a key in all the logs.
+     *
+     * @param key the key of the records.
+     * @return the sequence numbers in a {@link NavigableSet}, empty if there are no records.
+     */
+    public synchronized NavigableSet<Long> sequenceNumbers(final String key) {
+        NavigableSet<Long> sequenceNumbers = own.sequenceNumbers(key);
+        others.values().forEach(other -> sequenceNumbers.addAll(other.sequenceNumbers(key)));
+        return sequenceNumbers.tailSet(deletedTo(key), false);
+    }
+
+    /**
+     * Get the highest sequence number written for a key in any of the logs, even if its record was deleted.
+     *
+     * @param key the key of the records.
+     * @return the highest sequence number, or 0 if nothing was written for the key.
+     */
+    public synchronized long highestSequenceNumber(final String key) {
+        long highest = own.highestSequenceNumber(key);
+        for (SegmentLog other : others.values()) {
+            highest = Math.max(highest, other.highestSequenceNumber(key));
+        }
+        return highest;
+    }
+
+    /**
+     * Force the changes of the log of this node and of the adopted ones to the disk, if they were opened with fsync.
+     */
+    public synchronized void flush() {
+        own.flush();
+        others.forEach((directory, log) -> {
+            if (adopted.get(directory)) {
+                log.flush();
+            }
+        });
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        own.close();
+        for (SegmentLog other : others.values()) {
+            other.close();
+        }
+        others.clear();
+        adopted.clear();
+    }
+
+    /**
+     * Find up to which sequence number the records of a key were deleted in any of the logs.
+     *
+     * @param key the key of the records.
+     * @return the sequence number, 0 if none was deleted.
+     */
+    private long deletedTo(final String key) {
+        long deleted = own.deletedTo(key);
+        for (SegmentLog other : others.values()) {
+            deleted = Math.max(deleted, other.deletedTo(key));
+        }
+        return deleted;
+    }
+
+    /**
+     * Become the writer of the log of another node if it's not locked anymore, because the node stopped; otherwise
+     * follow it, if it's not followed yet.
+     *
+     * @param directory the {@link Path} of the directory of the other node.
+     * @throws IOException if the directory can't be read.
+     */
+    private void adopt(final Path directory) throws IOException {
+        SegmentLog writer;
+        try {
+            writer = new SegmentLog(directory, segmentSize, fsync);
+        } catch (IllegalStateException e) {
+            if (!others.containsKey(directory)) { // its node is running
+                others.put(directory, SegmentLog.follow(directory, segmentSize));
+                adopted.put(directory, false);
+            }
+            return;
+        }
+        SegmentLog followed = others.put(directory, writer);
+        if (followed != null) {
+            followed.close();
+        }
+        adopted.put(directory, true);
+    }
+
+    /**
+     * Remove the adopted logs without records, with their directory.
+     *
+     * @throws IOException if the files can't be removed.
+     */
+    private void removeEmpty() throws IOException {
+        Iterator<Map.Entry<Path, SegmentLog>> iterator = others.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Path, SegmentLog> other = iterator.next();
+            if (adopted.get(other.getKey()) && other.getValue().isEmpty()) {
+                other.getValue().close();
+                try (Stream<Path> files = Files.walk(other.getKey())) {
+                    for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+                adopted.remove(other.getKey());
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Close the log of a directory removed by the node that adopted it.
+     *
+     * @param directory the {@link Path} of the directory.
+     * @return always true, so it can be used to remove the log from the map.
+     */
+    private boolean close(final Path directory) {
+        try {
+            others.get(directory).close();
+        } catch (IOException e) {
+            // the files are already removed
+        }
+        adopted.remove(directory);
+        return true;
+    }
+}
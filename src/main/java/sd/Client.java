@@ -0,0 +1,23 @@
+package sd;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import sd.Controller.InitialController;
+import sd.Controller.InitialControllerImpl;
+import sd.Utils.ClusterHelper;
+
+public class Client {
+
+    /**
+     * The main of a player that doesn't join the cluster and plays through a {@link Gateway}.
+     *
+     * @param args arguments.
+     */
+    public static void main(final String[] args) {
+        ActorSystem system = ClusterHelper.startClient();
+        ActorRef gateway = ClusterHelper.connectToGateway(system);
+        InitialController controller =
+                new InitialControllerImpl(system, gateway, gateway, gateway, system.actorSelection(gateway.path()));
+        controller.createInitialGUI();
+    }
+}
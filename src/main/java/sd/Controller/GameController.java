@@ -1,25 +1,45 @@
 package sd.Controller;
 
 import sd.Akka.Actor.GameStateActor;
-import sd.Model.GameState;
+import sd.Model.CardSet;
+import sd.Model.GameView;
 
 import java.util.LinkedHashMap;
-import java.util.List;
 
 /**
- * Interface to link a {@link sd.View.GameGUI} where the game is played with a {@link sd.Model.GameState} that maintains
- * match information and the {@link sd.Model.GameRules} that explain what is allowed to do.
+ * Interface to link a {@link sd.View.GameGUI} where the game is played with a {@link GameView} that maintains the
+ * match information known by the player and the {@link sd.Model.GameRules} that explain what is allowed to do.
  */
 public interface GameController {
 
     /**
-     * Take the information from the {@link GameState} and create the components in the {@link sd.View.GameGUI} to play
+     * Take the information from the {@link GameView} and create the components in the {@link sd.View.GameGUI} to play
      * the game.
      *
-     * @param gameState the {@link GameState} with the information of the game.
+     * @param gameView the {@link GameView} with the information of the game that this player can see.
      * @param isFirst true if it's the turn of this player and can plays as first, false otherwise and has to wait.
      */
-    void startGame(GameState gameState, boolean isFirst);
+    void startGame(GameView gameView, boolean isFirst);
+
+    /**
+     * Create the {@link sd.View.GameGUI} of a game in progress that the player joined again, from the {@link GameView}
+     * sent by the {@link GameStateActor}.
+     *
+     * @param gameView the {@link GameView} with the information of the game that this player can see.
+     * @param isMyTurn true if the turn in progress is of this player, so he can continue it.
+     * @param cardsPlayedThisTurn the number of cards already played in the turn of this player.
+     */
+    void resumeGame(GameView gameView, boolean isMyTurn, int cardsPlayedThisTurn);
+
+    /**
+     * Replace the {@link GameView} of the game in progress with the one sent by the {@link GameStateActor} when the
+     * events missed by the player are too old to be sent again; the cards of a turn not accepted yet are discarded.
+     *
+     * @param gameView the {@link GameView} with the information of the game that this player can see.
+     * @param isMyTurn true if the turn in progress is of this player, so he can continue it.
+     * @param cardsPlayedThisTurn the number of cards already played in the turn of this player.
+     */
+    void resyncGame(GameView gameView, boolean isMyTurn, int cardsPlayedThisTurn);
 
     /**
      * Enable or disable the component of the GUI; if it's not your turn you can't press any button, when is your turn
@@ -44,22 +64,12 @@ public interface GameController {
     void updatePlayerInfo();
 
     /**
-     * Check if a card il playable in an ascending deck (the one which starts from 1).
+     * Find the decks where a card can be played, based on the cards on top of the decks.
      *
-     * @param deckValue the value of the last card played in the deck.
      * @param cardSelected the card the player want to play.
-     * @return true if the play is possible, false otherwise.
+     * @return a bitmask where the bit in position n is set if the card can be played in the deck number n.
      */
-    boolean isAscValid(int deckValue, int cardSelected);
-
-    /**
-     * Check if a card il playable in a descending deck (the one which starts from 99).
-     *
-     * @param deckValue the value of the last card played in the deck.
-     * @param cardSelected the card the player want to play.
-     * @return true if the play is possible, false otherwise.
-     */
-    boolean isDescValid(int deckValue, int cardSelected);
+    int validDecks(int cardSelected);
 
     /**
      * Method to count the number of cards in hand of each player.
@@ -83,13 +93,20 @@ public interface GameController {
     void endOfTurn();
 
     /**
-     * Method used to give the correct amount of cards from the main deck to the player with the specified name when
-     * he has finished his turn.
+     * Update the {@link sd.View.GameGUI} after the {@link GameStateActor} made a player draw at the end of his turn.
      *
-     * @param playerName a {@link String} with the name of the player who has to draw
-     * @return the new hand of the player that contain also the old cards not played this turn.
+     * @param playerName a {@link String} with the name of the player who has drawn.
+     * @param cardsInHand the number of cards in the hand of that player after the draw.
+     * @param mainDeckCards the number of cards remaining in the main deck after the draw.
+     * @param hand the new hand if the player who has drawn is this player, null otherwise.
      */
-    List<Integer> draw(String playerName);
+    void updateAfterDraw(String playerName, int cardsInHand, int mainDeckCards, CardSet hand);
+
+    /**
+     * Confirm that the {@link GameStateActor} accepted the cards of the turn sent by this player, when the turns are
+     * sent all together; it's called before the draw of the player.
+     */
+    void turnAccepted();
 
     /**
      * Count the remaining cards in the main deck.
@@ -133,17 +150,13 @@ public interface GameController {
     boolean isWin();
 
     /**
-     * Check if there is a playable card in the hand of the player.
-     */
-    void checkIfValidMoveExist();
-
-    /**
-     * Check if there is a playable card in the hand of the player.
+     * Show again in the {@link sd.View.GameGUI} the hand and the decks known by the player after the
+     * {@link GameStateActor} refused one of his moves, so he can try another one.
      *
-     * @param playerName a {@link String} with the name of the player to be checked if he has a valid move.
-     * @return true if exists a playable cards, false otherwise.
+     * @param cardValue the value of the refused card, or -1 if the end of the turn was refused.
+     * @param deckNumber the number of the deck of the refused card, or -1 if the end of the turn was refused.
      */
-    boolean checkIfValidMoveExist(String playerName);
+    void moveRejected(int cardValue, int deckNumber);
 
     /**
      * Show a dialog with the Game Over in the {@link sd.View.GameGUI}.
@@ -151,9 +164,9 @@ public interface GameController {
     void comunicateGameOver();
 
     /**
-     * Send a message to the {@link GameStateActor} to notify the other players that there is a Game Over.
+     * Show a dialog with the win in the {@link sd.View.GameGUI}.
      */
-    void notifyGameOverToOthers();
+    void comunicateWin();
 
     /**
      * Close the program after remove this node from the akka cluster.
@@ -5,15 +5,18 @@ import akka.actor.ActorSystem;
 import akka.cluster.Cluster;
 import sd.Akka.Actor.GameStateActor;
 import sd.Akka.Messages.EndTurnMsg;
-import sd.Akka.Messages.GameOverMsg;
 import sd.Akka.Messages.PlayedCardMsg;
 import sd.Akka.Messages.RematchMsg;
+import sd.Akka.Messages.TurnMsg;
+import sd.Model.CardSet;
 import sd.Model.Difficulty;
-import sd.Model.GameState;
-import sd.Model.Player;
+import sd.Model.GameView;
+import sd.Model.MoveGenerator;
+import sd.Utils.ClusterHelper;
 import sd.View.SimpleGameGUI;
 import sd.Model.GameRules;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 
@@ -25,16 +28,20 @@ public class GameControllerImpl implements GameController {
     private final SimpleGameGUI gui;
     private final String playerName;
     private final String nextPlayerName;
-    private Player player;
     private final Difficulty difficulty;
     private final ActorRef playerActor;
     private final ActorRef gameStateActor;
-    private GameState gameState;
+    private GameView gameView;
     private final ActorSystem system;
+    private final boolean batchTurns; // send the cards of a turn all together when it ends
+    private final List<Integer> turnMoves = new ArrayList<>(); // the cards of the turn not sent yet, when batched
+    private GameView turnStart; // the view before the cards of the turn, to go back to it if they are refused
+    private int sentMoves; // the number of cards sent with the last turn, when batched
+    private boolean turnPending; // the last turn was sent and the GameStateActor hasn't answered yet
 
     /**
      * Create an implementation of a {@link GameController}.
-     * A {@link GameState} and a {@link SimpleGameGUI} will be created.
+     * A {@link SimpleGameGUI} will be created, while the {@link GameView} is received when the game starts.
      *
      * @param playerName the name of this player.
      * @param playerNames the name of all players.
@@ -55,22 +62,42 @@ public class GameControllerImpl implements GameController {
         this.gameStateActor = gameStateActor;
         this.nextPlayerName = nextPlayerName;
         this.system = system;
+        this.batchTurns = ClusterHelper.isTurnBatchingEnabled(system);
         gui = new SimpleGameGUI(this, playerName, playerNames);
     }
 
     @Override
-    public void startGame(final GameState gameState, final boolean isFirst) {
-        this.gameState = gameState;
-        if (gameState.getPlayer(playerName).isPresent()) { // if the player exists, the game starts
-            gui.create(gameState.countMainDeckCards());
-            player = gameState.getPlayer(playerName).get();
-            gui.clearAndSetHand(player.getHand());
+    public void startGame(final GameView gameView, final boolean isFirst) {
+        this.gameView = gameView;
+        if (playerName.equals(gameView.getPlayerName())) { // if the view is of this player, the game starts
+            gui.create(gameView.countMainDeckCards());
+            gui.clearAndSetHand(gameView.getHand());
             gui.setCardsEnabled(isFirst);
         } else {
             throw new RuntimeException("Player not found when starting the game");
         }
     }
 
+    @Override
+    public void resumeGame(final GameView gameView, final boolean isMyTurn, final int cardsPlayedThisTurn) {
+        startGame(gameView, isMyTurn);
+        gui.resume(gameView.getLastCards(), cardsPlayedThisTurn);
+    }
+
+    @Override
+    public void resyncGame(final GameView gameView, final boolean isMyTurn, final int cardsPlayedThisTurn) {
+        this.gameView = gameView;
+        turnStart = null;
+        turnMoves.clear();
+        turnPending = false;
+        gui.turnEnded();
+        gui.clearAndSetHand(gameView.getHand());
+        gui.setCardsEnabled(isMyTurn);
+        gui.resume(gameView.getLastCards(), cardsPlayedThisTurn);
+        gui.updatePlayersInfo();
+        gui.updateRemainingCards();
+    }
+
     @Override
     public void setEnabled(final boolean enabled) {
         gui.setCardsEnabled(enabled);
@@ -78,12 +105,8 @@ public class GameControllerImpl implements GameController {
 
     @Override
     public void updateAfterPlayerMove(final String playerName, final int cardValue, final int deckNumber) {
-        if (gameState.getPlayer(playerName).isPresent()) {
-            gameState.playedCard(gameState.getPlayer(playerName).get(), cardValue, deckNumber);
-            gui.updateAfterPlayerMove(playerName, cardValue, deckNumber);
-        } else {
-            throw new IllegalArgumentException("Player not found");
-        }
+        gameView.playedCard(playerName, cardValue, deckNumber);
+        gui.updateAfterPlayerMove(playerName, cardValue, deckNumber);
     }
 
     @Override
@@ -93,13 +116,30 @@ public class GameControllerImpl implements GameController {
 
     @Override
     public void playedCard(final int cardValue, final int deckNumber) {
-        gameState.playedCard(player, cardValue, deckNumber);
-        gameStateActor.tell(new PlayedCardMsg(null, playerName, cardValue, deckNumber), ActorRef.noSender());
+        if (!batchTurns) {
+            // the view is updated when the GameStateActor accepts the move and publishes it
+            gameStateActor.tell(new PlayedCardMsg(null, playerName, cardValue, deckNumber), playerActor);
+            return;
+        }
+        if (turnMoves.isEmpty()) {
+            turnStart = gameView.copy();
+        }
+        gameView.playedCard(playerName, cardValue, deckNumber); // nobody else can move, so the view stays right
+        turnMoves.add(MoveGenerator.pack(cardValue, deckNumber));
+        gui.updatePlayersInfo();
+        if (gameView.isWin() || !gameView.getCards().isEmpty() && !gameView.validMoveExist()
+                && !canFinishTurn(turnMoves.size())) {
+            sendTurn(); // the game ends with this card, the GameStateActor will confirm it
+        }
     }
 
     @Override
     public void endOfTurn() {
-        gameStateActor.tell(new EndTurnMsg(null, playerName, nextPlayerName), ActorRef.noSender());
+        if (batchTurns) {
+            sendTurn();
+        } else {
+            gameStateActor.tell(new EndTurnMsg(null, playerName, nextPlayerName), playerActor);
+        }
     }
 
     @Override
@@ -109,21 +149,40 @@ public class GameControllerImpl implements GameController {
 
     @Override
     public LinkedHashMap<String, Integer> countPlayersCards() {
-        return gameState.countPlayersCards();
+        return gameView.countPlayersCards();
     }
 
     @Override
-    public List<Integer> draw(final String playerName) {
-        if (gameState.getPlayer(playerName).isPresent()) {
-            return gameState.draw(gameState.getPlayer(playerName).get());
-        } else {
-            throw new IllegalArgumentException("Player not found");
+    public void updateAfterDraw(final String playerName, final int cardsInHand, final int mainDeckCards,
+                                final CardSet hand) {
+        if (this.playerName.equals(playerName)) {
+            if (turnStart != null) { // the turn expired, and its cards weren't sent or arrived too late
+                gameView = turnStart;
+                gui.undoMoves(0, gameView.getHand(), gameView.getLastCards());
+            }
+            turnStart = null;
+            turnMoves.clear();
+            turnPending = false;
+        }
+        gameView.drawn(playerName, cardsInHand, mainDeckCards, hand);
+        if (this.playerName.equals(playerName)) {
+            gui.clearAndSetHand(gameView.getHand());
+            gui.setCardsEnabled(false); // they will be enabled when his turn starts
+            gui.turnEnded();
         }
+        gui.updatePlayersInfo();
+        gui.updateRemainingCards();
+    }
+
+    @Override
+    public void turnAccepted() {
+        turnStart = null;
+        turnPending = false;
     }
 
     @Override
     public int countMainDeckCards() {
-        return gameState.countMainDeckCards();
+        return gameView.countMainDeckCards();
     }
 
     @Override
@@ -133,27 +192,32 @@ public class GameControllerImpl implements GameController {
 
     @Override
     public int cardsNotPlayed() {
-        return gameState.cardNotPlayed();
+        return gameView.cardNotPlayed();
     }
 
     @Override
     public boolean isWin() {
-        return gameState.isWin();
+        return gameView.isWin();
     }
 
     @Override
-    public void checkIfValidMoveExist() {
-        if (!player.getHand().isEmpty() && !gameState.validMoveExist(player)) {
-            notifyGameOverToOthers();
-        }
-    }
-
-    @Override
-    public boolean checkIfValidMoveExist(final String playerName) {
-        if (gameState.getPlayer(playerName).isPresent()) {
-            return gameState.validMoveExist(gameState.getPlayer(playerName).get());
+    public void moveRejected(final int cardValue, final int deckNumber) {
+        if (batchTurns) { // the whole turn was refused
+            if (!turnPending) { // the turn already ended because it expired
+                return;
+            }
+            turnPending = false;
+            if (turnStart != null) {
+                gameView = turnStart;
+                turnStart = null;
+            }
+            gui.undoMoves(sentMoves, gameView.getHand(), gameView.getLastCards());
+            gui.updatePlayersInfo();
+            gui.setCardsEnabled(true);
+        } else if (cardValue < 0) { // the turn can't end yet, the player has to play other cards
+            gui.setCardsEnabled(true);
         } else {
-            throw new IllegalArgumentException("Player not found");
+            gui.undoMoves(1, gameView.getHand(), gameView.getLastCards());
         }
     }
 
@@ -163,28 +227,36 @@ public class GameControllerImpl implements GameController {
     }
 
     @Override
-    public void notifyGameOverToOthers() {
-        gameStateActor.tell(new GameOverMsg(null), ActorRef.noSender());
+    public void comunicateWin() {
+        gui.comunicateWin();
     }
 
     @Override
     public boolean canFinishTurn(final int cardsPlayedThisTurn) {
-        return cardsPlayedThisTurn >= GameRules.cardsPerTurn(difficulty) || gameState.countMainDeckCards() == 0;
+        return GameRules.canFinishTurn(cardsPlayedThisTurn, gameView.countMainDeckCards(), difficulty);
     }
 
     @Override
-    public boolean isAscValid(final int deckValue, final int cardSelected) {
-        return GameRules.isAscValid(deckValue, cardSelected);
+    public int validDecks(final int cardSelected) {
+        return gameView.validDecks(cardSelected);
     }
 
-    @Override
-    public boolean isDescValid(final int deckValue, final int cardSelected) {
-        return GameRules.isDescValid(deckValue, cardSelected);
+    /**
+     * Send to the {@link GameStateActor} all the cards played in the turn, asking to end it.
+     */
+    private void sendTurn() {
+        int[] moves = turnMoves.stream().mapToInt(Integer::intValue).toArray();
+        sentMoves = moves.length;
+        turnMoves.clear();
+        turnPending = true;
+        gameStateActor.tell(new TurnMsg(null, playerName, moves), playerActor);
     }
 
     @Override
     public void exitGame() {
-        Cluster.get(system).leave(Cluster.get(system).selfAddress());
+        if (ClusterHelper.isClusterMember(system)) { // a client of a gateway has only to close its connection
+            Cluster.get(system).leave(Cluster.get(system).selfAddress());
+        }
         System.exit(0);
     }
 }
@@ -22,4 +22,38 @@ public interface InitialController {
      * @param difficulty the {@link String} version of the {@link Difficulty}.
      */
     void createPlayerAndWaitingActors(String playerName, String hostName, String difficulty);
+
+    /**
+     * Create the {@link sd.Akka.Actor.PlayerActor} and put him in the queue of the
+     * {@link sd.Akka.Actor.MatchmakingActor} of the game he wants, to play with other players who want the same game;
+     * it shows the {@link sd.View.WaitingGUI} until the game starts.
+     *
+     * @param playerName a {@link String} with the name of the player.
+     * @param difficulty the {@link String} version of the {@link Difficulty}.
+     * @param tableSize the number of players of the game.
+     */
+    void enqueuePlayer(String playerName, String difficulty, int tableSize);
+
+    /**
+     * Create the {@link sd.Akka.Actor.SpectatorActor} that shows a game of other players, without playing.
+     *
+     * @param hostName a {@link String} with the name of the host of the game.
+     */
+    void spectateGame(String hostName);
+
+    /**
+     * Create a new {@link sd.Akka.Actor.PlayerActor} for a player who lost his own during a game and ask the
+     * {@link sd.Akka.Actor.GameStateActor} to continue the game with it; the {@link sd.View.InitialGUI} is closed when
+     * the game is shown, or says that the game can't be joined again.
+     *
+     * @param playerName a {@link String} with the name of the player.
+     * @param hostName a {@link String} with the name of the host of the game.
+     */
+    void rejoinGame(String playerName, String hostName);
+
+    /**
+     * Ask the games that can be joined and show them in the {@link sd.View.InitialGUI}; the directory of the open
+     * games is read in the memory of the node, or of the gateway for a client.
+     */
+    void refreshOpenGames();
 }
@@ -1,28 +1,61 @@
 package sd.Controller;
 
 import akka.actor.ActorRef;
+import akka.actor.ActorSelection;
 import akka.actor.ActorSystem;
+import akka.pattern.Patterns;
 import sd.Akka.Messages.AddPlayerMsg;
 import sd.Akka.Messages.CreateWaitingGUIMsg;
+import sd.Akka.Messages.EnqueueMsg;
+import sd.Akka.Messages.GetLobbyMsg;
+import sd.Akka.Messages.LobbyMsg;
+import sd.Akka.Messages.OpenGameMsg;
+import sd.Akka.Messages.RejoinGameMsg;
+import sd.Akka.Messages.ResumeGameMsg;
 import sd.Utils.ClusterHelper;
 import sd.View.InitialGUI;
 import sd.View.SimpleInitialGUI;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+
 /**
  * Class with the implementation of the {@link InitialController} interface.
  */
 public class InitialControllerImpl implements InitialController {
 
+    private static final Duration LOBBY_TIMEOUT = Duration.ofSeconds(3);
+    private static final Duration REJOIN_TIMEOUT = Duration.ofSeconds(5);
+
     private final InitialGUI gui;
     private final ActorSystem system;
+    private final ActorRef waitingRoomRegion;
+    private final ActorRef matchmakingRegion;
+    private final ActorRef gameStateRegion;
+    private final ActorSelection lobby;
 
     /**
      * Create the {@link InitialGUI}.
      *
      * @param system the {@link ActorSystem} that coordinate the actors and manage the environment.
+     * @param waitingRoomRegion the {@link ActorRef} of the sharding region with the waiting rooms, or of the
+     *                          {@link sd.Akka.Actor.GatewayClientActor} that takes its place in a client.
+     * @param matchmakingRegion the {@link ActorRef} of the sharding region with the queues of the matchmaking, or of
+     *                          the {@link sd.Akka.Actor.GatewayClientActor} that takes its place in a client.
+     * @param gameStateRegion the {@link ActorRef} of the sharding region with the game states, used by the
+     *                        spectators, or of the {@link sd.Akka.Actor.GatewayClientActor} that takes its place in a
+     *                        client.
+     * @param lobby the {@link ActorSelection} of the {@link sd.Akka.Actor.LobbyActor} of the node, or of the
+     *              {@link sd.Akka.Actor.GatewayClientActor} that asks the open games to the gateway in a client.
      */
-    public InitialControllerImpl(final ActorSystem system) {
+    public InitialControllerImpl(final ActorSystem system, final ActorRef waitingRoomRegion,
+                                 final ActorRef matchmakingRegion, final ActorRef gameStateRegion,
+                                 final ActorSelection lobby) {
         this.system = system;
+        this.waitingRoomRegion = waitingRoomRegion;
+        this.matchmakingRegion = matchmakingRegion;
+        this.gameStateRegion = gameStateRegion;
+        this.lobby = lobby;
         gui = new SimpleInitialGUI(this);
     }
 
@@ -35,7 +68,45 @@ public class InitialControllerImpl implements InitialController {
     public void createPlayerAndWaitingActors(final String playerName, final String hostName, final String difficulty) {
         ActorRef player = ClusterHelper.createPlayer(playerName, system);
         player.tell(new CreateWaitingGUIMsg(playerName, hostName, difficulty), player);
-        ActorRef waitingRoomRegion = ClusterHelper.getWaitingRegion(system);
-        waitingRoomRegion.tell(new AddPlayerMsg(hostName, playerName), player);
+        waitingRoomRegion.tell(new AddPlayerMsg(hostName, playerName, difficulty.isEmpty() ? null : difficulty),
+                player);
+    }
+
+    @Override
+    public void enqueuePlayer(final String playerName, final String difficulty, final int tableSize) {
+        ActorRef player = ClusterHelper.createPlayer(playerName, system);
+        player.tell(new CreateWaitingGUIMsg(playerName, "", difficulty), player); // the host is known when matched
+        matchmakingRegion.tell(new EnqueueMsg(difficulty, tableSize, playerName), player);
+    }
+
+    @Override
+    public void spectateGame(final String hostName) {
+        ClusterHelper.createSpectator(hostName, gameStateRegion, system);
+    }
+
+    @Override
+    public void rejoinGame(final String playerName, final String hostName) {
+        ActorRef player = ClusterHelper.createPlayer(playerName, system);
+        Patterns.ask(player, new RejoinGameMsg(hostName, playerName), REJOIN_TIMEOUT).whenComplete((reply, error) -> {
+            if (reply instanceof ResumeGameMsg) {
+                gui.dispose();
+            } else {
+                system.stop(player);
+                gui.showRejoinRefused();
+            }
+        });
+    }
+
+    @Override
+    public void refreshOpenGames() {
+        Patterns.ask(lobby, new GetLobbyMsg(), LOBBY_TIMEOUT).thenAccept(reply -> {
+            LinkedHashMap<String, String> openGames = new LinkedHashMap<>();
+            for (OpenGameMsg openGame : ((LobbyMsg) reply).getOpenGames()) {
+                String difficulty = openGame.getContent() == null ? "" : " - " + openGame.getContent();
+                openGames.put(openGame.getHostName(), openGame.getHostName() + difficulty + " ("
+                        + openGame.getSeatsTaken() + (openGame.getSeatsTaken() == 1 ? " giocatore)" : " giocatori)"));
+            }
+            gui.updateOpenGames(openGames);
+        });
     }
 }
@@ -0,0 +1,22 @@
+package sd.Controller;
+
+import sd.Akka.Messages.SpectatorViewMsg;
+
+/**
+ * Interface used to describe how to manage a {@link sd.View.SpectatorGUI}.
+ */
+public interface SpectatorController {
+
+    /**
+     * Create and display the {@link sd.View.SpectatorGUI} where the user watches the game.
+     */
+    void create();
+
+    /**
+     * Show a state of the game in the {@link sd.View.SpectatorGUI}; if the GUI is still showing a previous state,
+     * only the last one received is shown after it.
+     *
+     * @param view the {@link SpectatorViewMsg} with the public state of the game.
+     */
+    void showView(SpectatorViewMsg view);
+}
@@ -0,0 +1,45 @@
+package sd.Controller;
+
+import sd.Akka.Messages.SpectatorViewMsg;
+import sd.View.SimpleSpectatorGUI;
+import sd.View.SpectatorGUI;
+
+import javax.swing.SwingUtilities;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Class with the implementation of the {@link SpectatorController} interface.
+ */
+public class SpectatorControllerImpl implements SpectatorController {
+
+    private final SpectatorGUI spectatorGUI;
+    private final AtomicReference<SpectatorViewMsg> latest = new AtomicReference<>(); // not shown yet
+
+    /**
+     * Create the {@link SpectatorGUI}.
+     *
+     * @param hostName a {@link String} with the name of player who created the game.
+     */
+    public SpectatorControllerImpl(final String hostName) {
+        spectatorGUI = new SimpleSpectatorGUI(hostName);
+    }
+
+    @Override
+    public void create() {
+        SwingUtilities.invokeLater(spectatorGUI::create);
+    }
+
+    @Override
+    public void showView(final SpectatorViewMsg view) {
+        if (latest.getAndSet(view) == null) { // otherwise the GUI is going to show this view instead of the previous
+            SwingUtilities.invokeLater(() -> {
+                SpectatorViewMsg last = latest.getAndSet(null);
+                spectatorGUI.update(last.getContent(), last.getLastCards(), last.getCardsInHand(),
+                        last.getMainDeckCards());
+                if (!last.isPlaying()) {
+                    spectatorGUI.showResult(last.isWin());
+                }
+            });
+        }
+    }
+}
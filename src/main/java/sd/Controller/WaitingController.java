@@ -17,11 +17,19 @@ public interface WaitingController {
     void create();
 
     /**
-     * Refresh the {@link sd.View.WaitingGUI} to show all the players' names that will play the game.
+     * Show in the {@link sd.View.WaitingGUI} all the players' names that will play the game.
      *
      * @param playerNames the {@link List} with the names of the players.
      */
-    void updatePlayers(List<String> playerNames);
+    void showPlayers(List<String> playerNames);
+
+    /**
+     * Refresh the {@link sd.View.WaitingGUI} with the players who joined or left the game.
+     *
+     * @param joinedNames the {@link List} with the names of the players who joined.
+     * @param leftNames the {@link List} with the names of the players who left.
+     */
+    void updatePlayers(List<String> joinedNames, List<String> leftNames);
 
     /**
      * Set the reference of the {@link WaitingRoomActor}; it's used to comunicate the start of the game when
@@ -37,8 +37,13 @@ public class WaitingControllerImpl implements WaitingController {
     }
 
     @Override
-    public void updatePlayers(final List<String> playerNames) {
-        waitingGUI.updatePlayers(playerNames);
+    public void showPlayers(final List<String> playerNames) {
+        waitingGUI.showPlayers(playerNames);
+    }
+
+    @Override
+    public void updatePlayers(final List<String> joinedNames, final List<String> leftNames) {
+        waitingGUI.updatePlayers(joinedNames, leftNames);
     }
 
     @Override
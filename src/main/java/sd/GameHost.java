@@ -0,0 +1,26 @@
+package sd;
+
+import akka.actor.ActorSystem;
+import akka.cluster.Cluster;
+import sd.Utils.ClusterHelper;
+
+public class GameHost {
+
+    /**
+     * The main of a node that hosts the games, without GUI: it has the waiting rooms, the game states and the queues of
+     * the matchmaking of the players, that join the cluster with {@link Main}. It should be started before the
+     * players, because it's the seed node of the cluster.
+     *
+     * @param args arguments.
+     */
+    public static void main(final String[] args) {
+        ActorSystem system = ClusterHelper.startCluster(ClusterHelper.getHostRole());
+
+        // the regions are started as soon as the node is in the cluster, so the coordinators can give it the shards
+        Cluster.get(system).registerOnMemberUp(() -> {
+            ClusterHelper.getWaitingRegion(system);
+            ClusterHelper.getGameStateRegion(system);
+            ClusterHelper.getMatchmakingRegion(system);
+        });
+    }
+}
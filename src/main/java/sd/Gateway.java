@@ -0,0 +1,21 @@
+package sd;
+
+import akka.actor.ActorSystem;
+import akka.cluster.Cluster;
+import sd.Utils.ClusterHelper;
+
+public class Gateway {
+
+    /**
+     * The main of a gateway node, without GUI: it accepts the connections of the clients started with {@link Client}
+     * and sends their messages to the games in the game hosts, so the players don't join the cluster.
+     *
+     * @param args arguments.
+     */
+    public static void main(final String[] args) {
+        ActorSystem system = ClusterHelper.startCluster(ClusterHelper.getGatewayRole());
+
+        // the clients are accepted only after the node joined the cluster, when it can reach the games
+        Cluster.get(system).registerOnMemberUp(() -> ClusterHelper.startGateway(system));
+    }
+}
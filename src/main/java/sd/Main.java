@@ -18,7 +18,9 @@ public class Main {
 
         // after the node joined successfully the cluster
         Cluster.get(system).registerOnMemberUp(() -> {
-            InitialController controller = new InitialControllerImpl(system);
+            InitialController controller = new InitialControllerImpl(system, ClusterHelper.getWaitingRegion(system),
+                    ClusterHelper.getMatchmakingRegion(system), ClusterHelper.getGameStateRegion(system),
+                    system.actorSelection(ClusterHelper.getLobbyPath()));
             controller.createInitialGUI();
         });
     }
@@ -0,0 +1,351 @@
+package sd.Model;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of cards stored as a bitset of 128 bits where the bit in position n is set if the card with value n is
+ * present; it covers all the cards of the game (from 2 to 98) and the initial values of the decks (1 and 99). Adding,
+ * removing and looking for a card cost a single bitwise operation and the cards are always iterated in ascending order.
+ */
+public class CardSet implements Serializable {
+
+    private static final int WORD_SIZE = Long.SIZE;
+    private static final int CAPACITY = 2 * WORD_SIZE;
+
+    private long low; // cards from 0 to 63
+    private long high; // cards from 64 to 127
+
+    /**
+     * Create an empty {@link CardSet}.
+     */
+    public CardSet() {
+        this(0L, 0L);
+    }
+
+    /**
+     * Create a {@link CardSet} from the two words of its bitset.
+     *
+     * @param low the bits of the cards from 0 to 63.
+     * @param high the bits of the cards from 64 to 127.
+     */
+    public CardSet(final long low, final long high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    /**
+     * Add a card to the set.
+     *
+     * @param card the value of the card.
+     * @return true if the card was not already present, false otherwise.
+     */
+    public boolean add(final int card) {
+        checkCard(card);
+        boolean absent = !contains(card);
+        if (card < WORD_SIZE) {
+            low |= 1L << card;
+        } else {
+            high |= 1L << (card - WORD_SIZE);
+        }
+        return absent;
+    }
+
+    /**
+     * Add all the cards of another set to this one.
+     *
+     * @param cards the {@link CardSet} with the cards to add.
+     */
+    public void addAll(final CardSet cards) {
+        low |= cards.low;
+        high |= cards.high;
+    }
+
+    /**
+     * Remove a card from the set.
+     *
+     * @param card the value of the card.
+     * @return true if the card was present, false otherwise.
+     */
+    public boolean remove(final int card) {
+        if (!contains(card)) {
+            return false;
+        }
+        if (card < WORD_SIZE) {
+            low &= ~(1L << card);
+        } else {
+            high &= ~(1L << (card - WORD_SIZE));
+        }
+        return true;
+    }
+
+    /**
+     * Check if a card is in the set.
+     *
+     * @param card the value of the card.
+     * @return true if the card is present, false otherwise.
+     */
+    public boolean contains(final int card) {
+        if (card < 0 || card >= CAPACITY) {
+            return false;
+        }
+        return card < WORD_SIZE ? (low >>> card & 1L) != 0 : (high >>> (card - WORD_SIZE) & 1L) != 0;
+    }
+
+    /**
+     * Count the cards in the set.
+     *
+     * @return the number of cards.
+     */
+    public int size() {
+        return Long.bitCount(low) + Long.bitCount(high);
+    }
+
+    /**
+     * Check if the set has no cards.
+     *
+     * @return true if there are no cards, false otherwise.
+     */
+    public boolean isEmpty() {
+        return (low | high) == 0;
+    }
+
+    /**
+     * Remove all the cards from the set.
+     */
+    public void clear() {
+        low = 0L;
+        high = 0L;
+    }
+
+    /**
+     * Get the lowest card of the set.
+     *
+     * @return the value of the lowest card or -1 if the set is empty.
+     */
+    public int first() {
+        return next(-1);
+    }
+
+    /**
+     * Get the lowest card of the set greater than the passed one; used to iterate the cards in ascending order.
+     *
+     * @param card the value from which start the search (excluded).
+     * @return the value of the next card or -1 if there are no other cards.
+     */
+    public int next(final int card) {
+        int from = card + 1;
+        if (from < WORD_SIZE) {
+            long word = low & (-1L << Math.max(from, 0));
+            if (word != 0) {
+                return Long.numberOfTrailingZeros(word);
+            }
+            from = WORD_SIZE;
+        }
+        if (from < CAPACITY) {
+            long word = high & (-1L << (from - WORD_SIZE));
+            if (word != 0) {
+                return WORD_SIZE + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the card in a specific position of the ascending order.
+     *
+     * @param index the position of the card.
+     * @return the value of the card.
+     * @throws IndexOutOfBoundsException if the index is negative or not lower than the size of the set.
+     */
+    public int get(final int index) {
+        int lowCount = Long.bitCount(low);
+        if (index < 0 || index >= lowCount + Long.bitCount(high)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return index < lowCount ? select(low, index) : WORD_SIZE + select(high, index - lowCount);
+    }
+
+    /**
+     * Get the bits of the cards from 0 to 63; used on the hot paths to work directly with the bitset.
+     *
+     * @return the lower word of the bitset.
+     */
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * Get the bits of the cards from 64 to 127; used on the hot paths to work directly with the bitset.
+     *
+     * @return the higher word of the bitset.
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * Create a copy of this set.
+     *
+     * @return a new {@link CardSet} with the same cards.
+     */
+    public CardSet copy() {
+        return new CardSet(low, high);
+    }
+
+    /**
+     * Create a {@link List} with the cards of the set in ascending order; it is not linked to the set.
+     *
+     * @return a new {@link List} with the cards.
+     */
+    public List<Integer> toList() {
+        List<Integer> cards = new LinkedList<>();
+        for (int card = first(); card >= 0; card = next(card)) {
+            cards.add(card);
+        }
+        return cards;
+    }
+
+    /**
+     * Obtain a view of the set as a {@link List} sorted in ascending order; the changes made through the view are
+     * reflected in the set and vice versa.
+     *
+     * @return a {@link List} backed by this set.
+     */
+    public List<Integer> asList() {
+        return new CardList();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CardSet)) {
+            return false;
+        }
+        CardSet other = (CardSet) o;
+        return low == other.low && high == other.high;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(low) * 31 + Long.hashCode(high);
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+
+    /**
+     * Find the position of the n-th bit set in a word.
+     *
+     * @param word the word where search.
+     * @param n the number of bits set to skip.
+     * @return the position of the bit.
+     */
+    private static int select(final long word, final int n) {
+        long bits = word;
+        for (int i = 0; i < n; i++) {
+            bits &= bits - 1; // remove the lowest bit set
+        }
+        return Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Check that a card can be stored in the set.
+     *
+     * @param card the value of the card.
+     * @throws IllegalArgumentException if the card is out of the bitset range.
+     */
+    private static void checkCard(final int card) {
+        if (card < 0 || card >= CAPACITY) {
+            throw new IllegalArgumentException("Card out of range: " + card);
+        }
+    }
+
+    /**
+     * A {@link List} view of the {@link CardSet}, used by who still works with the boxed values of the cards.
+     */
+    private class CardList extends AbstractList<Integer> implements Serializable {
+
+        @Override
+        public Integer get(final int index) {
+            return CardSet.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return CardSet.this.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return CardSet.this.isEmpty();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return o instanceof Integer && CardSet.this.contains((Integer) o);
+        }
+
+        @Override
+        public boolean add(final Integer card) {
+            return CardSet.this.add(card);
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            return o instanceof Integer && CardSet.this.remove((Integer) o);
+        }
+
+        @Override
+        public Integer remove(final int index) {
+            int card = CardSet.this.get(index);
+            CardSet.this.remove(card);
+            return card;
+        }
+
+        @Override
+        public void clear() {
+            CardSet.this.clear();
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<>() {
+                private int nextCard = first();
+                private int lastCard = -1;
+
+                @Override
+                public boolean hasNext() {
+                    return nextCard >= 0;
+                }
+
+                @Override
+                public Integer next() {
+                    if (nextCard < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    lastCard = nextCard;
+                    nextCard = CardSet.this.next(nextCard);
+                    return lastCard;
+                }
+
+                @Override
+                public void remove() {
+                    if (lastCard < 0) {
+                        throw new IllegalStateException();
+                    }
+                    CardSet.this.remove(lastCard);
+                    lastCard = -1;
+                }
+            };
+        }
+    }
+}
@@ -16,6 +16,9 @@ public class GameRules {
     private static final int TRICK_VALUE = 10;
     private static final int NORMAL_AMOUNT = 2;
     private static final int HARD_AMOUNT = 3;
+    private static final int NUMBER_OF_DECKS = 4;
+    private static final int ASC_DECKS = 2;
+    private static final int MAX_PLAYERS = 5;
 
     /**
      * Method that define the cards present in the main deck.
@@ -23,7 +26,16 @@ public class GameRules {
      * @return a {@link List} with the value of the cards in the main deck.
      */
     public static List<Integer> mainDeckCards() {
-        return IntStream.rangeClosed(LOWER_CARD, HIGHER_CARD).boxed().toList();
+        return IntStream.of(mainDeckValues()).boxed().toList();
+    }
+
+    /**
+     * Method that define the cards present in the main deck without boxing their values.
+     *
+     * @return a new array with the value of the cards in the main deck, in ascending order.
+     */
+    public static int[] mainDeckValues() {
+        return IntStream.rangeClosed(LOWER_CARD, HIGHER_CARD).toArray();
     }
 
     /**
@@ -61,6 +73,46 @@ public class GameRules {
         return deckValue > cardSelected || deckValue == cardSelected - TRICK_VALUE;
     }
 
+    /**
+     * Check if a card il playable in a specific deck, the first ones are ascending and the others descending.
+     *
+     * @param deckNumber the number of the deck.
+     * @param deckValue the value of the last card played in the deck.
+     * @param cardSelected the card the player want to play.
+     * @return true if the play is possible, false otherwise.
+     */
+    public static boolean isValid(final int deckNumber, final int deckValue, final int cardSelected) {
+        return isAscDeck(deckNumber) ? isAscValid(deckValue, cardSelected) : isDescValid(deckValue, cardSelected);
+    }
+
+    /**
+     * Check if a deck is ascending (starts from 1) or descending (starts from 99).
+     *
+     * @param deckNumber the number of the deck.
+     * @return true if the deck is ascending, false otherwise.
+     */
+    public static boolean isAscDeck(final int deckNumber) {
+        return deckNumber < ASC_DECKS;
+    }
+
+    /**
+     * Method to obtain the number of decks where the cards are played.
+     *
+     * @return the number of decks.
+     */
+    public static int getNumberOfDecks() {
+        return NUMBER_OF_DECKS;
+    }
+
+    /**
+     * Get the maximum number of players of a game.
+     *
+     * @return the number of players.
+     */
+    public static int getMaxPlayers() {
+        return MAX_PLAYERS;
+    }
+
     /**
      * Calculate how many cards have to be played each turn based on the difficulty chosen.
      *
@@ -74,6 +126,20 @@ public class GameRules {
         };
     }
 
+    /**
+     * Check if a player can finish his turn controlling the number of cards played based on the difficulty and if the
+     * main deck is empty.
+     *
+     * @param cardsPlayedThisTurn the number of cards already played this turn.
+     * @param mainDeckCards the number of cards remaining in the main deck.
+     * @param difficulty the difficulty of this match.
+     * @return true if the turn can end, false otherwise.
+     */
+    public static boolean canFinishTurn(final int cardsPlayedThisTurn, final int mainDeckCards,
+                                        final Difficulty difficulty) {
+        return cardsPlayedThisTurn >= cardsPerTurn(difficulty) || mainDeckCards == 0;
+    }
+
     /**
      * Method to obtain the value of the lower card a player can draw.
      *
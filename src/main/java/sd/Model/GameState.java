@@ -33,6 +33,37 @@ public interface GameState {
      */
     Optional<Player> getPlayer(String playerName);
 
+    /**
+     * Method used to obtain all the players in the order of the game.
+     *
+     * @return an unmodifiable {@link List} with the {@link Player}s.
+     */
+    List<Player> getPlayers();
+
+    /**
+     * Method used to obtain what a player can see of the game: his hand, the decks and the number of cards of the
+     * others, without their hands and the main deck.
+     *
+     * @param playerName the name of the player.
+     * @return a new {@link GameView} for the player, not linked to this {@link GameState}.
+     * @throws IllegalArgumentException if the player is not present in the game.
+     */
+    GameView getView(String playerName);
+
+    /**
+     * Create a copy of the game in this moment, used to save it while the game goes on.
+     *
+     * @return a new {@link GameState} with the same deck, decks and hands, not linked to this one.
+     */
+    GameState copy();
+
+    /**
+     * Method used to obtain the difficulty of the game.
+     *
+     * @return the {@link Difficulty} of the game.
+     */
+    Difficulty getDifficulty();
+
     /**
      * Method to count the number of cards in hand of each player.
      *
@@ -49,6 +80,29 @@ public interface GameState {
      */
     void playedCard(Player player, int card, int deckNumber);
 
+    /**
+     * Method to obtain the value of the last card played in a deck.
+     *
+     * @param deckNumber the number of the deck.
+     * @return the value of the card on top of the deck.
+     */
+    int getLastCard(int deckNumber);
+
+    /**
+     * Method to obtain the values of the last cards played in all the decks.
+     *
+     * @return a copy of the values of the cards on top of the decks, ordered by deck number.
+     */
+    int[] getLastCards();
+
+    /**
+     * Method to obtain the seed used to shuffle the main deck; a new game with the same players, difficulty and seed
+     * will have exactly the same deal.
+     *
+     * @return the seed of the shuffle.
+     */
+    long getSeed();
+
     /**
      * Count the remaining cards in the main deck.
      *
@@ -71,6 +125,35 @@ public interface GameState {
      */
     boolean validMoveExist(Player player);
 
+    /**
+     * Check if a player can play a card in a deck: he must have the card and the deck must accept it following the
+     * {@link GameRules}.
+     *
+     * @param player the {@link Player} who wants to play the card.
+     * @param card the value of the card.
+     * @param deckNumber the number of the deck.
+     * @return true if the move is valid, false otherwise.
+     */
+    boolean isValidMove(Player player, int card, int deckNumber);
+
+    /**
+     * Write all the valid moves of the player in a buffer, included the "trick" ones; each move is packed in an int and
+     * can be read with {@link MoveGenerator#getCard(int)} and {@link MoveGenerator#getDeck(int)}.
+     *
+     * @param player the {@link Player} whose moves are generated.
+     * @param moves the buffer where write the moves, with a length of at least {@link MoveGenerator#maxMoves()}.
+     * @return the number of moves written in the buffer.
+     */
+    int validMoves(Player player, int[] moves);
+
+    /**
+     * Find the decks where a card can be played.
+     *
+     * @param card the value of the card.
+     * @return a bitmask where the bit in position n is set if the card can be played in the deck number n.
+     */
+    int validDecks(int card);
+
     /**
      * Check if the game is finished with a win.
      *
@@ -1,11 +1,13 @@
 package sd.Model;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.SplittableRandom;
 
 /**
  * An implementation of {@link GameState}; implements {@link Serializable} permit to be sent as a part of a message.
@@ -13,26 +15,75 @@ import java.util.Optional;
 public class GameStateImpl implements GameState, Serializable {
 
     private final List<Player> players = new LinkedList<>();
-    private final List<Integer> mainDeck = new LinkedList<>();
-    private final List<Integer> lastCards = new LinkedList<>();
+    private final int[] mainDeck;
+    private int mainDeckCursor = 0; // position of the next card to draw
+    private final int[] lastCards = new int[GameRules.getNumberOfDecks()];
     private final Difficulty difficulty;
+    private final long seed;
 
     /**
-     * Create an implementation of {@link GameState}.
+     * Create an implementation of {@link GameState} with a random seed for the shuffle of the main deck.
      *
      * @param playerNames a {@link List} with the names of the players.
      * @param difficulty the {@link Difficulty} of the game.
      */
     public GameStateImpl(final List<String> playerNames, final Difficulty difficulty) {
+        this(playerNames, difficulty, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Create an implementation of {@link GameState} where the main deck is shuffled with the passed seed, so the same
+     * seed and the same players always give the same deal.
+     *
+     * @param playerNames a {@link List} with the names of the players.
+     * @param difficulty the {@link Difficulty} of the game.
+     * @param seed the seed used to shuffle the main deck.
+     */
+    public GameStateImpl(final List<String> playerNames, final Difficulty difficulty, final long seed) {
         this.difficulty = difficulty;
+        this.seed = seed;
         playerNames.forEach(name -> players.add(new PlayerImpl(name)));
         int lowerDeckValue = GameRules.getLowerCard() - 1;
         int higherDeckValue = GameRules.getHigherCard() + 1;
-        lastCards.addAll(List.of(lowerDeckValue, lowerDeckValue, higherDeckValue, higherDeckValue));
-        // remove the next comment if you want to try the win easily and comment the next two lines
-//        mainDeck.addAll(IntStream.rangeClosed(2, 20).boxed().toList());
-        mainDeck.addAll(GameRules.mainDeckCards());
-        Collections.shuffle(mainDeck);
+        for (int i = 0; i < lastCards.length; i++) {
+            lastCards[i] = GameRules.isAscDeck(i) ? lowerDeckValue : higherDeckValue;
+        }
+        // remove the next comment if you want to try the win easily and comment the next line
+//        mainDeck = IntStream.rangeClosed(2, 20).toArray();
+        mainDeck = shuffledDeck(seed);
+    }
+
+    /**
+     * Rebuild a {@link GameStateImpl} in a specific moment of the game, for example when it's received from another
+     * node; the main deck is shuffled again from the seed and the players' hands are empty, so they have to be filled
+     * through {@link Player#getCards()}.
+     *
+     * @param playerNames a {@link List} with the names of the players.
+     * @param difficulty the {@link Difficulty} of the game.
+     * @param seed the seed used to shuffle the main deck.
+     * @param mainDeckCards the number of cards remaining in the main deck.
+     * @param lastCards the values of the cards on top of the decks, ordered by deck number.
+     * @return the rebuilt {@link GameStateImpl}.
+     */
+    public static GameStateImpl restore(final List<String> playerNames, final Difficulty difficulty, final long seed,
+                                        final int mainDeckCards, final int[] lastCards) {
+        GameStateImpl gameState = new GameStateImpl(playerNames, difficulty, seed);
+        gameState.mainDeckCursor = gameState.mainDeck.length - mainDeckCards;
+        System.arraycopy(lastCards, 0, gameState.lastCards, 0, gameState.lastCards.length);
+        return gameState;
+    }
+
+    /**
+     * Create the main deck of a game shuffled with a specific seed; it's the same deck that a {@link GameStateImpl}
+     * created with that seed will deal.
+     *
+     * @param seed the seed used to shuffle the main deck.
+     * @return a new array with the cards in the order they will be drawn.
+     */
+    public static int[] shuffledDeck(final long seed) {
+        int[] deck = GameRules.mainDeckValues();
+        shuffle(deck, new SplittableRandom(seed));
+        return deck;
     }
 
     @Override
@@ -43,7 +94,7 @@ public class GameStateImpl implements GameState, Serializable {
     @Override
     public List<Integer> draw(final Player player) {
         if (players.contains(player)) {
-            drawCards(player, GameRules.cardsInHand(players.size(), difficulty) - player.getHand().size());
+            drawCards(player, GameRules.cardsInHand(players.size(), difficulty) - player.getCards().size());
             return player.getHand();
         } else {
             throw new RuntimeException(player.getName() + ": player not found when trying to draw");
@@ -55,50 +106,99 @@ public class GameStateImpl implements GameState, Serializable {
         return players.stream().filter(player -> player.getName().equals(playerName)).findFirst();
     }
 
+    @Override
+    public List<Player> getPlayers() {
+        return Collections.unmodifiableList(players);
+    }
+
+    @Override
+    public GameView getView(final String playerName) {
+        Player player = getPlayer(playerName).orElseThrow(() ->
+                new IllegalArgumentException(playerName + ": player not found when creating his view"));
+        return new GameViewImpl(playerName, difficulty, player.getCards(), countPlayersCards(), countMainDeckCards(),
+                lastCards);
+    }
+
+    @Override
+    public GameState copy() {
+        GameStateImpl copy = restore(players.stream().map(Player::getName).toList(), difficulty, seed,
+                countMainDeckCards(), lastCards);
+        players.forEach(player -> copy.getPlayer(player.getName()).orElseThrow().getCards()
+                .addAll(player.getCards()));
+        return copy;
+    }
+
+    @Override
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
     @Override
     public LinkedHashMap<String, Integer> countPlayersCards() {
         LinkedHashMap<String, Integer> map = new LinkedHashMap<>();
-        players.forEach(player -> map.put(player.getName(), player.getHand().size()));
+        players.forEach(player -> map.put(player.getName(), player.getCards().size()));
         return map;
     }
 
     @Override
     public void playedCard(final Player player, final int card, final int deckNumber) {
-        player.playedCard(card);
-        lastCards.set(deckNumber, card);
+        player.getCards().remove(card);
+        lastCards[deckNumber] = card;
+    }
+
+    @Override
+    public int getLastCard(final int deckNumber) {
+        return lastCards[deckNumber];
+    }
+
+    @Override
+    public int[] getLastCards() {
+        return Arrays.copyOf(lastCards, lastCards.length);
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
     }
 
     @Override
     public int countMainDeckCards() {
-        return mainDeck.size();
+        return mainDeck.length - mainDeckCursor;
     }
 
     @Override
     public int cardNotPlayed() {
-        return mainDeck.size() + players.stream().mapToInt(player -> player.getHand().size()).sum();
+        int cards = countMainDeckCards();
+        for (Player player : players) {
+            cards += player.getCards().size();
+        }
+        return cards;
     }
 
     @Override
     public boolean validMoveExist(final Player player) {
-        for (int card : player.getHand()) {
-            for (int i = 0; i < 4; i++) {
-                if (i < 2) {
-                    if (GameRules.isAscValid(lastCards.get(i), card)) {
-                        return true;
-                    }
-                } else {
-                    if (GameRules.isDescValid(lastCards.get(i), card)) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
+        return MoveGenerator.exists(player.getCards(), lastCards);
+    }
+
+    @Override
+    public boolean isValidMove(final Player player, final int card, final int deckNumber) {
+        return deckNumber >= 0 && deckNumber < lastCards.length && player.getCards().contains(card)
+                && GameRules.isValid(deckNumber, lastCards[deckNumber], card);
+    }
+
+    @Override
+    public int validMoves(final Player player, final int[] moves) {
+        return MoveGenerator.generate(player.getCards(), lastCards, moves);
+    }
+
+    @Override
+    public int validDecks(final int card) {
+        return MoveGenerator.validDecks(lastCards, card);
     }
 
     @Override
     public boolean isWin() {
-        return players.stream().allMatch(player -> player.getHand().isEmpty()) && mainDeck.isEmpty();
+        return players.stream().allMatch(player -> player.getCards().isEmpty()) && countMainDeckCards() == 0;
     }
 
     /**
@@ -108,11 +208,25 @@ public class GameStateImpl implements GameState, Serializable {
      * @param cardsToDraw the number of cards played by the player this turn, the same number of cards he has to draw.
      */
     private void drawCards(final Player player, final int cardsToDraw) {
-        List<Integer> drawnCards = mainDeck.subList(0, Math.min(cardsToDraw, mainDeck.size()));
-        List<Integer> newHand = new LinkedList<>(drawnCards);
-        newHand.addAll(player.getHand());
-        Collections.sort(newHand);
-        player.setHand(newHand);
-        mainDeck.removeAll(newHand);
+        int end = mainDeckCursor + Math.max(0, Math.min(cardsToDraw, countMainDeckCards()));
+        CardSet hand = player.getCards();
+        for (; mainDeckCursor < end; mainDeckCursor++) {
+            hand.add(mainDeck[mainDeckCursor]); // the hand stays sorted because it's a bitset
+        }
+    }
+
+    /**
+     * Shuffle in place the cards of a deck with the Fisher-Yates algorithm.
+     *
+     * @param deck the cards to shuffle.
+     * @param random the source of randomness, seeded to make the shuffle reproducible.
+     */
+    private static void shuffle(final int[] deck, final SplittableRandom random) {
+        for (int i = deck.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int card = deck[i];
+            deck[i] = deck[j];
+            deck[j] = card;
+        }
     }
 }
@@ -0,0 +1,119 @@
+package sd.Model;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Interface that describe the part of a {@link GameState} that a player can see: his own hand, the cards on top of the
+ * decks and how many cards the other players and the main deck have. It's kept by the player while the complete
+ * {@link GameState} stays only in the {@link sd.Akka.Actor.GameStateActor}, so nobody knows the other hands or the
+ * order of the main deck.
+ */
+public interface GameView {
+
+    /**
+     * Method used to obtain the name of the player who sees the game.
+     *
+     * @return a {@link String} with the name of the player.
+     */
+    String getPlayerName();
+
+    /**
+     * Method used to obtain the cards in the hand of the player.
+     *
+     * @return a {@link List} view of the hand sorted in ascending order.
+     */
+    List<Integer> getHand();
+
+    /**
+     * Method used to obtain the cards in the hand of the player as a bitset.
+     *
+     * @return the {@link CardSet} with the cards of the player.
+     */
+    CardSet getCards();
+
+    /**
+     * Method used to obtain the difficulty of the game.
+     *
+     * @return the {@link Difficulty} of the game.
+     */
+    Difficulty getDifficulty();
+
+    /**
+     * Create a copy of the view, used to go back to it if the moves done in the meantime are refused.
+     *
+     * @return a new {@link GameView} with the same information, not linked to this one.
+     */
+    GameView copy();
+
+    /**
+     * Method that specify a card played by a player in a specific deck.
+     *
+     * @param playerName the name of the player who played the card.
+     * @param card the number of the card played.
+     * @param deckNumber the number of the deck where the card was played.
+     * @throws IllegalArgumentException if the player is not present in the game.
+     */
+    void playedCard(String playerName, int card, int deckNumber);
+
+    /**
+     * Update the view after a player has drawn at the end of his turn.
+     *
+     * @param playerName the name of the player who has drawn.
+     * @param cardsInHand the number of cards in the hand of that player after the draw.
+     * @param mainDeckCards the number of cards remaining in the main deck after the draw.
+     * @param hand the new hand if the player who has drawn is the one who sees the game, null otherwise.
+     * @throws IllegalArgumentException if the player is not present in the game.
+     */
+    void drawn(String playerName, int cardsInHand, int mainDeckCards, CardSet hand);
+
+    /**
+     * Method to count the number of cards in hand of each player.
+     *
+     * @return a Map with the name of the players and the number of their cards in hand.
+     */
+    LinkedHashMap<String, Integer> countPlayersCards();
+
+    /**
+     * Count the remaining cards in the main deck.
+     *
+     * @return the number of the remaining cards.
+     */
+    int countMainDeckCards();
+
+    /**
+     * Method to obtain the values of the last cards played in all the decks.
+     *
+     * @return a copy of the values of the cards on top of the decks, ordered by deck number.
+     */
+    int[] getLastCards();
+
+    /**
+     * Method used to count the cards not played from the main deck and from the hands of the players.
+     *
+     * @return the number of card not played.
+     */
+    int cardNotPlayed();
+
+    /**
+     * Check if there is a playable card in the hand of the player.
+     *
+     * @return true if exists a playable cards, false otherwise.
+     */
+    boolean validMoveExist();
+
+    /**
+     * Find the decks where a card can be played.
+     *
+     * @param card the value of the card.
+     * @return a bitmask where the bit in position n is set if the card can be played in the deck number n.
+     */
+    int validDecks(int card);
+
+    /**
+     * Check if the game is finished with a win.
+     *
+     * @return true if it's a win, false if the game it's not finished
+     */
+    boolean isWin();
+}
@@ -0,0 +1,131 @@
+package sd.Model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An implementation of {@link GameView}; implements {@link Serializable} permit to be sent as a part of a message.
+ */
+public class GameViewImpl implements GameView, Serializable {
+
+    private final String playerName;
+    private final Difficulty difficulty;
+    private final CardSet hand;
+    private final LinkedHashMap<String, Integer> playersCards; // in the order of the game
+    private final int[] lastCards;
+    private int mainDeckCards;
+
+    /**
+     * Create an implementation of {@link GameView}.
+     *
+     * @param playerName the name of the player who sees the game.
+     * @param difficulty the {@link Difficulty} of the game.
+     * @param hand the {@link CardSet} with the cards of the player.
+     * @param playersCards a {@link Map} with the name of each player and the number of his cards, in the order of the
+     *                     game.
+     * @param mainDeckCards the number of cards remaining in the main deck.
+     * @param lastCards the values of the cards on top of the decks, ordered by deck number.
+     */
+    public GameViewImpl(final String playerName, final Difficulty difficulty, final CardSet hand,
+                        final Map<String, Integer> playersCards, final int mainDeckCards, final int[] lastCards) {
+        this.playerName = playerName;
+        this.difficulty = difficulty;
+        this.hand = hand.copy();
+        this.playersCards = new LinkedHashMap<>(playersCards);
+        this.mainDeckCards = mainDeckCards;
+        this.lastCards = Arrays.copyOf(lastCards, lastCards.length);
+    }
+
+    @Override
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    @Override
+    public List<Integer> getHand() {
+        return hand.asList();
+    }
+
+    @Override
+    public CardSet getCards() {
+        return hand;
+    }
+
+    @Override
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    @Override
+    public GameView copy() {
+        return new GameViewImpl(playerName, difficulty, hand, playersCards, mainDeckCards, lastCards);
+    }
+
+    @Override
+    public void playedCard(final String playerName, final int card, final int deckNumber) {
+        Integer cards = playersCards.get(playerName);
+        if (cards == null) {
+            throw new IllegalArgumentException(playerName + ": player not found when playing a card");
+        }
+        if (playerName.equals(this.playerName)) {
+            hand.remove(card);
+        }
+        playersCards.put(playerName, cards - 1);
+        lastCards[deckNumber] = card;
+    }
+
+    @Override
+    public void drawn(final String playerName, final int cardsInHand, final int mainDeckCards, final CardSet hand) {
+        if (!playersCards.containsKey(playerName)) {
+            throw new IllegalArgumentException(playerName + ": player not found when drawing");
+        }
+        if (playerName.equals(this.playerName) && hand != null) {
+            this.hand.clear();
+            this.hand.addAll(hand);
+        }
+        playersCards.put(playerName, cardsInHand);
+        this.mainDeckCards = mainDeckCards;
+    }
+
+    @Override
+    public LinkedHashMap<String, Integer> countPlayersCards() {
+        return new LinkedHashMap<>(playersCards);
+    }
+
+    @Override
+    public int countMainDeckCards() {
+        return mainDeckCards;
+    }
+
+    @Override
+    public int[] getLastCards() {
+        return Arrays.copyOf(lastCards, lastCards.length);
+    }
+
+    @Override
+    public int cardNotPlayed() {
+        int cards = mainDeckCards;
+        for (int playerCards : playersCards.values()) {
+            cards += playerCards;
+        }
+        return cards;
+    }
+
+    @Override
+    public boolean validMoveExist() {
+        return MoveGenerator.exists(hand, lastCards);
+    }
+
+    @Override
+    public int validDecks(final int card) {
+        return MoveGenerator.validDecks(lastCards, card);
+    }
+
+    @Override
+    public boolean isWin() {
+        return cardNotPlayed() == 0;
+    }
+}
@@ -0,0 +1,202 @@
+package sd.Model;
+
+/**
+ * Class with static methods to generate the valid moves of a hand without allocations. For each deck the playable
+ * cards are computed as a bitmask from the value on top of the deck (all the cards above or below it plus the one that
+ * makes the "trick"), then the mask is intersected with the {@link CardSet} of the hand.
+ * A move is packed in a single int with the value of the card in the higher bits and the number of the deck in the
+ * lower two bits.
+ */
+public class MoveGenerator {
+
+    private static final int WORD_SIZE = Long.SIZE;
+    private static final int CAPACITY = 2 * WORD_SIZE;
+    private static final int DECK_BITS = 2;
+    private static final int DECK_MASK = (1 << DECK_BITS) - 1;
+    private static final int MAX_MOVES = GameRules.getCardsForOne() * GameRules.getNumberOfDecks();
+
+    /**
+     * Write all the valid moves of a hand in a buffer; the moves are ordered by deck and then by card value.
+     *
+     * @param hand the {@link CardSet} with the cards of the player.
+     * @param lastCards the values of the cards on top of the decks, ordered by deck number.
+     * @param moves the buffer where write the packed moves, it should have a length of at least {@link #maxMoves()}.
+     * @return the number of moves written in the buffer.
+     */
+    public static int generate(final CardSet hand, final int[] lastCards, final int[] moves) {
+        return generate(hand.getLow(), hand.getHigh(), lastCards, moves);
+    }
+
+    /**
+     * Write all the valid moves of a hand, passed as the two words of its bitset, in a buffer; the moves are ordered by
+     * deck and then by card value.
+     *
+     * @param handLow the bits of the cards from 0 to 63 in the hand.
+     * @param handHigh the bits of the cards from 64 to 127 in the hand.
+     * @param lastCards the values of the cards on top of the decks, ordered by deck number.
+     * @param moves the buffer where write the packed moves, it should have a length of at least {@link #maxMoves()}.
+     * @return the number of moves written in the buffer.
+     */
+    public static int generate(final long handLow, final long handHigh, final int[] lastCards, final int[] moves) {
+        int count = 0;
+        for (int deck = 0; deck < lastCards.length; deck++) {
+            long low = handLow & maskLow(deck, lastCards[deck]);
+            long high = handHigh & maskHigh(deck, lastCards[deck]);
+            for (; low != 0; low &= low - 1) {
+                moves[count++] = pack(Long.numberOfTrailingZeros(low), deck);
+            }
+            for (; high != 0; high &= high - 1) {
+                moves[count++] = pack(WORD_SIZE + Long.numberOfTrailingZeros(high), deck);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Check if a hand has at least one valid move.
+     *
+     * @param hand the {@link CardSet} with the cards of the player.
+     * @param lastCards the values of the cards on top of the decks, ordered by deck number.
+     * @return true if exists a playable card, false otherwise.
+     */
+    public static boolean exists(final CardSet hand, final int[] lastCards) {
+        for (int deck = 0; deck < lastCards.length; deck++) {
+            if ((hand.getLow() & maskLow(deck, lastCards[deck])) != 0
+                    || (hand.getHigh() & maskHigh(deck, lastCards[deck])) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Find the decks where a card can be played.
+     *
+     * @param lastCards the values of the cards on top of the decks, ordered by deck number.
+     * @param card the value of the card.
+     * @return a bitmask where the bit in position n is set if the card can be played in the deck number n.
+     */
+    public static int validDecks(final int[] lastCards, final int card) {
+        int decks = 0;
+        if (card < 0 || card >= CAPACITY) {
+            return decks;
+        }
+        for (int deck = 0; deck < lastCards.length; deck++) {
+            long mask = card < WORD_SIZE ? maskLow(deck, lastCards[deck]) : maskHigh(deck, lastCards[deck]);
+            if ((mask >>> (card % WORD_SIZE) & 1L) != 0) {
+                decks |= 1 << deck;
+            }
+        }
+        return decks;
+    }
+
+    /**
+     * Compute the bits of the playable cards from 0 to 63 in a deck.
+     *
+     * @param deckNumber the number of the deck.
+     * @param deckValue the value of the card on top of the deck.
+     * @return the lower word of the bitmask.
+     */
+    public static long maskLow(final int deckNumber, final int deckValue) {
+        if (GameRules.isAscDeck(deckNumber)) {
+            int from = deckValue + 1; // all the cards greater than the deck value
+            long above = from >= WORD_SIZE ? 0L : -1L << Math.max(from, 0);
+            return above | bitLow(deckValue - GameRules.getTrickValue());
+        } else {
+            long below = deckValue >= WORD_SIZE ? -1L : deckValue <= 0 ? 0L : (1L << deckValue) - 1;
+            return below | bitLow(deckValue + GameRules.getTrickValue());
+        }
+    }
+
+    /**
+     * Compute the bits of the playable cards from 64 to 127 in a deck.
+     *
+     * @param deckNumber the number of the deck.
+     * @param deckValue the value of the card on top of the deck.
+     * @return the higher word of the bitmask.
+     */
+    public static long maskHigh(final int deckNumber, final int deckValue) {
+        if (GameRules.isAscDeck(deckNumber)) {
+            int from = deckValue + 1 - WORD_SIZE; // all the cards greater than the deck value
+            long above = from <= 0 ? -1L : from >= WORD_SIZE ? 0L : -1L << from;
+            return above | bitHigh(deckValue - GameRules.getTrickValue());
+        } else {
+            int to = deckValue - WORD_SIZE;
+            long below = to <= 0 ? 0L : to >= WORD_SIZE ? -1L : (1L << to) - 1;
+            return below | bitHigh(deckValue + GameRules.getTrickValue());
+        }
+    }
+
+    /**
+     * Compute the space that a card wastes on a deck, that is how many cards can't be played anymore in that deck after
+     * it; a "trick" has a negative gap because it gives back space.
+     *
+     * @param card the value of the card.
+     * @param deckNumber the number of the deck.
+     * @param deckValue the value of the card on top of the deck.
+     * @return the gap between the card and the top of the deck.
+     */
+    public static int gap(final int card, final int deckNumber, final int deckValue) {
+        return GameRules.isAscDeck(deckNumber) ? card - deckValue : deckValue - card;
+    }
+
+    /**
+     * Pack a move in a single int.
+     *
+     * @param card the value of the card.
+     * @param deckNumber the number of the deck.
+     * @return the packed move.
+     */
+    public static int pack(final int card, final int deckNumber) {
+        return card << DECK_BITS | deckNumber;
+    }
+
+    /**
+     * Extract the value of the card from a packed move.
+     *
+     * @param move the packed move.
+     * @return the value of the card.
+     */
+    public static int getCard(final int move) {
+        return move >>> DECK_BITS;
+    }
+
+    /**
+     * Extract the number of the deck from a packed move.
+     *
+     * @param move the packed move.
+     * @return the number of the deck.
+     */
+    public static int getDeck(final int move) {
+        return move & DECK_MASK;
+    }
+
+    /**
+     * Method to obtain the maximum number of moves that a hand can have, useful to size the buffer of the moves.
+     *
+     * @return the maximum number of moves.
+     */
+    public static int maxMoves() {
+        return MAX_MOVES;
+    }
+
+    /**
+     * Compute the lower word with only the bit of a card set.
+     *
+     * @param card the value of the card.
+     * @return the word with the bit of the card, 0 if the card isn't in the word.
+     */
+    private static long bitLow(final int card) {
+        return card >= 0 && card < WORD_SIZE ? 1L << card : 0L;
+    }
+
+    /**
+     * Compute the higher word with only the bit of a card set.
+     *
+     * @param card the value of the card.
+     * @return the word with the bit of the card, 0 if the card isn't in the word.
+     */
+    private static long bitHigh(final int card) {
+        return card >= WORD_SIZE && card < CAPACITY ? 1L << (card - WORD_SIZE) : 0L;
+    }
+}
@@ -24,10 +24,18 @@ public interface Player {
     /**
      * Method used to obtain the cards in the player's hand.
      *
-     * @return a {@link List} with the value of player's cards.
+     * @return a {@link List} with the value of player's cards sorted in ascending order, backed by the player's hand.
      */
     List<Integer> getHand();
 
+    /**
+     * Method used to obtain the cards in the player's hand as a bitset; it's the same hand returned by
+     * {@link #getHand()} and it's meant for the hot paths that don't want to box the values of the cards.
+     *
+     * @return the {@link CardSet} with the player's cards.
+     */
+    CardSet getCards();
+
     /**
      * Specify a card that the player has played.
      *
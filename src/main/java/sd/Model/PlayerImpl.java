@@ -1,7 +1,6 @@
 package sd.Model;
 
 import java.io.Serializable;
-import java.util.LinkedList;
 import java.util.List;
 
 /**
@@ -10,7 +9,7 @@ import java.util.List;
 public class PlayerImpl implements Player, Serializable {
 
     private final String name;
-    private List<Integer> hand = new LinkedList<>();
+    private final CardSet hand = new CardSet();
 
     /**
      * Create a {@link Player}.
@@ -28,12 +27,18 @@ public class PlayerImpl implements Player, Serializable {
 
     @Override
     public void setHand(final List<Integer> cards) {
-        this.hand = new LinkedList<>(cards);
+        hand.clear();
+        cards.forEach(hand::add);
     }
 
     @Override
     public List<Integer> getHand() {
-        return this.hand;
+        return hand.asList();
+    }
+
+    @Override
+    public CardSet getCards() {
+        return hand;
     }
 
     @Override
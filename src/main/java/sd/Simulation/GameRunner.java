@@ -0,0 +1,98 @@
+package sd.Simulation;
+
+import sd.Model.Difficulty;
+import sd.Model.GameRules;
+import sd.Model.GameState;
+import sd.Model.GameStateImpl;
+import sd.Model.MoveGenerator;
+import sd.Model.Player;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Play whole games in-process, without actors and GUI, following the same rules of
+ * {@link sd.Controller.GameControllerImpl}: a player has to play at least {@link GameRules#cardsPerTurn(Difficulty)}
+ * cards each turn, unless the main deck is empty, and the game is lost when he can't.
+ * It keeps a buffer for the moves, so an instance can't be shared between threads.
+ */
+public class GameRunner {
+
+    private static final long POLICY_SALT = 0x5DEECE66DL; // to not use the same numbers of the shuffle
+
+    private final List<String> playerNames = new LinkedList<>();
+    private final Difficulty difficulty;
+    private final Policy policy;
+    private final int[] moves = new int[MoveGenerator.maxMoves()];
+
+    /**
+     * Create a runner for games with a fixed number of players and difficulty.
+     *
+     * @param numberOfPlayers the number of players of each game.
+     * @param difficulty the {@link Difficulty} of the games.
+     * @param policy the {@link Policy} used by all the players.
+     */
+    public GameRunner(final int numberOfPlayers, final Difficulty difficulty, final Policy policy) {
+        for (int i = 0; i < numberOfPlayers; i++) {
+            playerNames.add("Player" + i);
+        }
+        this.difficulty = difficulty;
+        this.policy = policy;
+    }
+
+    /**
+     * Play a whole game.
+     *
+     * @param seed the seed of the game, used both to shuffle the main deck and for the choices of the {@link Policy}.
+     * @return the number of cards not played at the end of the game, 0 if it's a win.
+     */
+    public int play(final long seed) {
+        GameState gameState = new GameStateImpl(playerNames, difficulty, seed);
+        SplittableRandom random = new SplittableRandom(seed ^ POLICY_SALT);
+        List<Player> players = new LinkedList<>();
+        playerNames.forEach(name -> players.add(gameState.getPlayer(name).orElseThrow()));
+        gameState.initialHand();
+        while (!gameState.isWin()) {
+            for (Player player : players) {
+                if (!playTurn(gameState, player, random)) {
+                    return gameState.cardNotPlayed();
+                }
+                if (gameState.isWin()) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Play the turn of a player and make him draw at the end.
+     *
+     * @param gameState the {@link GameState} of the game.
+     * @param player the {@link Player} whose turn it is.
+     * @param random the source of randomness of the game.
+     * @return true if the turn ended correctly, false if it's a Game Over.
+     */
+    private boolean playTurn(final GameState gameState, final Player player, final SplittableRandom random) {
+        int played = 0;
+        while (!player.getCards().isEmpty()) {
+            int count = gameState.validMoves(player, moves);
+            boolean canEndTurn = GameRules.canFinishTurn(played, gameState.countMainDeckCards(), difficulty);
+            if (count == 0) {
+                if (played > 0 && canEndTurn) {
+                    break;
+                }
+                return false; // like at the start of a turn without valid moves or in the middle of a turn
+            }
+            int move = policy.chooseMove(gameState, moves, count, canEndTurn && played > 0, random);
+            if (move == Policy.END_TURN) {
+                break;
+            }
+            gameState.playedCard(player, MoveGenerator.getCard(move), MoveGenerator.getDeck(move));
+            played++;
+        }
+        gameState.draw(player);
+        return true;
+    }
+}
@@ -0,0 +1,24 @@
+package sd.Simulation;
+
+import sd.Model.GameState;
+import sd.Model.MoveGenerator;
+
+import java.util.SplittableRandom;
+
+/**
+ * A {@link Policy} that plays the card that wastes less space on a deck and, after the minimum number of cards, keeps
+ * playing while there are cards that waste almost nothing, like the "trick" ones.
+ */
+public class GreedyPolicy implements Policy {
+
+    private static final int GOOD_GAP = 1;
+
+    @Override
+    public int chooseMove(final GameState gameState, final int[] moves, final int count, final boolean canEndTurn,
+                          final SplittableRandom random) {
+        int move = moves[LowestGapPolicy.lowestGapIndex(gameState, moves, count)];
+        int deck = MoveGenerator.getDeck(move);
+        int gap = MoveGenerator.gap(MoveGenerator.getCard(move), deck, gameState.getLastCard(deck));
+        return canEndTurn && gap > GOOD_GAP ? END_TURN : move;
+    }
+}
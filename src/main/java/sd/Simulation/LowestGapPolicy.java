@@ -0,0 +1,40 @@
+package sd.Simulation;
+
+import sd.Model.GameState;
+import sd.Model.MoveGenerator;
+
+import java.util.SplittableRandom;
+
+/**
+ * A {@link Policy} that plays the card that wastes less space on a deck and ends the turn as soon as possible.
+ */
+public class LowestGapPolicy implements Policy {
+
+    @Override
+    public int chooseMove(final GameState gameState, final int[] moves, final int count, final boolean canEndTurn,
+                          final SplittableRandom random) {
+        return canEndTurn ? END_TURN : moves[lowestGapIndex(gameState, moves, count)];
+    }
+
+    /**
+     * Find the move that wastes less space on a deck.
+     *
+     * @param gameState the {@link GameState} with the top of the decks.
+     * @param moves the valid moves.
+     * @param count the number of valid moves.
+     * @return the index of the move with the lowest gap.
+     */
+    static int lowestGapIndex(final GameState gameState, final int[] moves, final int count) {
+        int best = 0;
+        int bestGap = Integer.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            int deck = MoveGenerator.getDeck(moves[i]);
+            int gap = MoveGenerator.gap(MoveGenerator.getCard(moves[i]), deck, gameState.getLastCard(deck));
+            if (gap < bestGap) {
+                best = i;
+                bestGap = gap;
+            }
+        }
+        return best;
+    }
+}
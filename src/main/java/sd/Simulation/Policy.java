@@ -0,0 +1,28 @@
+package sd.Simulation;
+
+import sd.Model.GameState;
+
+import java.util.SplittableRandom;
+
+/**
+ * Interface of a strategy that decides which card to play during a simulated turn.
+ */
+public interface Policy {
+
+    /**
+     * The value returned to end the turn instead of playing a card.
+     */
+    int END_TURN = -1;
+
+    /**
+     * Choose the next move of the player.
+     *
+     * @param gameState the {@link GameState} of the game, used to read the top of the decks.
+     * @param moves the valid moves of the player, packed with {@link sd.Model.MoveGenerator#pack(int, int)}.
+     * @param count the number of valid moves, always at least one.
+     * @param canEndTurn true if the player has played enough cards to end his turn.
+     * @param random the source of randomness of the game, to keep the simulation reproducible.
+     * @return one of the moves or {@link #END_TURN}, that can be returned only if the turn can end.
+     */
+    int chooseMove(GameState gameState, int[] moves, int count, boolean canEndTurn, SplittableRandom random);
+}
@@ -0,0 +1,39 @@
+package sd.Simulation;
+
+/**
+ * Enumeration with the {@link Policy} available for the simulations.
+ */
+public enum PolicyType {
+
+    GREEDY,
+    RANDOM,
+    LOWEST_GAP;
+
+    /**
+     * Create a new instance of the {@link Policy}.
+     *
+     * @return the {@link Policy} of this type.
+     */
+    public Policy create() {
+        return switch (this) {
+            case GREEDY -> new GreedyPolicy();
+            case RANDOM -> new RandomPolicy();
+            case LOWEST_GAP -> new LowestGapPolicy();
+        };
+    }
+
+    /**
+     * Find the element of the enum from a {@link String} like "greedy" or "lowest-gap".
+     *
+     * @param policy the name of the policy.
+     * @return the {@link PolicyType} with that name.
+     */
+    public static PolicyType fromString(final String policy) {
+        return switch (policy.toLowerCase()) {
+            case "greedy" -> GREEDY;
+            case "random" -> RANDOM;
+            case "lowest-gap" -> LOWEST_GAP;
+            default -> throw new IllegalStateException("Unexpected value: " + policy);
+        };
+    }
+}
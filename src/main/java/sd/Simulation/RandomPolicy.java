@@ -0,0 +1,17 @@
+package sd.Simulation;
+
+import sd.Model.GameState;
+
+import java.util.SplittableRandom;
+
+/**
+ * A {@link Policy} that plays a random valid card and ends the turn as soon as possible.
+ */
+public class RandomPolicy implements Policy {
+
+    @Override
+    public int chooseMove(final GameState gameState, final int[] moves, final int count, final boolean canEndTurn,
+                          final SplittableRandom random) {
+        return canEndTurn ? END_TURN : moves[random.nextInt(count)];
+    }
+}
@@ -0,0 +1,119 @@
+package sd.Simulation;
+
+import sd.Model.Difficulty;
+import sd.Model.GameRules;
+
+/**
+ * The statistics of a group of simulated games with the same {@link Difficulty} and number of players: the number of
+ * wins and a histogram with the number of cards left at the end of each game.
+ */
+public class SimulationStats {
+
+    private static final double PERCENT = 100.0;
+
+    private final Difficulty difficulty;
+    private final int numberOfPlayers;
+    private final long[] cardsLeft = new long[GameRules.mainDeckValues().length + 1];
+    private long games = 0;
+
+    /**
+     * Create empty statistics.
+     *
+     * @param difficulty the {@link Difficulty} of the games.
+     * @param numberOfPlayers the number of players of the games.
+     */
+    public SimulationStats(final Difficulty difficulty, final int numberOfPlayers) {
+        this.difficulty = difficulty;
+        this.numberOfPlayers = numberOfPlayers;
+    }
+
+    /**
+     * Record the end of a game.
+     *
+     * @param cardsNotPlayed the number of cards left when the game ended, 0 if it was a win.
+     */
+    public void record(final int cardsNotPlayed) {
+        cardsLeft[cardsNotPlayed]++;
+        games++;
+    }
+
+    /**
+     * Add to these statistics the ones of another group of games.
+     *
+     * @param other the other {@link SimulationStats}.
+     */
+    public void merge(final SimulationStats other) {
+        for (int i = 0; i < cardsLeft.length; i++) {
+            cardsLeft[i] += other.cardsLeft[i];
+        }
+        games += other.games;
+    }
+
+    /**
+     * Get the number of games played.
+     *
+     * @return the number of games.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Get the number of games won.
+     *
+     * @return the number of wins.
+     */
+    public long getWins() {
+        return cardsLeft[0];
+    }
+
+    /**
+     * Get the rate of games won.
+     *
+     * @return a number between 0 and 1, 0 if no game was played.
+     */
+    public double getWinRate() {
+        return games == 0 ? 0 : (double) getWins() / games;
+    }
+
+    /**
+     * Get how many games ended with a specific number of cards not played.
+     *
+     * @param cardsNotPlayed the number of cards left.
+     * @return the number of games.
+     */
+    public long getCardsLeft(final int cardsNotPlayed) {
+        return cardsLeft[cardsNotPlayed];
+    }
+
+    /**
+     * Get the {@link Difficulty} of the games.
+     *
+     * @return the {@link Difficulty}.
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Get the number of players of the games.
+     *
+     * @return the number of players.
+     */
+    public int getNumberOfPlayers() {
+        return numberOfPlayers;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(String.format("%s, %d players: %d games, win rate %.3f%%",
+                difficulty, numberOfPlayers, games, getWinRate() * PERCENT));
+        builder.append(System.lineSeparator()).append("  cards left:");
+        for (int i = 0; i < cardsLeft.length; i++) {
+            if (cardsLeft[i] > 0) {
+                builder.append(' ').append(i).append('=').append(cardsLeft[i]);
+            }
+        }
+        return builder.toString();
+    }
+}
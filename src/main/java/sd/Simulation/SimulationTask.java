@@ -0,0 +1,76 @@
+package sd.Simulation;
+
+import sd.Model.Difficulty;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A fork/join task that plays a range of games, splitting it in half until it's small enough to be played by a single
+ * thread. The seed of each game depends only on the master seed and on the index of the game, so the result doesn't
+ * depend on how the range is split or on the number of threads.
+ */
+public class SimulationTask extends RecursiveTask<SimulationStats> {
+
+    private static final int GAMES_PER_TASK = 4096;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long masterSeed;
+    private final long from;
+    private final long to;
+    private final int numberOfPlayers;
+    private final Difficulty difficulty;
+    private final PolicyType policyType;
+
+    /**
+     * Create a task that plays the games with index from "from" (included) to "to" (excluded).
+     *
+     * @param masterSeed the seed from which the seeds of all the games are derived.
+     * @param from the index of the first game.
+     * @param to the index after the last game.
+     * @param numberOfPlayers the number of players of each game.
+     * @param difficulty the {@link Difficulty} of the games.
+     * @param policyType the {@link PolicyType} used by the players.
+     */
+    public SimulationTask(final long masterSeed, final long from, final long to, final int numberOfPlayers,
+                          final Difficulty difficulty, final PolicyType policyType) {
+        this.masterSeed = masterSeed;
+        this.from = from;
+        this.to = to;
+        this.numberOfPlayers = numberOfPlayers;
+        this.difficulty = difficulty;
+        this.policyType = policyType;
+    }
+
+    @Override
+    protected SimulationStats compute() {
+        if (to - from <= GAMES_PER_TASK) {
+            SimulationStats stats = new SimulationStats(difficulty, numberOfPlayers);
+            GameRunner runner = new GameRunner(numberOfPlayers, difficulty, policyType.create());
+            for (long game = from; game < to; game++) {
+                stats.record(runner.play(gameSeed(masterSeed, game)));
+            }
+            return stats;
+        }
+        long middle = from + (to - from) / 2;
+        SimulationTask left = new SimulationTask(masterSeed, from, middle, numberOfPlayers, difficulty, policyType);
+        SimulationTask right = new SimulationTask(masterSeed, middle, to, numberOfPlayers, difficulty, policyType);
+        left.fork();
+        SimulationStats stats = right.compute();
+        stats.merge(left.join());
+        return stats;
+    }
+
+    /**
+     * Derive the seed of a game from the master seed, mixing the bits like {@link java.util.SplittableRandom} does.
+     *
+     * @param masterSeed the seed of the whole simulation.
+     * @param game the index of the game.
+     * @return the seed of the game.
+     */
+    public static long gameSeed(final long masterSeed, final long game) {
+        long seed = masterSeed + (game + 1) * GOLDEN_GAMMA;
+        seed = (seed ^ (seed >>> 33)) * 0xFF51AFD7ED558CCDL;
+        seed = (seed ^ (seed >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return seed ^ (seed >>> 33);
+    }
+}
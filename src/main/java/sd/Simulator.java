@@ -0,0 +1,64 @@
+package sd;
+
+import sd.Model.Difficulty;
+import sd.Simulation.PolicyType;
+import sd.Simulation.SimulationStats;
+import sd.Simulation.SimulationTask;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+public class Simulator {
+
+    private static final String DEFAULT_GAMES = "100000";
+    private static final String DEFAULT_PLAYERS = "1,2,3,4,5";
+    private static final String DEFAULT_POLICY = "greedy";
+    private static final String DEFAULT_SEED = "0";
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /**
+     * The main of the simulations: it plays the games in-process on all the cores and prints the win rate and the
+     * histogram of the cards left for each difficulty and number of players. The arguments are in the form
+     * "name=value": games, players (a list like "1,2,3"), difficulty (a list like "NORMAL,DIFFICULT", all if absent),
+     * policy (greedy, random or lowest-gap), seed and threads.
+     *
+     * @param args arguments.
+     */
+    public static void main(final String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            if (option.length != 2) {
+                throw new IllegalArgumentException("Arguments must be in the form name=value: " + arg);
+            }
+            options.put(option[0], option[1]);
+        }
+        long games = Long.parseLong(options.getOrDefault("games", DEFAULT_GAMES));
+        long seed = Long.parseLong(options.getOrDefault("seed", DEFAULT_SEED));
+        PolicyType policy = PolicyType.fromString(options.getOrDefault("policy", DEFAULT_POLICY));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        List<Integer> players = Arrays.stream(options.getOrDefault("players", DEFAULT_PLAYERS).split(","))
+                .map(Integer::parseInt).toList();
+        List<Difficulty> difficulties = options.containsKey("difficulty")
+                ? Arrays.stream(options.get("difficulty").split(",")).map(Difficulty::valueOf).toList()
+                : List.of(Difficulty.values());
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        System.out.println("Policy " + policy + ", seed " + seed + ", " + threads + " threads");
+        for (Difficulty difficulty : difficulties) {
+            for (int numberOfPlayers : players) {
+                long start = System.nanoTime();
+                SimulationStats stats = pool.invoke(
+                        new SimulationTask(seed, 0, games, numberOfPlayers, difficulty, policy));
+                double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+                System.out.println(stats);
+                System.out.printf("  %.2f s, %.0f games/s%n", seconds, games / seconds);
+            }
+        }
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,78 @@
+package sd.Solver;
+
+import java.util.Arrays;
+
+/**
+ * The result of a {@link Solver}: the outcome of the deal, the winning line if exists and the number of nodes visited
+ * to find it.
+ */
+public class Solution {
+
+    /**
+     * The value used in the winning line to mark the end of a turn, when the player draws.
+     */
+    public static final int END_TURN = -1;
+
+    /**
+     * The possible outcomes of a deal.
+     */
+    public enum Outcome {
+        WIN,
+        LOSS,
+        UNKNOWN // the search was interrupted before finding an answer
+    }
+
+    private final Outcome outcome;
+    private final int[] line;
+    private final long nodes;
+
+    /**
+     * Create the result of a search.
+     *
+     * @param outcome the {@link Outcome} of the deal.
+     * @param line the moves packed with {@link sd.Model.MoveGenerator#pack(int, int)} and the {@link #END_TURN} marks
+     *             that win the game; empty if the game can't be won.
+     * @param nodes the number of nodes visited by the search.
+     */
+    public Solution(final Outcome outcome, final int[] line, final long nodes) {
+        this.outcome = outcome;
+        this.line = line;
+        this.nodes = nodes;
+    }
+
+    /**
+     * Get the outcome of the deal.
+     *
+     * @return the {@link Outcome}.
+     */
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Check if the deal can be won.
+     *
+     * @return true if the outcome is a win, false otherwise.
+     */
+    public boolean isWinnable() {
+        return outcome == Outcome.WIN;
+    }
+
+    /**
+     * Get the line that wins the game.
+     *
+     * @return a copy of the packed moves and {@link #END_TURN} marks, in the order they have to be done.
+     */
+    public int[] getLine() {
+        return Arrays.copyOf(line, line.length);
+    }
+
+    /**
+     * Get the number of nodes visited by the search.
+     *
+     * @return the number of nodes.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+}
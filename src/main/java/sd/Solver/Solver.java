@@ -0,0 +1,27 @@
+package sd.Solver;
+
+import sd.Model.Difficulty;
+
+/**
+ * Interface of a solver that decides if a single-player game can be won, knowing the whole order of the main deck.
+ */
+public interface Solver {
+
+    /**
+     * Solve the deal that a {@link sd.Model.GameStateImpl} created with the passed seed will have.
+     *
+     * @param seed the seed used to shuffle the main deck.
+     * @param difficulty the {@link Difficulty} of the game.
+     * @return the {@link Solution} with the outcome and, if the game can be won, a winning line.
+     */
+    Solution solve(long seed, Difficulty difficulty);
+
+    /**
+     * Solve a deal with a specific order of the main deck.
+     *
+     * @param deal the cards of the main deck in the order they are drawn.
+     * @param difficulty the {@link Difficulty} of the game.
+     * @return the {@link Solution} with the outcome and, if the game can be won, a winning line.
+     */
+    Solution solve(int[] deal, Difficulty difficulty);
+}
@@ -0,0 +1,345 @@
+package sd.Solver;
+
+import sd.Model.Difficulty;
+import sd.Model.GameRules;
+import sd.Model.GameStateImpl;
+import sd.Model.MoveGenerator;
+
+import java.util.Arrays;
+
+/**
+ * An implementation of {@link Solver} with a depth-first search over the positions of the game. The positions proved
+ * lost are stored in a {@link TranspositionTable}, where the two ascending decks and the two descending decks are
+ * sorted because they are interchangeable; for the same reason a card is never tried on both the decks of a pair when
+ * they have the same value. The moves that waste less space on the decks are tried first.
+ * It keeps the state of the search in its fields, so an instance can't be shared between threads.
+ */
+public class SolverImpl implements Solver {
+
+    private static final int WORD_SIZE = Long.SIZE;
+    private static final int CARD_BITS = 7;
+    private static final int CARD_MASK = (1 << CARD_BITS) - 1;
+    private static final int CURSOR_SHIFT = 40; // the cards in the second word of the hand end at bit 34
+    private static final int PLAYED_SHIFT = CURSOR_SHIFT + CARD_BITS;
+    private static final int MOVE_BITS = 9; // a packed move is lower than 99 * 4
+    private static final int MOVE_MASK = (1 << MOVE_BITS) - 1;
+    private static final int GAP_OFFSET = GameRules.getTrickValue() + 1; // to have only positive gaps
+    private static final int GOOD_GAP = 1; // moves that waste at most this space are tried before ending the turn
+    private static final int DEFAULT_TABLE_BITS = 20;
+    private static final long DEFAULT_MAX_NODES = 10_000_000L;
+
+    private final TranspositionTable table;
+    private final long maxNodes;
+    private final boolean prune;
+    private final int[] lastCards = new int[GameRules.getNumberOfDecks()];
+    private int[][] moves = new int[0][];
+    private int[] line = new int[0];
+    private int[] deal;
+    private long[] remainingLow = new long[0]; // the cards of the deal from a position to the end
+    private long[] remainingHigh = new long[0];
+    private int handSize;
+    private int cardsPerTurn;
+    private int lineLength;
+    private long nodes;
+
+    /**
+     * Create a solver with a table of about a million positions and a limit of ten million nodes per deal.
+     */
+    public SolverImpl() {
+        this(DEFAULT_TABLE_BITS, DEFAULT_MAX_NODES);
+    }
+
+    /**
+     * Create a solver.
+     *
+     * @param tableBits the base two logarithm of the number of slots of the {@link TranspositionTable}.
+     * @param maxNodes the maximum number of nodes to visit for a deal before giving up with an unknown outcome.
+     */
+    public SolverImpl(final int tableBits, final long maxNodes) {
+        this(tableBits, maxNodes, true);
+    }
+
+    /**
+     * Create a solver, choosing whether to cut the positions with a card that can't be played anymore; without the
+     * cut the search is slower but gives the same outcomes, which is how the cut is tested.
+     *
+     * @param tableBits the base two logarithm of the number of slots of the {@link TranspositionTable}.
+     * @param maxNodes the maximum number of nodes to visit for a deal before giving up with an unknown outcome.
+     * @param prune true to cut the positions with a dead card, false to search them.
+     */
+    SolverImpl(final int tableBits, final long maxNodes, final boolean prune) {
+        this.table = new TranspositionTable(tableBits);
+        this.maxNodes = maxNodes;
+        this.prune = prune;
+    }
+
+    @Override
+    public Solution solve(final long seed, final Difficulty difficulty) {
+        return solve(GameStateImpl.shuffledDeck(seed), difficulty);
+    }
+
+    @Override
+    public Solution solve(final int[] deal, final Difficulty difficulty) {
+        int[] decks = new int[GameRules.getNumberOfDecks()];
+        for (int i = 0; i < decks.length; i++) {
+            decks[i] = GameRules.isAscDeck(i) ? GameRules.getLowerCard() - 1 : GameRules.getHigherCard() + 1;
+        }
+        return solve(deal, difficulty, decks);
+    }
+
+    /**
+     * Search a winning line for a game that starts with some values already on the decks.
+     *
+     * @param deal the cards of the main deck in the order they are drawn.
+     * @param difficulty the {@link Difficulty} of the game.
+     * @param decks the values on top of the decks.
+     * @return the {@link Solution} found.
+     */
+    Solution solve(final int[] deal, final Difficulty difficulty, final int[] decks) {
+        this.deal = deal;
+        handSize = GameRules.cardsInHand(1, difficulty);
+        cardsPerTurn = GameRules.cardsPerTurn(difficulty);
+        int maxDepth = 2 * deal.length + 1; // at most a card and an end of turn for each card
+        if (moves.length < maxDepth) {
+            moves = new int[maxDepth][MoveGenerator.maxMoves()];
+            line = new int[maxDepth];
+        }
+        if (remainingLow.length < deal.length + 1) {
+            remainingLow = new long[deal.length + 1];
+            remainingHigh = new long[deal.length + 1];
+        }
+        remainingLow[deal.length] = 0;
+        remainingHigh[deal.length] = 0;
+        for (int i = deal.length - 1; i >= 0; i--) {
+            remainingLow[i] = remainingLow[i + 1] | (deal[i] < WORD_SIZE ? 1L << deal[i] : 0L);
+            remainingHigh[i] = remainingHigh[i + 1] | (deal[i] >= WORD_SIZE ? 1L << (deal[i] - WORD_SIZE) : 0L);
+        }
+        System.arraycopy(decks, 0, lastCards, 0, lastCards.length);
+        table.clear();
+        nodes = 0;
+        lineLength = 0;
+
+        long low = 0;
+        long high = 0;
+        int cursor = 0;
+        for (; cursor < Math.min(handSize, deal.length); cursor++) {
+            if (deal[cursor] < WORD_SIZE) {
+                low |= 1L << deal[cursor];
+            } else {
+                high |= 1L << (deal[cursor] - WORD_SIZE);
+            }
+        }
+        boolean win = search(low, high, cursor, 0, 0);
+        if (win) {
+            return new Solution(Solution.Outcome.WIN, Arrays.copyOf(line, lineLength), nodes);
+        }
+        return new Solution(nodes > maxNodes ? Solution.Outcome.UNKNOWN : Solution.Outcome.LOSS, new int[0], nodes);
+    }
+
+    /**
+     * Search if a position can be won.
+     *
+     * @param low the bits of the cards from 0 to 63 in the hand.
+     * @param high the bits of the cards from 64 to 127 in the hand.
+     * @param cursor the position of the next card to draw from the deal.
+     * @param played the number of cards played this turn.
+     * @param depth the number of moves done to reach the position.
+     * @return true if the position can be won, false if it's lost or the search is interrupted.
+     */
+    private boolean search(final long low, final long high, final int cursor, final int played, final int depth) {
+        if ((low | high) == 0 && cursor == deal.length) {
+            lineLength = depth;
+            return true;
+        }
+        if (++nodes > maxNodes) {
+            return false;
+        }
+        boolean deckEmpty = cursor == deal.length;
+        int turn = deckEmpty ? cardsPerTurn : Math.min(played, cardsPerTurn); // the same once the minimum is reached
+        long key = high | (long) cursor << CURSOR_SHIFT | (long) turn << PLAYED_SHIFT;
+        int decks = canonicalDecks();
+        if (table.contains(low, key, decks)
+                || prune && hasDeadCard(low | remainingLow[cursor], high | remainingHigh[cursor])) {
+            return false;
+        }
+
+        int[] ordered = moves[depth];
+        int count = orderMoves(low, high, ordered);
+        boolean canEndTurn = !deckEmpty && turn >= cardsPerTurn;
+        boolean endTurnTried = !canEndTurn;
+        for (int i = 0; i < count; i++) {
+            if (!endTurnTried && (ordered[i] >>> MOVE_BITS) > GAP_OFFSET + GOOD_GAP) {
+                endTurnTried = true;
+                if (endTurn(low, high, cursor, depth)) {
+                    return true;
+                }
+            }
+            int move = ordered[i] & MOVE_MASK;
+            int card = MoveGenerator.getCard(move);
+            int deck = MoveGenerator.getDeck(move);
+            int previous = lastCards[deck];
+            lastCards[deck] = card;
+            line[depth] = move;
+            boolean win = card < WORD_SIZE
+                    ? search(low & ~(1L << card), high, cursor, played + 1, depth + 1)
+                    : search(low, high & ~(1L << (card - WORD_SIZE)), cursor, played + 1, depth + 1);
+            lastCards[deck] = previous;
+            if (win) {
+                return true;
+            }
+        }
+        if (!endTurnTried && endTurn(low, high, cursor, depth)) {
+            return true;
+        }
+        if (nodes <= maxNodes) {
+            table.add(low, key, decks);
+        }
+        return false;
+    }
+
+    /**
+     * End the turn drawing the cards up to the size of the hand and continue the search.
+     *
+     * @param low the bits of the cards from 0 to 63 in the hand.
+     * @param high the bits of the cards from 64 to 127 in the hand.
+     * @param cursor the position of the next card to draw from the deal.
+     * @param depth the number of moves done to reach the position.
+     * @return true if the position after the draw can be won, false otherwise.
+     */
+    private boolean endTurn(final long low, final long high, final int cursor, final int depth) {
+        long newLow = low;
+        long newHigh = high;
+        int newCursor = cursor;
+        for (int cards = Long.bitCount(low) + Long.bitCount(high); cards < handSize && newCursor < deal.length;
+             cards++, newCursor++) {
+            int card = deal[newCursor];
+            if (card < WORD_SIZE) {
+                newLow |= 1L << card;
+            } else {
+                newHigh |= 1L << (card - WORD_SIZE);
+            }
+        }
+        line[depth] = Solution.END_TURN;
+        return search(newLow, newHigh, newCursor, 0, depth + 1);
+    }
+
+    /**
+     * Generate the valid moves and sort them by the space they waste on the deck; each returned value has the gap in
+     * the higher bits and the packed move in the lower ones. A move on the second deck of a pair with the same value
+     * of the first is skipped because it leads to a symmetric position.
+     *
+     * @param low the bits of the cards from 0 to 63 in the hand.
+     * @param high the bits of the cards from 64 to 127 in the hand.
+     * @param ordered the buffer where write the moves.
+     * @return the number of moves written.
+     */
+    private int orderMoves(final long low, final long high, final int[] ordered) {
+        int generated = MoveGenerator.generate(low, high, lastCards, ordered);
+        int count = 0;
+        for (int i = 0; i < generated; i++) {
+            int move = ordered[i];
+            int card = MoveGenerator.getCard(move);
+            int deck = MoveGenerator.getDeck(move);
+            if (deck % 2 == 1 && lastCards[deck] == lastCards[deck - 1]) {
+                continue;
+            }
+            int gap = MoveGenerator.gap(card, deck, lastCards[deck]);
+            int value = (gap + GAP_OFFSET) << MOVE_BITS | move;
+            int j = count++;
+            for (; j > 0 && ordered[j - 1] > value; j--) { // insertion sort, the moves are few
+                ordered[j] = ordered[j - 1];
+            }
+            ordered[j] = value;
+        }
+        return count;
+    }
+
+    /**
+     * Check if a card not played yet can't be played anymore. The values that the top of the ascending decks can reach
+     * are their values and all the cards not played from the lowest of them up; it goes lower with the "trick" when a
+     * card is 10 below one of these values, so they are scanned downwards and every trick extends them. The same holds
+     * upwards for the descending decks. A card outside both ranges can't be played and the position is lost.
+     *
+     * @param low the bits of the cards from 0 to 63 not played yet.
+     * @param high the bits of the cards from 64 to 127 not played yet.
+     * @return true if there is a dead card, false otherwise.
+     */
+    private boolean hasDeadCard(final long low, final long high) {
+        int lowestAsc = Integer.MAX_VALUE;
+        int highestDesc = Integer.MIN_VALUE;
+        for (int deck = 0; deck < lastCards.length; deck++) {
+            if (GameRules.isAscDeck(deck)) {
+                lowestAsc = Math.min(lowestAsc, lastCards[deck]);
+            } else {
+                highestDesc = Math.max(highestDesc, lastCards[deck]);
+            }
+        }
+        int trick = GameRules.getTrickValue();
+        for (int card = lowestAsc - 1; card >= GameRules.getLowerCard(); card--) {
+            int above = card + trick;
+            if (isSet(low, high, card) && (isSet(low, high, above) && above >= lowestAsc || isTop(above, true))) {
+                lowestAsc = card;
+            }
+        }
+        for (int card = highestDesc + 1; card <= GameRules.getHigherCard(); card++) {
+            int below = card - trick;
+            if (isSet(low, high, card) && (isSet(low, high, below) && below <= highestDesc || isTop(below, false))) {
+                highestDesc = card;
+            }
+        }
+        // the dead cards are the ones strictly between the highest descending value and the lowest ascending one
+        for (int card = highestDesc + 1; card < lowestAsc; card++) {
+            if (isSet(low, high, card)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if a value is on top of an ascending or a descending deck.
+     *
+     * @param value the value of the card.
+     * @param asc true to check the ascending decks, false to check the descending ones.
+     * @return true if a deck of that kind has the value on top, false otherwise.
+     */
+    private boolean isTop(final int value, final boolean asc) {
+        for (int deck = 0; deck < lastCards.length; deck++) {
+            if (GameRules.isAscDeck(deck) == asc && lastCards[deck] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if a card is in a bitset.
+     *
+     * @param low the bits of the cards from 0 to 63.
+     * @param high the bits of the cards from 64 to 127.
+     * @param card the value of the card.
+     * @return true if the card is present, false otherwise.
+     */
+    private static boolean isSet(final long low, final long high, final int card) {
+        if (card < 0 || card >= 2 * WORD_SIZE) {
+            return false;
+        }
+        return card < WORD_SIZE ? (low >>> card & 1L) != 0 : (high >>> (card - WORD_SIZE) & 1L) != 0;
+    }
+
+    /**
+     * Pack the values of the decks with the ascending ones and the descending ones sorted, so that two positions that
+     * differ only for the order of the decks in a pair have the same key.
+     *
+     * @return the values of the decks packed in an int.
+     */
+    private int canonicalDecks() {
+        int packed = 0;
+        for (int deck = 0; deck < lastCards.length; deck += 2) {
+            int first = Math.min(lastCards[deck], lastCards[deck + 1]);
+            int second = Math.max(lastCards[deck], lastCards[deck + 1]);
+            packed = (packed << (2 * CARD_BITS)) | (first & CARD_MASK) << CARD_BITS | (second & CARD_MASK);
+        }
+        return packed;
+    }
+}
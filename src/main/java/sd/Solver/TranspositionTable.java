@@ -0,0 +1,108 @@
+package sd.Solver;
+
+import java.util.Arrays;
+
+/**
+ * A set of the positions already proved lost, with open addressing and linear probing over primitive arrays. Each
+ * entry takes 20 bytes: two words for the hand and the state of the turn and an int for the top of the decks. When the
+ * table is full the new positions are simply not stored, so the memory is bounded and the answers stay exact.
+ */
+public class TranspositionTable {
+
+    private static final long USED = 1L << 63;
+    private static final long MIX_LOW = 0x9E3779B97F4A7C15L;
+    private static final long MIX_HIGH = 0xC2B2AE3D27D4EB4FL;
+    private static final long MIX_DECKS = 0x165667B19E3779F9L;
+    private static final int MAX_LOAD_PERCENT = 75;
+
+    private final long[] lows;
+    private final long[] highs;
+    private final int[] decks;
+    private final int mask;
+    private final int maxSize;
+    private int size = 0;
+
+    /**
+     * Create an empty table.
+     *
+     * @param bits the base two logarithm of the number of slots of the table.
+     */
+    public TranspositionTable(final int bits) {
+        int capacity = 1 << bits;
+        lows = new long[capacity];
+        highs = new long[capacity];
+        decks = new int[capacity];
+        mask = capacity - 1;
+        maxSize = (int) ((long) capacity * MAX_LOAD_PERCENT / 100);
+    }
+
+    /**
+     * Check if a position is in the table.
+     *
+     * @param low the first word of the position.
+     * @param high the second word of the position, with the bit 63 clear.
+     * @param deckValues the value of the decks of the position.
+     * @return true if the position is present, false otherwise.
+     */
+    public boolean contains(final long low, final long high, final int deckValues) {
+        long stored = high | USED;
+        for (int i = index(low, high, deckValues); highs[i] != 0; i = (i + 1) & mask) {
+            if (highs[i] == stored && lows[i] == low && decks[i] == deckValues) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add a position to the table, if there is still space.
+     *
+     * @param low the first word of the position.
+     * @param high the second word of the position, with the bit 63 clear.
+     * @param deckValues the value of the decks of the position.
+     */
+    public void add(final long low, final long high, final int deckValues) {
+        if (size >= maxSize) {
+            return;
+        }
+        int i = index(low, high, deckValues);
+        while (highs[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        lows[i] = low;
+        highs[i] = high | USED;
+        decks[i] = deckValues;
+        size++;
+    }
+
+    /**
+     * Remove all the positions from the table.
+     */
+    public void clear() {
+        Arrays.fill(highs, 0L);
+        size = 0;
+    }
+
+    /**
+     * Count the positions in the table.
+     *
+     * @return the number of positions.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Compute the first slot where a position can be stored.
+     *
+     * @param low the first word of the position.
+     * @param high the second word of the position.
+     * @param deckValues the value of the decks of the position.
+     * @return the index of the slot.
+     */
+    private int index(final long low, final long high, final int deckValues) {
+        long hash = low * MIX_LOW ^ high * MIX_HIGH ^ deckValues * MIX_DECKS;
+        hash ^= hash >>> 32;
+        return (int) hash & mask;
+    }
+}
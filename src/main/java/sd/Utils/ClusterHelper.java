@@ -2,19 +2,34 @@ package sd.Utils;
 
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
+import akka.actor.PoisonPill;
+import akka.cluster.Cluster;
 import akka.cluster.sharding.ClusterSharding;
 import akka.cluster.sharding.ClusterShardingSettings;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import com.typesafe.config.ConfigValueFactory;
 import sd.Akka.Actor.ClusterListener;
+import sd.Akka.Actor.GatewayActor;
+import sd.Akka.Actor.GatewayClientActor;
+import sd.Akka.Actor.LobbyActor;
+import sd.Akka.Actor.MatchmakingActor;
 import sd.Akka.Actor.GameStateActor;
+import sd.Akka.Actor.PlacementActor;
 import sd.Akka.Actor.PlayerActor;
+import sd.Akka.Actor.SpectatorActor;
+import sd.Akka.GameShardAllocationStrategy;
 import sd.Akka.MessageExtractor;
 import sd.Akka.Actor.WaitingRoomActor;
+import sd.Simulation.Policy;
+import sd.Simulation.PolicyType;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Utility class with the main configuration and function of the akka cluster; contains only static methods because has
@@ -24,24 +39,112 @@ public class ClusterHelper {
 
     private static final int DEFAULT_PORT = 2551;
     private static final int RANDOM_PORT = 0;
-    private static final int NUMBER_OF_SHARDS = 10;
 
     /**
-     * Create the akka cluster with the configuration present in the file "application.conf" and the specified port.
-     * Create also an actor to print the log of the cluster.
+     * Create the akka cluster for a player, with the configuration present in the file "application.conf"; the node
+     * doesn't host any game and sends the messages to the games through the proxies of the sharding regions.
      *
      * @return the {@link ActorSystem} that coordinate the actors and manage the environment.
      */
     public static ActorSystem startCluster() {
-        Config config = ConfigFactory.load(); // load the file "src/main/resources/application.conf"
+        return startCluster(getPlayerRole());
+    }
+
+    /**
+     * Create the akka cluster with the configuration present in the file "application.conf" and the specified role.
+     * The node of a game host takes the port of the seed node if it's available, while a player takes always a random
+     * port, so the cluster doesn't depend on the players that can leave at any moment.
+     * Create also an actor to print the log of the cluster, one with the directory of the open games and, in a game
+     * host, one to tell where the players of the games of this node are.
+     *
+     * @param role the role of the node, {@link #getHostRole()} or {@link #getPlayerRole()}.
+     * @return the {@link ActorSystem} that coordinate the actors and manage the environment.
+     */
+    public static ActorSystem startCluster(final String role) {
+        Config config = ConfigFactory.load() // load the file "src/main/resources/application.conf"
+                .withValue("akka.cluster.roles", ConfigValueFactory.fromIterable(List.of(role)));
         String path = "akka.remote.artery.canonical.port";
-        int port = isDefaultPortAvailable() ? DEFAULT_PORT : RANDOM_PORT;
+        int port = role.equals(getHostRole()) && isDefaultPortAvailable() ? DEFAULT_PORT : RANDOM_PORT;
         ActorSystem system =
                 ActorSystem.create("ClusterSystem", config.withValue(path, ConfigValueFactory.fromAnyRef(port)));
-        system.actorOf(ClusterListener.props(), "clusterListener");
+        Config sharding = system.settings().config().getConfig("game.sharding");
+        system.actorOf(ClusterListener.props(sharding.getDuration("metrics-interval"),
+                sharding.getDuration("stats-timeout")), "clusterListener");
+        system.actorOf(LobbyActor.props(), "lobby");
+        if (role.equals(getHostRole())) {
+            system.actorOf(PlacementActor.props(), "placement");
+        }
         return system;
     }
 
+    /**
+     * Create the {@link ActorSystem} of a client that isn't a member of the cluster and plays through a gateway; it
+     * has only the local actors of the player.
+     *
+     * @return the {@link ActorSystem} that coordinate the actors of the client.
+     */
+    public static ActorSystem startClient() {
+        Config config = ConfigFactory.load()
+                .withValue("akka.actor.provider", ConfigValueFactory.fromAnyRef("local"));
+        return ActorSystem.create("ClientSystem", config);
+    }
+
+    /**
+     * Connect a client to the gateway set in "game.gateway" of the configuration.
+     *
+     * @param system the {@link ActorSystem} of the client.
+     * @return the {@link ActorRef} of the {@link GatewayClientActor}, that takes the place of the sharding regions.
+     */
+    public static ActorRef connectToGateway(final ActorSystem system) {
+        Config gateway = system.settings().config().getConfig("game.gateway");
+        return system.actorOf(GatewayClientActor.props(gatewayAddress(gateway),
+                gateway.getBytes("max-frame-size").intValue(), gateway.getBytes("max-queued-writes").intValue()),
+                "gateway");
+    }
+
+    /**
+     * Static method to get the path of the {@link GatewayClientActor} of a client.
+     *
+     * @return a {@link String} with the path.
+     */
+    public static String getGatewayClientPath() {
+        return "/user/gateway";
+    }
+
+    /**
+     * Start to accept the connections of the clients in a gateway node, on the address set in "game.gateway" of the
+     * configuration.
+     *
+     * @param system the {@link ActorSystem} of the gateway node.
+     * @return the {@link ActorRef} of the {@link GatewayActor}.
+     */
+    public static ActorRef startGateway(final ActorSystem system) {
+        Config gateway = system.settings().config().getConfig("game.gateway");
+        return system.actorOf(GatewayActor.props(gatewayAddress(gateway),
+                gateway.getBytes("max-frame-size").intValue(), gateway.getBytes("max-queued-writes").intValue()),
+                "gateway");
+    }
+
+    /**
+     * Get the address of the gateway from its configuration.
+     *
+     * @param gateway the {@link Config} of the gateway.
+     * @return the {@link InetSocketAddress} of the gateway.
+     */
+    private static InetSocketAddress gatewayAddress(final Config gateway) {
+        return new InetSocketAddress(gateway.getString("hostname"), gateway.getInt("port"));
+    }
+
+    /**
+     * Static method to know if the node is a member of the cluster, or it's a client connected to a gateway.
+     *
+     * @param system the {@link ActorSystem} of the node.
+     * @return true if the node is a member of the cluster.
+     */
+    public static boolean isClusterMember(final ActorSystem system) {
+        return "cluster".equals(system.settings().config().getString("akka.actor.provider"));
+    }
+
     /**
      * Static method to create a new {@link PlayerActor}.
      *
@@ -54,36 +157,177 @@ public class ClusterHelper {
     }
 
     /**
-     * Start the akka sharding region for {@link WaitingRoomActor} used to find a game already created by a friend.
+     * Static method to create a new {@link SpectatorActor} that watches a game.
+     *
+     * @param hostName the name of the player who created the game.
+     * @param gameStateRegion the {@link ActorRef} of the sharding region with the game states, or of the
+     *                        {@link GatewayClientActor} that takes its place in a client.
+     * @param system the {@link ActorSystem} that coordinate the actors and manage the environment.
+     * @return the {@link ActorRef} of the spectator.
+     */
+    public static ActorRef createSpectator(final String hostName, final ActorRef gameStateRegion,
+                                           final ActorSystem system) {
+        return system.actorOf(SpectatorActor.props(hostName, gameStateRegion), "Spectator-" + hostName);
+    }
+
+    /**
+     * Start the akka sharding region for {@link WaitingRoomActor} used to find a game already created by a friend; in
+     * a player node it's only a proxy to the regions of the game hosts.
      *
      * @param system the {@link ActorSystem} that coordinate the actors and manage the environment.
      * @return the {@link ActorRef} of the sharding region with the waiting rooms.
      */
     public static ActorRef getWaitingRegion(final ActorSystem system) {
+        if (!isGameHost(system)) {
+            return ClusterSharding.get(system).startProxy("Waiting", Optional.of(getHostRole()),
+                    new MessageExtractor(getNumberOfShards(system)));
+        }
         return ClusterSharding.get(system).start(
                 "Waiting",
-                WaitingRoomActor.props(),
-                ClusterShardingSettings.create(system),
-                new MessageExtractor()
+                WaitingRoomActor.props(system.settings().config().getDuration("game.waiting-room.broadcast-tick")),
+                shardingSettings(system, "waiting-room"),
+                new MessageExtractor(getNumberOfShards(system)),
+                allocationStrategy(system, "Waiting"),
+                PoisonPill.getInstance()
         );
     }
 
     /**
      * Static method to start the akka sharding region for {@link GameStateActor} used to find the
-     * {@link sd.Model.GameState} of the match.
+     * {@link sd.Model.GameState} of the match; in a player node it's only a proxy to the regions of the game hosts.
      *
      * @param system the {@link ActorSystem} that {@link WaitingRoomActor} takes from the context.
      * @return the {@link ActorRef} of the sharding region with the game states.
      */
     public static ActorRef getGameStateRegion(final ActorSystem system) {
+        if (!isGameHost(system)) {
+            return ClusterSharding.get(system).startProxy("GameState", Optional.of(getHostRole()),
+                    new MessageExtractor(getNumberOfShards(system)));
+        }
         return ClusterSharding.get(system).start(
                 "GameState",
                 GameStateActor.props(),
-                ClusterShardingSettings.create(system),
-                new MessageExtractor()
+                shardingSettings(system, "game-state"),
+                new MessageExtractor(getNumberOfShards(system)),
+                allocationStrategy(system, "GameState"),
+                PoisonPill.getInstance()
+        );
+    }
+
+    /**
+     * Static method to start the akka sharding region for {@link MatchmakingActor}, with a queue for each difficulty
+     * and number of players; in a player node it's only a proxy to the regions of the game hosts. The queues are
+     * placed with the default strategy, since they don't belong to a game.
+     *
+     * @param system the {@link ActorSystem} that coordinate the actors and manage the environment.
+     * @return the {@link ActorRef} of the sharding region with the queues.
+     */
+    public static ActorRef getMatchmakingRegion(final ActorSystem system) {
+        if (!isGameHost(system)) {
+            return ClusterSharding.get(system).startProxy("Matchmaking", Optional.of(getHostRole()),
+                    new MessageExtractor(getNumberOfShards(system)));
+        }
+        return ClusterSharding.get(system).start(
+                "Matchmaking",
+                MatchmakingActor.props(system.settings().config().getDuration("game.matchmaking.tick")),
+                shardingSettings(system, "matchmaking"),
+                new MessageExtractor(getNumberOfShards(system))
         );
     }
 
+    /**
+     * Create the settings of a sharding region from its block in "game.sharding" of the configuration: the entities
+     * not used for the idle timeout are stopped, and when a node has more active entities than the limit the least
+     * recently used are stopped; they are started again by the next message sent to them. The entities are only in the
+     * nodes of the game hosts.
+     *
+     * @param system the {@link ActorSystem} with the configuration.
+     * @param region the name of the block of the region.
+     * @return the {@link ClusterShardingSettings} of the region.
+     */
+    private static ClusterShardingSettings shardingSettings(final ActorSystem system, final String region) {
+        Config config = system.settings().config().getConfig("game.sharding." + region);
+        Duration idleTimeout = config.getDuration("idle-timeout");
+        return ClusterShardingSettings.create(system)
+                .withRole(getHostRole())
+                .withRememberEntities(config.getBoolean("remember-entities"))
+                .withPassivationStrategy(ClusterShardingSettings.PassivationStrategySettings.defaults()
+                        .withIdleEntityPassivation(idleTimeout)
+                        .withActiveEntityLimit(config.getInt("active-entity-limit"))
+                        .withLeastRecentlyUsedReplacement());
+    }
+
+    /**
+     * Create the strategy that decides the node of the shards of a region, by the games in progress of the nodes and in
+     * the same node of the shards of the other region, so the entities of a game are in the same node.
+     *
+     * @param system the {@link ActorSystem} with the configuration.
+     * @param region the name of the region.
+     * @return the {@link GameShardAllocationStrategy} of the region.
+     */
+    private static GameShardAllocationStrategy allocationStrategy(final ActorSystem system, final String region) {
+        Config sharding = system.settings().config().getConfig("game.sharding");
+        return new GameShardAllocationStrategy(system, region, sharding.getInt("max-simultaneous-rebalance"),
+                sharding.getDuration("placement.timeout"), sharding.getDouble("placement.overload-tolerance"));
+    }
+
+    /**
+     * Static method to get the path of the {@link LobbyActor} of each node.
+     *
+     * @return a {@link String} with the path.
+     */
+    public static String getLobbyPath() {
+        return "/user/lobby";
+    }
+
+    /**
+     * Static method to get the path of the {@link PlacementActor} of each node, to be added to the address of the node.
+     *
+     * @return a {@link String} with the path.
+     */
+    public static String getPlacementPath() {
+        return "/user/placement";
+    }
+
+    /**
+     * Static method to know if a node hosts the games, so it has the entities of the sharding regions.
+     *
+     * @param system the {@link ActorSystem} of the node.
+     * @return true if the node has the role {@link #getHostRole()}.
+     */
+    public static boolean isGameHost(final ActorSystem system) {
+        return Cluster.get(system).selfRoles().contains(getHostRole());
+    }
+
+    /**
+     * Static method to get the role of the nodes that host the waiting rooms and the game states; they run without a
+     * GUI and should stay in the cluster as long as possible.
+     *
+     * @return a {@link String} with the role.
+     */
+    public static String getHostRole() {
+        return "game-host";
+    }
+
+    /**
+     * Static method to get the role of the nodes that accept the connections of the clients, and act in the cluster on
+     * behalf of their players.
+     *
+     * @return a {@link String} with the role.
+     */
+    public static String getGatewayRole() {
+        return "gateway";
+    }
+
+    /**
+     * Static method to get the role of the nodes of the players, that can leave the cluster at any moment.
+     *
+     * @return a {@link String} with the role.
+     */
+    public static String getPlayerRole() {
+        return "player";
+    }
+
     /**
      * Static method to get the extension used to find a {@link WaitingRoomActor}; it has to be added to the name of
      * the player who created the match.
@@ -105,13 +349,131 @@ public class ClusterHelper {
     }
 
     /**
-     * Static method to get the number of shards of the cluster. It should be based on the expected workload, the
-     * cluster size, the memory and the processing capacity of the shards.
+     * Static method to get the topic of the Distributed PubSub where the {@link GameStateActor} of a game publishes
+     * its state to the spectators.
+     *
+     * @param hostName the name of the player who created the game.
+     * @return a {@link String} with the topic.
+     */
+    public static String getSpectatorTopic(final String hostName) {
+        return hostName + "-Spectators";
+    }
+
+    /**
+     * Static method to get the extension used to find a {@link MatchmakingActor}; it has to be added to the
+     * difficulty and the number of players of the queue.
+     *
+     * @return a {@link String} with the extension.
+     */
+    public static String getMatchmakingExtension() {
+        return "-Matchmaking";
+    }
+
+    /**
+     * Static method to get the name of the {@link MatchmakingActor} with the queue of the players who want a game.
+     *
+     * @param difficulty the {@link String} version of the {@link sd.Model.Difficulty} of the game.
+     * @param tableSize the number of players of the game.
+     * @return a {@link String} with the name of the queue.
+     */
+    public static String getMatchmakingQueue(final String difficulty, final int tableSize) {
+        return difficulty + "-" + tableSize + getMatchmakingExtension();
+    }
+
+    /**
+     * Static method to get the number of shards of each sharding region, set with the property
+     * "game.sharding.number-of-shards" of the configuration. It should be based on the expected workload, the
+     * cluster size, the memory and the processing capacity of the shards, and it must be the same in all the nodes.
      *
+     * @param system the {@link ActorSystem} with the configuration.
      * @return the number of shards of the system.
      */
-    public static int getNumberOfShards() {
-        return NUMBER_OF_SHARDS;
+    public static int getNumberOfShards(final ActorSystem system) {
+        return system.settings().config().getInt("game.sharding.number-of-shards");
+    }
+
+    /**
+     * Static method to know if the cards played in a turn are sent all together at the end of the turn, with a
+     * single summary sent to the other players, instead of one message for each card; it's set with the property
+     * "game.batch-turns" of the configuration.
+     *
+     * @param system the {@link ActorSystem} with the configuration.
+     * @return true if the turns are batched, false otherwise.
+     */
+    public static boolean isTurnBatchingEnabled(final ActorSystem system) {
+        return system.settings().config().getBoolean("game.batch-turns");
+    }
+
+    /**
+     * Static method to know how many events a {@link sd.Akka.Actor.GameStateActor} saves between two snapshots of its
+     * state; it's set with the property "game.persistence.snapshot-every" of the configuration.
+     *
+     * @param system the {@link ActorSystem} with the configuration.
+     * @return the number of events between two snapshots.
+     */
+    public static int getSnapshotInterval(final ActorSystem system) {
+        return system.settings().config().getInt("game.persistence.snapshot-every");
+    }
+
+    /**
+     * Static method to get the time a player has to play his turn; it's set with the property "game.turn-timer.timeout"
+     * of the configuration.
+     *
+     * @param system the {@link ActorSystem} with the configuration.
+     * @return the {@link Duration} of a turn, zero if the turns have no deadline.
+     */
+    public static Duration getTurnTimeout(final ActorSystem system) {
+        return system.settings().config().getDuration("game.turn-timer.timeout");
+    }
+
+    /**
+     * Static method to know what happens when a turn expires; it's set with the property "game.turn-timer.on-expiry"
+     * of the configuration, "end-turn" or "game-over".
+     *
+     * @param system the {@link ActorSystem} with the configuration.
+     * @return true if the game is lost, false if the turn passes to the next player.
+     * @throws IllegalArgumentException if the property has another value.
+     */
+    public static boolean isGameOverOnTurnExpiry(final ActorSystem system) {
+        String onExpiry = system.settings().config().getString("game.turn-timer.on-expiry");
+        return switch (onExpiry) {
+            case "end-turn" -> false;
+            case "game-over" -> true;
+            default -> throw new IllegalArgumentException("Invalid game.turn-timer.on-expiry: " + onExpiry);
+        };
+    }
+
+    /**
+     * Static method to know if a bot plays for the players who can't be reached during a game; it's set with the
+     * property "game.bots.enabled" of the configuration.
+     *
+     * @param system the {@link ActorSystem} with the configuration.
+     * @return true if the bots take the place of the players, false otherwise.
+     */
+    public static boolean isBotTakeoverEnabled(final ActorSystem system) {
+        return system.settings().config().getBoolean("game.bots.enabled");
+    }
+
+    /**
+     * Static method to create the {@link Policy} used by the bots; it's set with the property "game.bots.policy" of the
+     * configuration, with the names of {@link PolicyType}.
+     *
+     * @param system the {@link ActorSystem} with the configuration.
+     * @return a new {@link Policy}.
+     */
+    public static Policy getBotPolicy(final ActorSystem system) {
+        return PolicyType.fromString(system.settings().config().getString("game.bots.policy")).create();
+    }
+
+    /**
+     * Static method to get the time between two moves of a bot; it's set with the property "game.bots.move-delay" of
+     * the configuration.
+     *
+     * @param system the {@link ActorSystem} with the configuration.
+     * @return the {@link Duration} between two moves.
+     */
+    public static Duration getBotMoveDelay(final ActorSystem system) {
+        return system.settings().config().getDuration("game.bots.move-delay");
     }
 
     /**
@@ -0,0 +1,89 @@
+package sd.Utils;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Utility class with the counters of the entities of the sharding regions started and stopped in this node, for each
+ * type of entity; the entities update them when they start and stop, and the {@link sd.Akka.Actor.ClusterListener}
+ * logs them periodically. It contains only static methods because the counters are shared by all the actors of the
+ * node.
+ */
+public class EntityMetrics {
+
+    private static final Map<String, Counters> COUNTERS = new ConcurrentHashMap<>();
+
+    /**
+     * Count an entity started, or started again after it was stopped.
+     *
+     * @param type the type of the entity.
+     */
+    public static void started(final String type) {
+        countersOf(type).started.increment();
+    }
+
+    /**
+     * Count an entity stopped, because it was idle, because of the limit of the active entities or because it has
+     * finished its work.
+     *
+     * @param type the type of the entity.
+     */
+    public static void stopped(final String type) {
+        countersOf(type).stopped.increment();
+    }
+
+    /**
+     * Count an entity that asked to be stopped because it has finished its work, for example at the end of a game.
+     *
+     * @param type the type of the entity.
+     */
+    public static void finished(final String type) {
+        countersOf(type).finished.increment();
+    }
+
+    /**
+     * Count the entities of a type active in this node.
+     *
+     * @param type the type of the entity.
+     * @return the number of entities started and not stopped yet.
+     */
+    public static long active(final String type) {
+        Counters counters = countersOf(type);
+        return counters.started.sum() - counters.stopped.sum();
+    }
+
+    /**
+     * Describe the counters of all the types of entities.
+     *
+     * @return a {@link String} with a line for each type, ordered by type.
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder();
+        new TreeMap<>(COUNTERS).forEach((type, counters) -> report.append(String.format(
+                "%n%s: %d active, %d started, %d stopped (%d finished)", type,
+                counters.started.sum() - counters.stopped.sum(), counters.started.sum(), counters.stopped.sum(),
+                counters.finished.sum())));
+        return report.toString();
+    }
+
+    /**
+     * Get the counters of a type of entity, creating them the first time.
+     *
+     * @param type the type of the entity.
+     * @return the {@link Counters} of the type.
+     */
+    private static Counters countersOf(final String type) {
+        return COUNTERS.computeIfAbsent(type, t -> new Counters());
+    }
+
+    /**
+     * The counters of a type of entity.
+     */
+    private static final class Counters {
+        private final LongAdder started = new LongAdder();
+        private final LongAdder stopped = new LongAdder();
+        private final LongAdder finished = new LongAdder();
+    }
+}
@@ -0,0 +1,74 @@
+package sd.Utils;
+
+import akka.actor.AbstractExtensionId;
+import akka.actor.ActorSystem;
+import akka.actor.ExtendedActorSystem;
+import akka.actor.Extension;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The games in progress in a node with their shard; the {@link sd.Akka.Actor.GameStateActor} register their games and
+ * the {@link sd.Akka.Actor.PlacementActor} sends them to the {@link sd.Akka.GameShardAllocationStrategy}, that never
+ * moves the shards with games in progress and puts the new shards in the nodes with fewer games. It's an extension of
+ * the {@link ActorSystem}, so each system of the JVM has its own games and they go away with it.
+ */
+public final class GamePlacement implements Extension {
+
+    private static final Id ID = new Id();
+
+    private final Map<String, String> games = new ConcurrentHashMap<>(); // id of a game and id of its shard
+
+    /**
+     * Get the games of a node.
+     *
+     * @param system the {@link ActorSystem} of the node.
+     * @return the {@link GamePlacement} of the system.
+     */
+    public static GamePlacement get(final ActorSystem system) {
+        return ID.get(system);
+    }
+
+    /**
+     * Register a game in progress; registering it again does nothing.
+     *
+     * @param gameId the id of the game.
+     * @param shardId the id of the shard of the game.
+     */
+    public void register(final String gameId, final String shardId) {
+        games.put(gameId, shardId);
+    }
+
+    /**
+     * Remove a game when it ends or its actor stops.
+     *
+     * @param gameId the id of the game.
+     */
+    public void unregister(final String gameId) {
+        games.remove(gameId);
+    }
+
+    /**
+     * Count the games in progress of each shard.
+     *
+     * @return a {@link Map} with the id of each shard with games and their number.
+     */
+    public Map<String, Integer> gamesPerShard() {
+        Map<String, Integer> shards = new HashMap<>();
+        games.values().forEach(shardId -> shards.merge(shardId, 1, Integer::sum));
+        return shards;
+    }
+
+    /**
+     * The id of the extension, that creates a {@link GamePlacement} for each {@link ActorSystem}.
+     */
+    private static final class Id extends AbstractExtensionId<GamePlacement> {
+
+        @Override
+        public GamePlacement createExtension(final ExtendedActorSystem system) {
+            return new GamePlacement();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package sd.Utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/**
+ * The queue of the players waiting for a game with the same difficulty and number of players: they are matched in the
+ * order they arrived, as many tables as possible at each call of {@link #match(long, LongConsumer)}. Adding and
+ * removing a player cost O(1), also when he's removed by reference thanks to an index of the names of each reference,
+ * so a queue can take thousands of players per second.
+ *
+ * @param <T> the type of the reference used to reach a player.
+ */
+public class MatchQueue<T> {
+
+    private final int tableSize;
+    private final Map<String, Waiting<T>> players = new LinkedHashMap<>(); // name of the player, in arrival order
+    private final Map<T, Set<String>> namesOf = new HashMap<>(); // reference and the names of its players in the queue
+
+    /**
+     * Create an empty queue.
+     *
+     * @param tableSize the number of players of each game.
+     * @throws IllegalArgumentException if the size isn't positive.
+     */
+    public MatchQueue(final int tableSize) {
+        if (tableSize <= 0) {
+            throw new IllegalArgumentException("Invalid table size: " + tableSize);
+        }
+        this.tableSize = tableSize;
+    }
+
+    /**
+     * Add a player at the end of the queue; if he is already waiting he keeps his place, with the new reference.
+     *
+     * @param name the name of the player.
+     * @param ref the reference of the player.
+     * @param enqueuedAt the time in nanoseconds when the player arrived.
+     */
+    public void add(final String name, final T ref, final long enqueuedAt) {
+        Waiting<T> waiting = players.get(name);
+        if (waiting != null) {
+            unindex(name, waiting.ref);
+        }
+        players.put(name, new Waiting<>(ref, waiting == null ? enqueuedAt : waiting.enqueuedAt));
+        namesOf.computeIfAbsent(ref, key -> new HashSet<>()).add(name);
+    }
+
+    /**
+     * Remove a player from the queue, if he is in it.
+     *
+     * @param name the name of the player.
+     */
+    public void remove(final String name) {
+        Waiting<T> waiting = players.remove(name);
+        if (waiting != null) {
+            unindex(name, waiting.ref);
+        }
+    }
+
+    /**
+     * Remove all the players with a reference, for example because it was stopped; it costs O(1) for each of them.
+     *
+     * @param ref the reference of the players.
+     */
+    public void removeRef(final T ref) {
+        Set<String> names = namesOf.remove(ref);
+        if (names != null) {
+            names.forEach(players::remove);
+        }
+    }
+
+    /**
+     * Check if some players with a reference are waiting.
+     *
+     * @param ref the reference of the players.
+     * @return true if at least a player in the queue has this reference.
+     */
+    public boolean hasRef(final T ref) {
+        return namesOf.containsKey(ref);
+    }
+
+    /**
+     * Count the players waiting.
+     *
+     * @return the number of players in the queue.
+     */
+    public int size() {
+        return players.size();
+    }
+
+    /**
+     * Take from the queue the players of as many tables as possible, in arrival order; the others keep waiting.
+     *
+     * @param now the time in nanoseconds of the match, to compute how long each player waited.
+     * @param onMatched called with how long each matched player waited, in nanoseconds.
+     * @return a {@link List} with the tables, each a {@link LinkedHashMap} with the names of the players and their
+     *         references in arrival order.
+     */
+    public List<LinkedHashMap<String, T>> match(final long now, final LongConsumer onMatched) {
+        List<LinkedHashMap<String, T>> tables = new ArrayList<>();
+        Iterator<Map.Entry<String, Waiting<T>>> iterator = players.entrySet().iterator();
+        for (int remaining = players.size() / tableSize; remaining > 0; remaining--) {
+            LinkedHashMap<String, T> table = new LinkedHashMap<>();
+            for (int i = 0; i < tableSize; i++) {
+                Map.Entry<String, Waiting<T>> next = iterator.next();
+                table.put(next.getKey(), next.getValue().ref);
+                onMatched.accept(now - next.getValue().enqueuedAt);
+                unindex(next.getKey(), next.getValue().ref);
+                iterator.remove();
+            }
+            tables.add(table);
+        }
+        return tables;
+    }
+
+    /**
+     * Remove a player from the names of his reference, and the reference from the index if it has no more players.
+     *
+     * @param name the name of the player.
+     * @param ref the reference of the player.
+     */
+    private void unindex(final String name, final T ref) {
+        Set<String> names = namesOf.get(ref);
+        names.remove(name);
+        if (names.isEmpty()) {
+            namesOf.remove(ref);
+        }
+    }
+
+    /**
+     * A player in the queue.
+     *
+     * @param <T> the type of the reference of the player.
+     */
+    private static final class Waiting<T> {
+
+        private final T ref;
+        private final long enqueuedAt;
+
+        /**
+         * Create a player in the queue.
+         *
+         * @param ref the reference of the player.
+         * @param enqueuedAt the time in nanoseconds when the player arrived.
+         */
+        Waiting(final T ref, final long enqueuedAt) {
+            this.ref = ref;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
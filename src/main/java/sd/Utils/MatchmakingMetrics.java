@@ -0,0 +1,60 @@
+package sd.Utils;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Utility class with the metrics of the matchmaking queues of this node: how many players are waiting in each queue
+ * and how long the matched players waited; the {@link sd.Akka.Actor.MatchmakingActor}s update them and the
+ * {@link sd.Akka.Actor.ClusterListener} logs them periodically. It contains only static methods because the metrics
+ * are shared by all the actors of the node.
+ */
+public class MatchmakingMetrics {
+
+    private static final Map<String, Integer> QUEUE_DEPTH = new ConcurrentHashMap<>();
+    private static final LongAdder MATCHED = new LongAdder();
+    private static final LongAdder WAIT_NANOS = new LongAdder();
+    private static final LongAccumulator MAX_WAIT_NANOS = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Set the number of players waiting in a queue.
+     *
+     * @param queue the name of the queue.
+     * @param depth the number of players in it, 0 removes the queue from the metrics.
+     */
+    public static void queueDepth(final String queue, final int depth) {
+        if (depth == 0) {
+            QUEUE_DEPTH.remove(queue);
+        } else {
+            QUEUE_DEPTH.put(queue, depth);
+        }
+    }
+
+    /**
+     * Count a player matched with others.
+     *
+     * @param waitNanos how long the player waited in the queue, in nanoseconds.
+     */
+    public static void matched(final long waitNanos) {
+        MATCHED.increment();
+        WAIT_NANOS.add(waitNanos);
+        MAX_WAIT_NANOS.accumulate(waitNanos);
+    }
+
+    /**
+     * Describe the depth of the queues and the time to match since the last report, starting a new interval.
+     *
+     * @return a {@link String} with a line for the queues and one for the players matched.
+     */
+    public static String report() {
+        long matched = MATCHED.sumThenReset();
+        long waitMillis = TimeUnit.NANOSECONDS.toMillis(WAIT_NANOS.sumThenReset());
+        long maxWaitMillis = TimeUnit.NANOSECONDS.toMillis(MAX_WAIT_NANOS.getThenReset());
+        return String.format("%nQueues: %s%nMatched players: %d, average wait %d ms, max wait %d ms",
+                new TreeMap<>(QUEUE_DEPTH), matched, matched == 0 ? 0 : waitMillis / matched, maxWaitMillis);
+    }
+}
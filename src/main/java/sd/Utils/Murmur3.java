@@ -0,0 +1,91 @@
+package sd.Utils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Utility class with the 32 bits version of the MurmurHash3 function, used to spread the entities over the shards: the
+ * ids of the entities differ only in few characters, like the names of the players with the same extension, and
+ * {@link String#hashCode()} maps them to near values, while MurmurHash3 mixes all their bits.
+ */
+public class Murmur3 {
+
+    private static final int C1 = 0xcc9e2d51;
+    private static final int C2 = 0x1b873593;
+    private static final int R1 = 15;
+    private static final int R2 = 13;
+    private static final int M = 5;
+    private static final int N = 0xe6546b64;
+    private static final int BLOCK = Integer.BYTES;
+
+    /**
+     * Compute the hash of the UTF-8 bytes of a string with seed 0.
+     *
+     * @param value the {@link String} to hash.
+     * @return the hash.
+     */
+    public static int hash32(final String value) {
+        return hash32(value.getBytes(StandardCharsets.UTF_8), 0);
+    }
+
+    /**
+     * Compute the hash of an array of bytes.
+     *
+     * @param data the bytes to hash.
+     * @param seed the seed of the hash.
+     * @return the hash.
+     */
+    @SuppressWarnings("fallthrough") // the tail of the data is mixed falling through the cases, as in the reference
+    public static int hash32(final byte[] data, final int seed) {
+        int hash = seed;
+        int blocks = data.length / BLOCK * BLOCK;
+        for (int i = 0; i < blocks; i += BLOCK) {
+            int k = data[i] & 0xff | (data[i + 1] & 0xff) << 8 | (data[i + 2] & 0xff) << 16
+                    | (data[i + 3] & 0xff) << 24;
+            hash ^= mixK(k);
+            hash = Integer.rotateLeft(hash, R2) * M + N;
+        }
+        int k = 0;
+        switch (data.length - blocks) { // the remaining bytes, in little-endian order
+            case 3:
+                k ^= (data[blocks + 2] & 0xff) << 16;
+                // fall through
+            case 2:
+                k ^= (data[blocks + 1] & 0xff) << 8;
+                // fall through
+            case 1:
+                k ^= data[blocks] & 0xff;
+                hash ^= mixK(k);
+                // fall through
+            default:
+                break;
+        }
+        hash ^= data.length;
+        return finalMix(hash);
+    }
+
+    /**
+     * Mix a block of 4 bytes.
+     *
+     * @param k the block.
+     * @return the mixed block.
+     */
+    private static int mixK(final int k) {
+        return Integer.rotateLeft(k * C1, R1) * C2;
+    }
+
+    /**
+     * Mix the bits of the hash so that each bit of the input changes about half of the bits of the result.
+     *
+     * @param hash the hash to mix.
+     * @return the mixed hash.
+     */
+    private static int finalMix(final int hash) {
+        int h = hash;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
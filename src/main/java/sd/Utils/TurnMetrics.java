@@ -0,0 +1,45 @@
+package sd.Utils;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Utility class with the metrics of the turns of the games of this node that expired because the player didn't finish
+ * them in time and of the players replaced by a bot; the {@link sd.Akka.Actor.GameStateActor}s update them and the
+ * {@link sd.Akka.Actor.ClusterListener} logs them periodically. It contains only static methods because the metrics
+ * are shared by all the actors of the node.
+ */
+public class TurnMetrics {
+
+    private static final LongAdder EXPIRED = new LongAdder();
+    private static final LongAdder GAMES_LOST = new LongAdder();
+    private static final LongAdder TAKEN_OVER = new LongAdder();
+
+    /**
+     * Count a turn expired.
+     *
+     * @param gameOver true if the game was lost because of it, false if the turn passed to the next player.
+     */
+    public static void expired(final boolean gameOver) {
+        EXPIRED.increment();
+        if (gameOver) {
+            GAMES_LOST.increment();
+        }
+    }
+
+    /**
+     * Count a player replaced by a bot because he can't be reached or his actor stopped.
+     */
+    public static void takenOver() {
+        TAKEN_OVER.increment();
+    }
+
+    /**
+     * Describe the turns expired and the players replaced since the last report, starting a new interval.
+     *
+     * @return a {@link String} with a line for the expired turns and one for the bots.
+     */
+    public static String report() {
+        return String.format("%nExpired turns: %d, games lost because of them %d%nPlayers replaced by a bot: %d",
+                EXPIRED.sumThenReset(), GAMES_LOST.sumThenReset(), TAKEN_OVER.sumThenReset());
+    }
+}
@@ -49,8 +49,37 @@ public interface GameGUI {
      */
     void updateAfterPlayerMove(String playerName, int cardValue, int deckNumber);
 
+    /**
+     * Show again the hand and the decks after some moves refused by the {@link sd.Akka.Actor.GameStateActor},
+     * cancelling the cards played in the GUI.
+     *
+     * @param moves the number of refused cards.
+     * @param hand a {@link List} with the values of the cards in the hand of the player.
+     * @param lastCards the values of the cards on top of the decks, ordered by deck number.
+     */
+    void undoMoves(int moves, List<Integer> hand, int[] lastCards);
+
+    /**
+     * Show the decks of a game in progress that the player joined again, with the cards he already played in his turn.
+     *
+     * @param lastCards the values of the cards on top of the decks, ordered by deck number.
+     * @param cardsPlayedThisTurn the number of cards already played in the turn of the player, 0 if it isn't his turn.
+     */
+    void resume(int[] lastCards, int cardsPlayedThisTurn);
+
+    /**
+     * Disable the decks and the done button at the end of the turn of the player, also when it wasn't ended by him
+     * because it expired.
+     */
+    void turnEnded();
+
     /**
      * Show a dialog with the Game Over.
      */
     void comunicateGameOver();
+
+    /**
+     * Show a dialog with the win.
+     */
+    void comunicateWin();
 }
@@ -1,5 +1,7 @@
 package sd.View;
 
+import java.util.LinkedHashMap;
+
 /**
  * Defines the executable operations in the GUI where the player chose how to play the game.
  */
@@ -9,4 +11,21 @@ public interface InitialGUI {
      * Create and display the initial GUI of the game.
      */
     void create();
+
+    /**
+     * Show the games that can be joined.
+     *
+     * @param openGames a {@link LinkedHashMap} with the name of the host of each game and its description.
+     */
+    void updateOpenGames(LinkedHashMap<String, String> openGames);
+
+    /**
+     * Close the initial GUI after the player returned to his game.
+     */
+    void dispose();
+
+    /**
+     * Say that the game can't be joined again, because it isn't in progress or the player isn't in it.
+     */
+    void showRejoinRefused();
 }
@@ -4,7 +4,6 @@ import sd.Controller.GameController;
 import sd.Utils.ResourceManager;
 import sd.Utils.ScreenAdapter;
 
-import javax.swing.AbstractButton;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.ButtonGroup;
@@ -116,11 +115,47 @@ public class SimpleGameGUI implements GameGUI {
     public void updateAfterPlayerMove(final String playerName, final int cardValue, final int deckNumber) {
         updatePlayersInfo();
         decks.get(deckNumber).setText(String.valueOf(cardValue));
-        if (controller.isWin()) {
-            handleFinish("Vittoria!", "Complimenti, hai vinto! \nVuoi fare una rivincita?");
+    }
+
+    @Override
+    public void undoMoves(final int moves, final List<Integer> hand, final int[] lastCards) {
+        cardPlayedThisTurn = Math.max(0, cardPlayedThisTurn - moves);
+        clearAndSetHand(hand);
+        for (int i = 0; i < decks.size(); i++) {
+            decks.get(i).setText(String.valueOf(lastCards[i]));
+        }
+        decks.forEach(deck -> deck.setEnabled(false));
+        if (!controller.canFinishTurn(cardPlayedThisTurn)) {
+            done.setEnabled(false);
+            done.setBackground(Color.lightGray);
         }
     }
 
+    @Override
+    public void resume(final int[] lastCards, final int cardsPlayedThisTurn) {
+        cardPlayedThisTurn = cardsPlayedThisTurn;
+        for (int i = 0; i < decks.size(); i++) {
+            decks.get(i).setText(String.valueOf(lastCards[i]));
+        }
+        if (cardPlayedThisTurn > 0 && controller.canFinishTurn(cardPlayedThisTurn)) {
+            done.setEnabled(true);
+            done.setBackground(Color.green);
+        }
+    }
+
+    @Override
+    public void turnEnded() {
+        cardPlayedThisTurn = 0;
+        done.setEnabled(false);
+        done.setBackground(Color.lightGray);
+        decks.forEach(deck -> deck.setEnabled(false));
+    }
+
+    @Override
+    public void comunicateWin() {
+        handleFinish("Vittoria!", "Complimenti, hai vinto! \nVuoi fare una rivincita?");
+    }
+
     @Override
     public void comunicateGameOver() {
         handleFinish("Game Over!",
@@ -172,24 +207,16 @@ public class SimpleGameGUI implements GameGUI {
      * @param cardValue the value of the card selected.
      */
     private void enableValidDecks(final int cardValue) {
-        List.of(0, 1).forEach(n -> decks.get(n).setEnabled(controller.isAscValid(btnVal(decks.get(n)), cardValue)));
-        List.of(2, 3).forEach(n -> decks.get(n).setEnabled(controller.isDescValid(btnVal(decks.get(n)), cardValue)));
-    }
-
-    /**
-     * Abbreviation to get the int value of a button.
-     *
-     * @param deck the button with the value to extract.
-     * @return the int value.
-     */
-    private int btnVal(final AbstractButton deck) {
-        return Integer.parseInt(deck.getText());
+        int validDecks = controller.validDecks(cardValue);
+        for (int i = 0; i < decks.size(); i++) {
+            decks.get(i).setEnabled((validDecks >> i & 1) != 0);
+        }
     }
 
     /**
-     * Defines the behaviour of a deck button: removes the played card, updates the value of the deck, updates the info
-     * and check if the game is finished. It also comunicate to the controller that the other player have to be
-     * informed about the played card.
+     * Defines the behaviour of a deck button: removes the played card and updates the value of the deck. It also
+     * comunicate to the controller the played card, that will be checked by the
+     * {@link sd.Akka.Actor.GameStateActor} and then shown to the other players.
      *
      * @param deck the button of the deck.
      * @param deckNumber the number of the deck where the card was played to comunicate to the other players.
@@ -208,15 +235,13 @@ public class SimpleGameGUI implements GameGUI {
             if (controller.canFinishTurn(++cardPlayedThisTurn)) {
                 done.setEnabled(true);
                 done.setBackground(Color.green);
-            }
-            updatePlayersInfo();
-            checkIfIsFinished();
+            } // the info and the end of the game are updated when the GameStateActor accepts the move
         };
     }
 
     /**
-     * Defines the behaviour of the done button: it disables itself, draws and sets the new cards, updates the info,
-     * checks if the game is finished and ends the turn of the player.
+     * Defines the behaviour of the done button: it disables itself and the cards and ends the turn of the player; the
+     * new cards will arrive from the {@link sd.Akka.Actor.GameStateActor} that makes the player draw.
      *
      * @return an {@link ActionListener} with the actions performed by the done button when pressed.
      */
@@ -225,37 +250,13 @@ public class SimpleGameGUI implements GameGUI {
             done.setEnabled(false);
             done.setBackground(Color.lightGray);
 
-            clearAndSetHand(controller.draw(playerName));
-            south.updateUI();
-            remainingCards.set(controller.countMainDeckCards());
-            deckLabel.setText(DEFAULT_DECK_TEXT + remainingCards.get());
-            updatePlayersInfo();
-
-            checkIfIsFinished();
             cardPlayedThisTurn = 0;
             decks.forEach(deck -> deck.setEnabled(false)); // needed because can select a card and then press "done"
-            if (playerNames.size() > 1) {
-                setCardsEnabled(false);
-            }
+            setCardsEnabled(false); // until the new hand arrives, even if the player is alone
             controller.endOfTurn();
         };
     }
 
-    /**
-     * Check if the game is finished with a win if all the cards are played or if there is a game over.
-     */
-    private void checkIfIsFinished() {
-        if (controller.isWin()) {
-            handleFinish("Vittoria!", "Complimenti, hai vinto! \nVuoi fare una rivincita?");
-            return;
-        }
-        if (cards.isEmpty() || controller.canFinishTurn(cardPlayedThisTurn)
-                || controller.checkIfValidMoveExist(playerName)) {
-            return;
-        }
-        controller.notifyGameOverToOthers();
-    }
-
     /**
      * Display a dialog at the end of the match that gives the possibility to make a rematch or quit the game.
      *
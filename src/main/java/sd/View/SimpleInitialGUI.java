@@ -4,6 +4,7 @@ import sd.Akka.Actor.PlayerActor;
 import sd.Akka.Actor.WaitingRoomActor;
 import sd.Controller.InitialController;
 import sd.Model.Difficulty;
+import sd.Model.GameRules;
 import sd.Utils.ScreenAdapter;
 
 import javax.swing.BoxLayout;
@@ -14,14 +15,19 @@ import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
 import javax.swing.WindowConstants;
 import javax.swing.border.EmptyBorder;
 import java.awt.BorderLayout;
 import java.awt.Component;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 
 /**
  * An implementation of {@link InitialGUI} used to create and display a GUI where the user can insert his name, create
- * a new game or insert the name of a friend and partecipate to his game.
+ * a new game, insert the name of a friend and partecipate to his game or watch it, return to a game in progress, or
+ * search a game with other players.
  */
 public class SimpleInitialGUI implements InitialGUI {
 
@@ -30,8 +36,15 @@ public class SimpleInitialGUI implements InitialGUI {
     private final JTextField name;
     private final JTextField friend;
     private final JButton joinButton;
+    private final JButton watchButton;
+    private final JButton rejoinButton;
     private final JButton createButton;
     private final JComboBox<String> combo;
+    private final JComboBox<String> openGames;
+    private final JButton refreshButton;
+    private final JComboBox<Integer> tableSize;
+    private final JButton searchButton;
+    private final List<String> openGamesHosts = new ArrayList<>(); // in the same order of the combo
     private static final int TEXT_SPACE = 20;
     private static final int GAP = 20;
 
@@ -46,11 +59,20 @@ public class SimpleInitialGUI implements InitialGUI {
         this.name = new JTextField(TEXT_SPACE);
         this.friend = new JTextField(TEXT_SPACE);
         this.joinButton = new JButton("Unisciti");
+        this.watchButton = new JButton("Guarda");
+        this.rejoinButton = new JButton("Rientra");
         this.createButton = new JButton("Crea");
         String[] options = {
                 Difficulty.NORMAL.toString(), Difficulty.DIFFICULT.toString(), Difficulty.IMPOSSIBLE.toString()
         };
         combo = new JComboBox<>(options);
+        openGames = new JComboBox<>();
+        refreshButton = new JButton("Aggiorna");
+        tableSize = new JComboBox<>();
+        for (int players = 1; players <= GameRules.getMaxPlayers(); players++) {
+            tableSize.addItem(players);
+        }
+        searchButton = new JButton("Cerca");
     }
 
     @Override
@@ -78,9 +100,18 @@ public class SimpleInitialGUI implements InitialGUI {
         JPanel textAndButtonPanel = new JPanel();
         textAndButtonPanel.add(friend);
         textAndButtonPanel.add(joinButton);
+        textAndButtonPanel.add(watchButton);
+        textAndButtonPanel.add(rejoinButton);
         joinPanel.add(textAndButtonPanel);
         center.add(joinPanel);
 
+        // list of the open games
+        JPanel openGamesPanel = new JPanel();
+        openGamesPanel.add(new JLabel("Partite aperte:"));
+        openGamesPanel.add(openGames);
+        openGamesPanel.add(refreshButton);
+        center.add(openGamesPanel);
+
         // "or" component
         JLabel orLabel = new JLabel("Oppure");
         orLabel.setBorder(new EmptyBorder(GAP, 0, GAP * 2, 0));
@@ -93,6 +124,13 @@ public class SimpleInitialGUI implements InitialGUI {
         createPanel.add(combo);
         createPanel.add(createButton);
         center.add(createPanel);
+
+        // "search" components, with the difficulty chosen for a new game
+        JPanel searchPanel = new JPanel();
+        searchPanel.add(new JLabel("Cerca una partita di questa difficolta' con giocatori:"));
+        searchPanel.add(tableSize);
+        searchPanel.add(searchButton);
+        center.add(searchPanel);
         center.updateUI();
 
         // join an existing game
@@ -108,6 +146,38 @@ public class SimpleInitialGUI implements InitialGUI {
             }
         });
 
+        // watch the game of another player
+        watchButton.addActionListener(actionEvent -> {
+            if (friend.getText().isEmpty()) {
+                JOptionPane.showMessageDialog(frame,
+                        "Inserisci il nome di un altro giocatore",
+                        "Giocatore non trovato", JOptionPane.WARNING_MESSAGE);
+            } else {
+                frame.dispose();
+                controller.spectateGame(friend.getText());
+            }
+        });
+
+        // return to a game in progress after losing it
+        rejoinButton.addActionListener(actionEvent -> {
+            if (name.getText().isEmpty()) {
+                showMissingNameDialog();
+            } else {
+                rejoinButton.setEnabled(false); // until the game answers
+                controller.rejoinGame(name.getText(), friend.getText().isEmpty() ? name.getText() : friend.getText());
+            }
+        });
+
+        // choose an open game to join it
+        openGames.addActionListener(actionEvent -> {
+            int selected = openGames.getSelectedIndex();
+            if (selected >= 0 && selected < openGamesHosts.size()) {
+                friend.setText(openGamesHosts.get(selected));
+            }
+        });
+        refreshButton.addActionListener(actionEvent -> controller.refreshOpenGames());
+        controller.refreshOpenGames();
+
         // create a new game
         createButton.addActionListener(actionEvent -> {
             if (name.getText().isEmpty()) {
@@ -116,6 +186,42 @@ public class SimpleInitialGUI implements InitialGUI {
                 createPlayerAndWaitingRoom(name.getText());
             }
         });
+
+        // search a game with other players
+        searchButton.addActionListener(actionEvent -> {
+            if (name.getText().isEmpty()) {
+                showMissingNameDialog();
+            } else {
+                frame.dispose();
+                controller.enqueuePlayer(name.getText(), String.valueOf(combo.getSelectedItem()),
+                        (Integer) tableSize.getSelectedItem());
+            }
+        });
+    }
+
+    @Override
+    public void updateOpenGames(final LinkedHashMap<String, String> games) {
+        SwingUtilities.invokeLater(() -> {
+            openGamesHosts.clear();
+            openGamesHosts.addAll(games.keySet());
+            openGames.removeAllItems();
+            games.values().forEach(openGames::addItem);
+            openGames.setSelectedIndex(-1);
+        });
+    }
+
+    @Override
+    public void dispose() {
+        SwingUtilities.invokeLater(frame::dispose);
+    }
+
+    @Override
+    public void showRejoinRefused() {
+        SwingUtilities.invokeLater(() -> {
+            rejoinButton.setEnabled(true);
+            JOptionPane.showMessageDialog(frame, "Nessuna partita in corso con questo giocatore",
+                    "Partita non trovata", JOptionPane.WARNING_MESSAGE);
+        });
     }
 
     /**
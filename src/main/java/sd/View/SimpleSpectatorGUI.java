@@ -0,0 +1,108 @@
+package sd.View;
+
+import sd.Model.GameRules;
+import sd.Utils.ResourceManager;
+import sd.Utils.ScreenAdapter;
+
+import javax.swing.Box;
+import javax.swing.BoxLayout;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingConstants;
+import javax.swing.WindowConstants;
+import javax.swing.border.EmptyBorder;
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.GridLayout;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An implementation of {@link SpectatorGUI} used to create and display a GUI where the user can see the piles and the
+ * cards of the players of a game, without playing.
+ */
+public class SimpleSpectatorGUI implements SpectatorGUI {
+
+    private static final int GAP = 20;
+    private static final String DEFAULT_DECK_TEXT = "Mazzo: ";
+
+    private final String hostName;
+    private final JFrame frame;
+    private final JLabel turnLabel;
+    private final List<JLabel> decks = new ArrayList<>();
+    private final JPanel east;
+    private final JLabel deckLabel;
+
+    /**
+     * Setup some elements of the GUI.
+     *
+     * @param hostName the name of the player who created the game.
+     */
+    public SimpleSpectatorGUI(final String hostName) {
+        this.hostName = hostName;
+        this.frame = new JFrame("The Game - partita di " + hostName);
+        this.turnLabel = new JLabel("In attesa dell'inizio della partita", SwingConstants.CENTER);
+        this.east = new JPanel();
+        this.deckLabel = new JLabel(DEFAULT_DECK_TEXT);
+    }
+
+    @Override
+    public void create() {
+        frame.setSize(ScreenAdapter.waitingGUIDimension());
+        frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+        frame.setLayout(new BorderLayout(GAP, GAP));
+
+        JPanel center = new JPanel(new GridLayout(2, GameRules.getNumberOfDecks(), GAP, GAP));
+        center.setBorder(new EmptyBorder(GAP, GAP, GAP, GAP));
+        for (int deck = 0; deck < GameRules.getNumberOfDecks(); deck++) {
+            boolean ascending = deck < GameRules.getNumberOfDecks() / 2;
+            center.add(new JLabel(ascending ? ResourceManager.getUpIcon() : ResourceManager.getDownIcon()));
+        }
+        for (int deck = 0; deck < GameRules.getNumberOfDecks(); deck++) {
+            JLabel label = new JLabel("", SwingConstants.CENTER);
+            label.setForeground(Color.RED);
+            decks.add(label);
+            center.add(label);
+        }
+
+        east.setLayout(new BoxLayout(east, BoxLayout.Y_AXIS));
+        east.setBorder(new EmptyBorder(0, 0, 0, GAP));
+        deckLabel.setForeground(Color.BLUE);
+
+        frame.add(turnLabel, BorderLayout.NORTH);
+        frame.add(center, BorderLayout.CENTER);
+        frame.add(east, BorderLayout.EAST);
+        frame.setLocationRelativeTo(null);
+        frame.setVisible(true);
+    }
+
+    @Override
+    public void update(final String currentPlayer, final int[] lastCards, final Map<String, Integer> cardsInHand,
+                       final int mainDeckCards) {
+        turnLabel.setText("Turno di " + currentPlayer);
+        for (int deck = 0; deck < decks.size(); deck++) {
+            decks.get(deck).setText(String.valueOf(lastCards[deck]));
+        }
+        east.removeAll();
+        east.add(Box.createVerticalGlue());
+        cardsInHand.forEach((player, count) -> {
+            JLabel label = new JLabel(player + " : " + count);
+            if (player.equals(hostName)) {
+                label.setForeground(Color.RED);
+            }
+            east.add(label);
+            east.add(Box.createVerticalGlue());
+        });
+        deckLabel.setText(DEFAULT_DECK_TEXT + mainDeckCards);
+        east.add(deckLabel);
+        east.add(Box.createVerticalGlue());
+        east.updateUI();
+    }
+
+    @Override
+    public void showResult(final boolean win) {
+        turnLabel.setText(win ? "Vittoria!" : "Game Over!");
+    }
+}
@@ -12,7 +12,9 @@ import javax.swing.JFrame;
 import java.awt.BorderLayout;
 import java.awt.GridLayout;
 import java.awt.Color;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * An implementation of {@link WaitingGUI} used to create and display a GUI where the user can wait the other player
@@ -27,6 +29,7 @@ public class SimpleWaitingGUI implements WaitingGUI {
     private final JButton startButton;
     private static final int GAP = 10;
     private JPanel center;
+    private final Map<String, JLabel> playerLabels = new LinkedHashMap<>(); // name of a player and his label
 
     /**
      * Setup some elements of the GUI.
@@ -73,12 +76,36 @@ public class SimpleWaitingGUI implements WaitingGUI {
     }
 
     @Override
-    public void updatePlayers(final List<String> playerNames) {
+    public void showPlayers(final List<String> playerNames) {
         center.removeAll();
-        playerNames.forEach(playerName -> center.add(new JLabel(playerName, SwingConstants.CENTER)));
+        playerLabels.clear();
+        playerNames.forEach(this::addPlayer);
         center.updateUI();
     }
 
+    @Override
+    public void updatePlayers(final List<String> joinedNames, final List<String> leftNames) {
+        for (String name : leftNames) {
+            JLabel label = playerLabels.remove(name);
+            if (label != null) {
+                center.remove(label);
+            }
+        }
+        joinedNames.forEach(this::addPlayer);
+        center.updateUI();
+    }
+
+    /**
+     * Add the label of a player at the end of the list.
+     *
+     * @param name the name of the player.
+     */
+    private void addPlayer(final String name) {
+        JLabel label = new JLabel(name, SwingConstants.CENTER);
+        playerLabels.put(name, label);
+        center.add(label);
+    }
+
     @Override
     public void dispose() {
         frame.dispose();
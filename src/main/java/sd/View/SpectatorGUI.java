@@ -0,0 +1,31 @@
+package sd.View;
+
+import java.util.Map;
+
+/**
+ * Defines the executable operations in the GUI where the user watches a game of other players.
+ */
+public interface SpectatorGUI {
+
+    /**
+     * Create and display the GUI where the user can watch the game.
+     */
+    void create();
+
+    /**
+     * Show the public state of the game.
+     *
+     * @param currentPlayer the name of the player whose turn is in progress.
+     * @param lastCards the top card of each pile.
+     * @param cardsInHand a {@link Map} with the name of each player and his number of cards.
+     * @param mainDeckCards the number of cards in the main deck.
+     */
+    void update(String currentPlayer, int[] lastCards, Map<String, Integer> cardsInHand, int mainDeckCards);
+
+    /**
+     * Show how the game ended.
+     *
+     * @param win true if all the cards were played, false if it's a Game Over.
+     */
+    void showResult(boolean win);
+}
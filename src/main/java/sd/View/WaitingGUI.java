@@ -13,11 +13,20 @@ public interface WaitingGUI {
     void create();
 
     /**
-     * Refresh the list of players' names that will play the game.
+     * Show the whole list of players' names that will play the game.
      *
      * @param playerNames the names of the players.
      */
-    void updatePlayers(List<String> playerNames);
+    void showPlayers(List<String> playerNames);
+
+    /**
+     * Refresh the list of players' names that will play the game, removing the ones who left and adding at the end the
+     * ones who joined.
+     *
+     * @param joinedNames the names of the players who joined.
+     * @param leftNames the names of the players who left.
+     */
+    void updatePlayers(List<String> joinedNames, List<String> leftNames);
 
     /**
      * Dispose the GUI.
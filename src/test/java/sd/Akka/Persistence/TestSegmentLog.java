@@ -0,0 +1,154 @@
+package sd.Akka.Persistence;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TestSegmentLog {
+
+    private static final int SEGMENT_SIZE = 256;
+    private static final String KEY = "Bob-GameState";
+    private static final String OTHER_KEY = "Bill-GameState";
+
+    /**
+     * Check that the records are read in order and in the requested range, also after opening the log again.
+     */
+    @Test
+    public void testAppendAndReopen() throws IOException {
+        Path directory = Files.createTempDirectory("journal");
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, false)) {
+            for (int i = 1; i <= 20; i++) {
+                log.append(KEY, i, new byte[] {(byte) i});
+                log.append(OTHER_KEY, i, new byte[] {(byte) -i});
+            }
+            Assertions.assertTrue(log.segments() > 1);
+        }
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, false)) {
+            Assertions.assertEquals(20, log.highestSequenceNumber(KEY));
+            Assertions.assertEquals(0, log.highestSequenceNumber("Alice-GameState"));
+            List<Long> read = new ArrayList<>();
+            log.read(KEY, 5, 15, 3, (data, sequenceNumber) -> {
+                Assertions.assertEquals(sequenceNumber, data[0]);
+                read.add(sequenceNumber);
+            });
+            Assertions.assertEquals(List.of(5L, 6L, 7L), read);
+            Assertions.assertEquals(-20, log.read(OTHER_KEY, 20)[0]);
+            log.append(KEY, 21, new byte[] {21});
+            Assertions.assertEquals(21, log.sequenceNumbers(KEY).last());
+        }
+    }
+
+    /**
+     * Check that the deleted records aren't read anymore, also after opening the log again, and that the segments
+     * without records in use are removed.
+     */
+    @Test
+    public void testDelete() throws IOException {
+        Path directory = Files.createTempDirectory("journal");
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, true)) {
+            for (int i = 1; i <= 30; i++) {
+                log.append(KEY, i, new byte[8]);
+            }
+            int segments = log.segments();
+            log.deleteTo(KEY, 25);
+            log.delete(KEY, 27);
+            Assertions.assertTrue(log.segments() < segments);
+            Assertions.assertNull(log.read(KEY, 27));
+        }
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, false)) {
+            Assertions.assertEquals(List.of(26L, 28L, 29L, 30L), new ArrayList<>(log.sequenceNumbers(KEY)));
+            Assertions.assertEquals(30, log.highestSequenceNumber(KEY));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> log.append(KEY, 31, new byte[SEGMENT_SIZE]));
+        }
+    }
+
+    /**
+     * Check that a replay on another thread always reads the right records while the log is written and its old
+     * segments are removed, like the replays of the journal that run outside its actor: the records read are written
+     * again, so the segments with their old copies are removed during the replay.
+     */
+    @Test
+    public void testReplayWhileAppending() throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("journal");
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, false)) {
+            for (int i = 1; i <= 20; i++) {
+                log.append(KEY, i, new byte[] {(byte) i});
+            }
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            Thread replay = new Thread(() -> {
+                try {
+                    for (int round = 0; round < 20000; round++) {
+                        List<Long> read = new ArrayList<>();
+                        log.read(KEY, 1, 20, Long.MAX_VALUE, (data, sequenceNumber) -> {
+                            Assertions.assertEquals(sequenceNumber, data[0]);
+                            read.add(sequenceNumber);
+                        });
+                        Assertions.assertEquals(20, read.size());
+                    }
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            });
+            replay.start();
+            for (int i = 1; replay.isAlive(); i++) {
+                log.append(KEY, i % 20 + 1, new byte[] {(byte) (i % 20 + 1)});
+                log.append(OTHER_KEY, i, new byte[8]);
+                log.deleteTo(OTHER_KEY, i);
+            }
+            replay.join();
+            Assertions.assertNull(failure.get());
+            Assertions.assertTrue(log.segments() < 10, "segments: " + log.segments());
+        }
+    }
+
+    /**
+     * Check that a directory can't be opened by a second log while the first one uses it, and can after it's closed.
+     */
+    @Test
+    public void testLock() throws IOException {
+        Path directory = Files.createTempDirectory("journal");
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, false)) {
+            log.append(KEY, 1, new byte[] {1});
+            Assertions.assertThrows(IllegalStateException.class, () -> new SegmentLog(directory, SEGMENT_SIZE, false));
+        }
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, false)) {
+            Assertions.assertEquals(1, log.highestSequenceNumber(KEY));
+        }
+    }
+
+    /**
+     * Check that a log that follows a directory reads the records appended and deleted by its writer only after a
+     * refresh, forgets the segments the writer removed, and can't write.
+     */
+    @Test
+    public void testFollow() throws IOException {
+        Path directory = Files.createTempDirectory("journal");
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, false)) {
+            log.append(KEY, 1, new byte[] {1});
+            try (SegmentLog follower = SegmentLog.follow(directory, SEGMENT_SIZE)) {
+                Assertions.assertEquals(1, follower.read(KEY, 1)[0]);
+                for (int i = 2; i <= 30; i++) {
+                    log.append(KEY, i, new byte[] {(byte) i});
+                }
+                Assertions.assertEquals(1, follower.highestSequenceNumber(KEY));
+                follower.refresh();
+                Assertions.assertEquals(30, follower.highestSequenceNumber(KEY));
+                Assertions.assertEquals(30, follower.read(KEY, 30)[0]);
+
+                log.deleteTo(KEY, 25);
+                follower.refresh();
+                Assertions.assertEquals(List.of(26L, 27L, 28L, 29L, 30L),
+                        new ArrayList<>(follower.sequenceNumbers(KEY)));
+                Assertions.assertEquals(25, follower.deletedTo(KEY));
+                Assertions.assertTrue(follower.segments() <= log.segments() + 1);
+                Assertions.assertThrows(IllegalStateException.class, () -> follower.append(KEY, 31, new byte[1]));
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package sd.Akka.Persistence;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestSharedSegmentLog {
+
+    private static final int SEGMENT_SIZE = 256;
+    private static final String KEY = "Bob-GameState";
+
+    /**
+     * Check that a node reads the records written by a running node after a refresh, with its own records in place of
+     * the ones with the same sequence number, and without the ones deleted by the other node.
+     */
+    @Test
+    public void testFollow() throws IOException {
+        Path root = Files.createTempDirectory("shared");
+        try (SharedSegmentLog first = new SharedSegmentLog(root, "first", SEGMENT_SIZE, false);
+             SharedSegmentLog second = new SharedSegmentLog(root, "second", SEGMENT_SIZE, false)) {
+            for (int i = 1; i <= 10; i++) {
+                first.append(KEY, i, new byte[] {1});
+            }
+            second.append(KEY, 10, new byte[] {2});
+            second.append(KEY, 11, new byte[] {2});
+            Assertions.assertEquals(11, second.highestSequenceNumber(KEY));
+            Assertions.assertEquals(10, first.highestSequenceNumber(KEY));
+            first.refresh();
+            second.refresh();
+            Assertions.assertEquals(11, first.highestSequenceNumber(KEY));
+
+            List<Long> read = new ArrayList<>();
+            List<Byte> writers = new ArrayList<>();
+            second.read(KEY, 8, 20, 10, (data, sequenceNumber) -> {
+                read.add(sequenceNumber);
+                writers.add(data[0]);
+            });
+            Assertions.assertEquals(List.of(8L, 9L, 10L, 11L), read);
+            Assertions.assertEquals(List.of((byte) 1, (byte) 1, (byte) 2, (byte) 2), writers);
+
+            first.deleteTo(KEY, 9);
+            second.refresh();
+            Assertions.assertEquals(List.of(10L, 11L), new ArrayList<>(second.sequenceNumbers(KEY)));
+            Assertions.assertNull(second.read(KEY, 9));
+        }
+    }
+
+    /**
+     * Check that the log of a node that stopped is adopted by another node, that deletes in it its records and removes
+     * its directory when it has no more records.
+     */
+    @Test
+    public void testAdopt() throws IOException {
+        Path root = Files.createTempDirectory("shared");
+        try (SharedSegmentLog first = new SharedSegmentLog(root, "first", SEGMENT_SIZE, false)) {
+            for (int i = 1; i <= 5; i++) {
+                first.append(KEY, i, new byte[] {(byte) i});
+            }
+        }
+        try (SharedSegmentLog second = new SharedSegmentLog(root, "second", SEGMENT_SIZE, false)) {
+            Assertions.assertEquals(5, second.highestSequenceNumber(KEY));
+            Assertions.assertEquals(3, second.read(KEY, 3)[0]);
+            second.append(KEY, 6, new byte[] {6});
+            second.delete(KEY, 2);
+            Assertions.assertNull(second.read(KEY, 2));
+            Assertions.assertThrows(IllegalStateException.class, () -> new SegmentLog(root.resolve("first"),
+                    SEGMENT_SIZE, false));
+
+            second.deleteTo(KEY, 5);
+            Assertions.assertFalse(Files.exists(root.resolve("first")));
+            Assertions.assertEquals(List.of(6L), new ArrayList<>(second.sequenceNumbers(KEY)));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package sd.Akka;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import sd.Akka.Messages.AddPlayerMsg;
+import sd.Akka.Messages.LobbyMsg;
+import sd.Akka.Messages.OpenGameMsg;
+import sd.Akka.Messages.PlayedCardMsg;
+import sd.Akka.Messages.ResumeGameMsg;
+import sd.Akka.Messages.SpectatorViewMsg;
+import sd.Akka.Messages.StandardMsg;
+import sd.Akka.Messages.UpdateWaitingRoomMsg;
+import sd.Model.CardSet;
+import sd.Model.Difficulty;
+import sd.Model.GameViewImpl;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+public class TestClientFrames {
+
+    private static final int MAX_FRAME_SIZE = 64 * 1024;
+
+    // the messages exchanged with a gateway have no ActorRef, so the serializer doesn't need an ActorSystem
+    private final MessageSerializer serializer = new MessageSerializer(null);
+
+    /**
+     * Check that the frames written by a client are decoded by the gateway in the same order, also when the TCP
+     * connection splits them in chunks of any size.
+     */
+    @Test
+    public void testSplitFrames() {
+        ClientFrames client = new ClientFrames(serializer, MAX_FRAME_SIZE);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        stream.writeBytes(client.encode(new AddPlayerMsg("Bob", "Bill")));
+        stream.writeBytes(client.encode(new PlayedCardMsg(null, "Bill", 42, 3)));
+        stream.writeBytes(client.encode(new UpdateWaitingRoomMsg("Bill", 1, List.of("Bob", "Bill"))));
+        stream.writeBytes(client.encode(new UpdateWaitingRoomMsg("Bill", 2, List.of("Ann"), List.of("Bob"))));
+        byte[] bytes = stream.toByteArray();
+
+        for (int chunk = 1; chunk <= bytes.length; chunk++) {
+            ClientFrames gateway = new ClientFrames(serializer, MAX_FRAME_SIZE);
+            List<StandardMsg> messages = new ArrayList<>();
+            for (int from = 0; from < bytes.length; from += chunk) {
+                messages.addAll(gateway.decode(ByteBuffer.wrap(Arrays.copyOfRange(bytes, from,
+                        Math.min(bytes.length, from + chunk)))));
+            }
+            Assertions.assertEquals(4, messages.size());
+            AddPlayerMsg add = (AddPlayerMsg) messages.get(0);
+            Assertions.assertEquals("Bill", add.getContent());
+            PlayedCardMsg played = (PlayedCardMsg) messages.get(1);
+            Assertions.assertEquals("Bill", played.getContent());
+            Assertions.assertEquals(42, played.getCardValue());
+            Assertions.assertEquals(3, played.getDeckNumber());
+            UpdateWaitingRoomMsg snapshot = (UpdateWaitingRoomMsg) messages.get(2);
+            Assertions.assertTrue(snapshot.isSnapshot());
+            Assertions.assertEquals(List.of("Bob", "Bill"), snapshot.getPlayerNames());
+            UpdateWaitingRoomMsg delta = (UpdateWaitingRoomMsg) messages.get(3);
+            Assertions.assertFalse(delta.isSnapshot());
+            Assertions.assertEquals(2, delta.getVersion());
+            Assertions.assertEquals(List.of("Ann"), delta.getPlayerNames());
+            Assertions.assertEquals(List.of("Bob"), delta.getLeftNames());
+        }
+    }
+
+    /**
+     * Check that the open games sent by the gateway keep their order, their difficulty and their seats, also when the
+     * difficulty isn't known.
+     */
+    @Test
+    public void testLobby() {
+        ClientFrames frames = new ClientFrames(serializer, MAX_FRAME_SIZE);
+        LobbyMsg lobby = new LobbyMsg(List.of(new OpenGameMsg("Alice", "NORMAL", 2), new OpenGameMsg("Bob", null, 1)));
+        List<StandardMsg> messages = frames.decode(ByteBuffer.wrap(frames.encode(lobby)));
+
+        List<OpenGameMsg> openGames = ((LobbyMsg) messages.get(0)).getOpenGames();
+        Assertions.assertEquals(2, openGames.size());
+        Assertions.assertEquals("Alice", openGames.get(0).getHostName());
+        Assertions.assertEquals("NORMAL", openGames.get(0).getContent());
+        Assertions.assertEquals(2, openGames.get(0).getSeatsTaken());
+        Assertions.assertEquals("Bob", openGames.get(1).getHostName());
+        Assertions.assertNull(openGames.get(1).getContent());
+        Assertions.assertEquals(1, openGames.get(1).getSeatsTaken());
+    }
+
+    /**
+     * Check that the state of a game sent to a spectator keeps the piles, the cards of the players in turn order and
+     * the result.
+     */
+    @Test
+    public void testSpectatorView() {
+        ClientFrames frames = new ClientFrames(serializer, MAX_FRAME_SIZE);
+        LinkedHashMap<String, Integer> cardsInHand = new LinkedHashMap<>();
+        cardsInHand.put("Bob", 6);
+        cardsInHand.put("Alice", 0);
+        SpectatorViewMsg view = new SpectatorViewMsg("Alice", "Bob", 1L << 40, new int[] {12, 1, 99, 80},
+                cardsInHand, 0, false, true);
+        SpectatorViewMsg read = (SpectatorViewMsg) frames.decode(ByteBuffer.wrap(frames.encode(view))).get(0);
+
+        Assertions.assertEquals("Alice", read.getHostName());
+        Assertions.assertEquals("Bob", read.getContent());
+        Assertions.assertEquals(1L << 40, read.getVersion());
+        Assertions.assertArrayEquals(new int[] {12, 1, 99, 80}, read.getLastCards());
+        Assertions.assertEquals(List.of("Bob", "Alice"), new ArrayList<>(read.getCardsInHand().keySet()));
+        Assertions.assertEquals(6, read.getCardsInHand().get("Bob"));
+        Assertions.assertEquals(0, read.getMainDeckCards());
+        Assertions.assertFalse(read.isPlaying());
+        Assertions.assertTrue(read.isWin());
+    }
+
+    /**
+     * Check that the view sent to a player who returns to his game keeps his hand, the cards of the players in turn
+     * order and the state of the turn.
+     */
+    @Test
+    public void testResumeGame() {
+        ClientFrames frames = new ClientFrames(serializer, MAX_FRAME_SIZE);
+        CardSet hand = new CardSet();
+        hand.add(7);
+        hand.add(93);
+        LinkedHashMap<String, Integer> cardsInHand = new LinkedHashMap<>();
+        cardsInHand.put("Alice", 5);
+        cardsInHand.put("Bob", 2);
+        ResumeGameMsg resume = new ResumeGameMsg("Bob", "Alice", "Bob", "Alice", new GameViewImpl("Bob",
+                Difficulty.DIFFICULT, hand, cardsInHand, 40, new int[] {12, 1, 99, 80}), Difficulty.DIFFICULT, 17, 1);
+        ResumeGameMsg read = (ResumeGameMsg) frames.decode(ByteBuffer.wrap(frames.encode(resume))).get(0);
+
+        Assertions.assertEquals("Alice", read.getContent());
+        Assertions.assertEquals("Bob", read.getCurrentPlayer());
+        Assertions.assertEquals("Alice", read.getNextPlayerName());
+        Assertions.assertEquals(Difficulty.DIFFICULT, read.getDifficulty());
+        Assertions.assertEquals(17, read.getSequenceNumber());
+        Assertions.assertEquals(1, read.getCardsPlayedThisTurn());
+        Assertions.assertEquals(List.of(7, 93), read.getGameView().getHand());
+        Assertions.assertEquals(List.of("Alice", "Bob"),
+                new ArrayList<>(read.getGameView().countPlayersCards().keySet()));
+        Assertions.assertEquals(40, read.getGameView().countMainDeckCards());
+        Assertions.assertArrayEquals(new int[] {12, 1, 99, 80}, read.getGameView().getLastCards());
+    }
+
+    /**
+     * Check that a frame bigger than the limit is refused, so a client can't make the gateway keep its data forever.
+     */
+    @Test
+    public void testInvalidFrame() {
+        ClientFrames gateway = new ClientFrames(serializer, MAX_FRAME_SIZE);
+        ByteBuffer garbage = ByteBuffer.allocate(Integer.BYTES).putInt(MAX_FRAME_SIZE + 1).flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> gateway.decode(garbage));
+    }
+}
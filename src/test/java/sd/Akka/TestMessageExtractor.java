@@ -0,0 +1,31 @@
+package sd.Akka;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import sd.Akka.Messages.AddPlayerMsg;
+import sd.Akka.Messages.DealCardsMsg;
+import sd.Akka.Messages.EndTurnMsg;
+
+import java.util.Map;
+
+public class TestMessageExtractor {
+
+    private static final int SHARDS = 100;
+    private final MessageExtractor extractor = new MessageExtractor(SHARDS);
+
+    /**
+     * Check that the waiting room and the game state of a game are in the shard with the same id.
+     */
+    @Test
+    public void testSameShardForAGame() {
+        for (String host : new String[] {"Bob", "Bill", "Alice-GameState", "Zoe"}) {
+            String shard = extractor.shardId(new AddPlayerMsg(host, "Bill"));
+            Assertions.assertEquals(host + "-WaitingRoom", extractor.entityId(new AddPlayerMsg(host, "Bill")));
+            Assertions.assertEquals(shard, extractor.shardId(new DealCardsMsg(host, "Normale", Map.of())));
+            int shardNumber = Integer.parseInt(shard);
+            Assertions.assertTrue(shardNumber >= 0 && shardNumber < SHARDS);
+        }
+        Assertions.assertNull(extractor.shardId("not a message"));
+        Assertions.assertNotNull(extractor.shardId(new EndTurnMsg("Bob-GameState", "Bob", null)));
+    }
+}
@@ -0,0 +1,363 @@
+package sd.Akka;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.ExtendedActorSystem;
+import akka.actor.Props;
+import com.typesafe.config.ConfigFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import sd.Akka.Messages.AddPlayerMsg;
+import sd.Akka.Messages.CloseGameMsg;
+import sd.Akka.Messages.CreateGameGUIMsg;
+import sd.Akka.Messages.CreateWaitingGUIMsg;
+import sd.Akka.Messages.DealCardsMsg;
+import sd.Akka.Messages.EndTurnMsg;
+import sd.Akka.Messages.EnqueueMsg;
+import sd.Akka.Messages.GameEventMsg;
+import sd.Akka.Messages.GameOverMsg;
+import sd.Akka.Messages.GameStartedMsg;
+import sd.Akka.Messages.GetLobbyMsg;
+import sd.Akka.Messages.GetPlacementMsg;
+import sd.Akka.Messages.LobbyMsg;
+import sd.Akka.Messages.MoveRejectedMsg;
+import sd.Akka.Messages.OpenGameMsg;
+import sd.Akka.Messages.PlacementMsg;
+import sd.Akka.Messages.PlayedCardMsg;
+import sd.Akka.Messages.PlayerRejoinedMsg;
+import sd.Akka.Messages.RejoinGameMsg;
+import sd.Akka.Messages.RematchMsg;
+import sd.Akka.Messages.ResumeGameMsg;
+import sd.Akka.Messages.ResyncMsg;
+import sd.Akka.Messages.SpectatorViewMsg;
+import sd.Akka.Messages.StartGameMsg;
+import sd.Akka.Messages.StartTurnMsg;
+import sd.Akka.Messages.TurnMsg;
+import sd.Akka.Messages.TurnSummaryMsg;
+import sd.Akka.Messages.UpdateWaitingRoomMsg;
+import sd.Akka.Messages.WatchGameMsg;
+import sd.Akka.Persistence.GameSnapshot;
+import sd.Model.CardSet;
+import sd.Model.Difficulty;
+import sd.Model.GameState;
+import sd.Model.GameStateImpl;
+import sd.Model.GameView;
+import sd.Model.GameViewImpl;
+import sd.Model.MoveGenerator;
+import sd.Model.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TestMessageSerializer {
+
+    private static final String HOST = "Bob";
+    private static final String PLAYER = "Bill";
+    private static final long SEED = 42;
+
+    private static ActorSystem system;
+    private static MessageSerializer serializer;
+    private static ActorRef bob;
+    private static ActorRef bill;
+
+    /**
+     * Start a local {@link ActorSystem}, needed to resolve the {@link ActorRef}s in the messages.
+     */
+    @BeforeAll
+    public static void setUp() {
+        system = ActorSystem.create("TestMessageSerializer", ConfigFactory.parseString("akka.actor.provider = local")
+                .withFallback(ConfigFactory.defaultReference()));
+        serializer = new MessageSerializer((ExtendedActorSystem) system);
+        bob = system.actorOf(Props.empty(), HOST);
+        bill = system.actorOf(Props.empty(), PLAYER);
+    }
+
+    /**
+     * Stop the {@link ActorSystem}.
+     */
+    @AfterAll
+    public static void tearDown() {
+        system.terminate();
+    }
+
+    /**
+     * Check the messages of the waiting rooms and of the lobby.
+     */
+    @Test
+    public void testWaitingRoomMessages() {
+        AddPlayerMsg add = roundTrip(new AddPlayerMsg(HOST, PLAYER, Difficulty.DIFFICULT.name()));
+        Assertions.assertEquals(new AddPlayerMsg(HOST, PLAYER).getReceiver(), add.getReceiver());
+        Assertions.assertEquals(PLAYER, add.getContent());
+        Assertions.assertEquals(Difficulty.DIFFICULT.name(), add.getDifficulty());
+
+        StartGameMsg start = roundTrip(new StartGameMsg(HOST, Difficulty.NORMAL.name()));
+        Assertions.assertEquals(new StartGameMsg(HOST, Difficulty.NORMAL.name()).getReceiver(), start.getReceiver());
+        Assertions.assertEquals(Difficulty.NORMAL.name(), start.getContent());
+
+        Assertions.assertEquals(HOST, roundTrip(new CloseGameMsg(HOST)).getReceiver());
+
+        CreateWaitingGUIMsg waitingGUI = roundTrip(new CreateWaitingGUIMsg(PLAYER, HOST,
+                Difficulty.IMPOSSIBLE.name()));
+        Assertions.assertEquals(PLAYER, waitingGUI.getReceiver());
+        Assertions.assertEquals(HOST, waitingGUI.getHostName());
+        Assertions.assertEquals(Difficulty.IMPOSSIBLE.name(), waitingGUI.getContent());
+
+        UpdateWaitingRoomMsg delta = roundTrip(new UpdateWaitingRoomMsg(PLAYER, 3, List.of("Ann"), List.of(HOST)));
+        Assertions.assertFalse(delta.isSnapshot());
+        Assertions.assertEquals(3, delta.getVersion());
+        Assertions.assertEquals(List.of("Ann"), delta.getPlayerNames());
+        Assertions.assertEquals(List.of(HOST), delta.getLeftNames());
+
+        EnqueueMsg enqueue = roundTrip(new EnqueueMsg(Difficulty.NORMAL.name(), 3, PLAYER));
+        Assertions.assertEquals(new EnqueueMsg(Difficulty.NORMAL.name(), 3, PLAYER).getReceiver(),
+                enqueue.getReceiver());
+        Assertions.assertEquals(3, enqueue.getTableSize());
+        Assertions.assertEquals(PLAYER, enqueue.getContent());
+
+        Assertions.assertInstanceOf(GetLobbyMsg.class, roundTrip(new GetLobbyMsg()));
+        OpenGameMsg openGame = roundTrip(new OpenGameMsg(HOST, Difficulty.DIFFICULT.name(), 2));
+        Assertions.assertEquals(HOST, openGame.getHostName());
+        Assertions.assertEquals(2, openGame.getSeatsTaken());
+        LobbyMsg lobby = roundTrip(new LobbyMsg(List.of(new OpenGameMsg(HOST, Difficulty.DIFFICULT.name(), 2),
+                new OpenGameMsg(PLAYER, Difficulty.DIFFICULT.name(), 1))));
+        Assertions.assertEquals(2, lobby.getOpenGames().size());
+        Assertions.assertEquals(PLAYER, lobby.getOpenGames().get(1).getHostName());
+        Assertions.assertEquals(Difficulty.DIFFICULT.name(), lobby.getOpenGames().get(1).getContent());
+    }
+
+    /**
+     * Check the messages that start a game, with the {@link ActorRef}s of the players.
+     */
+    @Test
+    public void testStartMessages() {
+        Map<String, ActorRef> players = players();
+        DealCardsMsg deal = roundTrip(new DealCardsMsg(HOST, Difficulty.NORMAL.name(), players));
+        Assertions.assertEquals(new DealCardsMsg(HOST, Difficulty.NORMAL.name(), players).getReceiver(),
+                deal.getReceiver());
+        Assertions.assertEquals(Difficulty.NORMAL.name(), deal.getDifficulty());
+        Assertions.assertEquals(players, deal.getPlayers());
+        Assertions.assertEquals(List.copyOf(players.keySet()), List.copyOf(deal.getPlayers().keySet()));
+
+        GameStartedMsg started = roundTrip(new GameStartedMsg(HOST, Difficulty.DIFFICULT, SEED, players));
+        Assertions.assertEquals(HOST, started.getContent());
+        Assertions.assertEquals(Difficulty.DIFFICULT, started.getDifficulty());
+        Assertions.assertEquals(SEED, started.getSeed());
+        Assertions.assertEquals(players, started.getPlayers());
+
+        GameView view = gameState().getView(PLAYER);
+        CreateGameGUIMsg gameGUI = roundTrip(new CreateGameGUIMsg(PLAYER, HOST, HOST, view, Difficulty.NORMAL));
+        Assertions.assertEquals(PLAYER, gameGUI.getReceiver());
+        Assertions.assertEquals(HOST, gameGUI.getContent());
+        Assertions.assertEquals(HOST, gameGUI.getNextPlayerName());
+        Assertions.assertEquals(Difficulty.NORMAL, gameGUI.getDifficulty());
+        assertSameView(view, gameGUI.getGameView());
+    }
+
+    /**
+     * Check the messages of the turns, also with the hand of the player who drew.
+     */
+    @Test
+    public void testTurnMessages() {
+        PlayedCardMsg played = roundTrip(new PlayedCardMsg(HOST, PLAYER, 42, 3));
+        Assertions.assertEquals(HOST, played.getReceiver());
+        Assertions.assertEquals(PLAYER, played.getContent());
+        Assertions.assertEquals(42, played.getCardValue());
+        Assertions.assertEquals(3, played.getDeckNumber());
+
+        EndTurnMsg endTurn = roundTrip(new EndTurnMsg(HOST, PLAYER, HOST));
+        Assertions.assertEquals(PLAYER, endTurn.getContent());
+        Assertions.assertEquals(HOST, endTurn.getNextPlayerName());
+
+        CardSet hand = new CardSet();
+        hand.add(2);
+        hand.add(64);
+        hand.add(99);
+        StartTurnMsg startTurn = roundTrip(new StartTurnMsg(PLAYER, PLAYER, HOST, 3, 50, hand));
+        Assertions.assertEquals(PLAYER, startTurn.getContent());
+        Assertions.assertEquals(HOST, startTurn.getNextPlayerName());
+        Assertions.assertEquals(3, startTurn.getCardsInHand());
+        Assertions.assertEquals(50, startTurn.getMainDeckCards());
+        Assertions.assertEquals(hand, startTurn.getHand());
+        Assertions.assertNull(roundTrip(new StartTurnMsg(HOST, PLAYER, HOST, 3, 50, null)).getHand());
+
+        int[] moves = {MoveGenerator.pack(42, 0), MoveGenerator.pack(32, 0), MoveGenerator.pack(80, 3)};
+        TurnMsg turn = roundTrip(new TurnMsg(HOST, PLAYER, moves));
+        Assertions.assertEquals(PLAYER, turn.getContent());
+        Assertions.assertArrayEquals(moves, turn.getMoves());
+        TurnSummaryMsg summary = roundTrip(new TurnSummaryMsg(PLAYER, PLAYER, moves, HOST, 3, 50, hand));
+        Assertions.assertArrayEquals(moves, summary.getMoves());
+        Assertions.assertEquals(HOST, summary.getNextPlayerName());
+        Assertions.assertEquals(3, summary.getCardsInHand());
+        Assertions.assertEquals(50, summary.getMainDeckCards());
+        Assertions.assertEquals(hand, summary.getHand());
+
+        MoveRejectedMsg rejected = roundTrip(new MoveRejectedMsg(PLAYER, "Mossa non valida", 42, 1));
+        Assertions.assertEquals(PLAYER, rejected.getReceiver());
+        Assertions.assertEquals("Mossa non valida", rejected.getContent());
+        Assertions.assertEquals(42, rejected.getCardValue());
+        Assertions.assertEquals(1, rejected.getDeckNumber());
+
+        GameEventMsg event = roundTrip(new GameEventMsg(PLAYER, 7, new PlayedCardMsg(null, PLAYER, 42, 3)));
+        Assertions.assertEquals(PLAYER, event.getReceiver());
+        Assertions.assertEquals(7, event.getSequenceNumber());
+        PlayedCardMsg eventCard = (PlayedCardMsg) event.getEvent();
+        Assertions.assertEquals(PLAYER, eventCard.getContent());
+        Assertions.assertEquals(42, eventCard.getCardValue());
+
+        GameOverMsg gameOver = roundTrip(new GameOverMsg(PLAYER, true));
+        Assertions.assertEquals(PLAYER, gameOver.getReceiver());
+        Assertions.assertTrue(gameOver.isWin());
+        Assertions.assertEquals(PLAYER, roundTrip(new RematchMsg(PLAYER)).getReceiver());
+    }
+
+    /**
+     * Check the messages used to recover a game: the snapshot of the journal, the resync and the rejoin.
+     */
+    @Test
+    public void testRecoveryMessages() {
+        GameState gameState = gameState();
+        Map<String, ActorRef> players = players();
+        GameSnapshot snapshot = roundTrip(new GameSnapshot(gameState, players, PLAYER, 1, true, 17));
+        Assertions.assertEquals(players, snapshot.getPlayers());
+        Assertions.assertEquals(PLAYER, snapshot.getCurrentPlayer());
+        Assertions.assertEquals(1, snapshot.getCardsPlayedThisTurn());
+        Assertions.assertTrue(snapshot.isPlaying());
+        Assertions.assertEquals(17, snapshot.getLastEventSequence());
+        GameState restored = snapshot.getGameState();
+        Assertions.assertEquals(SEED, restored.getSeed());
+        Assertions.assertEquals(gameState.getDifficulty(), restored.getDifficulty());
+        Assertions.assertEquals(gameState.countMainDeckCards(), restored.countMainDeckCards());
+        Assertions.assertArrayEquals(gameState.getLastCards(), restored.getLastCards());
+        for (Player player : gameState.getPlayers()) {
+            Assertions.assertEquals(player.getCards(), restored.getPlayer(player.getName()).orElseThrow().getCards());
+        }
+
+        ResyncMsg resync = roundTrip(new ResyncMsg(HOST, PLAYER, 12));
+        Assertions.assertEquals(PLAYER, resync.getContent());
+        Assertions.assertEquals(12, resync.getFromSequenceNumber());
+
+        RejoinGameMsg rejoin = roundTrip(new RejoinGameMsg(HOST, PLAYER));
+        Assertions.assertEquals(new RejoinGameMsg(HOST, PLAYER).getReceiver(), rejoin.getReceiver());
+        Assertions.assertEquals(PLAYER, rejoin.getContent());
+        PlayerRejoinedMsg rejoined = roundTrip(new PlayerRejoinedMsg(PLAYER, bill));
+        Assertions.assertEquals(PLAYER, rejoined.getContent());
+        Assertions.assertEquals(bill, rejoined.getPlayer());
+
+        GameView view = gameState.getView(PLAYER);
+        ResumeGameMsg resume = roundTrip(new ResumeGameMsg(PLAYER, HOST, PLAYER, HOST, view, Difficulty.NORMAL, 9, 1));
+        Assertions.assertEquals(HOST, resume.getContent());
+        Assertions.assertEquals(PLAYER, resume.getCurrentPlayer());
+        Assertions.assertEquals(HOST, resume.getNextPlayerName());
+        Assertions.assertEquals(Difficulty.NORMAL, resume.getDifficulty());
+        Assertions.assertEquals(9, resume.getSequenceNumber());
+        Assertions.assertEquals(1, resume.getCardsPlayedThisTurn());
+        assertSameView(view, resume.getGameView());
+    }
+
+    /**
+     * Check the messages of the spectators and of the placement of the shards.
+     */
+    @Test
+    public void testSpectatorAndPlacementMessages() {
+        WatchGameMsg watch = roundTrip(new WatchGameMsg(HOST));
+        Assertions.assertEquals(new WatchGameMsg(HOST).getReceiver(), watch.getReceiver());
+        Assertions.assertEquals(HOST, watch.getHostName());
+
+        LinkedHashMap<String, Integer> cardsInHand = new LinkedHashMap<>(Map.of(HOST, 6));
+        cardsInHand.put(PLAYER, 5);
+        SpectatorViewMsg spectatorView = roundTrip(new SpectatorViewMsg(HOST, PLAYER, 5_000_000_000L,
+                new int[] {12, 1, 100, 88}, cardsInHand, 40, true, false));
+        Assertions.assertEquals(HOST, spectatorView.getHostName());
+        Assertions.assertEquals(PLAYER, spectatorView.getContent());
+        Assertions.assertEquals(5_000_000_000L, spectatorView.getVersion());
+        Assertions.assertArrayEquals(new int[] {12, 1, 100, 88}, spectatorView.getLastCards());
+        Assertions.assertEquals(cardsInHand, spectatorView.getCardsInHand());
+        Assertions.assertEquals(40, spectatorView.getMainDeckCards());
+        Assertions.assertTrue(spectatorView.isPlaying());
+        Assertions.assertFalse(spectatorView.isWin());
+
+        Assertions.assertInstanceOf(GetPlacementMsg.class, roundTrip(new GetPlacementMsg()));
+        Map<String, Integer> gamesPerShard = Map.of("7", 2, "12", 3);
+        PlacementMsg placement = roundTrip(new PlacementMsg(gamesPerShard));
+        Assertions.assertEquals(gamesPerShard, placement.getGamesPerShard());
+        Assertions.assertEquals(5, placement.getActiveGames());
+    }
+
+    /**
+     * Check that a message larger than the buffer of the thread is written anyway.
+     */
+    @Test
+    public void testLargeMessage() {
+        Map<String, Integer> gamesPerShard = new HashMap<>();
+        for (int shard = 0; shard < 20_000; shard++) {
+            gamesPerShard.put("shard-" + shard, shard);
+        }
+        PlacementMsg placement = roundTrip(new PlacementMsg(gamesPerShard));
+        Assertions.assertEquals(gamesPerShard, placement.getGamesPerShard());
+
+        List<OpenGameMsg> openGames = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            openGames.add(new OpenGameMsg("Host" + i, Difficulty.NORMAL.name(), 1));
+        }
+        LobbyMsg lobby = roundTrip(new LobbyMsg(openGames));
+        Assertions.assertEquals("Host9999", lobby.getOpenGames().get(9_999).getHostName());
+    }
+
+    /**
+     * Serialize and deserialize a message with the manifest chosen by the serializer.
+     *
+     * @param msg the message.
+     * @param <T> the type of the message.
+     * @return the message read.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(final T msg) {
+        return (T) serializer.fromBinary(serializer.toBinary(msg), serializer.manifest(msg));
+    }
+
+    /**
+     * Create the players of a game with two actors of the test.
+     *
+     * @return a {@link Map} with the names and the {@link ActorRef}s, in the order of the game.
+     */
+    private static Map<String, ActorRef> players() {
+        Map<String, ActorRef> players = new LinkedHashMap<>();
+        players.put(HOST, bob);
+        players.put(PLAYER, bill);
+        return players;
+    }
+
+    /**
+     * Create a game where the host has played a card.
+     *
+     * @return the {@link GameState}.
+     */
+    private static GameState gameState() {
+        GameState gameState = new GameStateImpl(List.of(HOST, PLAYER), Difficulty.NORMAL, SEED);
+        gameState.initialHand();
+        Player host = gameState.getPlayer(HOST).orElseThrow();
+        int card = host.getCards().first();
+        gameState.playedCard(host, card, 0);
+        return gameState;
+    }
+
+    /**
+     * Check that two views of a game have the same values.
+     *
+     * @param expected the original {@link GameView}.
+     * @param actual the {@link GameView} read.
+     */
+    private static void assertSameView(final GameView expected, final GameView actual) {
+        Assertions.assertEquals(expected.getPlayerName(), actual.getPlayerName());
+        Assertions.assertEquals(expected.getCards(), actual.getCards());
+        Assertions.assertEquals(expected.countMainDeckCards(), actual.countMainDeckCards());
+        Assertions.assertArrayEquals(expected.getLastCards(), actual.getLastCards());
+        Assertions.assertEquals(expected.countPlayersCards(), actual.countPlayersCards());
+        Assertions.assertInstanceOf(GameViewImpl.class, actual);
+    }
+}
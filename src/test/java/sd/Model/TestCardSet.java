@@ -0,0 +1,58 @@
+package sd.Model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class TestCardSet {
+
+    private static final int LOWER = 2;
+    private static final int MIDDLE = 64;
+    private static final int HIGHER = 98;
+
+    /**
+     * Check the basic operations of the set on both the words of the bitset.
+     */
+    @Test
+    public void testAddAndRemove() {
+        CardSet cards = new CardSet();
+        Assertions.assertTrue(cards.isEmpty());
+        Assertions.assertTrue(cards.add(HIGHER));
+        Assertions.assertTrue(cards.add(LOWER));
+        Assertions.assertTrue(cards.add(MIDDLE));
+        Assertions.assertFalse(cards.add(MIDDLE));
+        Assertions.assertEquals(3, cards.size());
+        Assertions.assertTrue(cards.contains(MIDDLE));
+        Assertions.assertFalse(cards.contains(MIDDLE - 1));
+
+        Assertions.assertTrue(cards.remove(MIDDLE));
+        Assertions.assertFalse(cards.remove(MIDDLE));
+        Assertions.assertFalse(cards.contains(MIDDLE));
+        Assertions.assertEquals(2, cards.size());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cards.add(-1));
+    }
+
+    /**
+     * Check that the cards are iterated in ascending order, also through the {@link List} view.
+     */
+    @Test
+    public void testSortedIteration() {
+        CardSet cards = new CardSet();
+        List.of(HIGHER, MIDDLE, LOWER, MIDDLE - 1).forEach(cards::add);
+        Assertions.assertEquals(LOWER, cards.first());
+        Assertions.assertEquals(MIDDLE - 1, cards.next(LOWER));
+        Assertions.assertEquals(MIDDLE, cards.next(MIDDLE - 1));
+        Assertions.assertEquals(HIGHER, cards.next(MIDDLE));
+        Assertions.assertEquals(-1, cards.next(HIGHER));
+        Assertions.assertEquals(MIDDLE, cards.get(2));
+
+        List<Integer> view = cards.asList();
+        Assertions.assertEquals(List.of(LOWER, MIDDLE - 1, MIDDLE, HIGHER), view);
+        view.remove(Integer.valueOf(MIDDLE));
+        Assertions.assertFalse(cards.contains(MIDDLE));
+        view.clear();
+        Assertions.assertTrue(cards.isEmpty());
+        Assertions.assertEquals(-1, cards.first());
+    }
+}
@@ -81,4 +81,71 @@ public class TestGameState {
         gameState.draw(bob);
         Assertions.assertEquals(GameRules.cardsInHand(players.size(), NORMAL), bob.getHand().size());
     }
+
+    /**
+     * Check that two games created with the same seed have the same deal and that the seed is kept.
+     */
+    @Test
+    public void testSeededDeal() {
+        long seed = 42;
+        gameState = new GameStateImpl(players, NORMAL, seed);
+        GameState sameDeal = new GameStateImpl(players, NORMAL, gameState.getSeed());
+        Assertions.assertEquals(seed, gameState.getSeed());
+
+        gameState.initialHand();
+        sameDeal.initialHand();
+        players.forEach(player -> Assertions.assertEquals(
+                gameState.getPlayer(player).orElseThrow().getHand(), sameDeal.getPlayer(player).orElseThrow().getHand()
+        ));
+        Assertions.assertEquals(gameState.countMainDeckCards(), sameDeal.countMainDeckCards());
+    }
+
+    /**
+     * Check that a move is valid only with a card of the player and a deck that accepts it.
+     */
+    @Test
+    public void testValidMove() {
+        gameState = new GameStateImpl(players, NORMAL, 7);
+        gameState.initialHand();
+        Player bob = gameState.getPlayer(name).orElseThrow();
+        int card = bob.getHand().get(0);
+
+        Assertions.assertTrue(gameState.isValidMove(bob, card, 0));
+        Assertions.assertFalse(gameState.isValidMove(bob, card, GameRules.getNumberOfDecks()));
+        Assertions.assertFalse(gameState.isValidMove(gameState.getPlayer("Bill").orElseThrow(), card, 0));
+
+        gameState.playedCard(bob, card, 0);
+        Assertions.assertFalse(gameState.isValidMove(bob, card, 1));
+        int next = bob.getHand().get(0);
+        Assertions.assertTrue(gameState.isValidMove(bob, next, 0));
+        gameState.playedCard(bob, next, 2);
+        int highest = bob.getHand().get(bob.getHand().size() - 1);
+        Assertions.assertFalse(gameState.isValidMove(bob, highest, 2));
+    }
+
+    /**
+     * Check that a copy has the same game and that it doesn't change with the original.
+     */
+    @Test
+    public void testCopy() {
+        gameState = new GameStateImpl(players, NORMAL, 11);
+        gameState.initialHand();
+        Player bob = gameState.getPlayer(name).orElseThrow();
+        gameState.playedCard(bob, bob.getHand().get(0), 0);
+        gameState.draw(bob);
+
+        GameState copy = gameState.copy();
+        Assertions.assertEquals(gameState.countPlayersCards(), copy.countPlayersCards());
+        Assertions.assertArrayEquals(gameState.getLastCards(), copy.getLastCards());
+        Assertions.assertEquals(bob.getHand(), copy.getPlayer(name).orElseThrow().getHand());
+
+        int card = bob.getHand().get(0);
+        gameState.playedCard(bob, card, 1);
+        gameState.draw(bob);
+        Player bobCopy = copy.getPlayer(name).orElseThrow();
+        Assertions.assertTrue(bobCopy.getHand().contains(card));
+        copy.playedCard(bobCopy, card, 1);
+        copy.draw(bobCopy);
+        Assertions.assertEquals(bob.getHand(), bobCopy.getHand()); // the same main deck
+    }
 }
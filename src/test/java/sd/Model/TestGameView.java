@@ -0,0 +1,69 @@
+package sd.Model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class TestGameView {
+
+    private final String name = "Bob";
+    private final String other = "Bill";
+    private final List<String> players = List.of(name, other, "Alice");
+    private static final Difficulty NORMAL = Difficulty.NORMAL;
+
+    /**
+     * Check that the view of a player has only his hand and the same public information of the {@link GameState}.
+     */
+    @Test
+    public void testInitialView() {
+        GameState gameState = new GameStateImpl(players, NORMAL, 1);
+        gameState.initialHand();
+        GameView view = gameState.getView(name);
+
+        Assertions.assertEquals(name, view.getPlayerName());
+        Assertions.assertEquals(gameState.getPlayer(name).orElseThrow().getHand(), view.getHand());
+        Assertions.assertEquals(gameState.countPlayersCards(), view.countPlayersCards());
+        Assertions.assertEquals(gameState.countMainDeckCards(), view.countMainDeckCards());
+        Assertions.assertEquals(gameState.cardNotPlayed(), view.cardNotPlayed());
+        Assertions.assertFalse(view.isWin());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> gameState.getView("Nobody"));
+    }
+
+    /**
+     * Check that the view follows the moves and the draws done in the {@link GameState}.
+     */
+    @Test
+    public void testViewUpdates() {
+        GameState gameState = new GameStateImpl(players, NORMAL, 2);
+        gameState.initialHand();
+        GameView view = gameState.getView(name);
+        Player bob = gameState.getPlayer(name).orElseThrow();
+        Player bill = gameState.getPlayer(other).orElseThrow();
+
+        GameView copy = view.copy();
+        int card = bob.getHand().get(0);
+        gameState.playedCard(bob, card, 0);
+        view.playedCard(name, card, 0);
+        Assertions.assertTrue(copy.getHand().contains(card));
+        Assertions.assertNotEquals(card, copy.getLastCards()[0]);
+        Assertions.assertFalse(view.getHand().contains(card));
+        Assertions.assertEquals(card, view.getLastCards()[0]);
+
+        int otherCard = bill.getHand().get(0);
+        gameState.playedCard(bill, otherCard, 2);
+        view.playedCard(other, otherCard, 2);
+        Assertions.assertEquals(gameState.countPlayersCards(), view.countPlayersCards());
+        Assertions.assertEquals(gameState.validDecks(bob.getHand().get(0)), view.validDecks(bob.getHand().get(0)));
+
+        gameState.draw(bill);
+        view.drawn(other, bill.getCards().size(), gameState.countMainDeckCards(), null);
+        Assertions.assertEquals(gameState.countPlayersCards(), view.countPlayersCards());
+        Assertions.assertEquals(bob.getHand(), view.getHand());
+
+        gameState.draw(bob);
+        view.drawn(name, bob.getCards().size(), gameState.countMainDeckCards(), bob.getCards());
+        Assertions.assertEquals(bob.getHand(), view.getHand());
+        Assertions.assertEquals(gameState.cardNotPlayed(), view.cardNotPlayed());
+    }
+}
@@ -0,0 +1,71 @@
+package sd.Model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class TestMoveGenerator {
+
+    private static final int ATTEMPTS = 1000;
+    private static final int HAND_SIZE = 8;
+    private static final int[] INITIAL_DECKS = {1, 1, 99, 99};
+
+    /**
+     * Check that the generated moves are exactly the ones allowed by {@link GameRules} on random hands and decks.
+     */
+    @Test
+    public void testSameMovesOfRules() {
+        SplittableRandom random = new SplittableRandom(1);
+        int[] moves = new int[MoveGenerator.maxMoves()];
+        for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+            CardSet hand = new CardSet();
+            while (hand.size() < HAND_SIZE) {
+                hand.add(random.nextInt(GameRules.getLowerCard(), GameRules.getHigherCard() + 1));
+            }
+            int[] lastCards = new int[GameRules.getNumberOfDecks()];
+            for (int deck = 0; deck < lastCards.length; deck++) {
+                lastCards[deck] = random.nextInt(GameRules.getLowerCard() - 1, GameRules.getHigherCard() + 2);
+            }
+
+            int count = MoveGenerator.generate(hand, lastCards, moves);
+            int expected = 0;
+            for (int card = hand.first(); card >= 0; card = hand.next(card)) {
+                int decks = MoveGenerator.validDecks(lastCards, card);
+                for (int deck = 0; deck < lastCards.length; deck++) {
+                    boolean valid = GameRules.isValid(deck, lastCards[deck], card);
+                    Assertions.assertEquals(valid, (decks >> deck & 1) != 0);
+                    expected += valid ? 1 : 0;
+                }
+            }
+            Assertions.assertEquals(expected, count);
+            Assertions.assertEquals(count > 0, MoveGenerator.exists(hand, lastCards));
+            for (int i = 0; i < count; i++) {
+                int card = MoveGenerator.getCard(moves[i]);
+                int deck = MoveGenerator.getDeck(moves[i]);
+                Assertions.assertTrue(hand.contains(card));
+                Assertions.assertTrue(GameRules.isValid(deck, lastCards[deck], card));
+            }
+        }
+    }
+
+    /**
+     * Check that the "trick" moves are generated in both the directions.
+     */
+    @Test
+    public void testTrickMoves() {
+        int[] lastCards = {50, 1, 40, 99};
+        CardSet hand = new CardSet();
+        List.of(40, 50).forEach(hand::add);
+        int[] moves = new int[MoveGenerator.maxMoves()];
+        int count = MoveGenerator.generate(hand, lastCards, moves);
+
+        Assertions.assertEquals(List.of(
+                MoveGenerator.pack(40, 0), MoveGenerator.pack(40, 1), MoveGenerator.pack(50, 1),
+                MoveGenerator.pack(50, 2), MoveGenerator.pack(40, 3), MoveGenerator.pack(50, 3)
+        ), Arrays.stream(moves, 0, count).boxed().toList());
+        Assertions.assertEquals(0, MoveGenerator.validDecks(INITIAL_DECKS, 0) & 1);
+    }
+}
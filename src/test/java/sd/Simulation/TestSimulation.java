@@ -0,0 +1,51 @@
+package sd.Simulation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import sd.Model.Difficulty;
+import sd.Model.GameRules;
+
+import java.util.concurrent.ForkJoinPool;
+
+public class TestSimulation {
+
+    private static final long SEED = 7;
+    private static final int GAMES = 10_000;
+    private static final int PLAYERS = 3;
+
+    /**
+     * Check that the parallel simulation gives the same statistics of playing the games one after the other, for every
+     * {@link PolicyType}.
+     */
+    @Test
+    public void testReproducible() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        for (PolicyType policy : PolicyType.values()) {
+            SimulationStats parallel = pool.invoke(
+                    new SimulationTask(SEED, 0, GAMES, PLAYERS, Difficulty.NORMAL, policy));
+            SimulationStats sequential = new SimulationStats(Difficulty.NORMAL, PLAYERS);
+            GameRunner runner = new GameRunner(PLAYERS, Difficulty.NORMAL, policy.create());
+            for (int game = 0; game < GAMES; game++) {
+                sequential.record(runner.play(SimulationTask.gameSeed(SEED, game)));
+            }
+
+            Assertions.assertEquals(GAMES, parallel.getGames());
+            for (int cards = 0; cards <= GameRules.mainDeckValues().length; cards++) {
+                Assertions.assertEquals(sequential.getCardsLeft(cards), parallel.getCardsLeft(cards));
+            }
+        }
+        pool.shutdown();
+    }
+
+    /**
+     * Check that a game always ends with a number of cards left that is possible.
+     */
+    @Test
+    public void testGameEnds() {
+        GameRunner runner = new GameRunner(1, Difficulty.IMPOSSIBLE, PolicyType.RANDOM.create());
+        for (int game = 0; game < GAMES; game++) {
+            int cardsLeft = runner.play(game);
+            Assertions.assertTrue(cardsLeft >= 0 && cardsLeft <= GameRules.mainDeckValues().length);
+        }
+    }
+}
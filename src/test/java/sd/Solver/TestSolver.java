@@ -0,0 +1,121 @@
+package sd.Solver;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import sd.Model.Difficulty;
+import sd.Model.GameRules;
+import sd.Model.GameState;
+import sd.Model.GameStateImpl;
+import sd.Model.MoveGenerator;
+import sd.Model.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class TestSolver {
+
+    private static final String NAME = "Solo";
+    private static final int TABLE_BITS = 16;
+    private static final long MAX_NODES = 500_000;
+    private static final int MAX_SEEDS = 100;
+    private static final int SMALL_POSITIONS = 500;
+    private static final int SMALL_DEAL_SIZE = 8;
+
+    /**
+     * Check that a deck sorted in ascending order is always winnable.
+     */
+    @Test
+    public void testSortedDeal() {
+        Solver solver = new SolverImpl(TABLE_BITS, MAX_NODES);
+        for (Difficulty difficulty : Difficulty.values()) {
+            Solution solution = solver.solve(GameRules.mainDeckValues(), difficulty);
+            Assertions.assertEquals(Solution.Outcome.WIN, solution.getOutcome());
+        }
+    }
+
+    /**
+     * Find a winnable seed and replay the winning line on a {@link GameStateImpl} created with the same seed.
+     */
+    @Test
+    public void testWinningLine() {
+        Solver solver = new SolverImpl(TABLE_BITS, MAX_NODES);
+        Difficulty difficulty = Difficulty.NORMAL;
+        long seed = 0;
+        Solution solution = solver.solve(seed, difficulty);
+        while (!solution.isWinnable() && seed < MAX_SEEDS) {
+            solution = solver.solve(++seed, difficulty);
+        }
+        Assertions.assertTrue(solution.isWinnable());
+
+        GameState gameState = new GameStateImpl(List.of(NAME), difficulty, seed);
+        gameState.initialHand();
+        Player player = gameState.getPlayer(NAME).orElseThrow();
+        int played = 0;
+        for (int move : solution.getLine()) {
+            if (move == Solution.END_TURN) {
+                Assertions.assertTrue(played >= GameRules.cardsPerTurn(difficulty));
+                gameState.draw(player);
+                played = 0;
+            } else {
+                int card = MoveGenerator.getCard(move);
+                int deck = MoveGenerator.getDeck(move);
+                Assertions.assertTrue(player.getCards().contains(card));
+                Assertions.assertNotEquals(0, gameState.validDecks(card) & 1 << deck);
+                gameState.playedCard(player, card, deck);
+                played++;
+            }
+        }
+        Assertions.assertTrue(gameState.isWin());
+    }
+
+    /**
+     * Check that the search gives up with an unknown outcome when it reaches the limit of nodes.
+     */
+    @Test
+    public void testNodesLimit() {
+        Solution solution = new SolverImpl(TABLE_BITS, 1).solve(0, Difficulty.NORMAL);
+        Assertions.assertEquals(Solution.Outcome.UNKNOWN, solution.getOutcome());
+        Assertions.assertEquals(0, solution.getLine().length);
+    }
+
+    /**
+     * Check that a card below the ascending decks is not dead when another card can raise one of them 10 above it:
+     * 55 on the deck with 50 and then 45 with the "trick" win the game.
+     */
+    @Test
+    public void testTrickAfterRaise() {
+        Solution solution = new SolverImpl(TABLE_BITS, MAX_NODES).solve(new int[] {45, 55}, Difficulty.NORMAL,
+                new int[] {50, 60, 30, 20});
+        Assertions.assertEquals(Solution.Outcome.WIN, solution.getOutcome());
+    }
+
+    /**
+     * Check on random small positions that cutting the positions with a dead card gives the same outcomes as the full
+     * search; the ascending decks start on the highest values and the descending ones on the lowest, so that about
+     * half of the positions are lost.
+     */
+    @Test
+    public void testPruneSoundness() {
+        SolverImpl pruned = new SolverImpl(TABLE_BITS, MAX_NODES, true);
+        SolverImpl unpruned = new SolverImpl(TABLE_BITS, MAX_NODES, false);
+        Random random = new Random(0);
+        List<Integer> cards = new ArrayList<>(GameRules.mainDeckValues().length);
+        for (int card : GameRules.mainDeckValues()) {
+            cards.add(card);
+        }
+        for (int i = 0; i < SMALL_POSITIONS; i++) {
+            Collections.shuffle(cards, random);
+            int[] tops = cards.subList(0, GameRules.getNumberOfDecks()).stream().mapToInt(Integer::intValue).sorted()
+                    .toArray();
+            int[] decks = {tops[2], tops[3], tops[1], tops[0]};
+            int[] deal = cards.subList(tops.length, tops.length + SMALL_DEAL_SIZE).stream().mapToInt(Integer::intValue)
+                    .toArray();
+            Difficulty difficulty = Difficulty.values()[i % Difficulty.values().length];
+            Solution expected = unpruned.solve(deal, difficulty, decks);
+            Assertions.assertNotEquals(Solution.Outcome.UNKNOWN, expected.getOutcome());
+            Assertions.assertEquals(expected.getOutcome(), pruned.solve(deal, difficulty, decks).getOutcome());
+        }
+    }
+}
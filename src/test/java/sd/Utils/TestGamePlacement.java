@@ -0,0 +1,48 @@
+package sd.Utils;
+
+import akka.actor.ActorSystem;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+public class TestGamePlacement {
+
+    /**
+     * Check that the games of the same shard are counted together, that a game registered again is counted once and
+     * isn't counted anymore when it's unregistered, and that each system has its own games.
+     */
+    @Test
+    public void testGamesPerShard() {
+        ActorSystem system = ActorSystem.create("TestGamePlacement", localConfig());
+        ActorSystem other = ActorSystem.create("OtherGamePlacement", localConfig());
+        try {
+            GamePlacement placement = GamePlacement.get(system);
+            placement.register("Bob-GameState", "7");
+            placement.register("Bill-GameState", "7");
+            placement.register("Alice-GameState", "3");
+            placement.register("Bob-GameState", "7");
+            Assertions.assertEquals(Map.of("7", 2, "3", 1), placement.gamesPerShard());
+            Assertions.assertSame(placement, GamePlacement.get(system));
+            Assertions.assertTrue(GamePlacement.get(other).gamesPerShard().isEmpty());
+
+            placement.unregister("Bob-GameState");
+            placement.unregister("Alice-GameState");
+            Assertions.assertEquals(Map.of("7", 1), placement.gamesPerShard());
+        } finally {
+            system.terminate();
+            other.terminate();
+        }
+    }
+
+    /**
+     * Create the configuration of a system without the cluster.
+     *
+     * @return the {@link Config} of the system.
+     */
+    private static Config localConfig() {
+        return ConfigFactory.parseString("akka.actor.provider = local").withFallback(ConfigFactory.defaultReference());
+    }
+}
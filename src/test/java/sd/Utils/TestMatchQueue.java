@@ -0,0 +1,85 @@
+package sd.Utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+public class TestMatchQueue {
+
+    private static final int TABLE_SIZE = 3;
+
+    /**
+     * Check that the players are matched in arrival order, as many tables as possible, and the others keep waiting.
+     */
+    @Test
+    public void testMatchInOrder() {
+        MatchQueue<Integer> queue = new MatchQueue<>(TABLE_SIZE);
+        for (int i = 0; i < 7; i++) {
+            queue.add("Player" + i, i, i);
+        }
+        List<Long> waits = new ArrayList<>();
+        List<LinkedHashMap<String, Integer>> tables = queue.match(10, waits::add);
+        Assertions.assertEquals(2, tables.size());
+        Assertions.assertEquals(List.of("Player0", "Player1", "Player2"), new ArrayList<>(tables.get(0).keySet()));
+        Assertions.assertEquals(List.of(3, 4, 5), new ArrayList<>(tables.get(1).values()));
+        Assertions.assertEquals(List.of(10L, 9L, 8L, 7L, 6L, 5L), waits);
+        Assertions.assertEquals(1, queue.size());
+        Assertions.assertTrue(queue.match(20, wait -> { }).isEmpty());
+    }
+
+    /**
+     * Check that a player added again keeps his place with the new reference, and that the removed players aren't
+     * matched.
+     */
+    @Test
+    public void testAddAgainAndRemove() {
+        MatchQueue<Integer> queue = new MatchQueue<>(TABLE_SIZE);
+        queue.add("Player0", 0, 0);
+        queue.add("Player1", 1, 1);
+        queue.add("Player2", 2, 2);
+        queue.add("Player3", 3, 3);
+        queue.add("Player0", 10, 4);
+        queue.remove("Player1");
+        queue.removeRef(2);
+        queue.add("Player4", 4, 5);
+        List<Long> waits = new ArrayList<>();
+        List<LinkedHashMap<String, Integer>> tables = queue.match(10, waits::add);
+        Assertions.assertEquals(1, tables.size());
+        Assertions.assertEquals(List.of("Player0", "Player3", "Player4"), new ArrayList<>(tables.get(0).keySet()));
+        Assertions.assertEquals(10, tables.get(0).get("Player0"));
+        Assertions.assertEquals(List.of(10L, 7L, 5L), waits);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new MatchQueue<Integer>(0));
+    }
+
+    /**
+     * Check that removing a reference removes all its players and only them, also after a player changed reference or
+     * was matched.
+     */
+    @Test
+    public void testRemoveRef() {
+        MatchQueue<Integer> queue = new MatchQueue<>(TABLE_SIZE);
+        queue.add("Player0", 0, 0);
+        queue.add("Player1", 0, 1);
+        queue.add("Player2", 1, 2);
+        queue.add("Player1", 1, 3); // now reachable with the other reference
+        queue.removeRef(0);
+        Assertions.assertEquals(2, queue.size());
+        Assertions.assertFalse(queue.hasRef(0));
+        queue.add("Player3", 0, 4);
+        queue.add("Player4", 2, 5);
+        Assertions.assertEquals(1, queue.match(10, wait -> { }).size());
+        Assertions.assertFalse(queue.hasRef(0)); // Player3 was matched
+        Assertions.assertTrue(queue.hasRef(2));
+        queue.add("Player5", 1, 6);
+        queue.removeRef(1);
+        Assertions.assertEquals(1, queue.size()); // Player4 is still waiting
+        queue.add("Player6", 1, 7);
+        queue.add("Player7", 2, 8);
+        queue.remove("Player6");
+        queue.removeRef(1);
+        Assertions.assertEquals(2, queue.size());
+    }
+}
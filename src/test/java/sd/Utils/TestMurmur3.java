@@ -0,0 +1,35 @@
+package sd.Utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestMurmur3 {
+
+    private static final int SHARDS = 100;
+    private static final int IDS = 10_000;
+
+    /**
+     * Check the hash against the reference values of MurmurHash3_x86_32 with seed 0.
+     */
+    @Test
+    public void testReferenceValues() {
+        Assertions.assertEquals(0, Murmur3.hash32(""));
+        Assertions.assertEquals(0x248bfa47, Murmur3.hash32("hello"));
+        Assertions.assertEquals(0x2e4ff723, Murmur3.hash32("The quick brown fox jumps over the lazy dog"));
+    }
+
+    /**
+     * Check that ids that differ only in few characters are spread evenly over the shards.
+     */
+    @Test
+    public void testEvenSpread() {
+        int[] counts = new int[SHARDS];
+        for (int i = 0; i < IDS; i++) {
+            counts[Math.floorMod(Murmur3.hash32("Player" + i + ClusterHelper.getGameStateExtension()), SHARDS)]++;
+        }
+        int expected = IDS / SHARDS;
+        for (int count : counts) {
+            Assertions.assertTrue(count > expected / 2 && count < expected * 3 / 2, "shard with " + count + " ids");
+        }
+    }
+}